@@ -4,6 +4,13 @@
  */
 package org.jboss.as.arquillian.container.domain;
 
+import static org.jboss.as.controller.client.helpers.ClientConstants.CONTENT;
+import static org.jboss.as.controller.client.helpers.ClientConstants.DEPLOYMENT;
+import static org.jboss.as.controller.client.helpers.ClientConstants.DEPLOYMENT_DEPLOY_OPERATION;
+import static org.jboss.as.controller.client.helpers.ClientConstants.INPUT_STREAM_INDEX;
+import static org.jboss.as.controller.client.helpers.ClientConstants.SERVER_GROUP;
+import static org.jboss.as.controller.client.helpers.ClientConstants.STEPS;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
@@ -14,6 +21,9 @@ import java.util.Set;
 import java.util.concurrent.Future;
 
 import org.jboss.arquillian.container.spi.client.container.DeploymentException;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.helpers.Operations;
 import org.jboss.as.controller.client.helpers.domain.DeployDeploymentPlanBuilder;
 import org.jboss.as.controller.client.helpers.domain.DeploymentAction;
 import org.jboss.as.controller.client.helpers.domain.DeploymentPlan;
@@ -26,6 +36,7 @@ import org.jboss.as.controller.client.helpers.domain.ServerGroupDeploymentPlanBu
 import org.jboss.as.controller.client.helpers.domain.ServerGroupDeploymentPlanResult;
 import org.jboss.as.controller.client.helpers.domain.ServerUpdateResult;
 import org.jboss.as.controller.client.helpers.domain.UndeployDeploymentPlanBuilder;
+import org.jboss.dmr.ModelNode;
 import org.jboss.logging.Logger;
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.exporter.ZipExporter;
@@ -54,6 +65,8 @@ public class ArchiveDeployer {
     @Deprecated
     private final DomainDeploymentManager deploymentManagerDeprecated;
     private final DeploymentManager deploymentManager;
+    private final ModelControllerClient client;
+    private final DeploymentRolloutPlan rolloutPlan;
 
     /**
      * Creates a new deployer.
@@ -68,6 +81,8 @@ public class ArchiveDeployer {
     public ArchiveDeployer(DomainDeploymentManager deploymentManager) {
         this.deploymentManagerDeprecated = Objects.requireNonNull(deploymentManager, "The deploymentManager cannot be null");
         this.deploymentManager = null;
+        this.client = null;
+        this.rolloutPlan = null;
     }
 
     /**
@@ -76,9 +91,22 @@ public class ArchiveDeployer {
      * @param client the client used to communicate with the server
      */
     public ArchiveDeployer(final ManagementClient client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates a new deployer which deploys to the server groups with the rollout plan of the configuration. If the
+     * configuration does not define any rollout settings, the default rollout plan of the domain controller is used.
+     *
+     * @param client the client used to communicate with the server
+     * @param config the container configuration or {@code null} to use the default rollout plan
+     */
+    public ArchiveDeployer(final ManagementClient client, final CommonDomainContainerConfiguration config) {
         Objects.requireNonNull(client, "The client cannot be null");
         deploymentManagerDeprecated = null;
         this.deploymentManager = DeploymentManager.create(client.getControllerClient());
+        this.client = client.getControllerClient();
+        this.rolloutPlan = config == null ? null : DeploymentRolloutPlan.of(config);
     }
 
     /**
@@ -110,6 +138,9 @@ public class ArchiveDeployer {
             throw new DeploymentException("No target server groups to deploy to.");
         }
         try {
+            if (rolloutPlan != null) {
+                return deploy(archive, serverGroups, rolloutPlan);
+            }
             final InputStream input = archive.as(ZipExporter.class).exportAsInputStream();
             // If a deployment manager is available use it, otherwise default to the previous behavior
             if (deploymentManager != null) {
@@ -229,6 +260,31 @@ public class ArchiveDeployer {
         return deploymentManager.hasDeployment(name, serverGroup);
     }
 
+    private String deploy(final Archive<?> archive, final Set<String> serverGroups, final DeploymentRolloutPlan plan)
+            throws IOException, DeploymentException {
+        final String name = archive.getName();
+        final ModelNode op = Operations.createCompositeOperation();
+        final ModelNode steps = op.get(STEPS);
+        final ModelNode addContent = Operations.createAddOperation(Operations.createAddress(DEPLOYMENT, name));
+        addContent.get(CONTENT).setEmptyList().add().get(INPUT_STREAM_INDEX).set(0);
+        steps.add(addContent);
+        for (String serverGroup : serverGroups) {
+            final ModelNode address = Operations.createAddress(SERVER_GROUP, serverGroup, DEPLOYMENT, name);
+            steps.add(Operations.createAddOperation(address));
+            steps.add(Operations.createOperation(DEPLOYMENT_DEPLOY_OPERATION, address));
+        }
+        plan.addTo(op, serverGroups);
+        log.debugf("Deploying %s to %s with rollout plan %s", name, serverGroups, plan);
+        try (InputStream input = archive.as(ZipExporter.class).exportAsInputStream()) {
+            final ModelNode result = client.execute(OperationBuilder.create(op).addInputStream(input).build());
+            if (!Operations.isSuccessfulOutcome(result)) {
+                throw new DeploymentException(
+                        "Could not deploy to container: " + Operations.getFailureDescription(result).asString());
+            }
+        }
+        return name;
+    }
+
     private String executeDeploymentPlan(DeploymentPlan plan, DeploymentAction deployAction) throws Exception {
         Future<DeploymentPlanResult> future = deploymentManagerDeprecated.execute(plan);
         DeploymentPlanResult planResult = future.get();
@@ -12,6 +12,7 @@ import java.util.Map;
 
 import org.jboss.arquillian.container.spi.ConfigurationException;
 import org.jboss.arquillian.container.spi.client.container.ContainerConfiguration;
+import org.wildfly.arquillian.domain.AbstractDomainManager;
 
 /**
  * @author <a href="mailto:aslak@redhat.com">Aslak Knutsen</a>
@@ -37,6 +38,16 @@ public class CommonDomainContainerConfiguration implements ContainerConfiguratio
 
     private int serverOperationTimeoutInSeconds = 120;
 
+    private int serverLifecycleParallelism = AbstractDomainManager.DEFAULT_LIFECYCLE_PARALLELISM;
+
+    private String deploymentRollout;
+
+    private boolean deploymentRollingToServers;
+
+    private int deploymentMaxFailedServers;
+
+    private int deploymentMaxFailurePercentage;
+
     public CommonDomainContainerConfiguration() {
         managementAddress = "127.0.0.1";
         managementPort = 9990 + Integer.decode(System.getProperty("jboss.socket.binding.port-offset", "0"));
@@ -152,6 +163,83 @@ public class CommonDomainContainerConfiguration implements ContainerConfiguratio
         return serverOperationTimeoutInSeconds;
     }
 
+    /**
+     * The maximum number of servers started, stopped or restarted concurrently when a lifecycle operation is executed
+     * on a collection of servers.
+     *
+     * @param serverLifecycleParallelism the maximum number of servers
+     */
+    public void setServerLifecycleParallelism(int serverLifecycleParallelism) {
+        this.serverLifecycleParallelism = serverLifecycleParallelism;
+    }
+
+    public int getServerLifecycleParallelism() {
+        return serverLifecycleParallelism;
+    }
+
+    /**
+     * Returns how deployments are rolled out to the server groups.
+     *
+     * @return {@code in-series}, {@code concurrent} or {@code null} if the order has not been set
+     */
+    public String getDeploymentRollout() {
+        return deploymentRollout;
+    }
+
+    /**
+     * Sets how deployments are rolled out to the server groups. With {@code in-series} the deployment is deployed to
+     * one server group after another, with {@code concurrent} it is deployed to all server groups at once.
+     * <p>
+     * If neither this nor any of the other rollout settings are set, the default rollout plan of the domain controller
+     * is used.
+     * </p>
+     *
+     * @param deploymentRollout {@code in-series}, {@code concurrent} or {@code null} for the default
+     */
+    public void setDeploymentRollout(final String deploymentRollout) {
+        this.deploymentRollout = deploymentRollout;
+    }
+
+    public boolean isDeploymentRollingToServers() {
+        return deploymentRollingToServers;
+    }
+
+    /**
+     * Sets whether a deployment is deployed to the servers of a server group one server after another rather than to
+     * all servers of the group at once.
+     *
+     * @param deploymentRollingToServers {@code true} to deploy to one server after another
+     */
+    public void setDeploymentRollingToServers(final boolean deploymentRollingToServers) {
+        this.deploymentRollingToServers = deploymentRollingToServers;
+    }
+
+    public int getDeploymentMaxFailedServers() {
+        return deploymentMaxFailedServers;
+    }
+
+    /**
+     * The number of servers of a server group the deployment may fail on before the deployment is rolled back.
+     *
+     * @param deploymentMaxFailedServers the number of servers which may fail, 0 does not allow any failure
+     */
+    public void setDeploymentMaxFailedServers(final int deploymentMaxFailedServers) {
+        this.deploymentMaxFailedServers = deploymentMaxFailedServers;
+    }
+
+    public int getDeploymentMaxFailurePercentage() {
+        return deploymentMaxFailurePercentage;
+    }
+
+    /**
+     * The percentage of the servers of a server group the deployment may fail on before the deployment is rolled back.
+     *
+     * @param deploymentMaxFailurePercentage the percentage of servers which may fail, 0 does not allow any failure
+     */
+    public void setDeploymentMaxFailurePercentage(final int deploymentMaxFailurePercentage) {
+        this.deploymentMaxFailurePercentage = deploymentMaxFailurePercentage;
+    }
+
     /**
      * The {@linkplain URI URI} path for the authentication configuration.
      *
@@ -222,6 +310,27 @@ public class CommonDomainContainerConfiguration implements ContainerConfiguratio
         if (protocol != null && !("http".equalsIgnoreCase(protocol) || "https".equalsIgnoreCase(protocol))) {
             throw new ConfigurationException("Only http and https are allowed protocol settings, found " + protocol);
         }
+        if (serverLifecycleParallelism < 1) {
+            throw new ConfigurationException(
+                    "serverLifecycleParallelism must be at least 1, found " + serverLifecycleParallelism);
+        }
+        if (deploymentRollout != null && !(DeploymentRolloutPlan.IN_SERIES.equalsIgnoreCase(deploymentRollout)
+                || DeploymentRolloutPlan.CONCURRENT.equalsIgnoreCase(deploymentRollout))) {
+            throw new ConfigurationException(
+                    "Only in-series and concurrent are allowed deploymentRollout settings, found " + deploymentRollout);
+        }
+        if (deploymentMaxFailedServers < 0) {
+            throw new ConfigurationException(
+                    "deploymentMaxFailedServers cannot be negative, found " + deploymentMaxFailedServers);
+        }
+        if (deploymentMaxFailurePercentage < 0 || deploymentMaxFailurePercentage > 100) {
+            throw new ConfigurationException(
+                    "deploymentMaxFailurePercentage must be between 0 and 100, found " + deploymentMaxFailurePercentage);
+        }
+        if (deploymentMaxFailedServers > 0 && deploymentMaxFailurePercentage > 0) {
+            throw new ConfigurationException(
+                    "Only one of deploymentMaxFailedServers and deploymentMaxFailurePercentage can be set");
+        }
     }
 
     private Map<String, String> convertToMap(String data) {
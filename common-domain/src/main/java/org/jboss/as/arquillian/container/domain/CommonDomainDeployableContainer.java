@@ -6,6 +6,7 @@ package org.jboss.as.arquillian.container.domain;
 
 import java.net.URI;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
@@ -39,6 +40,7 @@ import org.jboss.as.controller.client.helpers.domain.DomainClient;
 import org.jboss.shrinkwrap.api.Archive;
 import org.wildfly.arquillian.domain.ServerGroupArchive;
 import org.wildfly.arquillian.domain.api.DomainManager;
+import org.wildfly.arquillian.domain.api.ServerOperationEvent;
 
 /**
  * @author <a href="mailto:aslak@redhat.com">Aslak Knutsen</a>
@@ -62,6 +64,9 @@ public abstract class CommonDomainDeployableContainer<T extends CommonDomainCont
     @Inject // we need to fire setup events to trigger the container context creation
     private Event<SetupContainer> setupEvent;
 
+    @Inject
+    private Event<ServerOperationEvent> serverOperationEvent;
+
     private final Logger log = Logger.getLogger(CommonDomainDeployableContainer.class.getName());
     private T containerConfig;
     private ManagementClient managementClient;
@@ -91,11 +96,12 @@ public abstract class CommonDomainDeployableContainer<T extends CommonDomainCont
         // Register on setup so these can be injected into manual mode client tests
         final DomainClient domainClient = DomainClient.Factory
                 .create(new DelegatingModelControllerClient(DomainDelegateProvider.INSTANCE));
-        domainManager = new ContainerDomainManager(getContainerName(), isControllable(), domainClient);
+        domainManager = new ContainerDomainManager(getContainerName(), isControllable(), domainClient, config);
+        domainManager.addServerOperationListener(serverOperationEvent::fire);
         managementClient = new ManagementClient(domainClient, config, domainManager);
         managementClientInst.set(managementClient);
 
-        ArchiveDeployer archiveDeployer = new ArchiveDeployer(managementClient);
+        ArchiveDeployer archiveDeployer = new ArchiveDeployer(managementClient, config);
         archiveDeployerInst.set(archiveDeployer);
     }
 
@@ -192,10 +198,13 @@ public abstract class CommonDomainDeployableContainer<T extends CommonDomainCont
             final ArchiveDeployer deployer = archiveDeployerInst.get();
             final String uniqueName = deployer.deploy(archive, serverGroups);
             final Domain domain = domainInst.get();
+            final Set<Server> servers = new LinkedHashSet<>();
             for (String serverGroupName : serverGroups) {
-                for (Server server : domain.getServersInGroup(serverGroupName)) {
-                    metaData.addContext(new LazyHttpContext(server, uniqueName, managementClient));
-                }
+                servers.addAll(domain.getServersInGroup(serverGroupName));
+            }
+            final DeploymentHttpContexts contexts = new DeploymentHttpContexts(managementClient, uniqueName, servers);
+            for (Server server : servers) {
+                metaData.addContext(new LazyHttpContext(server, contexts));
             }
             return metaData;
         }
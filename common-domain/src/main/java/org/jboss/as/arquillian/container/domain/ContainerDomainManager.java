@@ -5,8 +5,13 @@
 
 package org.jboss.as.arquillian.container.domain;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
 import org.jboss.as.controller.client.ModelControllerClient;
 import org.wildfly.arquillian.domain.AbstractDomainManager;
+import org.wildfly.arquillian.domain.api.ServerOperationEvent;
 
 /**
  * A domain manager to be used in a container.
@@ -16,6 +21,8 @@ import org.wildfly.arquillian.domain.AbstractDomainManager;
 class ContainerDomainManager extends AbstractDomainManager {
 
     private final ModelControllerClient client;
+    private final List<ServerStatusListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<ServerOperationEvent>> progressListeners = new CopyOnWriteArrayList<>();
     private volatile boolean containerStarted;
 
     /**
@@ -45,6 +52,21 @@ class ContainerDomainManager extends AbstractDomainManager {
         this.containerStarted = containerStarted;
     }
 
+    /**
+     * Creates a new domain manager.
+     *
+     * @param containerName           the name of the container this domain manager belongs to
+     * @param lifecycleControlAllowed {@code true} if the lifecycle operations are allowed
+     * @param client                  the management client used to communicate with the running container
+     * @param configuration           the configuration of the container
+     */
+    ContainerDomainManager(final String containerName, final boolean lifecycleControlAllowed,
+            final ModelControllerClient client, final CommonDomainContainerConfiguration configuration) {
+        super(containerName, lifecycleControlAllowed, configuration.getServerLifecycleParallelism(),
+                configuration.getServerOperationTimeoutInSeconds());
+        this.client = client;
+    }
+
     /**
      * Set to indicate whether or not the domain container has been started.
      *
@@ -63,4 +85,65 @@ class ContainerDomainManager extends AbstractDomainManager {
     protected ModelControllerClient getModelControllerClient() {
         return client;
     }
+
+    /**
+     * Adds a listener which is notified when the status of servers is changed through this domain manager.
+     *
+     * @param listener the listener to add
+     */
+    void addServerStatusListener(final ServerStatusListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds a listener which is notified of the progress of lifecycle operations on a collection of servers.
+     *
+     * @param listener the listener to add
+     */
+    void addServerOperationListener(final Consumer<ServerOperationEvent> listener) {
+        progressListeners.add(listener);
+    }
+
+    @Override
+    protected void serverStatusChanged(final String hostName, final String serverName, final String status) {
+        for (ServerStatusListener listener : listeners) {
+            listener.serverStatusChanged(hostName, serverName, status);
+        }
+    }
+
+    @Override
+    protected void serverGroupStatusChanged(final String name) {
+        for (ServerStatusListener listener : listeners) {
+            listener.serverGroupStatusChanged(name);
+        }
+    }
+
+    @Override
+    protected void serverOperationProgress(final ServerOperationEvent event) {
+        for (Consumer<ServerOperationEvent> listener : progressListeners) {
+            listener.accept(event);
+        }
+    }
+
+    /**
+     * A listener notified when the status of servers is changed.
+     */
+    interface ServerStatusListener {
+
+        /**
+         * Invoked when the status of a server has changed.
+         *
+         * @param hostName   the name of the host the server is on
+         * @param serverName the name of the server
+         * @param status     the new status or {@code null} if the status is not known
+         */
+        void serverStatusChanged(String hostName, String serverName, String status);
+
+        /**
+         * Invoked when the status of the servers in a server group may have changed.
+         *
+         * @param name the name of the server group
+         */
+        void serverGroupStatusChanged(String name);
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.container.domain;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.arquillian.container.spi.client.protocol.metadata.HTTPContext;
+import org.jboss.as.arquillian.container.domain.Domain.Server;
+import org.jboss.logging.Logger;
+
+/**
+ * The HTTP contexts of a deployment for all the servers it has been deployed to. The contexts of all the servers are
+ * resolved together the first time the context of any server is requested and shared by the {@link LazyHttpContext}s
+ * of the servers.
+ */
+class DeploymentHttpContexts {
+    private static final Logger log = Logger.getLogger(DeploymentHttpContexts.class);
+
+    private final ManagementClient client;
+    private final String deploymentName;
+    private final Set<Server> servers;
+    private Map<String, HTTPContext> contexts;
+
+    /**
+     * Creates the contexts of a deployment.
+     *
+     * @param client         the client used to resolve the contexts
+     * @param deploymentName the unique name of the deployment
+     * @param servers        the servers the deployment has been deployed to
+     */
+    DeploymentHttpContexts(final ManagementClient client, final String deploymentName,
+            final Collection<Server> servers) {
+        this.client = client;
+        this.deploymentName = deploymentName;
+        this.servers = Set.copyOf(servers);
+    }
+
+    /**
+     * Returns the context of the deployment for the server.
+     *
+     * @param server the server to get the context for
+     *
+     * @return the context
+     */
+    synchronized HTTPContext getContext(final Server server) {
+        if (contexts == null) {
+            try {
+                contexts = client.getHTTPDeploymentMetaData(servers, deploymentName);
+            } catch (RuntimeException e) {
+                log.debugf(e, "Failed to resolve the contexts of deployment %s, resolving each server separately",
+                        deploymentName);
+                contexts = Map.of();
+            }
+        }
+        final HTTPContext context = contexts.get(server.getUniqueName());
+        if (context != null) {
+            return context;
+        }
+        // The server may not have been running when the contexts were resolved
+        return client.getHTTPDeploymentMetaData(server, deploymentName);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.container.domain;
+
+import static org.jboss.as.controller.client.helpers.ClientConstants.OPERATION_HEADERS;
+
+import java.util.Collection;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * The rollout plan used to deploy to the server groups, created from the {@link CommonDomainContainerConfiguration}.
+ * <p>
+ * The plan is sent as the {@code rollout-plan} operation header of the deploy operation. A failure on more servers of a
+ * server group than allowed rolls the deployment back across all server groups.
+ * </p>
+ */
+final class DeploymentRolloutPlan {
+
+    static final String IN_SERIES = "in-series";
+    static final String CONCURRENT = "concurrent";
+
+    private static final String ROLLOUT_PLAN = "rollout-plan";
+    private static final String CONCURRENT_GROUPS = "concurrent-groups";
+    private static final String MAX_FAILED_SERVERS = "max-failed-servers";
+    private static final String MAX_FAILURE_PERCENTAGE = "max-failure-percentage";
+    private static final String ROLLBACK_ACROSS_GROUPS = "rollback-across-groups";
+    private static final String ROLLING_TO_SERVERS = "rolling-to-servers";
+    private static final String SERVER_GROUP = "server-group";
+
+    private final boolean concurrent;
+    private final boolean rollingToServers;
+    private final int maxFailedServers;
+    private final int maxFailurePercentage;
+
+    private DeploymentRolloutPlan(final boolean concurrent, final boolean rollingToServers, final int maxFailedServers,
+            final int maxFailurePercentage) {
+        this.concurrent = concurrent;
+        this.rollingToServers = rollingToServers;
+        this.maxFailedServers = maxFailedServers;
+        this.maxFailurePercentage = maxFailurePercentage;
+    }
+
+    /**
+     * Creates the rollout plan from the configuration.
+     *
+     * @param config the container configuration
+     *
+     * @return the rollout plan or {@code null} if no rollout setting has been configured and the default rollout plan
+     *             of the domain controller should be used
+     */
+    static DeploymentRolloutPlan of(final CommonDomainContainerConfiguration config) {
+        final String rollout = config.getDeploymentRollout();
+        if (rollout == null && !config.isDeploymentRollingToServers() && config.getDeploymentMaxFailedServers() == 0
+                && config.getDeploymentMaxFailurePercentage() == 0) {
+            return null;
+        }
+        return new DeploymentRolloutPlan(CONCURRENT.equalsIgnoreCase(rollout), config.isDeploymentRollingToServers(),
+                config.getDeploymentMaxFailedServers(), config.getDeploymentMaxFailurePercentage());
+    }
+
+    /**
+     * Adds the {@code rollout-plan} operation header for the server groups to the operation.
+     *
+     * @param operation    the operation to add the header to
+     * @param serverGroups the server groups to roll out to
+     */
+    void addTo(final ModelNode operation, final Collection<String> serverGroups) {
+        final ModelNode plan = operation.get(OPERATION_HEADERS, ROLLOUT_PLAN);
+        final ModelNode inSeries = plan.get(IN_SERIES).setEmptyList();
+        if (concurrent) {
+            final ModelNode groups = new ModelNode();
+            for (String serverGroup : serverGroups) {
+                groups.get(CONCURRENT_GROUPS, serverGroup).set(createPolicy());
+            }
+            inSeries.add(groups);
+        } else {
+            for (String serverGroup : serverGroups) {
+                final ModelNode group = new ModelNode();
+                group.get(SERVER_GROUP, serverGroup).set(createPolicy());
+                inSeries.add(group);
+            }
+        }
+        plan.get(ROLLBACK_ACROSS_GROUPS).set(true);
+    }
+
+    private ModelNode createPolicy() {
+        final ModelNode policy = new ModelNode();
+        policy.get(ROLLING_TO_SERVERS).set(rollingToServers);
+        if (maxFailurePercentage > 0) {
+            policy.get(MAX_FAILURE_PERCENTAGE).set(maxFailurePercentage);
+        } else if (maxFailedServers > 0) {
+            policy.get(MAX_FAILED_SERVERS).set(maxFailedServers);
+        }
+        return policy;
+    }
+
+    @Override
+    public String toString() {
+        return (concurrent ? CONCURRENT : IN_SERIES) + "[rollingToServers=" + rollingToServers + ", maxFailedServers="
+                + maxFailedServers + ", maxFailurePercentage=" + maxFailurePercentage + "]";
+    }
+}
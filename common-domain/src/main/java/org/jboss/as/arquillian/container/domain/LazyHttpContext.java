@@ -21,6 +21,7 @@ public class LazyHttpContext extends HTTPContext {
     private Server server;
     private String deploymentName;
     private ManagementClient client;
+    private DeploymentHttpContexts contexts;
 
     private HTTPContext context = null;
 
@@ -32,6 +33,19 @@ public class LazyHttpContext extends HTTPContext {
         this.client = client;
     }
 
+    /**
+     * Creates a context which is looked up from the contexts of the deployment shared by all servers.
+     *
+     * @param server   the server
+     * @param contexts the contexts of the deployment
+     */
+    LazyHttpContext(Server server, DeploymentHttpContexts contexts) {
+        super("localhost", -1);
+
+        this.server = server;
+        this.contexts = contexts;
+    }
+
     @Override
     public String getName() {
         return server.getContainerName();
@@ -69,7 +83,11 @@ public class LazyHttpContext extends HTTPContext {
 
     private void initiateContext() {
         if (context == null) {
-            context = client.getHTTPDeploymentMetaData(server, deploymentName);
+            if (contexts != null) {
+                context = contexts.getContext(server);
+            } else {
+                context = client.getHTTPDeploymentMetaData(server, deploymentName);
+            }
         }
     }
 }
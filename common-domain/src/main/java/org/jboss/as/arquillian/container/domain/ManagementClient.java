@@ -5,6 +5,7 @@
 package org.jboss.as.arquillian.container.domain;
 
 import static org.jboss.as.controller.client.helpers.ClientConstants.AUTO_START;
+import static org.jboss.as.controller.client.helpers.ClientConstants.CHILD_TYPE;
 import static org.jboss.as.controller.client.helpers.ClientConstants.DEPLOYMENT;
 import static org.jboss.as.controller.client.helpers.ClientConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.client.helpers.ClientConstants.GROUP;
@@ -14,6 +15,8 @@ import static org.jboss.as.controller.client.helpers.ClientConstants.OP;
 import static org.jboss.as.controller.client.helpers.ClientConstants.OP_ADDR;
 import static org.jboss.as.controller.client.helpers.ClientConstants.OUTCOME;
 import static org.jboss.as.controller.client.helpers.ClientConstants.PROXIES;
+import static org.jboss.as.controller.client.helpers.ClientConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.client.helpers.ClientConstants.READ_CHILDREN_NAMES_OPERATION;
 import static org.jboss.as.controller.client.helpers.ClientConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.as.controller.client.helpers.ClientConstants.RECURSIVE;
 import static org.jboss.as.controller.client.helpers.ClientConstants.RECURSIVE_DEPTH;
@@ -29,15 +32,22 @@ import static org.jboss.as.controller.client.helpers.ClientConstants.SUCCESS;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jboss.arquillian.container.spi.client.protocol.metadata.HTTPContext;
 import org.jboss.arquillian.container.spi.client.protocol.metadata.Servlet;
 import org.jboss.as.arquillian.container.domain.Domain.Server;
 import org.jboss.as.arquillian.container.domain.Domain.ServerGroup;
 import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.helpers.DelegatingModelControllerClient;
+import org.jboss.as.controller.client.helpers.Operations.CompositeOperationBuilder;
 import org.jboss.as.controller.client.helpers.domain.DomainClient;
 import org.jboss.as.controller.client.helpers.domain.ServerIdentity;
 import org.jboss.as.controller.client.helpers.domain.ServerStatus;
@@ -56,21 +66,22 @@ public class ManagementClient {
     private static final String UNDERTOW = "undertow";
 
     private static final String NAME = "name";
+    private static final String ADDRESS = "address";
+    private static final String LOCAL_HOST_NAME = "local-host-name";
     private static final String SERVLET = "servlet";
 
     private static final String POSTFIX_WEB = ".war";
     private static final String POSTFIX_EAR = ".ear";
 
-    private static final int ROOT_RECURSIVE_DEPTH = 3;
-
     private final DomainClient client;
     private final DomainClient userClient;
-    private final Map<String, URI> subsystemURICache;
+    // Keyed by the unique name of the server and then by the protocol
+    private final Map<String, Map<String, URI>> subsystemURICache;
     private final CommonDomainContainerConfiguration configuration;
     private final DomainManager domainManager;
 
-    // cache static RootNode
-    private ModelNode rootNode = null;
+    // cache topology, the status of the servers is updated when changed through the domain manager
+    private volatile Topology topology = null;
 
     /**
      * Creates a new management client.
@@ -99,9 +110,12 @@ public class ManagementClient {
         }
         this.client = (client instanceof DomainClient ? ((DomainClient) client) : DomainClient.Factory.create(client));
         this.configuration = configuration;
-        this.subsystemURICache = new HashMap<>();
+        this.subsystemURICache = new ConcurrentHashMap<>();
         userClient = DomainClient.Factory.create(new NonClosingDomainClient(client));
         this.domainManager = domainManager;
+        if (domainManager instanceof ContainerDomainManager) {
+            ((ContainerDomainManager) domainManager).addServerStatusListener(new TopologyUpdater());
+        }
     }
 
     /**
@@ -124,29 +138,22 @@ public class ManagementClient {
     }
 
     public Domain createDomain(Map<String, String> containerNameMap) {
-        lazyLoadRootNode();
+        final Topology topology = lazyLoadTopology();
 
         Domain domain = new Domain();
-        for (String hostNodeName : rootNode.get(HOST).keys()) {
-            ModelNode serverConfigNode = rootNode.get(HOST).get(hostNodeName).get(SERVER_CONFIG);
-            if (serverConfigNode.isDefined()) {
-                for (String serverConfigName : serverConfigNode.keys()) {
-                    ModelNode serverConfig = rootNode.get(HOST).get(hostNodeName).get(SERVER_CONFIG).get(serverConfigName);
-
-                    Server server = new Server(
-                            serverConfig.get(NAME).asString(),
-                            hostNodeName,
-                            serverConfig.get(GROUP).asString(),
-                            serverConfig.get(AUTO_START).asBoolean());
-
-                    if (containerNameMap.containsKey(server.getUniqueName())) {
-                        server.setContainerName(containerNameMap.get(server.getUniqueName()));
-                    }
-                    domain.addServer(server);
-                }
+        for (ServerConfig serverConfig : topology.serverConfigs.values()) {
+            Server server = new Server(
+                    serverConfig.name,
+                    serverConfig.host,
+                    serverConfig.group,
+                    serverConfig.autoStart);
+
+            if (containerNameMap.containsKey(server.getUniqueName())) {
+                server.setContainerName(containerNameMap.get(server.getUniqueName()));
             }
+            domain.addServer(server);
         }
-        for (String serverGroupName : rootNode.get(SERVER_GROUP).keys()) {
+        for (String serverGroupName : topology.socketBindingGroups.keySet()) {
 
             ServerGroup group = new ServerGroup(serverGroupName);
             if (containerNameMap.containsKey(group.getName())) {
@@ -158,18 +165,32 @@ public class ManagementClient {
     }
 
     public String getServerState(Domain.Server server) {
-        lazyLoadRootNode();
+        Topology topology = lazyLoadTopology();
+        ServerConfig serverConfig = topology.serverConfigs.get(server.getUniqueName());
+        if (serverConfig == null) {
+            // The host may have registered, or the server may have been added, since the topology was read
+            topology = refreshTopology();
+            serverConfig = topology.serverConfigs.get(server.getUniqueName());
+        }
 
-        ModelNode hostNode = rootNode.get(HOST).get(server.getHost());
-        if (!hostNode.isDefined()) {
+        if (!topology.hosts.contains(server.getHost())) {
             throw new IllegalArgumentException("Host not found on domain " + server.getHost());
         }
-
-        ModelNode serverConfig = hostNode.get(SERVER_CONFIG).get(server.getName());
-        if (!serverConfig.isDefined()) {
+        if (serverConfig == null) {
             throw new IllegalArgumentException("Server " + server + " not found on host " + server.getHost());
         }
-        return serverConfig.get(STATUS).asString();
+        String status = serverConfig.status;
+        if (status == null) {
+            // The status has been invalidated, only read the status of this server
+            try {
+                status = readAttribute(createHostServerConfigAddress(serverConfig.host, serverConfig.name), STATUS)
+                        .asString();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            serverConfig.status = status;
+        }
+        return status;
     }
 
     public HTTPContext getHTTPDeploymentMetaData(Server server, String uniqueDeploymentName) {
@@ -194,14 +215,66 @@ public class ManagementClient {
         return context;
     }
 
+    /**
+     * Resolves the HTTP contexts of a deployment for all the servers with a single composite operation. The deployment
+     * and the socket binding are read with wildcard addresses, which only match servers which are running.
+     *
+     * @param servers              the servers to resolve the contexts for
+     * @param uniqueDeploymentName the name of the deployment
+     *
+     * @return the contexts keyed by the {@linkplain Server#getUniqueName() unique name} of the server, servers which are
+     *             not running or do not have the deployment are not included
+     */
+    Map<String, HTTPContext> getHTTPDeploymentMetaData(final Collection<Server> servers, final String uniqueDeploymentName) {
+        final String protocol = configuration.getProtocol();
+        final String socketBindingName = configuration.getSocketBindingName();
+        final ModelNode result;
+        try {
+            final Operation operation = CompositeOperationBuilder.create()
+                    .addStep(createReadResourceOperation(
+                            createHostServerDeploymentAddress("*", "*", uniqueDeploymentName), null))
+                    .addStep(createReadResourceOperation(new ModelNode().add(HOST, "*").add(SERVER, "*")
+                            .add(SOCKET_BINDING_GROUP, "*")
+                            .add(SOCKET_BINDING, socketBindingName == null ? "http" : socketBindingName), 0))
+                    .build();
+            result = client.execute(operation);
+            checkSuccessful(result);
+        } catch (Exception e) {
+            throw new RuntimeException("Could not extract deployment information for deployment: " + uniqueDeploymentName,
+                    e);
+        }
+        final Map<String, ModelNode> deployments = mapByServer(result.get(RESULT, "step-1", RESULT));
+        final Map<String, ModelNode> socketBindings = mapByServer(result.get(RESULT, "step-2", RESULT));
+
+        final Map<String, HTTPContext> contexts = new HashMap<>();
+        for (Server server : servers) {
+            final ModelNode deploymentNode = deployments.get(server.getUniqueName());
+            final ModelNode socketBinding = socketBindings.get(server.getUniqueName());
+            if (deploymentNode == null || socketBinding == null) {
+                continue;
+            }
+            final URI webURI = toURI(protocol, socketBinding);
+            subsystemURICache.computeIfAbsent(server.getUniqueName(), ignore -> new ConcurrentHashMap<>())
+                    .put(protocol, webURI);
+            final HTTPContext context = new HTTPContext(webURI.getHost(), webURI.getPort(),
+                    "https".equalsIgnoreCase(protocol));
+            if (isWebArchive(uniqueDeploymentName)) {
+                extractWebArchiveContexts(context, deploymentNode);
+            } else if (isEnterpriseArchive(uniqueDeploymentName)) {
+                extractEnterpriseArchiveContexts(context, deploymentNode);
+            }
+            contexts.put(server.getUniqueName(), context);
+        }
+        return contexts;
+    }
+
     /**
      * Returns the value of the {@code local-host-name} attribute.
      *
      * @return the local host name
      */
     public String getLocalHostName() {
-        lazyLoadRootNode();
-        return rootNode.get("local-host-name").asString();
+        return lazyLoadTopology().localHostName;
     }
 
     /**
@@ -286,13 +359,14 @@ public class ManagementClient {
     // -------------------------------------------------------------------------------------||
 
     private URI getProtocolURI(Server server, String subsystem) {
-        String cacheKey = server + subsystem;
-        URI subsystemURI = subsystemURICache.get(cacheKey);
+        final Map<String, URI> serverCache = subsystemURICache.computeIfAbsent(server.getUniqueName(),
+                ignore -> new ConcurrentHashMap<>());
+        URI subsystemURI = serverCache.get(subsystem);
         if (subsystemURI != null) {
             return subsystemURI;
         }
         subsystemURI = extractProtocolURI(server, subsystem);
-        subsystemURICache.put(cacheKey, subsystemURI);
+        serverCache.put(subsystem, subsystemURI);
         return subsystemURI;
     }
 
@@ -304,8 +378,7 @@ public class ManagementClient {
 
             final String socketBindingName = configuration.getSocketBindingName();
             ModelNode socketBinding = node.get(SOCKET_BINDING).get(socketBindingName == null ? "http" : socketBindingName);
-            return URI.create(protocol + "://" + socketBinding.get("bound-address").asString() + ":"
-                    + socketBinding.get("bound-port"));
+            return toURI(protocol, socketBinding);
 
         } catch (Exception e) {
             throw new RuntimeException("Could not extract address information from server: " + server + " for protocol "
@@ -313,13 +386,74 @@ public class ManagementClient {
         }
     }
 
-    private void readRootNode() throws Exception {
-        rootNode = readResource(new ModelNode(), ROOT_RECURSIVE_DEPTH);
+    /**
+     * Reads the parts of the domain model the client needs with a few targeted reads rather than a recursive read of
+     * the whole domain.
+     */
+    private Topology readTopology() throws Exception {
+        final ModelNode root = new ModelNode().setEmptyList();
+        final Topology topology = new Topology(readAttribute(root, LOCAL_HOST_NAME).asString());
+        for (ModelNode host : readChildrenNames(root, HOST).asList()) {
+            topology.hosts.add(host.asString());
+        }
+
+        // Only the attributes of the server configs are read, including the runtime status
+        final ModelNode serverConfigs = readResource(new ModelNode().add(HOST, "*").add(SERVER_CONFIG, "*"), 0);
+        for (ModelNode entry : serverConfigs.asList()) {
+            checkSuccessful(entry);
+            final ModelNode address = entry.get(ADDRESS);
+            final ModelNode serverConfig = entry.get(RESULT);
+            final ServerConfig config = new ServerConfig(
+                    getAddressValue(address, SERVER_CONFIG),
+                    getAddressValue(address, HOST),
+                    serverConfig.get(GROUP).asString(),
+                    serverConfig.get(AUTO_START).asBoolean(),
+                    serverConfig.get(STATUS).asString());
+            topology.serverConfigs.put(config.host + ":" + config.name, config);
+        }
+
+        final ModelNode serverGroups = readAttribute(new ModelNode().add(SERVER_GROUP, "*"), SOCKET_BINDING_GROUP);
+        for (ModelNode entry : serverGroups.asList()) {
+            checkSuccessful(entry);
+            topology.socketBindingGroups.put(getAddressValue(entry.get(ADDRESS), SERVER_GROUP),
+                    entry.get(RESULT).asString());
+        }
+        return topology;
     }
 
     private String getSocketBindingGroup(String serverGroup) {
-        lazyLoadRootNode();
-        return rootNode.get(SERVER_GROUP).get(serverGroup).get(SOCKET_BINDING_GROUP).asString();
+        return lazyLoadTopology().socketBindingGroups.get(serverGroup);
+    }
+
+    private static URI toURI(final String protocol, final ModelNode socketBinding) {
+        return URI.create(protocol + "://" + socketBinding.get("bound-address").asString() + ":"
+                + socketBinding.get("bound-port"));
+    }
+
+    /**
+     * Maps the successful results of an operation with a wildcard host and server address by the unique name of the
+     * server.
+     */
+    private static Map<String, ModelNode> mapByServer(final ModelNode results) {
+        final Map<String, ModelNode> mapped = new HashMap<>();
+        if (results.isDefined()) {
+            for (ModelNode entry : results.asList()) {
+                if (SUCCESS.equals(entry.get(OUTCOME).asString())) {
+                    final ModelNode address = entry.get(ADDRESS);
+                    mapped.put(getAddressValue(address, HOST) + ":" + getAddressValue(address, SERVER), entry.get(RESULT));
+                }
+            }
+        }
+        return mapped;
+    }
+
+    private static String getAddressValue(final ModelNode address, final String type) {
+        for (ModelNode element : address.asList()) {
+            if (element.has(type)) {
+                return element.get(type).asString();
+            }
+        }
+        throw new IllegalArgumentException("No " + type + " found in address " + address);
     }
 
     // -------------------------------------------------------------------------------------||
@@ -338,6 +472,10 @@ public class ManagementClient {
         return new ModelNode().add(HOST, host).add(SERVER, server).add(DEPLOYMENT, deploymentName);
     }
 
+    private ModelNode createHostServerConfigAddress(String host, String server) {
+        return new ModelNode().add(HOST, host).add(SERVER_CONFIG, server);
+    }
+
     private ModelNode createHostServerSocketBindingsAddress(String host, String server, String socketBindingGroup) {
         return new ModelNode().add(HOST, host).add(SERVER, server).add(SOCKET_BINDING_GROUP, socketBindingGroup);
     }
@@ -396,11 +534,24 @@ public class ManagementClient {
     // Common Management API Operations ---------------------------------------------------||
     // -------------------------------------------------------------------------------------||
 
-    private void lazyLoadRootNode() {
-        try {
-            if (rootNode == null) {
-                readRootNode();
+    private Topology lazyLoadTopology() {
+        final Topology topology = this.topology;
+        if (topology != null) {
+            return topology;
+        }
+        synchronized (this) {
+            if (this.topology == null) {
+                return refreshTopology();
             }
+            return this.topology;
+        }
+    }
+
+    private synchronized Topology refreshTopology() {
+        try {
+            final Topology topology = readTopology();
+            this.topology = topology;
+            return topology;
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -411,6 +562,10 @@ public class ManagementClient {
     }
 
     private ModelNode readResource(ModelNode address, Integer recursiveDepth) throws Exception {
+        return executeForResult(createReadResourceOperation(address, recursiveDepth));
+    }
+
+    private static ModelNode createReadResourceOperation(ModelNode address, Integer recursiveDepth) {
         final ModelNode operation = new ModelNode();
         operation.get(OP).set(READ_RESOURCE_OPERATION);
         if (recursiveDepth == null) {
@@ -423,22 +578,109 @@ public class ManagementClient {
         operation.get(INCLUDE_RUNTIME).set(true);
         operation.get(PROXIES).set(true);
         operation.get(OP_ADDR).set(address);
+        return operation;
+    }
+
+    private ModelNode readAttribute(final ModelNode address, final String name) throws Exception {
+        final ModelNode operation = new ModelNode();
+        operation.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        operation.get(NAME).set(name);
+        operation.get(OP_ADDR).set(address);
+
+        return executeForResult(operation);
+    }
+
+    private ModelNode readChildrenNames(final ModelNode address, final String childType) throws Exception {
+        final ModelNode operation = new ModelNode();
+        operation.get(OP).set(READ_CHILDREN_NAMES_OPERATION);
+        operation.get(CHILD_TYPE).set(childType);
+        operation.get(OP_ADDR).set(address);
 
         return executeForResult(operation);
     }
 
     private ModelNode executeForResult(final ModelNode operation) throws Exception {
         final ModelNode result = client.execute(operation);
-        checkSuccessful(result, operation);
+        checkSuccessful(result);
         return result.get(RESULT);
     }
 
-    private void checkSuccessful(final ModelNode result, final ModelNode operation) throws UnSuccessfulOperationException {
+    private void checkSuccessful(final ModelNode result) throws UnSuccessfulOperationException {
         if (!SUCCESS.equals(result.get(OUTCOME).asString())) {
             throw new UnSuccessfulOperationException(result.get(FAILURE_DESCRIPTION).toString());
         }
     }
 
+    /**
+     * The parts of the domain model read once by the client.
+     */
+    private static class Topology {
+        private final String localHostName;
+        private final Set<String> hosts = new HashSet<>();
+        // Keyed by the unique name of the server, host:name
+        private final Map<String, ServerConfig> serverConfigs = new LinkedHashMap<>();
+        // The socket binding group of each server group, keyed by the name of the server group
+        private final Map<String, String> socketBindingGroups = new LinkedHashMap<>();
+
+        private Topology(final String localHostName) {
+            this.localHostName = localHostName;
+        }
+    }
+
+    private static class ServerConfig {
+        private final String name;
+        private final String host;
+        private final String group;
+        private final boolean autoStart;
+        // null if the status is not known and needs to be read
+        private volatile String status;
+
+        private ServerConfig(final String name, final String host, final String group, final boolean autoStart,
+                final String status) {
+            this.name = name;
+            this.host = host;
+            this.group = group;
+            this.autoStart = autoStart;
+            this.status = status;
+        }
+    }
+
+    /**
+     * Updates the status of the servers in the topology when it is changed through the domain manager. Servers whose
+     * status is not known are read again the next time their status is requested.
+     */
+    private class TopologyUpdater implements ContainerDomainManager.ServerStatusListener {
+
+        @Override
+        public void serverStatusChanged(final String hostName, final String serverName, final String status) {
+            final String uniqueName = hostName + ":" + serverName;
+            // The bound addresses may change when the server is restarted
+            subsystemURICache.remove(uniqueName);
+            final Topology topology = ManagementClient.this.topology;
+            if (topology != null) {
+                final ServerConfig serverConfig = topology.serverConfigs.get(uniqueName);
+                if (serverConfig != null) {
+                    serverConfig.status = status;
+                }
+            }
+        }
+
+        @Override
+        public void serverGroupStatusChanged(final String name) {
+            final Topology topology = ManagementClient.this.topology;
+            if (topology == null) {
+                subsystemURICache.clear();
+                return;
+            }
+            for (ServerConfig serverConfig : topology.serverConfigs.values()) {
+                if (name.equals(serverConfig.group)) {
+                    subsystemURICache.remove(serverConfig.host + ":" + serverConfig.name);
+                    serverConfig.status = null;
+                }
+            }
+        }
+    }
+
     private static class UnSuccessfulOperationException extends Exception {
         private static final long serialVersionUID = 1L;
 
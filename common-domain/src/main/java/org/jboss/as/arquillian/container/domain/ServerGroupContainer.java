@@ -92,8 +92,10 @@ public class ServerGroupContainer implements DeployableContainer<EmptyConfigurat
         String uniqueName = deployer.deploy(archive, serverGroup.getName());
 
         ProtocolMetaData metaData = new ProtocolMetaData();
-        for (Server server : domain.getServersInGroup(serverGroup)) {
-            metaData.addContext(new LazyHttpContext(server, uniqueName, client));
+        final Set<Server> servers = domain.getServersInGroup(serverGroup);
+        final DeploymentHttpContexts contexts = new DeploymentHttpContexts(client, uniqueName, servers);
+        for (Server server : servers) {
+            metaData.addContext(new LazyHttpContext(server, contexts));
         }
         return metaData;
     }
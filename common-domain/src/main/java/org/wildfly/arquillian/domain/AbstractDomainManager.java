@@ -6,10 +6,21 @@
 package org.wildfly.arquillian.domain;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.as.controller.client.ModelControllerClient;
 import org.jboss.as.controller.client.helpers.ClientConstants;
@@ -17,6 +28,8 @@ import org.jboss.as.controller.client.helpers.Operations;
 import org.jboss.dmr.ModelNode;
 import org.wildfly.arquillian.domain.api.DomainManager;
 import org.wildfly.arquillian.domain.api.ServerDescription;
+import org.wildfly.arquillian.domain.api.ServerOperationEvent;
+import org.wildfly.arquillian.domain.api.ServerOperationResult;
 
 /**
  * Implements the domain manager operations.
@@ -24,12 +37,48 @@ import org.wildfly.arquillian.domain.api.ServerDescription;
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
 public abstract class AbstractDomainManager implements DomainManager {
+    /**
+     * The default maximum number of servers a lifecycle operation is executed on concurrently.
+     */
+    public static final int DEFAULT_LIFECYCLE_PARALLELISM = 4;
+    /**
+     * The default number of seconds to wait for a server to reach the status of a lifecycle operation.
+     */
+    public static final int DEFAULT_SERVER_OPERATION_TIMEOUT = 120;
+
+    private static final Set<String> STARTED_STATUSES = Set.of("STARTED");
+    // A stopped server whose auto-start attribute is false is reported as disabled
+    private static final Set<String> STOPPED_STATUSES = Set.of("STOPPED", "DISABLED");
+    private static final long STATUS_POLL_INTERVAL_MILLIS = 100L;
+
     private final String containerName;
     private final boolean lifecycleControlAllowed;
+    private final int lifecycleParallelism;
+    private final int serverOperationTimeout;
 
     protected AbstractDomainManager(final String containerName, final boolean lifecycleControlAllowed) {
+        this(containerName, lifecycleControlAllowed, DEFAULT_LIFECYCLE_PARALLELISM, DEFAULT_SERVER_OPERATION_TIMEOUT);
+    }
+
+    /**
+     * Creates a new domain manager.
+     *
+     * @param containerName           the name of the container this domain manager belongs to
+     * @param lifecycleControlAllowed {@code true} if the lifecycle operations are allowed
+     * @param lifecycleParallelism    the maximum number of servers a lifecycle operation on a collection of servers is
+     *                                    executed on concurrently
+     * @param serverOperationTimeout  the number of seconds to wait for the servers of a lifecycle operation on a
+     *                                    collection of servers to reach the status of the operation
+     */
+    protected AbstractDomainManager(final String containerName, final boolean lifecycleControlAllowed,
+            final int lifecycleParallelism, final int serverOperationTimeout) {
+        if (lifecycleParallelism < 1) {
+            throw new IllegalArgumentException("The lifecycle parallelism must be at least 1: " + lifecycleParallelism);
+        }
         this.containerName = containerName;
         this.lifecycleControlAllowed = lifecycleControlAllowed;
+        this.lifecycleParallelism = lifecycleParallelism;
+        this.serverOperationTimeout = serverOperationTimeout;
     }
 
     @Override
@@ -119,7 +168,7 @@ public abstract class AbstractDomainManager implements DomainManager {
         final ModelNode op = Operations.createOperation("start",
                 Operations.createAddress(ClientConstants.HOST, hostName, ClientConstants.SERVER_CONFIG, serverName));
         op.get("blocking").set(true);
-        runtimeExecuteForSuccess(op);
+        executeServerLifecycle(op, hostName, serverName);
     }
 
     @Override
@@ -128,7 +177,7 @@ public abstract class AbstractDomainManager implements DomainManager {
         final ModelNode op = Operations.createOperation("stop",
                 Operations.createAddress(ClientConstants.HOST, hostName, ClientConstants.SERVER_CONFIG, serverName));
         op.get("blocking").set(true);
-        runtimeExecuteForSuccess(op);
+        executeServerLifecycle(op, hostName, serverName);
     }
 
     @Override
@@ -153,7 +202,7 @@ public abstract class AbstractDomainManager implements DomainManager {
         final ModelNode op = Operations.createOperation("restart",
                 Operations.createAddress(ClientConstants.HOST, hostName, ClientConstants.SERVER_CONFIG, serverName));
         op.get("blocking").set(true);
-        runtimeExecuteForSuccess(op);
+        executeServerLifecycle(op, hostName, serverName);
     }
 
     @Override
@@ -172,6 +221,106 @@ public abstract class AbstractDomainManager implements DomainManager {
         runtimeExecuteForSuccess(op);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The servers are started concurrently, bounded by the lifecycle parallelism. The start operation is executed
+     * without blocking and the status of each server is then polled until the server has started.
+     * </p>
+     */
+    @Override
+    public void startServers(final Collection<? extends ServerDescription> servers) {
+        checkState(true);
+        throwIfFailed(executeConcurrently(servers, "start", lifecycleParallelism,
+                (server, deadline) -> executeAndAwait(server, "start", STARTED_STATUSES, deadline)));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The servers are stopped concurrently, bounded by the lifecycle parallelism. The stop operation is executed
+     * without blocking and the status of each server is then polled until the server has stopped.
+     * </p>
+     */
+    @Override
+    public void stopServers(final Collection<? extends ServerDescription> servers) {
+        checkState(true);
+        throwIfFailed(executeConcurrently(servers, "stop", lifecycleParallelism,
+                (server, deadline) -> executeAndAwait(server, "stop", STOPPED_STATUSES, deadline)));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The servers are restarted concurrently, bounded by the lifecycle parallelism. Each server is stopped and then
+     * started, waiting for the server to reach the status of each operation.
+     * </p>
+     */
+    @Override
+    public void restartServers(final Collection<? extends ServerDescription> servers) {
+        checkState(true);
+        throwIfFailed(executeConcurrently(servers, "restart", lifecycleParallelism, this::restartAndAwait));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The start operation is executed without blocking and the status of each server is then polled until the server
+     * has started. The progress is reported to {@link #serverOperationProgress(ServerOperationEvent)}.
+     * </p>
+     */
+    @Override
+    public ServerOperationResult startServers(final String groupName, final int maxConcurrency) {
+        checkState(true);
+        return executeOnServerGroup(groupName, "start", maxConcurrency,
+                (server, deadline) -> executeAndAwait(server, "start", STARTED_STATUSES, deadline));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The stop operation is executed without blocking and the status of each server is then polled until the server
+     * has stopped. The progress is reported to {@link #serverOperationProgress(ServerOperationEvent)}.
+     * </p>
+     */
+    @Override
+    public ServerOperationResult stopServers(final String groupName, final int maxConcurrency) {
+        checkState(true);
+        return executeOnServerGroup(groupName, "stop", maxConcurrency,
+                (server, deadline) -> executeAndAwait(server, "stop", STOPPED_STATUSES, deadline));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each server is stopped and then started, waiting for the server to reach the status of each operation. The
+     * progress is reported to {@link #serverOperationProgress(ServerOperationEvent)}.
+     * </p>
+     */
+    @Override
+    public ServerOperationResult restartServers(final String groupName, final int maxConcurrency) {
+        checkState(true);
+        return executeOnServerGroup(groupName, "restart", maxConcurrency, this::restartAndAwait);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each server is reloaded with a blocking reload operation. The progress is reported to
+     * {@link #serverOperationProgress(ServerOperationEvent)}.
+     * </p>
+     */
+    @Override
+    public ServerOperationResult reloadServers(final String groupName, final int maxConcurrency) {
+        checkState(true);
+        return executeOnServerGroup(groupName, "reload", maxConcurrency, (server, deadline) -> {
+            final ModelNode op = Operations.createOperation("reload", Operations.createAddress(ClientConstants.HOST,
+                    server.getHostName(), ClientConstants.SERVER_CONFIG, server.getName()));
+            op.get("blocking").set(true);
+            return executeServerLifecycle(op, server.getHostName(), server.getName());
+        });
+    }
+
     @Override
     public String getServerGroupName(final String hostName, final String serverName) {
         checkState(false);
@@ -186,7 +335,7 @@ public abstract class AbstractDomainManager implements DomainManager {
         final ModelNode op = Operations.createOperation("reload-servers",
                 Operations.createAddress(ClientConstants.SERVER_GROUP, name));
         op.get("blocking").set(true);
-        runtimeExecuteForSuccess(op);
+        executeServerGroupLifecycle(op, name);
     }
 
     @Override
@@ -195,7 +344,7 @@ public abstract class AbstractDomainManager implements DomainManager {
         final ModelNode op = Operations.createOperation("restart-servers",
                 Operations.createAddress(ClientConstants.SERVER_GROUP, name));
         op.get("blocking").set(true);
-        runtimeExecuteForSuccess(op);
+        executeServerGroupLifecycle(op, name);
     }
 
     @Override
@@ -211,7 +360,7 @@ public abstract class AbstractDomainManager implements DomainManager {
         final ModelNode op = Operations.createOperation("start-servers",
                 Operations.createAddress(ClientConstants.SERVER_GROUP, name));
         op.get("blocking").set(true);
-        runtimeExecuteForSuccess(op);
+        executeServerGroupLifecycle(op, name);
     }
 
     @Override
@@ -220,7 +369,7 @@ public abstract class AbstractDomainManager implements DomainManager {
         final ModelNode op = Operations.createOperation("stop-servers",
                 Operations.createAddress(ClientConstants.SERVER_GROUP, name));
         op.get("blocking").set(true);
-        runtimeExecuteForSuccess(op);
+        executeServerGroupLifecycle(op, name);
     }
 
     @Override
@@ -239,6 +388,36 @@ public abstract class AbstractDomainManager implements DomainManager {
      */
     protected abstract ModelControllerClient getModelControllerClient();
 
+    /**
+     * Invoked after an operation which changes the status of a server has been executed. The default implementation
+     * does nothing.
+     *
+     * @param hostName   the name of the host the server is on
+     * @param serverName the name of the server
+     * @param status     the status of the server after the operation or {@code null} if the status is not known, for
+     *                       example if the operation failed
+     */
+    protected void serverStatusChanged(final String hostName, final String serverName, final String status) {
+    }
+
+    /**
+     * Invoked after an operation which changes the status of the servers in a server group has been executed. The
+     * default implementation does nothing.
+     *
+     * @param name the name of the server group
+     */
+    protected void serverGroupStatusChanged(final String name) {
+    }
+
+    /**
+     * Invoked when a lifecycle operation on a collection of servers starts or completes on a server. This is always
+     * invoked on the thread which invoked the lifecycle operation. The default implementation does nothing.
+     *
+     * @param event the progress of the operation
+     */
+    protected void serverOperationProgress(final ServerOperationEvent event) {
+    }
+
     private void checkState(final boolean lifecycleControlRequired) {
         if (!isDomainStarted()) {
             throw new IllegalStateException("Container " + containerName + " has not been started.");
@@ -249,6 +428,174 @@ public abstract class AbstractDomainManager implements DomainManager {
         }
     }
 
+    private String executeServerLifecycle(final ModelNode op, final String hostName, final String serverName) {
+        String status = null;
+        try {
+            // The lifecycle operations of a server return the status of the server
+            final ModelNode result = runtimeExecuteForSuccess(op);
+            if (result.isDefined()) {
+                status = result.asString();
+            }
+        } finally {
+            serverStatusChanged(hostName, serverName, status);
+        }
+        return status;
+    }
+
+    private ServerOperationResult executeOnServerGroup(final String groupName, final String operation,
+            final int maxConcurrency, final ServerTask task) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("The maximum concurrency must be at least 1: " + maxConcurrency);
+        }
+        try {
+            return executeConcurrently(getServersInGroup(groupName), operation, maxConcurrency, task);
+        } finally {
+            serverGroupStatusChanged(groupName);
+        }
+    }
+
+    private List<ServerDescription> getServersInGroup(final String groupName) {
+        final ModelNode op = Operations.createReadAttributeOperation(
+                Operations.createAddress(ClientConstants.HOST, "*", ClientConstants.SERVER_CONFIG, "*"),
+                ClientConstants.GROUP);
+        final List<ServerDescription> servers = new ArrayList<>();
+        for (ModelNode result : runtimeExecuteForSuccess(op).asList()) {
+            if (Operations.isSuccessfulOutcome(result) && groupName.equals(Operations.readResult(result).asString())) {
+                final List<ModelNode> address = Operations.getOperationAddress(result).asList();
+                servers.add(new GroupServer(address.get(0).get(ClientConstants.HOST).asString(),
+                        address.get(1).get(ClientConstants.SERVER_CONFIG).asString(), groupName));
+            }
+        }
+        return servers;
+    }
+
+    /**
+     * Executes the task on the servers with a pool of at most {@code parallelism} threads. Each server has the server
+     * operation timeout to reach the status of the operation, starting when its task starts. The progress of the
+     * servers is handed back to the calling thread, which reports it to
+     * {@link #serverOperationProgress(ServerOperationEvent)}.
+     */
+    private ServerOperationResult executeConcurrently(final Collection<? extends ServerDescription> servers,
+            final String operation, final int parallelism, final ServerTask task) {
+        final long start = System.nanoTime();
+        if (servers.isEmpty()) {
+            return new ServerOperationResult(operation, List.of(), Duration.ZERO);
+        }
+        final long timeout = TimeUnit.SECONDS.toNanos(serverOperationTimeout);
+        final int serverCount = servers.size();
+        final ServerOperationResult.ServerResult[] results = new ServerOperationResult.ServerResult[serverCount];
+        final BlockingQueue<Progress> progress = new LinkedBlockingQueue<>();
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, serverCount), r -> {
+            final Thread thread = new Thread(r, "domain-server-lifecycle-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            int index = 0;
+            for (ServerDescription server : servers) {
+                final int i = index++;
+                executor.execute(() -> {
+                    progress.add(new Progress(server, null));
+                    final long serverStart = System.nanoTime();
+                    String status = null;
+                    Throwable failure = null;
+                    try {
+                        // The timeout starts once the task starts, servers waiting for a thread do not use it up
+                        status = task.execute(server, serverStart + timeout);
+                    } catch (Throwable t) {
+                        failure = t;
+                    }
+                    final ServerOperationResult.ServerResult result = new ServerOperationResult.ServerResult(server,
+                            Duration.ofNanos(System.nanoTime() - serverStart), status, failure);
+                    results[i] = result;
+                    progress.add(new Progress(server, result));
+                });
+            }
+            int completed = 0;
+            while (completed < serverCount) {
+                final Progress next = progress.take();
+                if (next.result != null) {
+                    completed++;
+                }
+                serverOperationProgress(new ServerOperationEvent(operation, next.server, next.result, completed,
+                        serverCount));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for the lifecycle operation to complete", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return new ServerOperationResult(operation, Arrays.asList(results), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static void throwIfFailed(final ServerOperationResult result) {
+        if (!result.isSuccessful()) {
+            final RuntimeException failure = new RuntimeException("Failed to execute the lifecycle operation on all servers");
+            for (ServerOperationResult.ServerResult serverResult : result.getFailures()) {
+                failure.addSuppressed(serverResult.getFailure());
+            }
+            throw failure;
+        }
+    }
+
+    private String restartAndAwait(final ServerDescription server, final long deadline) {
+        executeAndAwait(server, "stop", STOPPED_STATUSES, deadline);
+        return executeAndAwait(server, "start", STARTED_STATUSES, deadline);
+    }
+
+    private String executeAndAwait(final ServerDescription server, final String operationName,
+            final Set<String> expectedStatuses, final long deadline) {
+        final ModelNode address = Operations.createAddress(ClientConstants.HOST, server.getHostName(),
+                ClientConstants.SERVER_CONFIG, server.getName());
+        final ModelNode op = Operations.createOperation(operationName, address);
+        op.get("blocking").set(false);
+        String status = null;
+        try {
+            runtimeExecuteForSuccess(op);
+            status = awaitStatus(server, address, expectedStatuses, deadline);
+        } finally {
+            serverStatusChanged(server.getHostName(), server.getName(), status);
+        }
+        return status;
+    }
+
+    private String awaitStatus(final ServerDescription server, final ModelNode address, final Set<String> expectedStatuses,
+            final long deadline) {
+        final ModelNode op = Operations.createReadAttributeOperation(address, "status");
+        while (true) {
+            final String status = runtimeExecuteForSuccess(op).asString();
+            if (expectedStatuses.contains(status)) {
+                return status;
+            }
+            if ("FAILED".equals(status)) {
+                throw new RuntimeException(String.format("Server %s on host %s failed", server.getName(),
+                        server.getHostName()));
+            }
+            if (System.nanoTime() - deadline >= 0L) {
+                throw new RuntimeException(String.format(
+                        "Server %s on host %s did not reach the status %s within %d seconds", server.getName(),
+                        server.getHostName(), expectedStatuses, serverOperationTimeout));
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(STATUS_POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(String.format("Interrupted waiting for server %s on host %s",
+                        server.getName(), server.getHostName()), e);
+            }
+        }
+    }
+
+    private void executeServerGroupLifecycle(final ModelNode op, final String name) {
+        try {
+            runtimeExecuteForSuccess(op);
+        } finally {
+            serverGroupStatusChanged(name);
+        }
+    }
+
     private ModelNode runtimeExecuteForSuccess(final ModelNode op) {
         try {
             return executeForSuccess(op);
@@ -265,4 +612,57 @@ public abstract class AbstractDomainManager implements DomainManager {
         }
         return Operations.readResult(result);
     }
+
+    /**
+     * A lifecycle operation executed on a single server.
+     */
+    private interface ServerTask {
+
+        /**
+         * Executes the operation on the server.
+         *
+         * @param server   the server
+         * @param deadline the {@link System#nanoTime()} the server has to reach the status of the operation by
+         *
+         * @return the status of the server after the operation or {@code null} if not known
+         */
+        String execute(ServerDescription server, long deadline);
+    }
+
+    private static class Progress {
+        private final ServerDescription server;
+        private final ServerOperationResult.ServerResult result;
+
+        private Progress(final ServerDescription server, final ServerOperationResult.ServerResult result) {
+            this.server = server;
+            this.result = result;
+        }
+    }
+
+    private static class GroupServer implements ServerDescription {
+        private final String hostName;
+        private final String name;
+        private final String groupName;
+
+        private GroupServer(final String hostName, final String name, final String groupName) {
+            this.hostName = hostName;
+            this.name = name;
+            this.groupName = groupName;
+        }
+
+        @Override
+        public String getHostName() {
+            return hostName;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getGroupName() {
+            return groupName;
+        }
+    }
 }
@@ -5,6 +5,8 @@
 
 package org.wildfly.arquillian.domain.api;
 
+import java.util.Collection;
+
 import org.jboss.arquillian.container.test.api.ContainerController;
 
 /**
@@ -124,4 +126,88 @@ public interface DomainContainerController extends ContainerController {
      * @param timeout            the timeout for the suspend
      */
     void suspendServer(String containerQualifier, String hostName, String serverName, int timeout);
+
+    /**
+     * Starts the servers. The servers may be started concurrently.
+     *
+     * @param containerQualifier the name of the container
+     * @param servers            the servers to start
+     */
+    default void startServers(final String containerQualifier, final Collection<? extends ServerDescription> servers) {
+        for (ServerDescription server : servers) {
+            startServer(containerQualifier, server.getHostName(), server.getName());
+        }
+    }
+
+    /**
+     * Stops the servers. The servers may be stopped concurrently.
+     *
+     * @param containerQualifier the name of the container
+     * @param servers            the servers to stop
+     */
+    default void stopServers(final String containerQualifier, final Collection<? extends ServerDescription> servers) {
+        for (ServerDescription server : servers) {
+            stopServer(containerQualifier, server.getHostName(), server.getName());
+        }
+    }
+
+    /**
+     * Restarts the servers. The servers may be restarted concurrently.
+     *
+     * @param containerQualifier the name of the container
+     * @param servers            the servers to restart
+     */
+    default void restartServers(final String containerQualifier, final Collection<? extends ServerDescription> servers) {
+        for (ServerDescription server : servers) {
+            restartServer(containerQualifier, server.getHostName(), server.getName());
+        }
+    }
+
+    /**
+     * Starts each server of the server group, executing the operation on at most {@code maxConcurrency} servers at
+     * once. The progress of each server is fired on the client as a {@link ServerOperationEvent}.
+     *
+     * @param containerQualifier the name of the container
+     * @param groupName          the name of the server group
+     * @param maxConcurrency     the maximum number of servers the operation is executed on at once
+     *
+     * @return the result with the outcome and timing of each server of the server group
+     */
+    ServerOperationResult startServers(String containerQualifier, String groupName, int maxConcurrency);
+
+    /**
+     * Stops each server of the server group, executing the operation on at most {@code maxConcurrency} servers at
+     * once. The progress of each server is fired on the client as a {@link ServerOperationEvent}.
+     *
+     * @param containerQualifier the name of the container
+     * @param groupName          the name of the server group
+     * @param maxConcurrency     the maximum number of servers the operation is executed on at once
+     *
+     * @return the result with the outcome and timing of each server of the server group
+     */
+    ServerOperationResult stopServers(String containerQualifier, String groupName, int maxConcurrency);
+
+    /**
+     * Restarts each server of the server group, executing the operation on at most {@code maxConcurrency} servers at
+     * once. The progress of each server is fired on the client as a {@link ServerOperationEvent}.
+     *
+     * @param containerQualifier the name of the container
+     * @param groupName          the name of the server group
+     * @param maxConcurrency     the maximum number of servers the operation is executed on at once
+     *
+     * @return the result with the outcome and timing of each server of the server group
+     */
+    ServerOperationResult restartServers(String containerQualifier, String groupName, int maxConcurrency);
+
+    /**
+     * Reloads each server of the server group, executing the operation on at most {@code maxConcurrency} servers at
+     * once. The progress of each server is fired on the client as a {@link ServerOperationEvent}.
+     *
+     * @param containerQualifier the name of the container
+     * @param groupName          the name of the server group
+     * @param maxConcurrency     the maximum number of servers the operation is executed on at once
+     *
+     * @return the result with the outcome and timing of each server of the server group
+     */
+    ServerOperationResult reloadServers(String containerQualifier, String groupName, int maxConcurrency);
 }
@@ -47,4 +47,90 @@ public interface DomainManager extends ServerGroupManager, ServerManager {
      * @return {@code true} if the domain controller has been started, otherwise {@code false}
      */
     boolean isDomainStarted();
+
+    /**
+     * Starts each server of the server group, executing the operation on at most {@code maxConcurrency} servers at
+     * once. Implementations may report the progress of each server with a {@link ServerOperationEvent}. The default
+     * implementation starts the servers returned by {@link #getServers()} on at most {@code maxConcurrency} threads with
+     * {@link #startServer(String, String)}, a failure of a server is recorded in its result.
+     *
+     * @param groupName      the name of the server group
+     * @param maxConcurrency the maximum number of servers the operation is executed on at once
+     *
+     * @return the result with the outcome and timing of each server
+     *
+     * @throws IllegalStateException if lifecycle operations are not allowed
+     * @throws RuntimeException      if the servers of the server group could not be determined
+     */
+    default ServerOperationResult startServers(final String groupName, final int maxConcurrency) {
+        return ServerOperations.execute("start",
+                ServerOperations.getServersInGroup(getServers(), groupName), maxConcurrency, server -> {
+                    startServer(server.getHostName(), server.getName());
+                    return null;
+                });
+    }
+
+    /**
+     * Stops each server of the server group, executing the operation on at most {@code maxConcurrency} servers at
+     * once. Implementations may report the progress of each server with a {@link ServerOperationEvent}. The default
+     * implementation stops the servers returned by {@link #getServers()} on at most {@code maxConcurrency} threads with
+     * {@link #stopServer(String, String)}, a failure of a server is recorded in its result.
+     *
+     * @param groupName      the name of the server group
+     * @param maxConcurrency the maximum number of servers the operation is executed on at once
+     *
+     * @return the result with the outcome and timing of each server
+     *
+     * @throws IllegalStateException if lifecycle operations are not allowed
+     * @throws RuntimeException      if the servers of the server group could not be determined
+     */
+    default ServerOperationResult stopServers(final String groupName, final int maxConcurrency) {
+        return ServerOperations.execute("stop",
+                ServerOperations.getServersInGroup(getServers(), groupName), maxConcurrency, server -> {
+                    stopServer(server.getHostName(), server.getName());
+                    return null;
+                });
+    }
+
+    /**
+     * Restarts each server of the server group, executing the operation on at most {@code maxConcurrency} servers at
+     * once. Implementations may report the progress of each server with a {@link ServerOperationEvent}. The default
+     * implementation restarts the servers returned by {@link #getServers()} on at most {@code maxConcurrency} threads with
+     * {@link #restartServer(String, String)}, a failure of a server is recorded in its result.
+     *
+     * @param groupName      the name of the server group
+     * @param maxConcurrency the maximum number of servers the operation is executed on at once
+     *
+     * @return the result with the outcome and timing of each server
+     *
+     * @throws IllegalStateException if lifecycle operations are not allowed
+     * @throws RuntimeException      if the servers of the server group could not be determined
+     */
+    default ServerOperationResult restartServers(final String groupName, final int maxConcurrency) {
+        return ServerOperations.execute("restart",
+                ServerOperations.getServersInGroup(getServers(), groupName), maxConcurrency, server -> {
+                    restartServer(server.getHostName(), server.getName());
+                    return null;
+                });
+    }
+
+    /**
+     * Reloads each server of the server group, executing the operation on at most {@code maxConcurrency} servers at
+     * once. Implementations may report the progress of each server with a {@link ServerOperationEvent}. The default
+     * implementation reloads all the servers of the server group with {@link #reloadServers(String)}, each server
+     * returned by {@link #getServers()} is recorded with the duration and failure of the operation.
+     *
+     * @param groupName      the name of the server group
+     * @param maxConcurrency the maximum number of servers the operation is executed on at once
+     *
+     * @return the result with the outcome and timing of each server
+     *
+     * @throws IllegalStateException if lifecycle operations are not allowed
+     * @throws RuntimeException      if the servers of the server group could not be determined
+     */
+    default ServerOperationResult reloadServers(final String groupName, final int maxConcurrency) {
+        return ServerOperations.executeOnGroup("reload",
+                ServerOperations.getServersInGroup(getServers(), groupName), maxConcurrency,
+                () -> reloadServers(groupName));
+    }
 }
@@ -5,6 +5,8 @@
 
 package org.wildfly.arquillian.domain.api;
 
+import java.util.Collection;
+
 /**
  * A manager that allows control of the server lifecycle. Note that if this is not associated with a manual mode
  * container operations will fail.
@@ -92,4 +94,49 @@ public interface ServerManager {
      * @throws RuntimeException if the operation fails
      */
     String getServerGroupName(String hostName, String serverName);
+
+    /**
+     * Starts the servers. Implementations may start the servers concurrently. The default implementation starts the
+     * servers one at a time.
+     *
+     * @param servers the servers to start
+     *
+     * @throws IllegalStateException if lifecycle operations are not allowed
+     * @throws RuntimeException      if the start operation fails for any of the servers
+     */
+    default void startServers(final Collection<? extends ServerDescription> servers) {
+        for (ServerDescription server : servers) {
+            startServer(server.getHostName(), server.getName());
+        }
+    }
+
+    /**
+     * Stops the servers. Implementations may stop the servers concurrently. The default implementation stops the
+     * servers one at a time.
+     *
+     * @param servers the servers to stop
+     *
+     * @throws IllegalStateException if lifecycle operations are not allowed
+     * @throws RuntimeException      if the stop operation fails for any of the servers
+     */
+    default void stopServers(final Collection<? extends ServerDescription> servers) {
+        for (ServerDescription server : servers) {
+            stopServer(server.getHostName(), server.getName());
+        }
+    }
+
+    /**
+     * Restarts the servers. Implementations may restart the servers concurrently. The default implementation restarts
+     * the servers one at a time.
+     *
+     * @param servers the servers to restart
+     *
+     * @throws IllegalStateException if lifecycle operations are not allowed
+     * @throws RuntimeException      if the restart operation fails for any of the servers
+     */
+    default void restartServers(final Collection<? extends ServerDescription> servers) {
+        for (ServerDescription server : servers) {
+            restartServer(server.getHostName(), server.getName());
+        }
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.arquillian.domain.api;
+
+import java.util.Objects;
+
+/**
+ * An event fired on the Arquillian event bus when a lifecycle operation on the servers of a server group starts or
+ * completes on a single server. The events are fired on the thread which invoked the operation.
+ */
+public final class ServerOperationEvent {
+
+    private final String operation;
+    private final ServerDescription server;
+    private final ServerOperationResult.ServerResult result;
+    private final int completedCount;
+    private final int serverCount;
+
+    /**
+     * Creates a new event.
+     *
+     * @param operation      the name of the operation
+     * @param server         the server
+     * @param result         the result of the operation on the server or {@code null} if the operation has started
+     * @param completedCount the number of servers the operation has completed on
+     * @param serverCount    the number of servers the operation is executed on
+     */
+    public ServerOperationEvent(final String operation, final ServerDescription server,
+            final ServerOperationResult.ServerResult result, final int completedCount, final int serverCount) {
+        this.operation = Objects.requireNonNull(operation, "The operation cannot be null");
+        this.server = Objects.requireNonNull(server, "The server cannot be null");
+        this.result = result;
+        this.completedCount = completedCount;
+        this.serverCount = serverCount;
+    }
+
+    /**
+     * The name of the operation, for example {@code start}.
+     *
+     * @return the name of the operation
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * The server the operation has started or completed on.
+     *
+     * @return the server
+     */
+    public ServerDescription getServer() {
+        return server;
+    }
+
+    /**
+     * Checks whether the operation has completed on the server.
+     *
+     * @return {@code true} if the operation has completed, {@code false} if it has started
+     */
+    public boolean isCompleted() {
+        return result != null;
+    }
+
+    /**
+     * The result of the operation on the server.
+     *
+     * @return the result or {@code null} if the operation has only started
+     */
+    public ServerOperationResult.ServerResult getResult() {
+        return result;
+    }
+
+    /**
+     * The number of servers the operation has completed on, including this server if the operation has completed.
+     *
+     * @return the number of completed servers
+     */
+    public int getCompletedCount() {
+        return completedCount;
+    }
+
+    /**
+     * The number of servers the operation is executed on.
+     *
+     * @return the number of servers
+     */
+    public int getServerCount() {
+        return serverCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ServerOperationEvent[operation=" + operation + ", server=" + server.getHostName() + ":" + server.getName()
+                + ", completed=" + completedCount + "/" + serverCount + (result == null ? "" : ", result=" + result) + "]";
+    }
+}
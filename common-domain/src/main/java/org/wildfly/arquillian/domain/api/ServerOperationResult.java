@@ -0,0 +1,173 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.arquillian.domain.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The result of a lifecycle operation executed on each server of a server group.
+ */
+public final class ServerOperationResult {
+
+    private final String operation;
+    private final List<ServerResult> serverResults;
+    private final Duration duration;
+
+    /**
+     * Creates a new result.
+     *
+     * @param operation     the name of the operation
+     * @param serverResults the results of the servers
+     * @param duration      the time the operation took on all servers
+     */
+    public ServerOperationResult(final String operation, final List<ServerResult> serverResults, final Duration duration) {
+        this.operation = Objects.requireNonNull(operation, "The operation cannot be null");
+        this.serverResults = List.copyOf(serverResults);
+        this.duration = Objects.requireNonNull(duration, "The duration cannot be null");
+    }
+
+    /**
+     * The name of the operation, for example {@code start}.
+     *
+     * @return the name of the operation
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * The results of the servers the operation was executed on.
+     *
+     * @return the results of the servers
+     */
+    public List<ServerResult> getServerResults() {
+        return serverResults;
+    }
+
+    /**
+     * The time the operation took on all servers.
+     *
+     * @return the duration of the operation
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Checks whether the operation was successful on all servers.
+     *
+     * @return {@code true} if the operation was successful on all servers
+     */
+    public boolean isSuccessful() {
+        for (ServerResult result : serverResults) {
+            if (!result.isSuccessful()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The results of the servers the operation failed on.
+     *
+     * @return the failed results
+     */
+    public List<ServerResult> getFailures() {
+        final List<ServerResult> failures = new ArrayList<>();
+        for (ServerResult result : serverResults) {
+            if (!result.isSuccessful()) {
+                failures.add(result);
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        return "ServerOperationResult[operation=" + operation + ", duration=" + duration.toMillis() + " ms, servers="
+                + serverResults + "]";
+    }
+
+    /**
+     * The result of the operation on a single server.
+     */
+    public static final class ServerResult {
+        private final ServerDescription server;
+        private final Duration duration;
+        private final String status;
+        private final Throwable failure;
+
+        /**
+         * Creates a new result.
+         *
+         * @param server   the server
+         * @param duration the time the operation took on the server
+         * @param status   the status of the server after the operation or {@code null} if not known
+         * @param failure  the failure or {@code null} if the operation was successful
+         */
+        public ServerResult(final ServerDescription server, final Duration duration, final String status,
+                final Throwable failure) {
+            this.server = Objects.requireNonNull(server, "The server cannot be null");
+            this.duration = Objects.requireNonNull(duration, "The duration cannot be null");
+            this.status = status;
+            this.failure = failure;
+        }
+
+        /**
+         * The server the operation was executed on.
+         *
+         * @return the server
+         */
+        public ServerDescription getServer() {
+            return server;
+        }
+
+        /**
+         * The time the operation took on the server.
+         *
+         * @return the duration of the operation
+         */
+        public Duration getDuration() {
+            return duration;
+        }
+
+        /**
+         * The status of the server after the operation.
+         *
+         * @return the status or {@code null} if the status is not known, for example if the operation failed
+         */
+        public String getStatus() {
+            return status;
+        }
+
+        /**
+         * The failure of the operation.
+         *
+         * @return the failure or {@code null} if the operation was successful
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * Checks whether the operation was successful.
+         *
+         * @return {@code true} if the operation was successful
+         */
+        public boolean isSuccessful() {
+            return failure == null;
+        }
+
+        @Override
+        public String toString() {
+            return server.getHostName() + ":" + server.getName() + "[status=" + status + ", duration="
+                    + duration.toMillis() + " ms" + (failure == null ? "" : ", failure=" + failure) + "]";
+        }
+    }
+}
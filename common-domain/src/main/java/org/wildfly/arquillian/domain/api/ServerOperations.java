@@ -0,0 +1,138 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.arquillian.domain.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Executes the lifecycle operations of a server group for the default implementations of the {@link DomainManager}.
+ */
+final class ServerOperations {
+
+    private ServerOperations() {
+    }
+
+    /**
+     * Executes the task on each server with a pool of at most {@code maxConcurrency} threads. A failure of a server is
+     * recorded in its result and does not prevent the task from being executed on the remaining servers.
+     *
+     * @param operation      the name of the operation
+     * @param servers        the servers to execute the task on
+     * @param maxConcurrency the maximum number of servers to execute the operation on at once
+     * @param task           the task which returns the status of the server or {@code null} if not known
+     *
+     * @return the result of the operation, with the servers in the order they were passed
+     */
+    static ServerOperationResult execute(final String operation, final Collection<? extends ServerDescription> servers,
+            final int maxConcurrency, final Function<ServerDescription, String> task) {
+        checkMaxConcurrency(maxConcurrency);
+        final long start = System.nanoTime();
+        if (servers.isEmpty()) {
+            return new ServerOperationResult(operation, List.of(), Duration.ZERO);
+        }
+        final ServerOperationResult.ServerResult[] results = new ServerOperationResult.ServerResult[servers.size()];
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, servers.size()), r -> {
+            final Thread thread = new Thread(r, "domain-server-" + operation + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<?>> futures = new ArrayList<>(servers.size());
+            int index = 0;
+            for (ServerDescription server : servers) {
+                final int i = index++;
+                futures.add(executor.submit(() -> {
+                    final long serverStart = System.nanoTime();
+                    String status = null;
+                    Throwable failure = null;
+                    try {
+                        status = task.apply(server);
+                    } catch (RuntimeException e) {
+                        failure = e;
+                    }
+                    results[i] = new ServerOperationResult.ServerResult(server,
+                            Duration.ofNanos(System.nanoTime() - serverStart), status, failure);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for the lifecycle operation to complete", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to execute the lifecycle operation " + operation, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new ServerOperationResult(operation, Arrays.asList(results), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Executes an operation which applies to all the servers of a server group at once. Each server is reported with
+     * the duration and the failure of the operation.
+     *
+     * @param operation      the name of the operation
+     * @param servers        the servers of the server group
+     * @param maxConcurrency the maximum number of servers to execute the operation on at once
+     * @param task           the operation on the server group
+     *
+     * @return the result of the operation
+     */
+    static ServerOperationResult executeOnGroup(final String operation,
+            final Collection<? extends ServerDescription> servers, final int maxConcurrency, final Runnable task) {
+        checkMaxConcurrency(maxConcurrency);
+        final long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        final Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        final List<ServerOperationResult.ServerResult> results = new ArrayList<>(servers.size());
+        for (ServerDescription server : servers) {
+            results.add(new ServerOperationResult.ServerResult(server, duration, null, failure));
+        }
+        return new ServerOperationResult(operation, results, duration);
+    }
+
+    /**
+     * Returns the servers of the server group.
+     *
+     * @param servers   all the servers
+     * @param groupName the name of the server group
+     *
+     * @return the servers of the server group
+     */
+    static List<ServerDescription> getServersInGroup(final Collection<? extends ServerDescription> servers,
+            final String groupName) {
+        final List<ServerDescription> result = new ArrayList<>();
+        for (ServerDescription server : servers) {
+            if (groupName.equals(server.getGroupName())) {
+                result.add(server);
+            }
+        }
+        return result;
+    }
+
+    private static void checkMaxConcurrency(final int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("The maximum concurrency must be at least 1: " + maxConcurrency);
+        }
+    }
+}
@@ -5,6 +5,8 @@
 
 package org.wildfly.arquillian.domain.container.controller;
 
+import java.util.Collection;
+
 import org.jboss.arquillian.container.spi.Container;
 import org.jboss.arquillian.container.spi.ContainerRegistry;
 import org.jboss.arquillian.container.spi.client.container.DeployableContainer;
@@ -14,6 +16,8 @@ import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.as.arquillian.container.domain.CommonDomainDeployableContainer;
 import org.wildfly.arquillian.domain.api.DomainContainerController;
 import org.wildfly.arquillian.domain.api.DomainManager;
+import org.wildfly.arquillian.domain.api.ServerDescription;
+import org.wildfly.arquillian.domain.api.ServerOperationResult;
 
 /**
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
@@ -84,6 +88,45 @@ public class ClientDomainContainerController extends ClientContainerController i
         getDomainController(containerQualifier).suspendServer(hostName, serverName, timeout);
     }
 
+    @Override
+    public void startServers(final String containerQualifier, final Collection<? extends ServerDescription> servers) {
+        getDomainController(containerQualifier).startServers(servers);
+    }
+
+    @Override
+    public void stopServers(final String containerQualifier, final Collection<? extends ServerDescription> servers) {
+        getDomainController(containerQualifier).stopServers(servers);
+    }
+
+    @Override
+    public void restartServers(final String containerQualifier, final Collection<? extends ServerDescription> servers) {
+        getDomainController(containerQualifier).restartServers(servers);
+    }
+
+    @Override
+    public ServerOperationResult startServers(final String containerQualifier, final String groupName,
+            final int maxConcurrency) {
+        return getDomainController(containerQualifier).startServers(groupName, maxConcurrency);
+    }
+
+    @Override
+    public ServerOperationResult stopServers(final String containerQualifier, final String groupName,
+            final int maxConcurrency) {
+        return getDomainController(containerQualifier).stopServers(groupName, maxConcurrency);
+    }
+
+    @Override
+    public ServerOperationResult restartServers(final String containerQualifier, final String groupName,
+            final int maxConcurrency) {
+        return getDomainController(containerQualifier).restartServers(groupName, maxConcurrency);
+    }
+
+    @Override
+    public ServerOperationResult reloadServers(final String containerQualifier, final String groupName,
+            final int maxConcurrency) {
+        return getDomainController(containerQualifier).reloadServers(groupName, maxConcurrency);
+    }
+
     private DomainManager getDomainController(final String containerQualifier) {
         final ContainerRegistry registry = containerRegistry.get();
         if (registry == null) {
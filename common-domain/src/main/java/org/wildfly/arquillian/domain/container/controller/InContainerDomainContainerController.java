@@ -7,9 +7,11 @@ package org.wildfly.arquillian.domain.container.controller;
 
 import org.jboss.arquillian.container.test.impl.client.container.ContainerContainerController;
 import org.wildfly.arquillian.domain.api.DomainContainerController;
+import org.wildfly.arquillian.domain.api.ServerOperationResult;
 import org.wildfly.arquillian.domain.container.controller.command.GetServerStatusCommand;
 import org.wildfly.arquillian.domain.container.controller.command.Lifecycle;
 import org.wildfly.arquillian.domain.container.controller.command.ServerGroupLifecycleCommand;
+import org.wildfly.arquillian.domain.container.controller.command.ServerGroupOperationCommand;
 import org.wildfly.arquillian.domain.container.controller.command.ServerLifecycleCommand;
 
 /**
@@ -78,4 +80,35 @@ public class InContainerDomainContainerController extends ContainerContainerCont
         getCommandService()
                 .execute(new ServerLifecycleCommand(containerQualifier, Lifecycle.SUSPEND, hostName, serverName, timeout));
     }
+
+    @Override
+    public ServerOperationResult startServers(final String containerQualifier, final String groupName,
+            final int maxConcurrency) {
+        return executeOnServerGroup(containerQualifier, Lifecycle.START, groupName, maxConcurrency);
+    }
+
+    @Override
+    public ServerOperationResult stopServers(final String containerQualifier, final String groupName,
+            final int maxConcurrency) {
+        return executeOnServerGroup(containerQualifier, Lifecycle.STOP, groupName, maxConcurrency);
+    }
+
+    @Override
+    public ServerOperationResult restartServers(final String containerQualifier, final String groupName,
+            final int maxConcurrency) {
+        return executeOnServerGroup(containerQualifier, Lifecycle.RESTART, groupName, maxConcurrency);
+    }
+
+    @Override
+    public ServerOperationResult reloadServers(final String containerQualifier, final String groupName,
+            final int maxConcurrency) {
+        return executeOnServerGroup(containerQualifier, Lifecycle.RELOAD, groupName, maxConcurrency);
+    }
+
+    private ServerOperationResult executeOnServerGroup(final String containerQualifier, final Lifecycle lifecycle,
+            final String groupName, final int maxConcurrency) {
+        // The operation is executed on the client, which knows the servers of the group and fires the progress events
+        return getCommandService().execute(new ServerGroupOperationCommand(containerQualifier, lifecycle, groupName,
+                maxConcurrency)).toServerOperationResult();
+    }
 }
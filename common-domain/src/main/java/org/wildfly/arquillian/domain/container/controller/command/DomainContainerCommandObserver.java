@@ -9,6 +9,7 @@ import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.core.api.annotation.Observes;
 import org.wildfly.arquillian.domain.api.DomainContainerController;
+import org.wildfly.arquillian.domain.api.ServerOperationResult;
 
 /**
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
@@ -71,6 +72,33 @@ public class DomainContainerCommandObserver {
         event.setResult(Boolean.TRUE);
     }
 
+    public void serverGroupOperation(@Observes ServerGroupOperationCommand event) {
+        final DomainContainerController controller = controllerInst.get();
+        final ServerOperationResult result;
+        switch (event.getLifecycle()) {
+            case RELOAD:
+                result = controller.reloadServers(event.getContainerQualifier(), event.getServerGroupName(),
+                        event.getMaxConcurrency());
+                break;
+            case RESTART:
+                result = controller.restartServers(event.getContainerQualifier(), event.getServerGroupName(),
+                        event.getMaxConcurrency());
+                break;
+            case START:
+                result = controller.startServers(event.getContainerQualifier(), event.getServerGroupName(),
+                        event.getMaxConcurrency());
+                break;
+            case STOP:
+                result = controller.stopServers(event.getContainerQualifier(), event.getServerGroupName(),
+                        event.getMaxConcurrency());
+                break;
+            default:
+                throw new IllegalArgumentException("Could not determine how to execute the lifecycle " + event.getLifecycle()
+                        + " on each server");
+        }
+        event.setResult(ServerGroupOperationCommand.OperationResult.of(result));
+    }
+
     public void checkServerStatus(@Observes GetServerStatusCommand event) {
         event.setResult(controllerInst.get().isServerStarted(event.getContainerQualifier(), event.getHostName(),
                 event.getServerName()));
@@ -0,0 +1,140 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.arquillian.domain.container.controller.command;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.arquillian.container.test.impl.client.deployment.command.AbstractCommand;
+import org.wildfly.arquillian.domain.api.ServerDescription;
+import org.wildfly.arquillian.domain.api.ServerOperationResult;
+
+/**
+ * Executes a lifecycle operation on each server of a server group on the client, where the progress of each server is
+ * fired as an event. The result is a serializable copy of the {@link ServerOperationResult}.
+ */
+public class ServerGroupOperationCommand extends AbstractCommand<ServerGroupOperationCommand.OperationResult> {
+
+    private final String containerQualifier;
+    private final Lifecycle lifecycle;
+    private final String serverGroupName;
+    private final int maxConcurrency;
+
+    public ServerGroupOperationCommand(final String containerQualifier, final Lifecycle lifecycle,
+            final String serverGroupName, final int maxConcurrency) {
+        this.containerQualifier = containerQualifier;
+        this.lifecycle = lifecycle;
+        this.serverGroupName = serverGroupName;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public String getContainerQualifier() {
+        return containerQualifier;
+    }
+
+    public Lifecycle getLifecycle() {
+        return lifecycle;
+    }
+
+    public String getServerGroupName() {
+        return serverGroupName;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * The result of the operation sent back to the container.
+     */
+    public static final class OperationResult implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String operation;
+        private final List<ServerResult> serverResults;
+        private final Duration duration;
+
+        private OperationResult(final String operation, final List<ServerResult> serverResults, final Duration duration) {
+            this.operation = operation;
+            this.serverResults = serverResults;
+            this.duration = duration;
+        }
+
+        /**
+         * Creates a copy of the result which can be sent to the container.
+         *
+         * @param result the result of the operation
+         *
+         * @return the copy of the result
+         */
+        public static OperationResult of(final ServerOperationResult result) {
+            final List<ServerResult> serverResults = new ArrayList<>(result.getServerResults().size());
+            for (ServerOperationResult.ServerResult serverResult : result.getServerResults()) {
+                final ServerDescription server = serverResult.getServer();
+                serverResults.add(new ServerResult(server.getHostName(), server.getName(), server.getGroupName(),
+                        serverResult.getDuration(), serverResult.getStatus(), serverResult.getFailure()));
+            }
+            return new OperationResult(result.getOperation(), serverResults, result.getDuration());
+        }
+
+        /**
+         * Creates the result of the operation from this copy.
+         *
+         * @return the result of the operation
+         */
+        public ServerOperationResult toServerOperationResult() {
+            final List<ServerOperationResult.ServerResult> results = new ArrayList<>(serverResults.size());
+            for (ServerResult serverResult : serverResults) {
+                results.add(new ServerOperationResult.ServerResult(serverResult, serverResult.duration,
+                        serverResult.status, serverResult.failure));
+            }
+            return new ServerOperationResult(operation, results, duration);
+        }
+    }
+
+    private static final class ServerResult implements ServerDescription, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String hostName;
+        private final String name;
+        private final String groupName;
+        private final Duration duration;
+        private final String status;
+        private final Throwable failure;
+
+        private ServerResult(final String hostName, final String name, final String groupName, final Duration duration,
+                final String status, final Throwable failure) {
+            this.hostName = hostName;
+            this.name = name;
+            this.groupName = groupName;
+            this.duration = duration;
+            this.status = status;
+            this.failure = failure;
+        }
+
+        @Override
+        public String getHostName() {
+            return hostName;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getGroupName() {
+            return groupName;
+        }
+
+        @Override
+        public String toString() {
+            return hostName + ":" + name;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.container.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.jboss.arquillian.container.spi.client.protocol.metadata.HTTPContext;
+import org.jboss.arquillian.container.spi.client.protocol.metadata.Servlet;
+import org.jboss.as.arquillian.container.domain.Domain.Server;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.helpers.ClientConstants;
+import org.jboss.as.controller.client.helpers.Operations;
+import org.jboss.dmr.ModelNode;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the HTTP contexts of a deployment resolved for several servers by the {@link DeploymentHttpContexts} and the
+ * {@link LazyHttpContext}s sharing them.
+ */
+class DeploymentHttpContextsTest {
+
+    private static final String DEPLOYMENT = "test.war";
+
+    private final Server serverOne = new Server("server-one", "primary", "main-server-group", true);
+    private final Server serverTwo = new Server("server-two", "primary", "main-server-group", true);
+    private final Server serverThree = new Server("server-three", "secondary", "other-server-group", true);
+    private final List<String> resolved = new CopyOnWriteArrayList<>();
+
+    @Test
+    void contextsResolvedOnFirstAccess() {
+        final RecordingManagementClient client = new RecordingManagementClient(Set.of(serverOne, serverTwo));
+        final DeploymentHttpContexts contexts = new DeploymentHttpContexts(client, DEPLOYMENT,
+                List.of(serverOne, serverTwo));
+        final LazyHttpContext contextOne = new LazyHttpContext(serverOne, contexts);
+        final LazyHttpContext contextTwo = new LazyHttpContext(serverTwo, contexts);
+        // Creating the contexts does not resolve anything, the servers may not have been started yet
+        assertEquals(serverOne.getContainerName(), contextOne.getName());
+        assertTrue(resolved.isEmpty(), () -> "Resolved before the first access: " + resolved);
+
+        assertEquals(8080, contextOne.getPort());
+        assertEquals(8081, contextTwo.getPort());
+        assertEquals("primary-server-two", contextTwo.getHost());
+        assertNotNull(contextTwo.getServletByName("default"));
+        // All servers are resolved together once
+        assertEquals(List.of("all [primary:server-one, primary:server-two]"), resolved);
+    }
+
+    @Test
+    void contextResolvedOncePerServer() {
+        final RecordingManagementClient client = new RecordingManagementClient(Set.of(serverOne));
+        final LazyHttpContext context = new LazyHttpContext(serverOne,
+                new DeploymentHttpContexts(client, DEPLOYMENT, List.of(serverOne)));
+        context.getHost();
+        context.getPort();
+        context.getServlets();
+        assertEquals(List.of("all [primary:server-one]"), resolved);
+    }
+
+    @Test
+    void serverNotRunningResolvedSeparately() {
+        // The third server has not been started when the contexts are first resolved
+        final RecordingManagementClient client = new RecordingManagementClient(Set.of(serverOne, serverTwo));
+        final DeploymentHttpContexts contexts = new DeploymentHttpContexts(client, DEPLOYMENT,
+                List.of(serverOne, serverTwo, serverThree));
+        assertEquals(8080, new LazyHttpContext(serverOne, contexts).getPort());
+        assertEquals(8082, new LazyHttpContext(serverThree, contexts).getPort());
+        assertEquals(8081, new LazyHttpContext(serverTwo, contexts).getPort());
+        assertEquals(List.of("all [primary:server-one, primary:server-two, secondary:server-three]",
+                "server secondary:server-three"), resolved);
+    }
+
+    @Test
+    void failedResolutionResolvedSeparately() {
+        final RecordingManagementClient client = new RecordingManagementClient(null);
+        final DeploymentHttpContexts contexts = new DeploymentHttpContexts(client, DEPLOYMENT,
+                List.of(serverOne, serverTwo));
+        assertEquals(8080, new LazyHttpContext(serverOne, contexts).getPort());
+        assertEquals(8081, new LazyHttpContext(serverTwo, contexts).getPort());
+        // The contexts of all servers are only attempted once
+        assertEquals(List.of("all [primary:server-one, primary:server-two]", "server primary:server-one",
+                "server primary:server-two"), resolved);
+    }
+
+    @Test
+    void contextSharedByServerAccesses() {
+        final RecordingManagementClient client = new RecordingManagementClient(Set.of(serverOne));
+        final DeploymentHttpContexts contexts = new DeploymentHttpContexts(client, DEPLOYMENT, List.of(serverOne));
+        assertSame(contexts.getContext(serverOne), contexts.getContext(serverOne));
+        assertEquals(List.of("all [primary:server-one]"), resolved);
+    }
+
+    @Test
+    void serverContextResolvedLazily() {
+        final RecordingManagementClient client = new RecordingManagementClient(Set.of(serverOne));
+        final LazyHttpContext context = new LazyHttpContext(serverOne, DEPLOYMENT, client);
+        assertTrue(resolved.isEmpty(), () -> "Resolved before the first access: " + resolved);
+        assertEquals(8080, context.getPort());
+        assertEquals("primary-server-one", context.getHost());
+        assertEquals(List.of("server primary:server-one"), resolved);
+    }
+
+    @Test
+    void allServersResolvedWithOneOperation() {
+        final List<ModelNode> operations = new CopyOnWriteArrayList<>();
+        final ManagementClient client = new ManagementClient(createClient(operations),
+                new CommonDomainContainerConfiguration(), null);
+        final Map<String, HTTPContext> contexts = client.getHTTPDeploymentMetaData(
+                List.of(serverOne, serverTwo, serverThree), DEPLOYMENT);
+        assertEquals(1, operations.size());
+        assertEquals(ClientConstants.COMPOSITE, Operations.getOperationName(operations.get(0)));
+        // The third server is not running, so it is not in the result of the wildcard reads
+        assertEquals(Set.of(serverOne.getUniqueName(), serverTwo.getUniqueName()), contexts.keySet());
+        final HTTPContext contextTwo = contexts.get(serverTwo.getUniqueName());
+        assertEquals("127.0.0.2", contextTwo.getHost());
+        assertEquals(8280, contextTwo.getPort());
+        assertEquals(Set.of("TestServlet", "default"), contextTwo.getServlets().stream()
+                .map(Servlet::getName)
+                .collect(Collectors.toSet()));
+        assertEquals("/test", contextTwo.getServletByName("TestServlet").getContextRoot());
+    }
+
+    @Test
+    void failedOperation() {
+        final ManagementClient client = new ManagementClient(createFailingClient(), new CommonDomainContainerConfiguration(),
+                null);
+        assertThrows(RuntimeException.class, () -> client.getHTTPDeploymentMetaData(List.of(serverOne), DEPLOYMENT));
+    }
+
+    private ModelControllerClient createClient(final List<ModelNode> operations) {
+        return createClient(op -> {
+            operations.add(op);
+            final ModelNode result = new ModelNode();
+            result.get(ClientConstants.OUTCOME).set(ClientConstants.SUCCESS);
+            final ModelNode deployments = result.get(ClientConstants.RESULT, "step-1", ClientConstants.RESULT);
+            final ModelNode socketBindings = result.get(ClientConstants.RESULT, "step-2", ClientConstants.RESULT);
+            int i = 1;
+            for (Server server : List.of(serverOne, serverTwo)) {
+                final ModelNode deployment = new ModelNode();
+                deployment.get("name").set(DEPLOYMENT);
+                final ModelNode undertow = deployment.get(ClientConstants.SUBSYSTEM, "undertow");
+                undertow.get("context-root").set("/test");
+                undertow.get("servlet", "TestServlet").setEmptyObject();
+                deployments.add(createEntry(server, ClientConstants.DEPLOYMENT, deployment));
+
+                final ModelNode socketBinding = new ModelNode();
+                socketBinding.get("bound-address").set("127.0.0." + i);
+                socketBinding.get("bound-port").set(8080 + (100 * i));
+                socketBindings.add(createEntry(server, ClientConstants.SOCKET_BINDING, socketBinding));
+                i++;
+            }
+            return result;
+        });
+    }
+
+    private static ModelControllerClient createFailingClient() {
+        return createClient(op -> {
+            final ModelNode result = new ModelNode();
+            result.get(ClientConstants.OUTCOME).set(ClientConstants.FAILED);
+            result.get(ClientConstants.FAILURE_DESCRIPTION).set("The domain controller is not available");
+            return result;
+        });
+    }
+
+    private static ModelNode createEntry(final Server server, final String type, final ModelNode resource) {
+        final ModelNode entry = new ModelNode();
+        entry.get(ClientConstants.OP_ADDR).add(ClientConstants.HOST, server.getHost())
+                .add(ClientConstants.SERVER, server.getName())
+                .add(type, "test");
+        entry.get(ClientConstants.OUTCOME).set(ClientConstants.SUCCESS);
+        entry.get(ClientConstants.RESULT).set(resource);
+        return entry;
+    }
+
+    private static ModelControllerClient createClient(final Function<ModelNode, ModelNode> handler) {
+        return (ModelControllerClient) Proxy.newProxyInstance(DeploymentHttpContextsTest.class.getClassLoader(),
+                new Class<?>[] { ModelControllerClient.class }, (proxy, method, args) -> {
+                    // The domain client may pass a message handler or attachments with the operation
+                    if ("execute".equals(method.getName()) && args != null && args.length >= 1) {
+                        if (args[0] instanceof ModelNode) {
+                            return handler.apply((ModelNode) args[0]);
+                        }
+                        if (args[0] instanceof Operation) {
+                            return handler.apply(((Operation) args[0]).getOperation());
+                        }
+                    }
+                    if ("close".equals(method.getName())) {
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.toString());
+                });
+    }
+
+    /**
+     * Resolves the contexts without executing any operations. The port of each context is the port of the server.
+     */
+    private class RecordingManagementClient extends ManagementClient {
+        private final Set<Server> running;
+        private final Map<Server, Integer> ports = new HashMap<>();
+
+        /**
+         * @param running the servers which are running when the contexts of all servers are resolved, or {@code null}
+         *                    if resolving them fails
+         */
+        private RecordingManagementClient(final Set<Server> running) {
+            super(createFailingClient(), new CommonDomainContainerConfiguration(), null);
+            this.running = running;
+            ports.put(serverOne, 8080);
+            ports.put(serverTwo, 8081);
+            ports.put(serverThree, 8082);
+        }
+
+        @Override
+        public HTTPContext getHTTPDeploymentMetaData(final Server server, final String uniqueDeploymentName) {
+            assertEquals(DEPLOYMENT, uniqueDeploymentName);
+            resolved.add("server " + server.getUniqueName());
+            return createContext(server);
+        }
+
+        @Override
+        Map<String, HTTPContext> getHTTPDeploymentMetaData(final Collection<Server> servers,
+                final String uniqueDeploymentName) {
+            assertEquals(DEPLOYMENT, uniqueDeploymentName);
+            resolved.add("all " + servers.stream().map(Server::getUniqueName).sorted().collect(Collectors.toList()));
+            if (running == null) {
+                throw new RuntimeException("Could not extract deployment information for deployment: "
+                        + uniqueDeploymentName);
+            }
+            final Map<String, HTTPContext> contexts = new HashMap<>();
+            for (Server server : servers) {
+                if (running.contains(server)) {
+                    contexts.put(server.getUniqueName(), createContext(server));
+                }
+            }
+            return contexts;
+        }
+
+        private HTTPContext createContext(final Server server) {
+            final HTTPContext context = new HTTPContext(server.getHost() + "-" + server.getName(), ports.get(server));
+            context.add(new Servlet("default", "test"));
+            return context;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.container.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.jboss.arquillian.container.spi.ConfigurationException;
+import org.jboss.arquillian.container.spi.client.container.DeploymentException;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.helpers.ClientConstants;
+import org.jboss.as.controller.client.helpers.Operations;
+import org.jboss.dmr.ModelNode;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the rollout plan created from the configuration and the deploy operation of the {@link ArchiveDeployer} it is
+ * added to.
+ */
+class DeploymentRolloutPlanTest {
+
+    private static final Set<String> SERVER_GROUPS = new LinkedHashSet<>(List.of("group-one", "group-two", "group-three"));
+
+    private final List<Operation> operations = new CopyOnWriteArrayList<>();
+
+    @Test
+    void defaultRolloutPlan() {
+        assertNull(DeploymentRolloutPlan.of(new CommonDomainContainerConfiguration()));
+    }
+
+    @Test
+    void inSeries() {
+        final CommonDomainContainerConfiguration config = new CommonDomainContainerConfiguration();
+        config.setDeploymentRollout("in-series");
+        final ModelNode plan = createPlan(config);
+        final List<ModelNode> inSeries = plan.get("in-series").asList();
+        // Each server group is rolled out after the previous one
+        assertEquals(List.copyOf(SERVER_GROUPS), groupNames(inSeries, "server-group"));
+        for (ModelNode step : inSeries) {
+            final ModelNode policy = getPolicy(step, "server-group");
+            assertFalse(policy.get("rolling-to-servers").asBoolean());
+            assertFalse(policy.hasDefined("max-failed-servers"));
+            assertFalse(policy.hasDefined("max-failure-percentage"));
+        }
+        assertTrue(plan.get("rollback-across-groups").asBoolean());
+    }
+
+    @Test
+    void concurrentGroups() {
+        final CommonDomainContainerConfiguration config = new CommonDomainContainerConfiguration();
+        config.setDeploymentRollout("concurrent");
+        final ModelNode plan = createPlan(config);
+        final List<ModelNode> inSeries = plan.get("in-series").asList();
+        // All server groups are rolled out in a single step
+        assertEquals(1, inSeries.size());
+        assertEquals(List.copyOf(SERVER_GROUPS), groupNames(inSeries, "concurrent-groups"));
+        assertTrue(plan.get("rollback-across-groups").asBoolean());
+    }
+
+    @Test
+    void rollingToServers() {
+        final CommonDomainContainerConfiguration config = new CommonDomainContainerConfiguration();
+        config.setDeploymentRollingToServers(true);
+        final ModelNode plan = createPlan(config);
+        // Without an order the server groups are rolled out in series
+        final List<ModelNode> inSeries = plan.get("in-series").asList();
+        assertEquals(List.copyOf(SERVER_GROUPS), groupNames(inSeries, "server-group"));
+        assertTrue(getPolicy(inSeries.get(0), "server-group").get("rolling-to-servers").asBoolean());
+    }
+
+    @Test
+    void maxFailedServers() {
+        final CommonDomainContainerConfiguration config = new CommonDomainContainerConfiguration();
+        config.setDeploymentRollout("concurrent");
+        config.setDeploymentMaxFailedServers(2);
+        final ModelNode policy = getPolicy(createPlan(config).get("in-series").asList().get(0), "concurrent-groups");
+        assertEquals(2, policy.get("max-failed-servers").asInt());
+        assertFalse(policy.hasDefined("max-failure-percentage"));
+    }
+
+    @Test
+    void maxFailurePercentage() {
+        final CommonDomainContainerConfiguration config = new CommonDomainContainerConfiguration();
+        config.setDeploymentMaxFailurePercentage(25);
+        final ModelNode policy = getPolicy(createPlan(config).get("in-series").asList().get(0), "server-group");
+        assertEquals(25, policy.get("max-failure-percentage").asInt());
+        assertFalse(policy.hasDefined("max-failed-servers"));
+    }
+
+    @Test
+    void invalidConfiguration() {
+        final CommonDomainContainerConfiguration rollout = new CommonDomainContainerConfiguration();
+        rollout.setDeploymentRollout("parallel");
+        assertThrows(ConfigurationException.class, rollout::validate);
+
+        final CommonDomainContainerConfiguration maxFailures = new CommonDomainContainerConfiguration();
+        maxFailures.setDeploymentMaxFailedServers(1);
+        maxFailures.setDeploymentMaxFailurePercentage(10);
+        assertThrows(ConfigurationException.class, maxFailures::validate);
+
+        final CommonDomainContainerConfiguration percentage = new CommonDomainContainerConfiguration();
+        percentage.setDeploymentMaxFailurePercentage(101);
+        assertThrows(ConfigurationException.class, percentage::validate);
+    }
+
+    @Test
+    void deployWithRolloutPlan() throws Exception {
+        final CommonDomainContainerConfiguration config = new CommonDomainContainerConfiguration();
+        config.setDeploymentRollout("concurrent");
+        config.setDeploymentMaxFailurePercentage(50);
+        final ArchiveDeployer deployer = new ArchiveDeployer(new ManagementClient(createClient(null), config, null),
+                config);
+        assertEquals("test.jar", deployer.deploy(createArchive(), SERVER_GROUPS));
+
+        assertEquals(1, operations.size());
+        final Operation operation = operations.get(0);
+        // The content is uploaded once and added to all server groups in the same composite operation
+        assertEquals(1, operation.getInputStreams().size());
+        final ModelNode op = operation.getOperation();
+        assertEquals(ClientConstants.COMPOSITE, Operations.getOperationName(op));
+        final List<String> steps = new ArrayList<>();
+        for (ModelNode step : op.get(ClientConstants.STEPS).asList()) {
+            steps.add(Operations.getOperationName(step) + " " + Operations.getOperationAddress(step).asPropertyList()
+                    .stream()
+                    .map(property -> property.getName() + "=" + property.getValue().asString())
+                    .collect(Collectors.joining("/")));
+        }
+        assertEquals(List.of("add deployment=test.jar",
+                "add server-group=group-one/deployment=test.jar", "deploy server-group=group-one/deployment=test.jar",
+                "add server-group=group-two/deployment=test.jar", "deploy server-group=group-two/deployment=test.jar",
+                "add server-group=group-three/deployment=test.jar",
+                "deploy server-group=group-three/deployment=test.jar"), steps);
+
+        final ModelNode plan = op.get(ClientConstants.OPERATION_HEADERS, "rollout-plan");
+        assertEquals(List.copyOf(SERVER_GROUPS), groupNames(plan.get("in-series").asList(), "concurrent-groups"));
+        assertEquals(50, getPolicy(plan.get("in-series").asList().get(0), "concurrent-groups")
+                .get("max-failure-percentage").asInt());
+        assertTrue(plan.get("rollback-across-groups").asBoolean());
+    }
+
+    @Test
+    void failedRollout() {
+        final CommonDomainContainerConfiguration config = new CommonDomainContainerConfiguration();
+        config.setDeploymentRollout("in-series");
+        config.setDeploymentMaxFailedServers(1);
+        final ArchiveDeployer deployer = new ArchiveDeployer(
+                new ManagementClient(createClient("Operation rolled back across all server groups"), config, null), config);
+        // The domain controller rolled the deployment back, the failure is reported rather than a deployment name
+        final DeploymentException e = assertThrows(DeploymentException.class,
+                () -> deployer.deploy(createArchive(), SERVER_GROUPS));
+        assertTrue(e.getMessage().contains("rolled back"), e.getMessage());
+        assertEquals(1, operations.size());
+        assertNotNull(operations.get(0).getOperation().get(ClientConstants.OPERATION_HEADERS, "rollout-plan"));
+    }
+
+    private static ModelNode createPlan(final CommonDomainContainerConfiguration config) {
+        final DeploymentRolloutPlan plan = DeploymentRolloutPlan.of(config);
+        assertNotNull(plan);
+        final ModelNode op = new ModelNode();
+        plan.addTo(op, SERVER_GROUPS);
+        return op.get(ClientConstants.OPERATION_HEADERS, "rollout-plan");
+    }
+
+    private static ModelNode getPolicy(final ModelNode step, final String type) {
+        return step.get(type).asPropertyList().get(0).getValue();
+    }
+
+    private static List<String> groupNames(final List<ModelNode> steps, final String type) {
+        final List<String> names = new ArrayList<>();
+        for (ModelNode step : steps) {
+            names.addAll(step.get(type).keys());
+        }
+        return names;
+    }
+
+    private static JavaArchive createArchive() {
+        return ShrinkWrap.create(JavaArchive.class, "test.jar").addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    /**
+     * Creates a client which records the operations.
+     *
+     * @param failure the failure description of the operations or {@code null} if they succeed
+     */
+    private ModelControllerClient createClient(final String failure) {
+        return (ModelControllerClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ModelControllerClient.class }, (proxy, method, args) -> {
+                    if ("execute".equals(method.getName()) && args != null && args.length >= 1
+                            && args[0] instanceof Operation) {
+                        operations.add((Operation) args[0]);
+                        final ModelNode result = new ModelNode();
+                        if (failure == null) {
+                            result.get(ClientConstants.OUTCOME).set(ClientConstants.SUCCESS);
+                        } else {
+                            result.get(ClientConstants.OUTCOME).set(ClientConstants.FAILED);
+                            result.get(ClientConstants.FAILURE_DESCRIPTION).set(failure);
+                        }
+                        return result;
+                    }
+                    if ("close".equals(method.getName())) {
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.toString());
+                });
+    }
+}
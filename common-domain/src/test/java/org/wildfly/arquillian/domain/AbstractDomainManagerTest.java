@@ -0,0 +1,116 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.arquillian.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.helpers.ClientConstants;
+import org.jboss.as.controller.client.helpers.Operations;
+import org.jboss.dmr.ModelNode;
+import org.junit.jupiter.api.Test;
+import org.wildfly.arquillian.domain.api.ServerDescription;
+
+/**
+ * Tests the lifecycle operations executed on a collection of servers by the {@link AbstractDomainManager}.
+ */
+class AbstractDomainManagerTest {
+
+    private static final long START_MILLIS = 600L;
+    private static final String NEVER_STARTED = "never-started";
+
+    private final Map<String, Long> startTimes = new ConcurrentHashMap<>();
+
+    @Test
+    void timeoutStartsWithEachServer() {
+        // The second server waits for the first one, together they take longer than the timeout
+        final TestDomainManager domainManager = new TestDomainManager(1, 1);
+        domainManager.startServers(List.of(new TestServer("server-one"), new TestServer("server-two")));
+        assertEquals(2, startTimes.size());
+    }
+
+    @Test
+    void timeoutExceeded() {
+        final TestDomainManager domainManager = new TestDomainManager(1, 1);
+        assertThrows(RuntimeException.class, () -> domainManager.startServers(List.of(new TestServer(NEVER_STARTED))));
+    }
+
+    private ModelNode execute(final ModelNode op) {
+        final String serverName = Operations.getOperationAddress(op).asList().get(1).get(ClientConstants.SERVER_CONFIG)
+                .asString();
+        final String operationName = Operations.getOperationName(op);
+        final ModelNode result = new ModelNode();
+        result.get(ClientConstants.OUTCOME).set(ClientConstants.SUCCESS);
+        if ("start".equals(operationName)) {
+            startTimes.put(serverName, System.nanoTime());
+            return result;
+        }
+        if ("read-attribute".equals(operationName)) {
+            // The server is started some time after the start operation returned
+            final long started = startTimes.get(serverName) + TimeUnit.MILLISECONDS.toNanos(START_MILLIS);
+            final boolean isStarted = !NEVER_STARTED.equals(serverName) && System.nanoTime() - started >= 0L;
+            result.get(ClientConstants.RESULT).set(isStarted ? "STARTED" : "STARTING");
+            return result;
+        }
+        throw new IllegalArgumentException("Unexpected operation " + op);
+    }
+
+    private class TestDomainManager extends AbstractDomainManager {
+        private final ModelControllerClient client;
+
+        private TestDomainManager(final int lifecycleParallelism, final int serverOperationTimeout) {
+            super("test", true, lifecycleParallelism, serverOperationTimeout);
+            // Only the operations executed with a ModelNode are supported
+            client = (ModelControllerClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { ModelControllerClient.class }, (proxy, method, args) -> {
+                        if ("execute".equals(method.getName()) && args != null && args.length == 1
+                                && args[0] instanceof ModelNode) {
+                            return execute((ModelNode) args[0]);
+                        }
+                        throw new UnsupportedOperationException(method.toString());
+                    });
+        }
+
+        @Override
+        protected ModelControllerClient getModelControllerClient() {
+            return client;
+        }
+
+        @Override
+        public boolean isDomainStarted() {
+            return true;
+        }
+    }
+
+    private static class TestServer implements ServerDescription {
+        private final String name;
+
+        private TestServer(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getHostName() {
+            return "primary";
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getGroupName() {
+            return "main-server-group";
+        }
+    }
+}
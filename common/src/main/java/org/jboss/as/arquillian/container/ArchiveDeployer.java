@@ -6,6 +6,7 @@ package org.jboss.as.arquillian.container;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Set;
@@ -126,6 +127,34 @@ public class ArchiveDeployer {
         return deployInternal(name, input);
     }
 
+    /**
+     * Deploys the content from the local file system to a running container.
+     * <p>
+     * This is most efficient for containers running in the same JVM, for example the embedded container, as the
+     * content is read directly from the path rather than from an archive exported in memory.
+     * </p>
+     *
+     * @param name    the runtime for the deployment
+     * @param content the path to the deployment content
+     *
+     * @return the runtime name of the deployment, or {@code null} if the deployment failed but the failure message
+     *             matched the {@linkplain #ArchiveDeployer(ManagementClient, String) deploymentFailurePattern}
+     *
+     * @throws DeploymentException   if an error happens during deployment
+     * @throws IllegalStateException if the client has been closed
+     * @since 6.0
+     */
+    public String deploy(String name, Path content) throws DeploymentException {
+        checkState();
+        final DeploymentResult result;
+        try (Deployment deployment = Deployment.of(content).setName(name)) {
+            result = deploymentManager.deploy(deployment);
+        } catch (Exception ex) {
+            throw createException("Cannot deploy: " + name, ex);
+        }
+        return processResult(name, result);
+    }
+
     /**
      * Removes an archive from the running container.
      * <p>
@@ -199,6 +228,10 @@ public class ArchiveDeployer {
         } catch (Exception ex) {
             throw createException("Cannot deploy: " + name, ex);
         }
+        return processResult(name, result);
+    }
+
+    private String processResult(final String name, final DeploymentResult result) throws DeploymentException {
         if (result.successful()) {
             return name;
         }
@@ -96,37 +96,20 @@ public abstract class CommonDeployableContainer<T extends CommonContainerConfigu
 
     @Override
     public final void start() throws LifecycleException {
-        // Create a client configuration builder from the container configuration
-        final ModelControllerClientConfiguration.Builder clientConfigBuilder = new ModelControllerClientConfiguration.Builder()
-                .setProtocol(containerConfig.getManagementProtocol())
-                .setHostName(containerConfig.getManagementAddress())
-                .setPort(containerConfig.getManagementPort())
-                .setAuthenticationConfigUri(authenticationConfig);
-
-        // only "copy" the timeout if one was set.
-        final int connectionTimeout = containerConfig.getConnectionTimeout();
-        if (connectionTimeout > 0) {
-            clientConfigBuilder.setConnectionTimeout(connectionTimeout);
-        }
-
-        // Check for username and password authentication
-        if (containerConfig.getUsername() != null) {
-            Authentication.username = containerConfig.getUsername();
-            Authentication.password = containerConfig.getPassword();
-            clientConfigBuilder.setHandler(getCallbackHandler());
-        }
-        mccProvider.setDelegate(ModelControllerClient.Factory.create(clientConfigBuilder.build()));
-
-        // If we are not a CommonManagedDeployableContainer we still need the ServerManager
-        if (!(this instanceof CommonManagedDeployableContainer)) {
-            // Set up the server manager attempting to discover the process for monitoring purposes. We need the
-            // server manager regardless of whether we are in charge of the lifecycle or not.
-            final StandaloneManager serverManager = ServerManager.builder()
-                    .client(getManagementClient().getControllerClient())
-                    // Note this won't work on Windows, but should work on other platforms
-                    .process(ServerManager.findProcess().orElse(null))
-                    .standalone();
-            serverManagerProducer.set(serverManager.asManaged());
+        if (isRemoteManagementClient()) {
+            mccProvider.setDelegate(createRemoteClient());
+
+            // If we are not a CommonManagedDeployableContainer we still need the ServerManager
+            if (!(this instanceof CommonManagedDeployableContainer)) {
+                // Set up the server manager attempting to discover the process for monitoring purposes. We need the
+                // server manager regardless of whether we are in charge of the lifecycle or not.
+                final StandaloneManager serverManager = ServerManager.builder()
+                        .client(getManagementClient().getControllerClient())
+                        // Note this won't work on Windows, but should work on other platforms
+                        .process(ServerManager.findProcess().orElse(null))
+                        .standalone();
+                serverManagerProducer.set(serverManager.asManaged());
+            }
         }
 
         try {
@@ -147,6 +130,35 @@ public abstract class CommonDeployableContainer<T extends CommonContainerConfigu
 
     protected abstract void startInternal() throws LifecycleException;
 
+    /**
+     * Indicates whether the management client communicates with the server over a remote connection to the
+     * {@linkplain CommonContainerConfiguration#getManagementAddress() management address} and
+     * {@linkplain CommonContainerConfiguration#getManagementPort() management port}.
+     * <p>
+     * Containers which return {@code false} are responsible for setting the client with
+     * {@link #setModelControllerClient(ModelControllerClient)} and for producing the {@link ServerManager} in the
+     * {@link #startInternal()}.
+     * </p>
+     *
+     * @return {@code true} if a remote client should be created, otherwise {@code false}
+     */
+    protected boolean isRemoteManagementClient() {
+        return true;
+    }
+
+    /**
+     * Sets the client the {@linkplain #getManagementClient() management client} delegates to. This should only be
+     * used by containers which do not use a {@linkplain #isRemoteManagementClient() remote management client}.
+     * <p>
+     * The client will be closed when the container is stopped.
+     * </p>
+     *
+     * @param client the client to delegate to
+     */
+    protected void setModelControllerClient(final ModelControllerClient client) {
+        mccProvider.setDelegate(client);
+    }
+
     @Override
     public final void stop() throws LifecycleException {
         try {
@@ -301,6 +313,29 @@ public abstract class CommonDeployableContainer<T extends CommonContainerConfigu
         archiveDeployer.get().undeploy(archive.getName());
     }
 
+    private ModelControllerClient createRemoteClient() {
+        // Create a client configuration builder from the container configuration
+        final ModelControllerClientConfiguration.Builder clientConfigBuilder = new ModelControllerClientConfiguration.Builder()
+                .setProtocol(containerConfig.getManagementProtocol())
+                .setHostName(containerConfig.getManagementAddress())
+                .setPort(containerConfig.getManagementPort())
+                .setAuthenticationConfigUri(authenticationConfig);
+
+        // only "copy" the timeout if one was set.
+        final int connectionTimeout = containerConfig.getConnectionTimeout();
+        if (connectionTimeout > 0) {
+            clientConfigBuilder.setConnectionTimeout(connectionTimeout);
+        }
+
+        // Check for username and password authentication
+        if (containerConfig.getUsername() != null) {
+            Authentication.username = containerConfig.getUsername();
+            Authentication.password = containerConfig.getPassword();
+            clientConfigBuilder.setHandler(getCallbackHandler());
+        }
+        return ModelControllerClient.Factory.create(clientConfigBuilder.build());
+    }
+
     private void safeCloseClient() {
         try {
             // Reset the client, this should close the internal resources and setup reinitialization
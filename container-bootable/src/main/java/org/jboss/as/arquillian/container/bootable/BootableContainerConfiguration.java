@@ -4,6 +4,7 @@
  */
 package org.jboss.as.arquillian.container.bootable;
 
+import org.jboss.arquillian.container.spi.ConfigurationException;
 import org.jboss.as.arquillian.container.CommonManagedContainerConfiguration;
 
 /**
@@ -29,6 +30,26 @@ public class BootableContainerConfiguration extends CommonManagedContainerConfig
 
     private boolean enableAssertions = true;
 
+    private boolean cacheInstallation = getBooleanProperty("wildfly.bootable.cache", false);
+    private String installCacheDir = System.getProperty("wildfly.bootable.cache.dir");
+    private int installCacheMaxAgeInHours = 24 * 7;
+    private long installCacheMaxSizeInMb = 2048L;
+
+    @Override
+    public void validate() throws ConfigurationException {
+        super.validate();
+        if (cacheInstallation) {
+            if (installCacheMaxAgeInHours <= 0) {
+                throw new ConfigurationException(
+                        String.format("installCacheMaxAgeInHours must be greater than 0: %d", installCacheMaxAgeInHours));
+            }
+            if (installCacheMaxSizeInMb <= 0) {
+                throw new ConfigurationException(
+                        String.format("installCacheMaxSizeInMb must be greater than 0: %d", installCacheMaxSizeInMb));
+            }
+        }
+    }
+
     public String getJavaVmArguments() {
         return javaVmArguments;
     }
@@ -99,6 +120,67 @@ public class BootableContainerConfiguration extends CommonManagedContainerConfig
         this.installDir = installDir;
     }
 
+    /**
+     * Indicates whether the server in the bootable JAR should be extracted once into a shared installation cache
+     * rather than having the bootable JAR unpack itself on each start.
+     * <p>
+     * When enabled the server is launched as a standalone server from an overlay of the cached installation created
+     * in the {@linkplain #getInstallDir() install directory}, or a temporary directory if not set. The install
+     * directory must be empty or contain an overlay created by a previous start. Arguments specific to the bootable JAR
+     * launcher cannot be used in the {@linkplain #getJbossArguments() server arguments}.
+     * </p>
+     *
+     * @return {@code true} if the installation should be cached, otherwise {@code false}
+     */
+    public boolean isCacheInstallation() {
+        return cacheInstallation;
+    }
+
+    public void setCacheInstallation(final boolean cacheInstallation) {
+        this.cacheInstallation = cacheInstallation;
+    }
+
+    /**
+     * The directory for the cached installations. Defaults to {@code wildfly-bootable-cache} in the
+     * {@code java.io.tmpdir}.
+     *
+     * @return the cache directory or {@code null} to use the default
+     */
+    public String getInstallCacheDir() {
+        return installCacheDir;
+    }
+
+    public void setInstallCacheDir(final String installCacheDir) {
+        this.installCacheDir = installCacheDir;
+    }
+
+    /**
+     * The number of hours since a cached installation was last used before it is evicted. Defaults to 7 days.
+     *
+     * @return the maximum age in hours of a cached installation
+     */
+    public int getInstallCacheMaxAgeInHours() {
+        return installCacheMaxAgeInHours;
+    }
+
+    public void setInstallCacheMaxAgeInHours(final int installCacheMaxAgeInHours) {
+        this.installCacheMaxAgeInHours = installCacheMaxAgeInHours;
+    }
+
+    /**
+     * The maximum total size, in megabytes, of the installation cache. The least recently used installations are
+     * evicted first. Defaults to 2048.
+     *
+     * @return the maximum size of the cache in megabytes
+     */
+    public long getInstallCacheMaxSizeInMb() {
+        return installCacheMaxSizeInMb;
+    }
+
+    public void setInstallCacheMaxSizeInMb(final long installCacheMaxSizeInMb) {
+        this.installCacheMaxSizeInMb = installCacheMaxSizeInMb;
+    }
+
     private static boolean getBooleanProperty(final String key, final boolean dft) {
         final String value = System.getProperty(key);
         if (value != null) {
@@ -9,12 +9,15 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 
+import org.jboss.arquillian.container.spi.client.container.LifecycleException;
 import org.jboss.as.arquillian.container.CommonManagedDeployableContainer;
 import org.jboss.as.arquillian.container.ParameterUtils;
 import org.jboss.logging.Logger;
 import org.wildfly.core.launcher.BootableJarCommandBuilder;
 import org.wildfly.core.launcher.CommandBuilder;
+import org.wildfly.core.launcher.StandaloneCommandBuilder;
 
 /**
  * The managed deployable container for a bootable JAR.
@@ -25,7 +28,10 @@ import org.wildfly.core.launcher.CommandBuilder;
  */
 public final class BootableDeployableContainer extends CommonManagedDeployableContainer<BootableContainerConfiguration> {
 
+    static final String DEFAULT_CACHE_DIR = "wildfly-bootable-cache";
+
     private final Logger log = Logger.getLogger(BootableDeployableContainer.class.getName());
+    private Path tempInstallDir;
 
     @Override
     public Class<BootableContainerConfiguration> getConfigurationClass() {
@@ -35,6 +41,9 @@ public final class BootableDeployableContainer extends CommonManagedDeployableCo
     @Override
     @SuppressWarnings("FeatureEnvy")
     protected CommandBuilder createCommandBuilder(final BootableContainerConfiguration config) {
+        if (config.isCacheInstallation()) {
+            return createCachedCommandBuilder(config);
+        }
         final BootableJarCommandBuilder commandBuilder = BootableJarCommandBuilder.of(config.getJarFile());
         final String path = config.getInstallDir();
         if (path != null) {
@@ -74,8 +83,76 @@ public final class BootableDeployableContainer extends CommonManagedDeployableCo
         return commandBuilder;
     }
 
+    @Override
+    protected void stopInternal(final Integer timeout) throws LifecycleException {
+        try {
+            super.stopInternal(timeout);
+        } finally {
+            final Path dir = tempInstallDir;
+            tempInstallDir = null;
+            if (dir != null) {
+                try {
+                    BootableInstallationCache.deleteDir(dir);
+                } catch (IOException e) {
+                    log.warnf(e, "Failed to delete temporary installation directory %s", dir);
+                }
+            }
+        }
+    }
+
     @Override
     protected Logger getLogger() {
         return log;
     }
+
+    /**
+     * Creates a command builder which launches the server from an overlay of the cached installation of the bootable
+     * JAR, rather than launching the bootable JAR itself which would extract the server on each start.
+     */
+    @SuppressWarnings("FeatureEnvy")
+    private CommandBuilder createCachedCommandBuilder(final BootableContainerConfiguration config) {
+        final String cacheDir = config.getInstallCacheDir();
+        final BootableInstallationCache cache = new BootableInstallationCache(
+                cacheDir == null ? Paths.get(System.getProperty("java.io.tmpdir"), DEFAULT_CACHE_DIR) : Paths.get(cacheDir),
+                Duration.ofHours(config.getInstallCacheMaxAgeInHours()),
+                config.getInstallCacheMaxSizeInMb() * 1024L * 1024L);
+        final Path installDir;
+        try {
+            final String path = config.getInstallDir();
+            if (path == null) {
+                installDir = Files.createTempDirectory("wildfly-bootable");
+                tempInstallDir = installDir;
+            } else {
+                installDir = Paths.get(path);
+            }
+            cache.install(Paths.get(config.getJarFile()), installDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to create the installation for %s", config.getJarFile()),
+                    e);
+        }
+
+        final StandaloneCommandBuilder commandBuilder = StandaloneCommandBuilder.of(installDir);
+        final String javaOpts = config.getJavaVmArguments();
+        final String jbossArguments = config.getJbossArguments();
+
+        commandBuilder.setJavaHome(config.getJavaHome());
+        if (javaOpts != null && !javaOpts.trim().isEmpty()) {
+            commandBuilder.setJavaOptions(ParameterUtils.splitParams(javaOpts));
+        }
+
+        if (config.isEnableAssertions()) {
+            commandBuilder.addJavaOption("-ea");
+        }
+
+        if (jbossArguments != null && !jbossArguments.trim().isEmpty()) {
+            commandBuilder.addServerArguments(ParameterUtils.splitParams(jbossArguments));
+        }
+
+        // Check if we should enable debug
+        if (config.isDebug()) {
+            commandBuilder.setDebug(config.isDebugSuspend(), config.getDebugPort());
+        }
+
+        return commandBuilder;
+    }
 }
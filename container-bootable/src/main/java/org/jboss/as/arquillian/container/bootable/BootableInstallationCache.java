@@ -0,0 +1,366 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.container.bootable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A cache of unpacked bootable JAR installations. The server packaged in a bootable JAR is extracted once into a
+ * shared installation keyed by the SHA-256 digest of the JAR. Each container start then gets an overlay of the
+ * shared installation where the read-only content, the {@code modules}, is hard linked and everything else is
+ * copied.
+ * <p>
+ * Entries are evicted when they have not been used within the maximum age, or when the total size of the cache
+ * exceeds the maximum size in which case the least recently used entries are removed first.
+ * </p>
+ */
+final class BootableInstallationCache {
+    private static final Logger LOGGER = Logger.getLogger(BootableInstallationCache.class);
+
+    /**
+     * The entry in the bootable JAR which contains the server.
+     */
+    static final String SERVER_ZIP = "wildfly.zip";
+    private static final String COMPLETE_MARKER = ".complete";
+    // Marks a directory as an overlay created by the cache, only such directories are replaced
+    static final String OVERLAY_MARKER = ".overlay";
+    private static final String LOCK_FILE = ".lock";
+    // Content of the installation which is only read at runtime and can be shared with the cached installation
+    private static final Set<String> LINKED_CONTENT = Set.of("modules", "jboss-modules.jar");
+    // Guards the file lock of a cache directory within this JVM
+    private static final Map<Path, Object> MONITORS = new ConcurrentHashMap<>();
+
+    // Avoid re-hashing the same JAR within the same JVM, for example when restarting a container in manual mode
+    private static final Map<String, String> DIGESTS = new ConcurrentHashMap<>();
+
+    private final Path cacheDir;
+    private final Duration maxAge;
+    private final long maxSize;
+
+    /**
+     * Creates a new installation cache.
+     *
+     * @param cacheDir the directory for the cached installations
+     * @param maxAge   the maximum time since an installation was last used before it is evicted
+     * @param maxSize  the maximum total size, in bytes, of the cache
+     */
+    BootableInstallationCache(final Path cacheDir, final Duration maxAge, final long maxSize) {
+        this.cacheDir = cacheDir;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Resolves the shared installation for the bootable JAR and creates an overlay of it in the target directory. An
+     * overlay previously created in the target directory is replaced. Any other content of the target directory is
+     * never deleted, a target directory which is not empty is refused instead.
+     * <p>
+     * The cache is locked until the overlay has been created so another JVM cannot evict the installation while it is
+     * being linked into the overlay.
+     * </p>
+     *
+     * @param jarFile the bootable JAR
+     * @param target  the directory to create the overlay in
+     *
+     * @throws IOException if an error occurs extracting the server or creating the overlay, or if the target directory
+     *                         is not empty and does not contain an overlay
+     */
+    void install(final Path jarFile, final Path target) throws IOException {
+        final String key = digest(jarFile);
+        withLock(() -> {
+            createOverlay(resolveLocked(jarFile, key), target);
+            return null;
+        });
+    }
+
+    /**
+     * Resolves the shared installation for the bootable JAR, extracting the server if it has not yet been cached.
+     *
+     * @param jarFile the bootable JAR
+     *
+     * @return the path to the shared installation
+     *
+     * @throws IOException if an error occurs extracting the server
+     */
+    Path resolve(final Path jarFile) throws IOException {
+        final String key = digest(jarFile);
+        return withLock(() -> resolveLocked(jarFile, key));
+    }
+
+    private Path resolveLocked(final Path jarFile, final String key) throws IOException {
+        final Path installation = cacheDir.resolve(key);
+        final Path marker = installation.resolve(COMPLETE_MARKER);
+        if (Files.exists(marker)) {
+            LOGGER.debugf("Using cached installation %s for %s", installation, jarFile);
+        } else {
+            if (Files.exists(installation)) {
+                // A previous extraction did not complete
+                deleteDir(installation);
+            }
+            LOGGER.infof("Extracting %s into installation cache %s", jarFile, installation);
+            final Path tmp = Files.createTempDirectory(cacheDir, key + "-");
+            try {
+                extract(jarFile, tmp);
+                Files.createFile(tmp.resolve(COMPLETE_MARKER));
+                Files.move(tmp, installation, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                deleteDir(tmp);
+                throw e;
+            }
+        }
+        // The last modified time of the marker tracks the last time the installation was used
+        Files.setLastModifiedTime(marker, FileTime.from(Instant.now()));
+        evict(key);
+        return findHome(installation);
+    }
+
+    /**
+     * Executes the task while holding the lock of the cache directory. The file lock excludes other JVMs, the monitor
+     * excludes other threads of this JVM as file locks are held on behalf of the whole JVM.
+     */
+    private <R> R withLock(final LockedTask<R> task) throws IOException {
+        Files.createDirectories(cacheDir);
+        final Object monitor = MONITORS.computeIfAbsent(cacheDir.toAbsolutePath().normalize(), ignored -> new Object());
+        synchronized (monitor) {
+            try (
+                    FileChannel channel = FileChannel.open(cacheDir.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE);
+                    FileLock ignored = channel.lock()) {
+                return task.execute();
+            }
+        }
+    }
+
+    /**
+     * Creates an overlay of the shared installation in the target directory. Only the content which is never written
+     * to at runtime, {@code jboss-modules.jar} and the {@code modules} directory, is hard linked. Everything else is
+     * copied so writes to the overlay cannot change the shared installation.
+     */
+    private static void createOverlay(final Path installation, final Path target) throws IOException {
+        if (Files.exists(target.resolve(OVERLAY_MARKER))) {
+            deleteDir(target);
+        } else if (!isEmpty(target)) {
+            throw new IOException(String.format(
+                    "The installation directory %s is not empty and was not created for a bootable JAR installation", target));
+        }
+        Files.createDirectories(target);
+        // Written first, so an overlay which was only partially created is still replaced by the next start
+        Files.createFile(target.resolve(OVERLAY_MARKER));
+        Files.walkFileTree(installation, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(installation)) {
+                    Files.createDirectories(target.resolve(installation.relativize(dir).toString()));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                final Path relative = installation.relativize(file);
+                if (relative.toString().equals(COMPLETE_MARKER)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                final Path copy = target.resolve(relative.toString());
+                if (LINKED_CONTENT.contains(relative.getName(0).toString())) {
+                    try {
+                        Files.createLink(copy, file);
+                    } catch (UnsupportedOperationException | IOException e) {
+                        // Different file stores or the file system does not support links
+                        Files.copy(file, copy, StandardCopyOption.COPY_ATTRIBUTES);
+                    }
+                } else {
+                    Files.copy(file, copy, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static boolean isEmpty(final Path dir) throws IOException {
+        if (Files.notExists(dir)) {
+            return true;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            return !stream.iterator().hasNext();
+        }
+    }
+
+    /**
+     * Deletes the directory and all of its content.
+     *
+     * @param dir the directory to delete
+     *
+     * @throws IOException if an error occurs deleting the directory
+     */
+    static void deleteDir(final Path dir) throws IOException {
+        if (Files.notExists(dir)) {
+            return;
+        }
+        Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path d, final IOException exc) throws IOException {
+                Files.delete(d);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void evict(final String current) throws IOException {
+        final List<Entry> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDir, Files::isDirectory)) {
+            for (Path dir : stream) {
+                final Path marker = dir.resolve(COMPLETE_MARKER);
+                if (Files.exists(marker)) {
+                    entries.add(new Entry(dir, Files.getLastModifiedTime(marker).toInstant(), size(dir)));
+                }
+            }
+        }
+        final Instant expired = Instant.now().minus(maxAge);
+        long total = 0L;
+        final List<Entry> remaining = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (!entry.dir.getFileName().toString().equals(current) && entry.lastUsed.isBefore(expired)) {
+                LOGGER.debugf("Evicting expired installation %s", entry.dir);
+                deleteDir(entry.dir);
+            } else {
+                remaining.add(entry);
+                total += entry.size;
+            }
+        }
+        // Remove the least recently used entries until we're under the maximum size
+        remaining.sort(Comparator.comparing(Entry::lastUsed));
+        for (Entry entry : remaining) {
+            if (total <= maxSize) {
+                break;
+            }
+            if (!entry.dir.getFileName().toString().equals(current)) {
+                LOGGER.debugf("Evicting installation %s as the cache exceeds %d bytes", entry.dir, maxSize);
+                deleteDir(entry.dir);
+                total -= entry.size;
+            }
+        }
+    }
+
+    private static void extract(final Path jarFile, final Path target) throws IOException {
+        try (ZipFile jar = new ZipFile(jarFile.toFile())) {
+            final ZipEntry serverZip = jar.getEntry(SERVER_ZIP);
+            if (serverZip == null) {
+                throw new IOException(String.format("Could not find %s in %s. Is it a bootable JAR?", SERVER_ZIP, jarFile));
+            }
+            try (ZipInputStream in = new ZipInputStream(jar.getInputStream(serverZip))) {
+                ZipEntry entry;
+                while ((entry = in.getNextEntry()) != null) {
+                    final Path path = target.resolve(entry.getName()).normalize();
+                    if (!path.startsWith(target)) {
+                        throw new IOException(String.format("Invalid entry %s in %s", entry.getName(), jarFile));
+                    }
+                    if (entry.isDirectory()) {
+                        Files.createDirectories(path);
+                    } else {
+                        Files.createDirectories(path.getParent());
+                        Files.copy(in, path);
+                        if (entry.getName().endsWith(".sh")) {
+                            path.toFile().setExecutable(true);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static Path findHome(final Path installation) throws IOException {
+        if (Files.exists(installation.resolve("jboss-modules.jar"))) {
+            return installation;
+        }
+        // The server may have been packaged in a single top level directory
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(installation, Files::isDirectory)) {
+            for (Path dir : stream) {
+                if (Files.exists(dir.resolve("jboss-modules.jar"))) {
+                    return dir;
+                }
+            }
+        }
+        throw new IOException(String.format("Could not find a server installation in %s", installation));
+    }
+
+    private static String digest(final Path jarFile) throws IOException {
+        final BasicFileAttributes attrs = Files.readAttributes(jarFile, BasicFileAttributes.class);
+        final String id = jarFile.toAbsolutePath().normalize() + ":" + attrs.size() + ":" + attrs.lastModifiedTime();
+        try {
+            return DIGESTS.computeIfAbsent(id, ignored -> {
+                try {
+                    final MessageDigest md = MessageDigest.getInstance("SHA-256");
+                    try (InputStream in = new DigestInputStream(Files.newInputStream(jarFile), md)) {
+                        in.transferTo(OutputStream.nullOutputStream());
+                    }
+                    return HexFormat.of().formatHex(md.digest());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long size(final Path dir) throws IOException {
+        final long[] size = { 0L };
+        Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                size[0] += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return size[0];
+    }
+
+    private interface LockedTask<R> {
+        R execute() throws IOException;
+    }
+
+    private record Entry(Path dir, Instant lastUsed, long size) {
+    }
+}
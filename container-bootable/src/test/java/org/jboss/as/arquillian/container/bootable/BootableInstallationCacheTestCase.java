@@ -0,0 +1,157 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.container.bootable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the {@link BootableInstallationCache}.
+ */
+public class BootableInstallationCacheTestCase {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void resolveExtractsOnce() throws Exception {
+        final Path jar = createBootableJar(tempDir.resolve("server-bootable.jar"), "initial");
+        final BootableInstallationCache cache = new BootableInstallationCache(tempDir.resolve("cache"), Duration.ofDays(1),
+                Long.MAX_VALUE);
+        final Path installation = cache.resolve(jar);
+        Assertions.assertTrue(Files.exists(installation.resolve("jboss-modules.jar")));
+        final Path config = installation.resolve("standalone/configuration/standalone.xml");
+        Assertions.assertEquals("initial", Files.readString(config));
+
+        // Change the cached content, a second resolve must not extract the server again
+        Files.writeString(config, "changed");
+        Assertions.assertEquals(installation, cache.resolve(jar));
+        Assertions.assertEquals("changed", Files.readString(config));
+    }
+
+    @Test
+    public void overlayDoesNotModifyInstallation() throws Exception {
+        final Path jar = createBootableJar(tempDir.resolve("server-bootable.jar"), "initial");
+        final BootableInstallationCache cache = new BootableInstallationCache(tempDir.resolve("cache"), Duration.ofDays(1),
+                Long.MAX_VALUE);
+        final Path installation = cache.resolve(jar);
+        final Path overlay = tempDir.resolve("overlay");
+        cache.install(jar, overlay);
+
+        Assertions.assertTrue(Files.exists(overlay.resolve("modules/org/test/main/module.xml")));
+        Assertions.assertTrue(Files.notExists(overlay.resolve(".complete")));
+        Files.writeString(overlay.resolve("standalone/configuration/standalone.xml"), "changed");
+        Assertions.assertEquals("initial",
+                Files.readString(installation.resolve("standalone/configuration/standalone.xml")));
+
+        // Files outside the modules are copied, writing to them in place must not change the installation
+        final Path conf = overlay.resolve("bin/standalone.conf");
+        Assertions.assertFalse(Files.isSameFile(conf, installation.resolve("bin/standalone.conf")));
+        try (OutputStream out = Files.newOutputStream(conf, StandardOpenOption.APPEND)) {
+            out.write("JAVA_OPTS=-Xmx1g".getBytes(StandardCharsets.UTF_8));
+        }
+        Assertions.assertEquals("#", Files.readString(installation.resolve("bin/standalone.conf")));
+
+        // A second overlay should replace the previous one
+        cache.install(jar, overlay);
+        Assertions.assertEquals("initial", Files.readString(overlay.resolve("standalone/configuration/standalone.xml")));
+    }
+
+    @Test
+    public void installIntoEmptyDirectory() throws Exception {
+        final Path jar = createBootableJar(tempDir.resolve("server-bootable.jar"), "initial");
+        final BootableInstallationCache cache = new BootableInstallationCache(tempDir.resolve("cache"), Duration.ofDays(1),
+                Long.MAX_VALUE);
+        final Path installDir = Files.createDirectory(tempDir.resolve("install"));
+        cache.install(jar, installDir);
+        Assertions.assertEquals("initial", Files.readString(installDir.resolve("standalone/configuration/standalone.xml")));
+        Assertions.assertTrue(Files.exists(installDir.resolve(BootableInstallationCache.OVERLAY_MARKER)));
+    }
+
+    @Test
+    public void installRefusesForeignDirectory() throws Exception {
+        final Path jar = createBootableJar(tempDir.resolve("server-bootable.jar"), "initial");
+        final BootableInstallationCache cache = new BootableInstallationCache(tempDir.resolve("cache"), Duration.ofDays(1),
+                Long.MAX_VALUE);
+        // A directory with content the cache did not create must be left untouched
+        final Path installDir = Files.createDirectory(tempDir.resolve("install"));
+        final Path userFile = Files.writeString(installDir.resolve("keep.txt"), "keep");
+        Assertions.assertThrows(IOException.class, () -> cache.install(jar, installDir));
+        Assertions.assertEquals("keep", Files.readString(userFile));
+        Assertions.assertTrue(Files.notExists(installDir.resolve("jboss-modules.jar")));
+    }
+
+    @Test
+    public void evictExpired() throws Exception {
+        final Path cacheDir = tempDir.resolve("cache");
+        final BootableInstallationCache cache = new BootableInstallationCache(cacheDir, Duration.ofHours(1), Long.MAX_VALUE);
+        final Path first = cache.resolve(createBootableJar(tempDir.resolve("first.jar"), "first"));
+        Files.setLastModifiedTime(first.resolve(".complete"), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        final Path second = cache.resolve(createBootableJar(tempDir.resolve("second.jar"), "second"));
+        Assertions.assertTrue(Files.notExists(first), () -> String.format("Expected %s to be evicted", first));
+        Assertions.assertTrue(Files.exists(second));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() throws Exception {
+        final Path cacheDir = tempDir.resolve("cache");
+        // Only the most recently used installation fits in the cache
+        final BootableInstallationCache cache = new BootableInstallationCache(cacheDir, Duration.ofDays(1), 1L);
+        final Path first = cache.resolve(createBootableJar(tempDir.resolve("first.jar"), "first"));
+        final Path second = cache.resolve(createBootableJar(tempDir.resolve("second.jar"), "second"));
+        Assertions.assertTrue(Files.notExists(first), () -> String.format("Expected %s to be evicted", first));
+        Assertions.assertTrue(Files.exists(second));
+    }
+
+    @Test
+    public void invalidJar() throws Exception {
+        final Path jar = tempDir.resolve("invalid.jar");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            out.closeEntry();
+        }
+        final BootableInstallationCache cache = new BootableInstallationCache(tempDir.resolve("cache"), Duration.ofDays(1),
+                Long.MAX_VALUE);
+        Assertions.assertThrows(IOException.class, () -> cache.resolve(jar));
+    }
+
+    private static Path createBootableJar(final Path jar, final String config) throws IOException {
+        final Map<String, String> content = Map.of(
+                "jboss-modules.jar", "modules",
+                "modules/org/test/main/module.xml", "<module name=\"org.test\"/>",
+                "bin/standalone.conf", "#",
+                "standalone/configuration/standalone.xml", config);
+        final ByteArrayOutputStream server = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(server)) {
+            for (Map.Entry<String, String> entry : content.entrySet()) {
+                out.putNextEntry(new ZipEntry(entry.getKey()));
+                out.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        try (OutputStream fileOut = Files.newOutputStream(jar); ZipOutputStream out = new ZipOutputStream(fileOut)) {
+            out.putNextEntry(new ZipEntry(BootableInstallationCache.SERVER_ZIP));
+            out.write(server.toByteArray());
+            out.closeEntry();
+        }
+        return jar;
+    }
+}
@@ -29,6 +29,10 @@ public class EmbeddedContainerConfiguration extends CommonContainerConfiguration
 
     private String systemPackages = System.getProperty("jboss.modules.system.pkgs");
 
+    private boolean reloadOnRestart = Boolean.getBoolean("wildfly.embedded.reloadOnRestart");
+
+    private int reloadTimeoutInSeconds = 60;
+
     public EmbeddedContainerConfiguration() {
 
         // if no jbossHome is set use jboss.home of already running jvm
@@ -99,6 +103,40 @@ public class EmbeddedContainerConfiguration extends CommonContainerConfiguration
         return (systemPackages == null || systemPackages.isEmpty()) ? null : systemPackages.split(",");
     }
 
+    /**
+     * Indicates whether stopping and starting the container should reload the server rather than stopping it and
+     * booting a new server.
+     * <p>
+     * When enabled, stopping the container reloads the server into admin-only mode, which stops all services other than
+     * the management services. Starting the container again reloads the server into normal mode. The module loader and
+     * the loaded classes are kept which makes stop/start cycles, for example in manual mode, considerably faster.
+     * The server is only kept between a stop and a later start, it is stopped once the test suite has finished.
+     * </p>
+     *
+     * @return {@code true} if the server should be reloaded on a restart, otherwise {@code false}
+     */
+    public boolean isReloadOnRestart() {
+        return reloadOnRestart;
+    }
+
+    public void setReloadOnRestart(final boolean reloadOnRestart) {
+        this.reloadOnRestart = reloadOnRestart;
+    }
+
+    /**
+     * The number of seconds to wait for the server to reload when {@linkplain #isReloadOnRestart() reloading on
+     * restart}. Defaults to 60.
+     *
+     * @return the reload timeout in seconds
+     */
+    public int getReloadTimeoutInSeconds() {
+        return reloadTimeoutInSeconds;
+    }
+
+    public void setReloadTimeoutInSeconds(final int reloadTimeoutInSeconds) {
+        this.reloadTimeoutInSeconds = reloadTimeoutInSeconds;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -109,5 +147,8 @@ public class EmbeddedContainerConfiguration extends CommonContainerConfiguration
         super.validate();
         Validate.configurationDirectoryExists(jbossHome, "jbossHome '" + jbossHome + "' must exist");
         Validate.configurationDirectoryExists(modulePath, "modulePath '" + modulePath + "' must exist");
+        if (reloadOnRestart && reloadTimeoutInSeconds <= 0) {
+            throw new ConfigurationException("reloadTimeoutInSeconds must be greater than 0: " + reloadTimeoutInSeconds);
+        }
     }
 }
@@ -22,6 +22,7 @@ public class EmbeddedContainerExtension extends CommonContainerExtension {
     @Override
     public void register(final ExtensionBuilder builder) {
         super.register(builder);
-        builder.service(DeployableContainer.class, EmbeddedDeployableContainer.class);
+        builder.service(DeployableContainer.class, EmbeddedDeployableContainer.class)
+                .observer(ParkedServerObserver.class);
     }
 }
@@ -9,17 +9,23 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.arquillian.container.spi.client.container.LifecycleException;
 import org.jboss.as.arquillian.container.CommonDeployableContainer;
 import org.jboss.as.arquillian.container.ManagementClient;
 import org.jboss.as.arquillian.container.ParameterUtils;
+import org.jboss.as.controller.client.helpers.DelegatingModelControllerClient;
+import org.jboss.as.controller.client.helpers.Operations;
+import org.jboss.dmr.ModelNode;
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleLoader;
 import org.wildfly.core.embedded.Configuration;
 import org.wildfly.core.embedded.EmbeddedProcessFactory;
 import org.wildfly.core.embedded.EmbeddedStandaloneServerFactory;
 import org.wildfly.core.embedded.StandaloneServer;
+import org.wildfly.plugin.tools.server.ServerManager;
+import org.wildfly.plugin.tools.server.StandaloneManager;
 
 /**
  * {@link org.jboss.arquillian.container.spi.client.container.DeployableContainer} implementation to bootstrap JBoss Logging
@@ -38,11 +44,17 @@ public final class EmbeddedDeployableContainer extends CommonDeployableContainer
     /**
      * Hook to the server; used in start/stop, created by setup
      */
-    private StandaloneServer server;
+    private volatile StandaloneServer server;
+    // Indicates the server has been reloaded into admin-only mode instead of being stopped
+    private volatile boolean parked;
+    private Thread shutdownThread;
+    private StandaloneManager serverManager;
 
     @Override
     public void setup(final EmbeddedContainerConfiguration config) {
         super.setup(config);
+        // A reload can only be used for the same server
+        stopParkedServer();
         if (config.getCleanServerBaseDir() != null) {
             SecurityActions.setSystemProperty(EmbeddedStandaloneServerFactory.JBOSS_EMBEDDED_ROOT,
                     config.getCleanServerBaseDir());
@@ -62,15 +74,38 @@ public final class EmbeddedDeployableContainer extends CommonDeployableContainer
 
     @Override
     protected void startInternal() throws LifecycleException {
+        if (parked) {
+            // The server is still running in admin-only mode, reload it rather than booting a new server
+            setInVmClient();
+            reload(false);
+            parked = false;
+            return;
+        }
         try {
             server.start();
         } catch (Throwable e) {
             throw new LifecycleException("Could not invoke start on: " + server, e);
         }
+        setInVmClient();
     }
 
     @Override
     protected void stopInternal(Integer timeout) throws LifecycleException {
+        if (getContainerConfiguration().isReloadOnRestart()) {
+            // Keep the server, and with it the module loader and loaded classes, and only stop its services
+            reload(true);
+            parked = true;
+            if (shutdownThread == null) {
+                // Only a fallback, the parked server is stopped when the suite finishes
+                shutdownThread = new Thread(() -> {
+                    if (parked) {
+                        server.stop();
+                    }
+                }, "embedded-server-shutdown");
+                Runtime.getRuntime().addShutdownHook(shutdownThread);
+            }
+            return;
+        }
         try {
             // Timeout is ignored in the embeddable case.
             server.stop();
@@ -79,11 +114,70 @@ public final class EmbeddedDeployableContainer extends CommonDeployableContainer
         }
     }
 
+    /**
+     * Stops the server if it was reloaded into admin-only mode by a previous stop and not started again.
+     */
+    void stopParkedServer() {
+        if (parked) {
+            parked = false;
+            try {
+                server.stop();
+            } finally {
+                if (shutdownThread != null) {
+                    try {
+                        Runtime.getRuntime().removeShutdownHook(shutdownThread);
+                    } catch (IllegalStateException ignore) {
+                        // The JVM is already shutting down
+                    }
+                    shutdownThread = null;
+                }
+            }
+        }
+    }
+
     @Override
     protected ManagementClient getManagementClient() {
         return super.getManagementClient();
     }
 
+    @Override
+    protected boolean isRemoteManagementClient() {
+        return false;
+    }
+
+    private void setInVmClient() {
+        // Use the in-VM client of the server so management operations, including deployments, do not go through
+        // the network stack. The delegate is resolved for each request as a reload replaces the servers client.
+        setModelControllerClient(new DelegatingModelControllerClient(server::getModelControllerClient) {
+            @Override
+            public void close() {
+                // The client is owned, and closed, by the embedded server
+            }
+        });
+        final StandaloneManager serverManager = ServerManager.builder()
+                .client(getManagementClient().getControllerClient())
+                .standalone();
+        this.serverManager = serverManager;
+        serverManagerProducer.set(serverManager.asManaged());
+    }
+
+    private void reload(final boolean adminOnly) throws LifecycleException {
+        final int timeout = getContainerConfiguration().getReloadTimeoutInSeconds();
+        try {
+            final ModelNode op = Operations.createOperation("reload");
+            op.get("admin-only").set(adminOnly);
+            serverManager.executeReload(op);
+            if (!serverManager.waitFor(timeout, TimeUnit.SECONDS)) {
+                throw new LifecycleException(String.format("The server %s was not reloaded within %d seconds", server,
+                        timeout));
+            }
+        } catch (LifecycleException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LifecycleException("Could not reload: " + server, e);
+        }
+    }
+
     private static String[] getCommandArgs(final EmbeddedContainerConfiguration config) {
         final String configFile = config.getServerConfig();
         final String arguments = config.getJbossArguments();
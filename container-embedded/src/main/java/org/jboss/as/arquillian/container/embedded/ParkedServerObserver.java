@@ -0,0 +1,35 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.container.embedded;
+
+import org.jboss.arquillian.container.spi.Container;
+import org.jboss.arquillian.container.spi.ContainerRegistry;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+
+/**
+ * Stops the embedded servers which were reloaded into admin-only mode by the last stop of a container configured with
+ * {@link EmbeddedContainerConfiguration#isReloadOnRestart() reloadOnRestart}. The server is only kept between a stop
+ * and a later start, once the suite has finished it will not be started again.
+ */
+public class ParkedServerObserver {
+
+    @Inject
+    private Instance<ContainerRegistry> containerRegistry;
+
+    public void stopParkedServers(@Observes(precedence = -100) AfterSuite event) {
+        final ContainerRegistry registry = containerRegistry.get();
+        if (registry == null) {
+            return;
+        }
+        for (Container container : registry.getContainers()) {
+            if (container.getDeployableContainer() instanceof EmbeddedDeployableContainer) {
+                ((EmbeddedDeployableContainer) container.getDeployableContainer()).stopParkedServer();
+            }
+        }
+    }
+}
@@ -57,6 +57,14 @@ public class EmbeddedContainerConfigurationTestCase {
         validate(conf);
     }
 
+    @Test
+    public void shouldValidateReloadTimeout() {
+        final EmbeddedContainerConfiguration conf = new EmbeddedContainerConfiguration();
+        conf.setReloadOnRestart(true);
+        conf.setReloadTimeoutInSeconds(0);
+        assertThrows(ConfigurationException.class, () -> validate(conf));
+    }
+
     private void validate(final EmbeddedContainerConfiguration conf) {
         assertNotNull(conf.getJbossHome());
         assertNotNull(conf.getModulePath());
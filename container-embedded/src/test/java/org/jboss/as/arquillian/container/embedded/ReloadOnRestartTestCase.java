@@ -0,0 +1,66 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.container.embedded;
+
+import java.io.IOException;
+
+import org.jboss.arquillian.container.test.api.ContainerController;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.arquillian.test.api.ArquillianResource;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.helpers.Operations;
+import org.jboss.dmr.ModelNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Tests that stopping a container configured to reload on restart keeps the server in admin-only mode and that the
+ * next start reuses it.
+ */
+@Tag("ReloadOnRestart")
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class ReloadOnRestartTestCase {
+    private static final String CONTAINER_ID = "jboss";
+
+    @ArquillianResource
+    @SuppressWarnings({ "unused", "StaticVariableMayNotBeInitialized" })
+    private static ContainerController controller;
+
+    @AfterEach
+    public void shutdown() {
+        if (controller.isStarted(CONTAINER_ID)) {
+            controller.stop(CONTAINER_ID);
+        }
+    }
+
+    @Test
+    public void stopStartReusesServer() throws Exception {
+        controller.start(CONTAINER_ID);
+        Assertions.assertEquals("NORMAL", readRunningMode());
+
+        // The server should still be running, but only with the management services
+        controller.stop(CONTAINER_ID);
+        Assertions.assertFalse(controller.isStarted(CONTAINER_ID));
+        Assertions.assertEquals("ADMIN_ONLY", readRunningMode());
+
+        controller.start(CONTAINER_ID);
+        Assertions.assertTrue(controller.isStarted(CONTAINER_ID));
+        Assertions.assertEquals("NORMAL", readRunningMode());
+    }
+
+    private static String readRunningMode() throws IOException {
+        try (ModelControllerClient client = ModelControllerClient.Factory.create("localhost", 9990)) {
+            final ModelNode result = client
+                    .execute(Operations.createReadAttributeOperation(new ModelNode().setEmptyList(), "running-mode"));
+            Assertions.assertTrue(Operations.isSuccessfulOutcome(result), () -> String.format("Operation failed %s", result));
+            return Operations.readResult(result).asString();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.container.domain.managed;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.helpers.ClientConstants;
+import org.jboss.as.controller.client.helpers.Operations;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Tracks the status of the servers of a starting domain.
+ * <p>
+ * The status of all servers is read with a single wildcard read. Servers are tracked from the first time they are
+ * seen, which is when the host controller of the server has registered with the domain controller. Each status
+ * transition is logged and the boot time of each server is reported once it has started.
+ * </p>
+ */
+class DomainReadinessTracker {
+
+    /**
+     * The interval, in milliseconds, the status of the servers should be polled in.
+     */
+    static final long POLL_INTERVAL_MILLIS = 100L;
+
+    private static final String STARTED = "STARTED";
+    private static final String DISABLED = "DISABLED";
+    private static final String FAILED = "FAILED";
+
+    private final Logger log = Logger.getLogger(DomainReadinessTracker.class.getName());
+    private final ModelControllerClient client;
+    private final int serverStartupTimeout;
+    private final Collection<String> expectedHosts;
+    private final Map<String, ServerBoot> servers = new LinkedHashMap<>();
+
+    /**
+     * Creates a new tracker.
+     *
+     * @param client               the client used to read the status of the servers
+     * @param serverStartupTimeout the number of seconds a server which is not disabled has to start from the time it
+     *                                 has been seen the first time
+     * @param expectedHosts        the names of the hosts which have to register before the domain is ready
+     */
+    DomainReadinessTracker(final ModelControllerClient client, final int serverStartupTimeout,
+            final Collection<String> expectedHosts) {
+        this.client = client;
+        this.serverStartupTimeout = serverStartupTimeout;
+        this.expectedHosts = expectedHosts;
+    }
+
+    /**
+     * Reads the status of the servers once.
+     *
+     * @return {@code true} if the domain controller could be reached, the expected hosts have registered and all
+     *             servers are started or disabled
+     *
+     * @throws TimeoutException      if a server has not started within the server startup timeout
+     * @throws IllegalStateException if a server failed to start
+     */
+    boolean poll() throws TimeoutException {
+        final ModelNode op = Operations.createReadAttributeOperation(
+                Operations.createAddress(ClientConstants.HOST, "*", ClientConstants.SERVER_CONFIG, "*"),
+                ClientConstants.STATUS);
+        final ModelNode result;
+        try {
+            result = client.execute(op);
+        } catch (IOException e) {
+            // The domain controller is not available yet
+            return false;
+        }
+        if (!Operations.isSuccessfulOutcome(result)) {
+            return false;
+        }
+        final long now = System.nanoTime();
+        boolean running = true;
+        final Set<String> hosts = new HashSet<>();
+        for (ModelNode entry : Operations.readResult(result).asList()) {
+            if (!Operations.isSuccessfulOutcome(entry)) {
+                running = false;
+                continue;
+            }
+            final ModelNode address = Operations.getOperationAddress(entry);
+            final String host = address.get(0).get(ClientConstants.HOST).asString();
+            hosts.add(host);
+            final String name = host + ":" + address.get(1).get(ClientConstants.SERVER_CONFIG).asString();
+            final ServerBoot server = servers.computeIfAbsent(name, key -> new ServerBoot(key, now));
+            final String status = Operations.readResult(entry).asString();
+            server.update(status, now);
+            if (FAILED.equals(status)) {
+                throw new IllegalStateException(String.format("Server %s failed to start", name));
+            }
+            if (!STARTED.equals(status) && !DISABLED.equals(status)) {
+                running = false;
+                if (TimeUnit.NANOSECONDS.toSeconds(now - server.firstSeen) >= serverStartupTimeout) {
+                    throw new TimeoutException(String.format("Server %s was not started within [%d] s, the status is %s",
+                            name, serverStartupTimeout, status));
+                }
+            }
+        }
+        return running && hosts.containsAll(expectedHosts);
+    }
+
+    /**
+     * Describes the servers which have not started yet, the slowest server first.
+     *
+     * @return the description of the servers which have not started or an empty string if all servers were started
+     */
+    String describePending() {
+        final long now = System.nanoTime();
+        final List<ServerBoot> pending = new ArrayList<>();
+        for (ServerBoot server : servers.values()) {
+            if (!STARTED.equals(server.status) && !DISABLED.equals(server.status)) {
+                pending.add(server);
+            }
+        }
+        if (pending.isEmpty()) {
+            return "";
+        }
+        pending.sort((s1, s2) -> Long.compare(s1.firstSeen, s2.firstSeen));
+        final StringBuilder description = new StringBuilder("Servers not started:");
+        for (ServerBoot server : pending) {
+            description.append(' ')
+                    .append(server.name)
+                    .append(" [")
+                    .append(server.status)
+                    .append(" for ")
+                    .append(TimeUnit.NANOSECONDS.toMillis(now - server.firstSeen))
+                    .append(" ms]");
+        }
+        return description.toString();
+    }
+
+    private class ServerBoot {
+        private final String name;
+        private final long firstSeen;
+        private String status;
+
+        private ServerBoot(final String name, final long firstSeen) {
+            this.name = name;
+            this.firstSeen = firstSeen;
+        }
+
+        void update(final String status, final long now) {
+            if (status.equals(this.status)) {
+                return;
+            }
+            if (this.status == null) {
+                log.fine(String.format("Server %s registered with status %s", name, status));
+            } else {
+                log.fine(String.format("Server %s changed status from %s to %s", name, this.status, status));
+            }
+            this.status = status;
+            if (STARTED.equals(status)) {
+                log.info(String.format("Server %s started in %d ms", name, TimeUnit.NANOSECONDS.toMillis(now - firstSeen)));
+            }
+        }
+    }
+}
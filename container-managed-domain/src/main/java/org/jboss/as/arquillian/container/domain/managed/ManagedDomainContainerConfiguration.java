@@ -46,6 +46,14 @@ public class ManagedDomainContainerConfiguration extends CommonDomainContainerCo
 
     private String cleanServerBaseDir;
 
+    private int secondaryHostCount;
+
+    private int secondaryHostServers = 1;
+
+    private String secondaryHostServerGroup = "main-server-group";
+
+    private int secondaryHostPortOffset = 1000;
+
     public ManagedDomainContainerConfiguration() {
         // if no javaHome is set use java.home of already running jvm
         if (javaHome == null || javaHome.isEmpty()) {
@@ -61,6 +69,16 @@ public class ManagedDomainContainerConfiguration extends CommonDomainContainerCo
         if (javaHome != null) {
             Validate.configurationDirectoryExists(javaHome, "javaHome must exist");
         }
+        if (secondaryHostCount < 0) {
+            throw new ConfigurationException("secondaryHostCount cannot be negative, found " + secondaryHostCount);
+        }
+        if (secondaryHostServers < 1) {
+            throw new ConfigurationException("secondaryHostServers must be at least 1, found " + secondaryHostServers);
+        }
+        if (secondaryHostPortOffset < 0) {
+            throw new ConfigurationException(
+                    "secondaryHostPortOffset cannot be negative, found " + secondaryHostPortOffset);
+        }
     }
 
     /**
@@ -254,4 +272,64 @@ public class ManagedDomainContainerConfiguration extends CommonDomainContainerCo
     public void setCleanServerBaseDir(String cleanServerBaseDir) {
         this.cleanServerBaseDir = cleanServerBaseDir;
     }
+
+    public int getSecondaryHostCount() {
+        return secondaryHostCount;
+    }
+
+    /**
+     * The number of secondary host controllers to launch on the local machine in addition to the primary host
+     * controller. The configuration of each secondary host is generated and the servers of the secondary hosts are
+     * registered in the domain like the servers of the primary host.
+     * <p>
+     * The secondary hosts authenticate with the primary host controller as a local user. The base directories of the
+     * secondary hosts are in the {@code secondary-hosts} directory of the base directory of the primary host. The
+     * output of a secondary host is written to the {@code console.log} file in the base directory of the host.
+     * </p>
+     *
+     * @param secondaryHostCount the number of secondary hosts, 0 to only launch the primary host controller
+     */
+    public void setSecondaryHostCount(final int secondaryHostCount) {
+        this.secondaryHostCount = secondaryHostCount;
+    }
+
+    public int getSecondaryHostServers() {
+        return secondaryHostServers;
+    }
+
+    /**
+     * The number of servers configured on each secondary host.
+     *
+     * @param secondaryHostServers the number of servers, defaults to 1
+     */
+    public void setSecondaryHostServers(final int secondaryHostServers) {
+        this.secondaryHostServers = secondaryHostServers;
+    }
+
+    public String getSecondaryHostServerGroup() {
+        return secondaryHostServerGroup;
+    }
+
+    /**
+     * The server group of the servers on the secondary hosts.
+     *
+     * @param secondaryHostServerGroup the server group, defaults to {@code main-server-group}
+     */
+    public void setSecondaryHostServerGroup(final String secondaryHostServerGroup) {
+        this.secondaryHostServerGroup = secondaryHostServerGroup;
+    }
+
+    public int getSecondaryHostPortOffset() {
+        return secondaryHostPortOffset;
+    }
+
+    /**
+     * The first port offset allocated to the servers of the secondary hosts. Each server is allocated its own range of
+     * ports above this offset, offsets whose ports are in use are skipped.
+     *
+     * @param secondaryHostPortOffset the first port offset, defaults to 1000
+     */
+    public void setSecondaryHostPortOffset(final int secondaryHostPortOffset) {
+        this.secondaryHostPortOffset = secondaryHostPortOffset;
+    }
 }
@@ -50,6 +50,7 @@ public class ManagedDomainDeployableContainer extends CommonDomainDeployableCont
 
     private Thread shutdownThread;
     private Process process;
+    private SecondaryHosts secondaryHosts;
 
     @Override
     public Class<ManagedDomainContainerConfiguration> getConfigurationClass() {
@@ -68,24 +69,9 @@ public class ManagedDomainDeployableContainer extends CommonDomainDeployableCont
             }
         }
 
+        final SecondaryHosts secondaryHosts = new SecondaryHosts(config);
         try {
-            final DomainCommandBuilder commandBuilder = DomainCommandBuilder.of(config.getJbossHome(), config.getJavaHome());
-            final String javaVmArguments = config.getJavaVmArguments();
-            if (javaVmArguments != null && !javaVmArguments.trim().isEmpty()) {
-                List<String> javaOpts = ParameterUtils.splitParams(javaVmArguments);
-                commandBuilder.setProcessControllerJavaOptions(javaOpts)
-                        .setHostControllerJavaOptions(javaOpts);
-            }
-
-            final String modulesPath = config.getModulePath();
-            if (modulesPath != null && !modulesPath.isEmpty()) {
-                commandBuilder.setModuleDirs(modulesPath.split(Pattern.quote(File.pathSeparator)));
-            }
-
-            if (config.isEnableAssertions()) {
-                commandBuilder.addHostControllerJavaOption("-ea")
-                        .addProcessControllerJavaOption("-ea");
-            }
+            final DomainCommandBuilder commandBuilder = createCommandBuilder(config);
             if (config.getDomainConfig() != null) {
                 commandBuilder.setDomainConfiguration(config.getDomainConfig());
             }
@@ -114,29 +100,43 @@ public class ManagedDomainDeployableContainer extends CommonDomainDeployableCont
             new Thread(new ConsoleConsumer(process, config.isOutputToConsole())).start();
             shutdownThread = addShutdownHook(process);
 
-            long startupTimeout = getContainerConfiguration().getStartupTimeoutInSeconds();
-            long timeout = startupTimeout * 1000;
+            if (config.getSecondaryHostCount() > 0) {
+                try {
+                    secondaryHosts.start(commandBuilder);
+                } catch (Exception e) {
+                    destroyProcess(process);
+                    throw e;
+                }
+            }
+
+            final DomainReadinessTracker tracker = new DomainReadinessTracker(getManagementClient().getControllerClient(),
+                    config.getAutoServerStartupTimeoutInSeconds(), secondaryHosts.getHostNames());
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getStartupTimeoutInSeconds());
             boolean serverAvailable = false;
-            long sleep = 1000;
-            while (timeout > 0 && serverAvailable == false) {
-                long before = System.currentTimeMillis();
-                serverAvailable = getManagementClient().isDomainInRunningState();
-                timeout -= (System.currentTimeMillis() - before);
-                if (!serverAvailable) {
-                    if (processHasDied(process))
-                        break;
-                    Thread.sleep(sleep);
-                    timeout -= sleep;
-                    sleep = Math.max(sleep / 2, 100);
+            try {
+                while (!serverAvailable && System.nanoTime() - deadline < 0L) {
+                    serverAvailable = tracker.poll();
+                    if (!serverAvailable) {
+                        if (processHasDied(process) || secondaryHosts.hasDied())
+                            break;
+                        Thread.sleep(DomainReadinessTracker.POLL_INTERVAL_MILLIS);
+                    }
                 }
+            } catch (TimeoutException | IllegalStateException e) {
+                secondaryHosts.destroy();
+                destroyProcess(process);
+                throw e;
             }
             if (!serverAvailable) {
+                secondaryHosts.destroy();
                 destroyProcess(process);
-                throw new TimeoutException(String.format("Managed Domain server was not started within [%d] s",
-                        config.getStartupTimeoutInSeconds()));
+                throw new TimeoutException(String.format("Managed Domain server was not started within [%d] s. %s",
+                        config.getStartupTimeoutInSeconds(), tracker.describePending()));
             }
             this.process = process;
+            this.secondaryHosts = secondaryHosts;
         } catch (Exception e) {
+            secondaryHosts.destroy();
             throw new LifecycleException("Could not start container", e);
         }
     }
@@ -149,7 +149,14 @@ public class ManagedDomainDeployableContainer extends CommonDomainDeployableCont
         }
         final Process process = this.process;
         this.process = null;
+        final SecondaryHosts secondaryHosts = this.secondaryHosts;
+        this.secondaryHosts = null;
         try {
+            if (secondaryHosts != null) {
+                // Secondary hosts are shut down first as they cannot be shut down once the domain controller is stopped
+                secondaryHosts.stop(getManagementClient().getControllerClient(),
+                        getContainerConfiguration().getStopTimeoutInSeconds());
+            }
             if (process != null) {
 
                 // Fetch the local-host-name attribute (e.g. "master")
@@ -166,6 +173,9 @@ public class ManagedDomainDeployableContainer extends CommonDomainDeployableCont
                 }
             }
         } catch (Exception e) {
+            if (secondaryHosts != null) {
+                secondaryHosts.destroy();
+            }
             try {
                 destroyProcess(process);
             } catch (Exception ignore) {
@@ -174,6 +184,34 @@ public class ManagedDomainDeployableContainer extends CommonDomainDeployableCont
         }
     }
 
+    /**
+     * Creates a command builder with the Java options and module path of the configuration.
+     *
+     * @param config the container configuration
+     *
+     * @return the command builder
+     */
+    static DomainCommandBuilder createCommandBuilder(final ManagedDomainContainerConfiguration config) {
+        final DomainCommandBuilder commandBuilder = DomainCommandBuilder.of(config.getJbossHome(), config.getJavaHome());
+        final String javaVmArguments = config.getJavaVmArguments();
+        if (javaVmArguments != null && !javaVmArguments.trim().isEmpty()) {
+            List<String> javaOpts = ParameterUtils.splitParams(javaVmArguments);
+            commandBuilder.setProcessControllerJavaOptions(javaOpts)
+                    .setHostControllerJavaOptions(javaOpts);
+        }
+
+        final String modulesPath = config.getModulePath();
+        if (modulesPath != null && !modulesPath.isEmpty()) {
+            commandBuilder.setModuleDirs(modulesPath.split(Pattern.quote(File.pathSeparator)));
+        }
+
+        if (config.isEnableAssertions()) {
+            commandBuilder.addHostControllerJavaOption("-ea")
+                    .addProcessControllerJavaOption("-ea");
+        }
+        return commandBuilder;
+    }
+
     private boolean isServerRunning() {
         Socket socket = null;
         try {
@@ -282,7 +320,7 @@ public class ManagedDomainDeployableContainer extends CommonDomainDeployableCont
         return new IllegalStateException(String.format("Server base directory is not a directory: %s", file));
     }
 
-    private static void copyDir(final Path from, final Path to) throws IOException {
+    static void copyDir(final Path from, final Path to) throws IOException {
         Files.walkFileTree(from, new SimpleFileVisitor<Path>() {
             @Override
             public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
@@ -298,7 +336,7 @@ public class ManagedDomainDeployableContainer extends CommonDomainDeployableCont
         });
     }
 
-    private static boolean deleteDir(final Path toDelete) throws IOException {
+    static boolean deleteDir(final Path toDelete) throws IOException {
         final AtomicBoolean empty = new AtomicBoolean(true);
         Files.walkFileTree(toDelete, new SimpleFileVisitor<>() {
             @Override
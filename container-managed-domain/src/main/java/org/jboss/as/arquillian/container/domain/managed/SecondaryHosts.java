@@ -0,0 +1,360 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.container.domain.managed;
+
+import static org.wildfly.core.launcher.ProcessHelper.addShutdownHook;
+import static org.wildfly.core.launcher.ProcessHelper.destroyProcess;
+import static org.wildfly.core.launcher.ProcessHelper.processHasDied;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.helpers.ClientConstants;
+import org.jboss.as.controller.client.helpers.Operations;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.wildfly.core.launcher.DomainCommandBuilder;
+import org.wildfly.core.launcher.Launcher;
+import org.xml.sax.SAXException;
+
+/**
+ * Launches secondary host controllers on the local machine which register with the primary host controller.
+ * <p>
+ * Each secondary host gets its own base directory with a copy of the configuration directory of the primary host and a
+ * generated host configuration. The base directories are in the {@value #HOSTS_DIRECTORY} directory of the base
+ * directory of the primary host. The host configuration uses the schema of the host configuration of the primary host
+ * and defines the servers of the host. Every server is allocated its own port offset, none of the ports of its socket
+ * binding group may be in use. The native management interface of the host is bound to a port chosen by the host.
+ * </p>
+ */
+class SecondaryHosts {
+
+    private static final String HOST_NAME_PREFIX = "secondary-";
+    private static final String HOST_CONFIG = "host-arquillian-secondary.xml";
+    private static final String DEFAULT_HOST_CONFIG = "host.xml";
+    private static final String DEFAULT_DOMAIN_CONFIG = "domain.xml";
+    private static final String HOSTS_DIRECTORY = "secondary-hosts";
+    private static final Pattern NAMESPACE = Pattern.compile("xmlns=\"(urn:jboss:domain:[^\"]+)\"");
+    // A port defined with an expression, for example ${jboss.http.port:8080}, is bound to the default of the expression
+    private static final Pattern PORT_EXPRESSION = Pattern.compile("\\$\\{[^:}]+:(\\d+)}");
+    private static final int PORT_OFFSET_STEP = 100;
+
+    private final Logger log = Logger.getLogger(SecondaryHosts.class.getName());
+    private final ManagedDomainContainerConfiguration config;
+    private final Map<String, Process> processes = new LinkedHashMap<>();
+    private final List<Thread> shutdownThreads = new ArrayList<>();
+
+    SecondaryHosts(final ManagedDomainContainerConfiguration config) {
+        this.config = config;
+    }
+
+    /**
+     * Generates the configuration of the secondary hosts and launches the host controllers.
+     *
+     * @param primary the command builder used to launch the primary host controller
+     *
+     * @throws IOException if an error occurs creating the configuration or launching a host controller
+     */
+    void start(final DomainCommandBuilder primary) throws IOException {
+        for (Map.Entry<String, DomainCommandBuilder> entry : configure(primary).entrySet()) {
+            final String hostName = entry.getKey();
+            final DomainCommandBuilder commandBuilder = entry.getValue();
+            final Path consoleLog = commandBuilder.getBaseDirectory().resolve("console.log");
+            log.info(String.format("Starting secondary host %s, the output is written to %s", hostName, consoleLog));
+            final Process process = Launcher.of(commandBuilder)
+                    .setRedirectErrorStream(true)
+                    .redirectOutput(consoleLog)
+                    .launch();
+            processes.put(hostName, process);
+            shutdownThreads.add(addShutdownHook(process));
+        }
+    }
+
+    /**
+     * Generates the base directories and host configurations of the secondary hosts.
+     *
+     * @param primary the command builder used to launch the primary host controller
+     *
+     * @return the command builders used to launch the host controllers keyed by the name of the host
+     *
+     * @throws IOException if an error occurs creating the configuration
+     */
+    Map<String, DomainCommandBuilder> configure(final DomainCommandBuilder primary) throws IOException {
+        final Path primaryConfigDir = primary.getConfigurationDirectory();
+        final String hostConfig = config.getHostConfig() == null ? DEFAULT_HOST_CONFIG : config.getHostConfig();
+        final String namespace = readNamespace(primaryConfigDir.resolve(hostConfig));
+        final String domainConfig = config.getDomainConfig() == null ? DEFAULT_DOMAIN_CONFIG : config.getDomainConfig();
+        final Set<Integer> serverPorts = readServerPorts(primaryConfigDir.resolve(domainConfig),
+                config.getSecondaryHostServerGroup());
+        final String address = config.getManagementAddress().getHostAddress();
+        final Path root = primary.getBaseDirectory().resolve(HOSTS_DIRECTORY);
+        if (Files.exists(root)) {
+            // Left by a previous run, the output of the hosts is kept until the hosts are launched again
+            ManagedDomainDeployableContainer.deleteDir(root);
+        }
+        final Map<String, DomainCommandBuilder> commandBuilders = new LinkedHashMap<>();
+        final Set<Integer> allocatedPorts = new HashSet<>();
+        int portOffset = config.getSecondaryHostPortOffset();
+        for (int i = 1; i <= config.getSecondaryHostCount(); i++) {
+            final String hostName = HOST_NAME_PREFIX + i;
+            final Path baseDir = Files.createDirectories(root.resolve(hostName));
+            final Path configDir = baseDir.resolve(ManagedDomainDeployableContainer.CONFIG_DIR);
+            ManagedDomainDeployableContainer.copyDir(primaryConfigDir, configDir);
+
+            final StringBuilder servers = new StringBuilder();
+            for (int s = 1; s <= config.getSecondaryHostServers(); s++) {
+                portOffset = nextFreePortOffset(address, serverPorts, allocatedPorts, portOffset);
+                servers.append("        <server name=\"server-").append(s)
+                        .append("\" group=\"").append(config.getSecondaryHostServerGroup())
+                        .append("\" auto-start=\"true\">\n")
+                        .append("            <socket-bindings port-offset=\"").append(portOffset).append("\"/>\n")
+                        .append("        </server>\n");
+                portOffset += PORT_OFFSET_STEP;
+            }
+            Files.writeString(configDir.resolve(HOST_CONFIG),
+                    generateHostConfig(namespace, hostName, address, config.getManagementPort(), servers),
+                    StandardCharsets.UTF_8);
+
+            // The command builder already passes the home directory to the process controller
+            commandBuilders.put(hostName, ManagedDomainDeployableContainer.createCommandBuilder(config)
+                    .setBaseDirectory(baseDir)
+                    .setConfigurationDirectory(configDir)
+                    .setHostConfiguration(HOST_CONFIG));
+        }
+        return commandBuilders;
+    }
+
+    /**
+     * Returns the names of the secondary hosts which have been launched.
+     *
+     * @return the names of the secondary hosts
+     */
+    Set<String> getHostNames() {
+        return Set.copyOf(processes.keySet());
+    }
+
+    /**
+     * Checks whether the process of any secondary host has died.
+     *
+     * @return {@code true} if a host controller process has died
+     */
+    boolean hasDied() {
+        for (Process process : processes.values()) {
+            if (processHasDied(process)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Shuts down the secondary hosts through the domain controller and waits for the processes to exit. Processes
+     * which do not exit within the timeout are destroyed.
+     *
+     * @param client         the client connected to the domain controller
+     * @param timeoutSeconds the number of seconds to wait for the processes to exit
+     */
+    void stop(final ModelControllerClient client, final int timeoutSeconds) {
+        removeShutdownHooks();
+        for (String hostName : processes.keySet()) {
+            try {
+                client.executeAsync(Operations.createOperation("shutdown",
+                        Operations.createAddress(ClientConstants.HOST, hostName)), null);
+            } catch (Exception e) {
+                log.log(Level.FINE, String.format("Failed to shutdown secondary host %s", hostName), e);
+            }
+        }
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        for (Process process : processes.values()) {
+            try {
+                if (!process.waitFor(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+        processes.clear();
+    }
+
+    /**
+     * Destroys the processes of the secondary hosts.
+     */
+    void destroy() {
+        removeShutdownHooks();
+        for (Process process : processes.values()) {
+            try {
+                destroyProcess(process);
+            } catch (Exception ignore) {
+            }
+        }
+        processes.clear();
+    }
+
+    private void removeShutdownHooks() {
+        for (Thread thread : shutdownThreads) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(thread);
+            } catch (IllegalStateException ignore) {
+                // The JVM is shutting down
+            }
+        }
+        shutdownThreads.clear();
+    }
+
+    private static String generateHostConfig(final String namespace, final String hostName, final String address,
+            final int primaryPort, final CharSequence servers) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<host xmlns=\"" + namespace + "\" name=\"" + hostName + "\">\n" +
+                "    <management>\n" +
+                "        <management-interfaces>\n" +
+                "            <native-interface>\n" +
+                // The port is chosen when the interface is bound, a port allocated up front could be taken by then
+                "                <socket interface=\"management\" port=\"0\"/>\n" +
+                "            </native-interface>\n" +
+                "        </management-interfaces>\n" +
+                "    </management>\n" +
+                "    <domain-controller>\n" +
+                "        <remote protocol=\"remote+http\" host=\"" + address + "\" port=\"" + primaryPort + "\"/>\n" +
+                "    </domain-controller>\n" +
+                "    <interfaces>\n" +
+                interfaceConfig("management", address) +
+                interfaceConfig("public", address) +
+                interfaceConfig("private", address) +
+                interfaceConfig("unsecure", address) +
+                "    </interfaces>\n" +
+                "    <servers>\n" +
+                servers +
+                "    </servers>\n" +
+                "</host>\n";
+    }
+
+    private static String interfaceConfig(final String name, final String address) {
+        return "        <interface name=\"" + name + "\">\n" +
+                "            <inet-address value=\"" + address + "\"/>\n" +
+                "        </interface>\n";
+    }
+
+    private static String readNamespace(final Path hostConfig) throws IOException {
+        final Matcher matcher = NAMESPACE.matcher(Files.readString(hostConfig, StandardCharsets.UTF_8));
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        throw new IllegalStateException(String.format("Could not determine the schema of the host configuration %s",
+                hostConfig));
+    }
+
+    /**
+     * Reads the ports of the socket binding group of the server group. Ports which are fixed, and therefore not
+     * offset, and ports which are not known before the server starts are not included.
+     */
+    private static Set<Integer> readServerPorts(final Path domainConfig, final String serverGroup) throws IOException {
+        final Document document;
+        try {
+            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            document = factory.newDocumentBuilder().parse(domainConfig.toFile());
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException(String.format("Could not read the domain configuration %s", domainConfig), e);
+        }
+        final Element group = findElement(document.getElementsByTagName("server-group"), "name", serverGroup);
+        final NodeList groupSocketBindings = group == null ? null : group.getElementsByTagName("socket-binding-group");
+        if (groupSocketBindings == null || groupSocketBindings.getLength() == 0) {
+            throw new IllegalStateException(String.format("Could not determine the socket binding group of the server "
+                    + "group %s in %s", serverGroup, domainConfig));
+        }
+        final String socketBindingGroupName = ((Element) groupSocketBindings.item(0)).getAttribute("ref");
+        final Element socketBindingGroup = findElement(document.getElementsByTagName("socket-binding-group"), "name",
+                socketBindingGroupName);
+        if (socketBindingGroup == null) {
+            throw new IllegalStateException(String.format("Could not find the socket binding group %s in %s",
+                    socketBindingGroupName, domainConfig));
+        }
+        final Set<Integer> ports = new HashSet<>();
+        final NodeList socketBindings = socketBindingGroup.getElementsByTagName("socket-binding");
+        for (int i = 0; i < socketBindings.getLength(); i++) {
+            final Element socketBinding = (Element) socketBindings.item(i);
+            if (Boolean.parseBoolean(socketBinding.getAttribute("fixed-port"))) {
+                continue;
+            }
+            final String port = socketBinding.getAttribute("port");
+            final Matcher matcher = PORT_EXPRESSION.matcher(port);
+            if (matcher.matches()) {
+                ports.add(Integer.parseInt(matcher.group(1)));
+            } else if (port.matches("\\d+") && Integer.parseInt(port) > 0) {
+                ports.add(Integer.parseInt(port));
+            }
+        }
+        return ports;
+    }
+
+    private static Element findElement(final NodeList elements, final String attribute, final String value) {
+        for (int i = 0; i < elements.getLength(); i++) {
+            final Element element = (Element) elements.item(i);
+            if (value.equals(element.getAttribute(attribute))) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the next port offset at which none of the ports of a server are in use or allocated to another server.
+     * The ports of the offset are added to the allocated ports.
+     */
+    private static int nextFreePortOffset(final String address, final Set<Integer> ports, final Set<Integer> allocatedPorts,
+            final int start) {
+        final int maxPort = ports.stream().mapToInt(Integer::intValue).max().orElse(0);
+        for (int offset = start; maxPort + offset <= 0xFFFF; offset += PORT_OFFSET_STEP) {
+            if (isFree(address, ports, allocatedPorts, offset)) {
+                for (int port : ports) {
+                    allocatedPorts.add(port + offset);
+                }
+                return offset;
+            }
+        }
+        throw new IllegalStateException(String.format("No free port offset could be allocated starting at %d", start));
+    }
+
+    private static boolean isFree(final String address, final Set<Integer> ports, final Set<Integer> allocatedPorts,
+            final int offset) {
+        for (int port : ports) {
+            if (allocatedPorts.contains(port + offset) || !isFree(address, port + offset)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFree(final String address, final int port) {
+        try (ServerSocket ignored = new ServerSocket(port, 0, InetAddress.getByName(address))) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.container.domain.managed;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.helpers.ClientConstants;
+import org.jboss.as.controller.client.helpers.Operations;
+import org.jboss.dmr.ModelNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the status transitions of the servers of a starting domain tracked by the {@link DomainReadinessTracker}.
+ */
+public class DomainReadinessTrackerTestCase {
+
+    // The results of the status reads, either a result or the IOException thrown by the client
+    private final Deque<Object> results = new ArrayDeque<>();
+    private int reads;
+
+    @Test
+    public void ready() throws Exception {
+        final DomainReadinessTracker tracker = new DomainReadinessTracker(createClient(), 60, List.of("primary", "secondary"));
+        results.add(new IOException("The domain controller is not available yet"));
+        results.add(createFailedResult());
+        results.add(createResult(status("primary", "server-one", "STARTING")));
+        // The host of the other servers has not registered yet
+        results.add(createResult(status("primary", "server-one", "STARTED")));
+        results.add(createResult(status("primary", "server-one", "STARTED"),
+                status("secondary", "server-two", "STARTING"), status("secondary", "server-three", "DISABLED")));
+        results.add(createResult(status("primary", "server-one", "STARTED"),
+                status("secondary", "server-two", "STARTED"), status("secondary", "server-three", "DISABLED")));
+
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertFalse(tracker.poll(), "The domain is not ready after read " + (i + 1));
+        }
+        Assertions.assertEquals("Servers not started: secondary:server-two [STARTING", tracker.describePending()
+                .replaceAll(" for \\d+ ms]", ""));
+        Assertions.assertTrue(tracker.poll());
+        Assertions.assertEquals("", tracker.describePending());
+        Assertions.assertEquals(6, reads);
+    }
+
+    @Test
+    public void serverNotSeen() throws Exception {
+        final DomainReadinessTracker tracker = new DomainReadinessTracker(createClient(), 60, List.of("primary"));
+        // A server which has not started yet does not fail the read, only its own entry
+        final ModelNode failedEntry = status("primary", "server-two", "STARTING");
+        failedEntry.get(ClientConstants.OUTCOME).set(ClientConstants.FAILED);
+        results.add(createResult(status("primary", "server-one", "STARTED"), failedEntry));
+        Assertions.assertFalse(tracker.poll());
+    }
+
+    @Test
+    public void timeout() throws Exception {
+        final DomainReadinessTracker tracker = new DomainReadinessTracker(createClient(), 0, List.of("primary"));
+        results.add(createResult(status("primary", "server-one", "STARTED"), status("primary", "server-two", "STARTING")));
+        final TimeoutException e = Assertions.assertThrows(TimeoutException.class, tracker::poll);
+        Assertions.assertTrue(e.getMessage().contains("primary:server-two"), e.getMessage());
+        Assertions.assertTrue(tracker.describePending().startsWith("Servers not started: primary:server-two [STARTING"),
+                tracker.describePending());
+    }
+
+    @Test
+    public void timeoutStartsWhenServerSeen() throws Exception {
+        final DomainReadinessTracker tracker = new DomainReadinessTracker(createClient(), 1, List.of("primary", "secondary"));
+        results.add(createResult(status("primary", "server-one", "STARTING")));
+        results.add(createResult(status("primary", "server-one", "STARTING"), status("secondary", "server-two", "STARTING")));
+        Assertions.assertFalse(tracker.poll());
+        Thread.sleep(1100L);
+        // The server of the host which registered later has not exceeded the timeout, the slow server is reported
+        final TimeoutException e = Assertions.assertThrows(TimeoutException.class, tracker::poll);
+        Assertions.assertTrue(e.getMessage().contains("primary:server-one"), e.getMessage());
+        Assertions.assertTrue(tracker.describePending().startsWith("Servers not started: primary:server-one"),
+                tracker.describePending());
+    }
+
+    @Test
+    public void failedServer() throws Exception {
+        final DomainReadinessTracker tracker = new DomainReadinessTracker(createClient(), 60, List.of("primary"));
+        results.add(createResult(status("primary", "server-one", "STARTING"), status("primary", "server-two", "STARTING")));
+        results.add(createResult(status("primary", "server-one", "STARTED"), status("primary", "server-two", "FAILED")));
+        Assertions.assertFalse(tracker.poll());
+        final IllegalStateException e = Assertions.assertThrows(IllegalStateException.class, tracker::poll);
+        Assertions.assertTrue(e.getMessage().contains("primary:server-two"), e.getMessage());
+    }
+
+    private ModelControllerClient createClient() {
+        return (ModelControllerClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ModelControllerClient.class }, (proxy, method, args) -> {
+                    if ("execute".equals(method.getName()) && args != null && args.length == 1
+                            && args[0] instanceof ModelNode) {
+                        final ModelNode op = (ModelNode) args[0];
+                        Assertions.assertEquals(ClientConstants.READ_ATTRIBUTE_OPERATION, Operations.getOperationName(op));
+                        reads++;
+                        final Object result = results.poll();
+                        Assertions.assertNotNull(result, "Unexpected read of the server status");
+                        if (result instanceof IOException) {
+                            throw (IOException) result;
+                        }
+                        return result;
+                    }
+                    throw new UnsupportedOperationException(method.toString());
+                });
+    }
+
+    private static ModelNode createResult(final ModelNode... entries) {
+        final ModelNode result = new ModelNode();
+        result.get(ClientConstants.OUTCOME).set(ClientConstants.SUCCESS);
+        final ModelNode list = result.get(ClientConstants.RESULT).setEmptyList();
+        for (ModelNode entry : entries) {
+            list.add(entry);
+        }
+        return result;
+    }
+
+    private static ModelNode createFailedResult() {
+        final ModelNode result = new ModelNode();
+        result.get(ClientConstants.OUTCOME).set(ClientConstants.FAILED);
+        result.get(ClientConstants.FAILURE_DESCRIPTION).set("The domain controller is booting");
+        return result;
+    }
+
+    private static ModelNode status(final String host, final String server, final String status) {
+        final ModelNode entry = new ModelNode();
+        entry.get(ClientConstants.OP_ADDR).set(Operations.createAddress(ClientConstants.HOST, host,
+                ClientConstants.SERVER_CONFIG, server));
+        entry.get(ClientConstants.OUTCOME).set(ClientConstants.SUCCESS);
+        entry.get(ClientConstants.RESULT).set(status);
+        return entry;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.container.domain.managed;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.wildfly.core.launcher.DomainCommandBuilder;
+
+/**
+ * Tests the host configurations and command lines generated by the {@link SecondaryHosts}.
+ */
+public class SecondaryHostsTestCase {
+    private static final String NAMESPACE = "urn:jboss:domain:20.0";
+
+    @TempDir
+    private Path jbossHome;
+
+    private ManagedDomainContainerConfiguration config;
+
+    @BeforeEach
+    public void createInstallation() throws Exception {
+        Files.createDirectories(jbossHome.resolve("modules"));
+        Files.createFile(jbossHome.resolve("jboss-modules.jar"));
+        final Path configDir = Files.createDirectories(jbossHome.resolve("domain").resolve("configuration"));
+        Files.writeString(configDir.resolve("host.xml"), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<host xmlns=\"" + NAMESPACE + "\" name=\"primary\"/>\n", StandardCharsets.UTF_8);
+        // The ports of the standard socket binding group are offset, the fixed and unknown ports are not
+        Files.writeString(configDir.resolve("domain.xml"), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<domain xmlns=\"" + NAMESPACE + "\">\n"
+                + "    <socket-binding-groups>\n"
+                + "        <socket-binding-group name=\"standard-sockets\" default-interface=\"public\">\n"
+                + "            <socket-binding name=\"http\" port=\"${jboss.http.port:8080}\"/>\n"
+                + "            <socket-binding name=\"https\" port=\"8443\"/>\n"
+                + "            <socket-binding name=\"fixed\" port=\"9999\" fixed-port=\"true\"/>\n"
+                + "            <socket-binding name=\"jgroups\" port=\"0\"/>\n"
+                + "        </socket-binding-group>\n"
+                + "    </socket-binding-groups>\n"
+                + "    <server-groups>\n"
+                + "        <server-group name=\"main-server-group\" profile=\"default\">\n"
+                + "            <socket-binding-group ref=\"standard-sockets\"/>\n"
+                + "        </server-group>\n"
+                + "    </server-groups>\n"
+                + "</domain>\n", StandardCharsets.UTF_8);
+
+        config = new ManagedDomainContainerConfiguration();
+        config.setJbossHome(jbossHome.toString());
+        config.setJavaHome(System.getProperty("java.home"));
+        config.setManagementAddress("127.0.0.1");
+        config.setSecondaryHostCount(2);
+        config.setSecondaryHostServers(2);
+        config.setSecondaryHostServerGroup("main-server-group");
+        config.setSecondaryHostPortOffset(1000);
+    }
+
+    @Test
+    public void hostConfigurations() throws Exception {
+        final Map<String, DomainCommandBuilder> commandBuilders = new SecondaryHosts(config).configure(createPrimary());
+        Assertions.assertEquals(List.of("secondary-1", "secondary-2"), List.copyOf(commandBuilders.keySet()));
+
+        final Set<Integer> portOffsets = new HashSet<>();
+        for (Map.Entry<String, DomainCommandBuilder> entry : commandBuilders.entrySet()) {
+            final Path baseDir = jbossHome.resolve("domain").resolve("secondary-hosts").resolve(entry.getKey());
+            final Path configDir = baseDir.resolve("configuration");
+            Assertions.assertEquals(baseDir, entry.getValue().getBaseDirectory());
+            Assertions.assertEquals(configDir, entry.getValue().getConfigurationDirectory());
+            // The configuration of the primary host is copied
+            Assertions.assertTrue(Files.exists(configDir.resolve("domain.xml")));
+
+            final Element host = parse(configDir.resolve("host-arquillian-secondary.xml")).getDocumentElement();
+            Assertions.assertEquals(NAMESPACE, host.getNamespaceURI());
+            Assertions.assertEquals(entry.getKey(), host.getAttribute("name"));
+            final Element remote = getElement(host, "remote");
+            Assertions.assertEquals("127.0.0.1", remote.getAttribute("host"));
+            Assertions.assertEquals(String.valueOf(config.getManagementPort()), remote.getAttribute("port"));
+            Assertions.assertEquals("0", getElement(host, "socket").getAttribute("port"));
+
+            final NodeList servers = host.getElementsByTagNameNS(NAMESPACE, "server");
+            Assertions.assertEquals(2, servers.getLength());
+            for (int i = 0; i < servers.getLength(); i++) {
+                final Element server = (Element) servers.item(i);
+                Assertions.assertEquals("server-" + (i + 1), server.getAttribute("name"));
+                Assertions.assertEquals("main-server-group", server.getAttribute("group"));
+                Assertions.assertEquals("true", server.getAttribute("auto-start"));
+                final int portOffset = Integer.parseInt(getElement(server, "socket-bindings").getAttribute("port-offset"));
+                Assertions.assertTrue(portOffset >= 1000, () -> "Unexpected port offset " + portOffset);
+                Assertions.assertTrue(portOffsets.add(portOffset), () -> "Port offset allocated twice: " + portOffset);
+            }
+        }
+        Assertions.assertEquals(4, portOffsets.size());
+    }
+
+    @Test
+    public void commandLine() throws Exception {
+        final List<String> expected = ManagedDomainDeployableContainer.createCommandBuilder(config).buildArguments();
+        for (DomainCommandBuilder commandBuilder : new SecondaryHosts(config).configure(createPrimary()).values()) {
+            final List<String> arguments = commandBuilder.buildArguments();
+            // The home directory is only passed by the command builder
+            Assertions.assertEquals(countHomeDir(expected), countHomeDir(arguments), () -> "Unexpected arguments "
+                    + arguments);
+            Assertions.assertTrue(arguments.contains("--host-config=host-arquillian-secondary.xml"),
+                    () -> "Missing the host configuration in " + arguments);
+            Assertions.assertTrue(arguments.contains("-Djboss.domain.base.dir=" + commandBuilder.getBaseDirectory()),
+                    () -> "Missing the base directory in " + arguments);
+        }
+    }
+
+    @Test
+    public void previousHostsRemoved() throws Exception {
+        final Path previous = Files.createDirectories(jbossHome.resolve("domain").resolve("secondary-hosts")
+                .resolve("secondary-3"));
+        config.setSecondaryHostCount(1);
+        Assertions.assertEquals(List.of("secondary-1"),
+                List.copyOf(new SecondaryHosts(config).configure(createPrimary()).keySet()));
+        Assertions.assertFalse(Files.exists(previous));
+    }
+
+    private DomainCommandBuilder createPrimary() {
+        return ManagedDomainDeployableContainer.createCommandBuilder(config);
+    }
+
+    private static long countHomeDir(final List<String> arguments) {
+        return arguments.stream().filter(argument -> argument.startsWith("-Djboss.home.dir=")).count();
+    }
+
+    private static Document parse(final Path file) throws Exception {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(file.toFile());
+    }
+
+    private static Element getElement(final Element parent, final String name) {
+        final NodeList elements = parent.getElementsByTagNameNS(NAMESPACE, name);
+        Assertions.assertEquals(1, elements.getLength(), () -> "Expected a single " + name + " element");
+        return (Element) elements.item(0);
+    }
+}
@@ -4,6 +4,10 @@
  */
 package org.jboss.as.arquillian.container.domain.managed.test;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.jboss.arquillian.container.test.api.Deployer;
 import org.jboss.arquillian.container.test.api.RunAsClient;
 import org.jboss.arquillian.container.test.api.TargetsContainer;
@@ -11,9 +15,13 @@ import org.jboss.arquillian.junit5.ArquillianExtension;
 import org.jboss.arquillian.test.api.ArquillianResource;
 import org.jboss.as.arquillian.container.domain.ManagementClient;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.wildfly.arquillian.domain.api.ServerOperationEvent;
+import org.wildfly.arquillian.domain.api.ServerOperationResult;
 
 /**
  * For Domain server DeployableContainer implementations, the DeployableContainer will register
@@ -48,6 +56,59 @@ public class DomainManualModeClientTestCase extends AbstractDomainManualModeTest
         }
     }
 
+    @Test
+    public void testServerGroupControlPerServer() throws Exception {
+        final String serverGroupName = "main-server-group";
+        final int serverCount = getServerGroupServers(serverGroupName).size();
+        ServerOperationEventRecorder.drain();
+
+        final ServerOperationResult result = controller.stopServers(CONTAINER_NAME, serverGroupName, 2);
+        Assertions.assertTrue(result.isSuccessful(), () -> "Failed to stop the servers: " + result.getFailures());
+        Assertions.assertEquals(serverCount, result.getServerResults().size());
+        for (ServerOperationResult.ServerResult serverResult : result.getServerResults()) {
+            Assertions.assertFalse(controller.isServerStarted(CONTAINER_NAME, serverResult.getServer().getHostName(),
+                    serverResult.getServer().getName()), () -> serverResult + " should be stopped");
+        }
+        assertEvents("stop", result, ServerOperationEventRecorder.drain());
+
+        final ServerOperationResult startResult = controller.startServers(CONTAINER_NAME, serverGroupName, 2);
+        Assertions.assertTrue(startResult.isSuccessful(), () -> "Failed to start the servers: " + startResult.getFailures());
+        for (ServerOperationResult.ServerResult serverResult : startResult.getServerResults()) {
+            Assertions.assertEquals("STARTED", serverResult.getStatus());
+            Assertions.assertTrue(controller.isServerStarted(CONTAINER_NAME, serverResult.getServer().getHostName(),
+                    serverResult.getServer().getName()), () -> serverResult + " should be started");
+        }
+        assertEvents("start", startResult, ServerOperationEventRecorder.drain());
+    }
+
+    /**
+     * Asserts a started and a completed event was fired for each server of the result, with the result of the server
+     * reported when the operation completed on it.
+     */
+    private static void assertEvents(final String operation, final ServerOperationResult result,
+            final List<ServerOperationEvent> events) {
+        final int serverCount = result.getServerResults().size();
+        Assertions.assertEquals(serverCount * 2, events.size(), () -> "Unexpected events " + events);
+        final Set<String> started = new HashSet<>();
+        int completedCount = 0;
+        for (ServerOperationEvent event : events) {
+            Assertions.assertEquals(operation, event.getOperation());
+            Assertions.assertEquals(serverCount, event.getServerCount());
+            final String server = event.getServer().getHostName() + ":" + event.getServer().getName();
+            if (event.isCompleted()) {
+                Assertions.assertTrue(started.contains(server), () -> "Completed before it started: " + event);
+                Assertions.assertEquals(++completedCount, event.getCompletedCount());
+                Assertions.assertTrue(result.getServerResults().contains(event.getResult()),
+                        () -> "The result of " + event + " is not in " + result);
+            } else {
+                Assertions.assertTrue(started.add(server), () -> "Started twice: " + event);
+                Assertions.assertEquals(completedCount, event.getCompletedCount());
+            }
+        }
+        Assertions.assertEquals(serverCount, started.size());
+        Assertions.assertEquals(serverCount, completedCount);
+    }
+
     @Override
     protected String containerName() {
         return CONTAINER_NAME;
@@ -0,0 +1,43 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.arquillian.container.domain.managed.test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.core.spi.LoadableExtension;
+import org.wildfly.arquillian.domain.api.ServerOperationEvent;
+
+/**
+ * Records the {@link ServerOperationEvent}s fired on the client so the tests can assert the progress of the lifecycle
+ * operations.
+ */
+public class ServerOperationEventRecorder {
+    private static final List<ServerOperationEvent> EVENTS = new CopyOnWriteArrayList<>();
+
+    public void record(@Observes final ServerOperationEvent event) {
+        EVENTS.add(event);
+    }
+
+    /**
+     * Returns the events recorded since the last invocation and clears them.
+     *
+     * @return the recorded events in the order they were fired
+     */
+    static List<ServerOperationEvent> drain() {
+        final List<ServerOperationEvent> events = List.copyOf(EVENTS);
+        EVENTS.removeAll(events);
+        return events;
+    }
+
+    public static class Extension implements LoadableExtension {
+        @Override
+        public void register(final ExtensionBuilder builder) {
+            builder.observer(ServerOperationEventRecorder.class);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.arquillian.integration.benchmark.protocol;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.test.spi.LifecycleMethodExecutor;
+import org.jboss.arquillian.test.spi.TestMethodExecutor;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.arquillian.test.spi.TestRunnerAdaptor;
+import org.jboss.arquillian.test.spi.TestRunnerAdaptorBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the latency of an in-container test invocation with the {@code jmx-as7} and the {@code wildfly-http2}
+ * protocols. Each configuration starts the server, deploys the {@link InvocationTarget} and invokes its test method
+ * through Arquillian as the JUnit extension would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class InvocationBenchmark {
+
+    @Param({ "jmx-arquillian.xml", "http2-arquillian.xml" })
+    public String arquillianXml;
+
+    private TestRunnerAdaptor adaptor;
+    private InvocationTarget target;
+    private Method method;
+    private TestMethodExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        System.setProperty("arquillian.xml", arquillianXml);
+        adaptor = TestRunnerAdaptorBuilder.build();
+        adaptor.beforeSuite();
+        adaptor.beforeClass(InvocationTarget.class, LifecycleMethodExecutor.NO_OP);
+        target = new InvocationTarget();
+        method = InvocationTarget.class.getMethod("invoke");
+        adaptor.before(target, method, LifecycleMethodExecutor.NO_OP);
+        executor = new TestMethodExecutor() {
+            public String getMethodName() {
+                return method.getName();
+            }
+
+            @Override
+            public Method getMethod() {
+                return method;
+            }
+
+            @Override
+            public Object getInstance() {
+                return target;
+            }
+
+            @Override
+            public void invoke(final Object... parameters) throws Throwable {
+                method.invoke(target, parameters);
+            }
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (adaptor != null) {
+            try {
+                adaptor.after(target, method, LifecycleMethodExecutor.NO_OP);
+                adaptor.afterClass(InvocationTarget.class, LifecycleMethodExecutor.NO_OP);
+                adaptor.afterSuite();
+            } finally {
+                adaptor.shutdown();
+            }
+        }
+    }
+
+    @Benchmark
+    public TestResult invoke() throws Exception {
+        final TestResult result = adaptor.test(executor);
+        if (result.getStatus() != TestResult.Status.PASSED) {
+            throw new IllegalStateException("The test method was not invoked with " + arquillianXml, result.getThrowable());
+        }
+        return result;
+    }
+}
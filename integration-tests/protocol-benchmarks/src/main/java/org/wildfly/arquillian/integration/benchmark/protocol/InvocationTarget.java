@@ -0,0 +1,30 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.arquillian.integration.benchmark.protocol;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * The in-container test invoked by the {@link InvocationBenchmark}. The test method does nothing, so the benchmark
+ * measures the invocation.
+ */
+@ExtendWith(ArquillianExtension.class)
+public class InvocationTarget {
+
+    @Deployment
+    public static JavaArchive deployment() {
+        return ShrinkWrap.create(JavaArchive.class, "invocation-benchmark.jar")
+                .addClass(InvocationTarget.class);
+    }
+
+    @Test
+    public void invoke() {
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.arquillian.junit.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.wildfly.arquillian.junit.condition.RequiresCapabilityExecutionCondition;
+
+/**
+ * Enables or disables a test based on the management model of the running server. All the
+ * {@linkplain #value() capabilities}, {@linkplain #subsystems() subsystems} and {@linkplain #attributes() attributes}
+ * must be present for the test to be enabled.
+ * <p>
+ * The requirements are evaluated against a snapshot of the management model which is read once per container, with
+ * the {@link org.jboss.as.arquillian.container.ManagementClient ManagementClient} of the container, the first time a
+ * requirement is evaluated after the container has started. Changes made to the model after the snapshot was read,
+ * for example by setup tasks of later test classes, are not reflected. The snapshot is read again if the container is
+ * restarted.
+ * </p>
+ * <p>
+ * If the annotation is placed on a test class, the requirements are evaluated for each test method once the container
+ * has been started. If no snapshot is available, for example for in-container tests or before the container has been
+ * started, the test is enabled.
+ * </p>
+ */
+@Inherited
+@Documented
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(RequiresCapabilityExecutionCondition.class)
+public @interface RequiresCapability {
+
+    /**
+     * The names of the capabilities which must be registered, for example
+     * {@code org.wildfly.network.socket-binding.http}.
+     *
+     * @return the required capabilities
+     */
+    String[] value() default {};
+
+    /**
+     * The names of the subsystems which must be configured, for example {@code undertow}.
+     *
+     * @return the required subsystems
+     */
+    String[] subsystems() default {};
+
+    /**
+     * The attributes which must be defined in the form of {@code address:attribute} or
+     * {@code address:attribute=value}, for example {@code subsystem=undertow:statistics-enabled=true}. If a value is
+     * defined, the resolved value of the attribute must be equal to the value.
+     *
+     * @return the required attributes
+     */
+    String[] attributes() default {};
+
+    /**
+     * The qualifier of the container the requirements are evaluated against. If not defined, the requirements must be
+     * met by every container which has been started.
+     *
+     * @return the container qualifier
+     */
+    String container() default "";
+
+    /**
+     * A reference for the issue tracker to be reported in the response for a disabled test.
+     *
+     * @return the issue reference
+     */
+    String issueRef() default "";
+
+    /**
+     * The reason message for disabled test.
+     *
+     * @return the reason message
+     */
+    String reason() default "";
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.arquillian.junit.condition;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.as.arquillian.container.ManagementClient;
+import org.jboss.as.controller.client.helpers.ClientConstants;
+import org.jboss.as.controller.client.helpers.Operations;
+import org.jboss.dmr.ModelNode;
+import org.jboss.logging.Logger;
+
+/**
+ * A snapshot of the management model of a running container used to evaluate {@link
+ * org.wildfly.arquillian.junit.annotations.RequiresCapability RequiresCapability} requirements.
+ * <p>
+ * The registered capabilities and the configuration model, with the defaults included and the expressions resolved,
+ * are read with a single composite operation the first time the snapshot is used. Snapshots are registered by the
+ * {@link ManagementSnapshotObserver} when a container has started and removed before it is stopped.
+ * </p>
+ */
+final class ManagementSnapshot {
+    private static final Logger LOGGER = Logger.getLogger(ManagementSnapshot.class);
+
+    // The snapshots of the started containers keyed by the container qualifier
+    private static final Map<String, ManagementSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    private final String container;
+    private final ManagementClient client;
+    private volatile Set<String> capabilities;
+    private volatile ModelNode model;
+
+    private ManagementSnapshot(final String container, final ManagementClient client) {
+        this.container = container;
+        this.client = client;
+    }
+
+    /**
+     * Registers a new snapshot for the container replacing any previous snapshot.
+     *
+     * @param container the container qualifier
+     * @param client    the management client for the container
+     */
+    static void register(final String container, final ManagementClient client) {
+        SNAPSHOTS.put(container, new ManagementSnapshot(container, client));
+    }
+
+    /**
+     * Removes the snapshot for the container.
+     *
+     * @param container the container qualifier
+     */
+    static void remove(final String container) {
+        SNAPSHOTS.remove(container);
+    }
+
+    /**
+     * Returns the snapshots to evaluate requirements against.
+     *
+     * @param container the container qualifier or an empty string for the snapshots of all started containers
+     *
+     * @return the snapshots, empty if no snapshot is available
+     */
+    static Collection<ManagementSnapshot> get(final String container) {
+        if (container.isBlank()) {
+            return List.copyOf(SNAPSHOTS.values());
+        }
+        final ManagementSnapshot snapshot = SNAPSHOTS.get(container);
+        return snapshot == null ? List.of() : List.of(snapshot);
+    }
+
+    /**
+     * Returns the qualifier of the container.
+     *
+     * @return the container qualifier
+     */
+    String getContainer() {
+        return container;
+    }
+
+    /**
+     * Checks whether the capability is registered.
+     *
+     * @param name the name of the capability
+     *
+     * @return {@code true} if the capability is registered
+     *
+     * @throws IOException if an error occurs reading the snapshot
+     */
+    boolean hasCapability(final String name) throws IOException {
+        load();
+        return capabilities.contains(name);
+    }
+
+    /**
+     * Checks whether the subsystem is configured.
+     *
+     * @param name the name of the subsystem
+     *
+     * @return {@code true} if the subsystem is configured
+     *
+     * @throws IOException if an error occurs reading the snapshot
+     */
+    boolean hasSubsystem(final String name) throws IOException {
+        load();
+        // Check before each get() as get() adds missing children to the shared model
+        return model.has(ClientConstants.SUBSYSTEM) && model.get(ClientConstants.SUBSYSTEM).has(name);
+    }
+
+    /**
+     * Returns the value of an attribute.
+     *
+     * @param address   the address of the resource in the form of {@code key=value/key=value}
+     * @param attribute the name of the attribute
+     *
+     * @return the value of the attribute, the value is not defined if the resource or attribute does not exist
+     *
+     * @throws IOException if an error occurs reading the snapshot
+     */
+    ModelNode readAttribute(final String address, final String attribute) throws IOException {
+        load();
+        ModelNode current = model;
+        for (String element : address.split("/")) {
+            if (element.isBlank()) {
+                continue;
+            }
+            final int i = element.indexOf('=');
+            if (i <= 0) {
+                throw new IllegalArgumentException(String.format("Invalid address %s", address));
+            }
+            final String key = element.substring(0, i);
+            final String value = element.substring(i + 1);
+            if (!current.has(key) || !current.get(key).has(value)) {
+                return new ModelNode();
+            }
+            current = current.get(key, value);
+        }
+        return current.has(attribute) ? current.get(attribute) : new ModelNode();
+    }
+
+    private void load() throws IOException {
+        if (model != null) {
+            return;
+        }
+        synchronized (this) {
+            if (model != null) {
+                return;
+            }
+            final long start = System.nanoTime();
+            final ModelNode readCapabilities = Operations.createReadAttributeOperation(
+                    Operations.createAddress("core-service", "capability-registry"), "capabilities");
+            final ModelNode readModel = Operations.createReadResourceOperation(new ModelNode().setEmptyList(), true);
+            readModel.get("include-defaults").set(true);
+            readModel.get("resolve-expressions").set(true);
+            final ModelNode op = Operations.CompositeOperationBuilder.create()
+                    .addStep(readCapabilities)
+                    .addStep(readModel)
+                    .build().getOperation();
+            final ModelNode result = client.getControllerClient().execute(op);
+            if (!Operations.isSuccessfulOutcome(result)) {
+                throw new IOException(String.format("Failed to read the management model of container %s: %s",
+                        container, Operations.getFailureDescription(result).asString()));
+            }
+            final ModelNode steps = Operations.readResult(result);
+            final Set<String> capabilities = new HashSet<>();
+            for (ModelNode capability : Operations.readResult(steps.get("step-1")).asList()) {
+                capabilities.add(capability.get(ClientConstants.NAME).asString());
+            }
+            this.capabilities = Set.copyOf(capabilities);
+            model = Operations.readResult(steps.get("step-2"));
+            LOGGER.debugf("Read the management model of container %s in %d ms", container,
+                    (System.nanoTime() - start) / 1_000_000L);
+        }
+    }
+}
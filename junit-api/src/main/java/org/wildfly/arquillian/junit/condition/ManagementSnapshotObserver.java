@@ -0,0 +1,49 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.arquillian.junit.condition;
+
+import org.jboss.arquillian.container.spi.Container;
+import org.jboss.arquillian.container.spi.event.container.AfterStart;
+import org.jboss.arquillian.container.spi.event.container.BeforeStop;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.as.arquillian.container.ManagementClient;
+
+/**
+ * Registers the {@link ManagementSnapshot} of a container once it has started and removes it before the container is
+ * stopped. The snapshot itself is only read once a requirement is evaluated.
+ */
+@SuppressWarnings("unused")
+public class ManagementSnapshotObserver {
+
+    @Inject
+    private Instance<ManagementClient> managementClient;
+
+    /**
+     * Registers a snapshot for the started container.
+     *
+     * @param event     the lifecycle event
+     * @param container the container which has been started
+     */
+    public void afterStart(@Observes AfterStart event, Container container) {
+        final ManagementClient client = managementClient.get();
+        // Domain containers do not produce a standalone management client
+        if (client != null) {
+            ManagementSnapshot.register(container.getName(), client);
+        }
+    }
+
+    /**
+     * Removes the snapshot of the container being stopped.
+     *
+     * @param event     the lifecycle event
+     * @param container the container which is being stopped
+     */
+    public void beforeStop(@Observes BeforeStop event, Container container) {
+        ManagementSnapshot.remove(container.getName());
+    }
+}
@@ -0,0 +1,603 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.arquillian.junit.condition;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.jboss.logging.Logger;
+
+/**
+ * An index of the {@code module.xml} files in a modules directory keyed by the module name and slot.
+ * <p>
+ * The index is built once per JVM for each modules directory. The directory tree is scanned in parallel and each
+ * {@code module.xml} is read with a streaming parser which stops after the first {@code resources} element. Versions
+ * from {@code artifact} resources are indexed, versions from the manifest of a {@code resource-root} are only read
+ * when the version of the module is required.
+ * </p>
+ * <p>
+ * The index is written to a {@code wildfly-arquillian-module-index-${user.name}} directory in the {@code java.io.tmpdir},
+ * which can be changed with the {@code wildfly.arquillian.module.index.dir} system property, keyed by the path and the
+ * last modified time of the modules directory. The directory is created readable by its owner only. Other JVMs of the
+ * same user, for example other surefire executions, load the index from there. As modules can be added without
+ * changing the modules directory itself, a loaded index is rebuilt the first time a module is not found and a
+ * {@code module.xml} which was modified since it was indexed is read again. Writing the index can be
+ * disabled with {@code -Dwildfly.arquillian.module.index.cache=false}. A {@code module.xml} which cannot be parsed
+ * is logged and left out of the index.
+ * </p>
+ */
+final class ModuleIndex {
+    private static final Logger LOGGER = Logger.getLogger(ModuleIndex.class);
+
+    static final String CACHE_PROPERTY = "wildfly.arquillian.module.index.cache";
+    static final String CACHE_DIR_PROPERTY = "wildfly.arquillian.module.index.dir";
+    private static final String DEFAULT_CACHE_DIR = "wildfly-arquillian-module-index";
+    // Increment if the format of the persisted index changes
+    private static final int FORMAT_VERSION = 1;
+    private static final String HEADER = "# wildfly-arquillian module index " + FORMAT_VERSION;
+    private static final String SUFFIX = ".idx";
+    private static final String MODULE_XML = "module.xml";
+
+    private static final Map<Path, ModuleIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final Path modulesDir;
+    private final Path cacheDir;
+    private volatile Map<String, ModuleDefinition> modules;
+    // Whether the modules have been scanned by this JVM, otherwise the index has been loaded from disk
+    private volatile boolean scanned;
+
+    private ModuleIndex(final Path modulesDir, final Path cacheDir) {
+        this.modulesDir = modulesDir;
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Returns the index of the modules directory, building it if required.
+     *
+     * @param modulesDir the modules directory
+     *
+     * @return the index
+     *
+     * @throws IOException if an error occurs building the index
+     */
+    static ModuleIndex of(final Path modulesDir) throws IOException {
+        try {
+            return INDEXES.computeIfAbsent(modulesDir.toAbsolutePath().normalize(), dir -> {
+                try {
+                    return load(dir, resolveCacheDir());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Loads the index of the modules directory from the cache directory or scans the modules directory if the index
+     * has not been persisted.
+     *
+     * @param modulesDir the modules directory
+     * @param cacheDir   the directory the index is persisted in or {@code null} if the index should not be persisted
+     *
+     * @return the index
+     *
+     * @throws IOException if an error occurs scanning the modules directory
+     */
+    static ModuleIndex load(final Path modulesDir, final Path cacheDir) throws IOException {
+        final ModuleIndex index = new ModuleIndex(modulesDir, cacheDir);
+        final Map<String, ModuleDefinition> persisted = index.read();
+        if (persisted == null) {
+            index.scan();
+        } else {
+            index.modules = persisted;
+        }
+        return index;
+    }
+
+    /**
+     * Finds the module with the name and slot.
+     *
+     * @param name the name of the module
+     * @param slot the slot of the module
+     *
+     * @return the module or an empty optional if the module was not found
+     *
+     * @throws IOException if an error occurs scanning the modules directory
+     */
+    Optional<ModuleDefinition> find(final String name, final String slot) throws IOException {
+        final String key = key(name, slot);
+        ModuleDefinition definition = modules.get(key);
+        if (definition != null) {
+            definition = refresh(key, definition);
+        }
+        if (definition == null && !scanned) {
+            synchronized (this) {
+                if (!scanned) {
+                    LOGGER.debugf("Module %s:%s was not found in the persisted index of %s, scanning the directory.",
+                            name, slot, modulesDir);
+                    scan();
+                }
+            }
+            definition = modules.get(key);
+        }
+        return Optional.ofNullable(definition);
+    }
+
+    /**
+     * Reads the module XML file again if it has been modified since it was indexed.
+     */
+    private ModuleDefinition refresh(final String key, final ModuleDefinition definition) throws IOException {
+        final long lastModified;
+        try {
+            lastModified = Files.getLastModifiedTime(definition.path).toMillis();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (lastModified == definition.lastModified) {
+            return definition;
+        }
+        final ModuleDefinition current = parseOrSkip(definition.path);
+        if (current == null || !key.equals(key(current.name, current.slot))) {
+            return null;
+        }
+        modules.put(key, current);
+        return current;
+    }
+
+    private void scan() throws IOException {
+        final long start = System.nanoTime();
+        final Collection<ModuleDefinition> definitions;
+        try {
+            definitions = ForkJoinPool.commonPool().invoke(new ScanTask(modulesDir));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        final List<String> layers = readLayers();
+        final Map<String, ModuleDefinition> modules = new ConcurrentHashMap<>();
+        final Map<String, Integer> ranks = new HashMap<>();
+        for (ModuleDefinition definition : definitions) {
+            final String key = key(definition.name, definition.slot);
+            final int rank = rank(layers, definition.path);
+            final Integer current = ranks.get(key);
+            if (current == null || rank < current) {
+                modules.put(key, definition);
+                ranks.put(key, rank);
+            }
+        }
+        this.modules = modules;
+        scanned = true;
+        LOGGER.debugf("Indexed %d modules in %s in %d ms", modules.size(), modulesDir,
+                (System.nanoTime() - start) / 1_000_000L);
+        write();
+    }
+
+    /**
+     * Returns the precedence of the module in the same order JBoss Modules uses to load modules: the modules directory
+     * itself, then the layers in the order of the {@code layers.conf} followed by the base layer and then the add-ons.
+     */
+    private int rank(final List<String> layers, final Path moduleXml) {
+        final Path relative = modulesDir.relativize(moduleXml);
+        if (relative.getNameCount() < 3 || !relative.getName(0).toString().equals("system")) {
+            return 0;
+        }
+        final String type = relative.getName(1).toString();
+        final String name = relative.getName(2).toString();
+        if (type.equals("layers")) {
+            final int i = layers.indexOf(name);
+            return i < 0 ? layers.size() + 1 : i + 1;
+        }
+        return type.equals("add-ons") ? layers.size() + 2 : 0;
+    }
+
+    private List<String> readLayers() {
+        final List<String> layers = new ArrayList<>();
+        final Path layersConf = modulesDir.resolve("layers.conf");
+        if (Files.isRegularFile(layersConf)) {
+            final Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(layersConf)) {
+                properties.load(in);
+                for (String layer : properties.getProperty("layers", "").split(",")) {
+                    if (!layer.isBlank()) {
+                        layers.add(layer.trim());
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.debugf(e, "Failed to read %s", layersConf);
+            }
+        }
+        if (!layers.contains("base")) {
+            layers.add("base");
+        }
+        return layers;
+    }
+
+    private Map<String, ModuleDefinition> read() {
+        final Path file = indexFile();
+        if (file == null || !Files.isRegularFile(file) || !isOwnedByCurrentUser(cacheDir)) {
+            return null;
+        }
+        try {
+            final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+                return null;
+            }
+            final Map<String, ModuleDefinition> modules = new ConcurrentHashMap<>();
+            for (String line : lines.subList(1, lines.size())) {
+                // path, last modified, name, slot, artifact version and the resource roots
+                final String[] values = line.split("\t", -1);
+                if (values.length < 5) {
+                    return null;
+                }
+                final List<String> resourceRoots = List.of(values).subList(5, values.length);
+                final ModuleDefinition definition = new ModuleDefinition(modulesDir.resolve(values[0]),
+                        Long.parseLong(values[1]), values[2], values[3], values[4], resourceRoots);
+                modules.put(key(definition.name, definition.slot), definition);
+            }
+            LOGGER.debugf("Loaded the index of %s from %s", modulesDir, file);
+            return modules;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debugf(e, "Failed to read the module index %s", file);
+            return null;
+        }
+    }
+
+    private void write() {
+        final Path file = indexFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            createCacheDir();
+            final Path tmp = Files.createTempFile(cacheDir, file.getFileName().toString(), ".tmp");
+            try {
+                try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                    writer.write(HEADER);
+                    writer.newLine();
+                    for (ModuleDefinition definition : modules.values()) {
+                        writer.write(modulesDir.relativize(definition.path).toString());
+                        writer.write('\t');
+                        writer.write(Long.toString(definition.lastModified));
+                        writer.write('\t');
+                        writer.write(definition.name);
+                        writer.write('\t');
+                        writer.write(definition.slot);
+                        writer.write('\t');
+                        writer.write(definition.artifactVersion);
+                        for (String resourceRoot : definition.resourceRoots) {
+                            writer.write('\t');
+                            writer.write(resourceRoot);
+                        }
+                        writer.newLine();
+                    }
+                }
+                // Another JVM may have written the same index, replace it
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            evict(file);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debugf(e, "Failed to write the module index %s", file);
+        }
+    }
+
+    /**
+     * Creates the cache directory readable by the current user only where the file system supports it, as the
+     * default directory is in the shared {@code java.io.tmpdir}.
+     */
+    private void createCacheDir() throws IOException {
+        if (Files.isDirectory(cacheDir)) {
+            if (!isOwnedByCurrentUser(cacheDir)) {
+                throw new IOException("The module index directory " + cacheDir + " is not owned by the current user");
+            }
+            return;
+        }
+        if (cacheDir.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createDirectories(cacheDir,
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } else {
+            Files.createDirectories(cacheDir);
+        }
+    }
+
+    private static boolean isOwnedByCurrentUser(final Path dir) {
+        final String user = SecurityActions.getSystemProperty("user.name");
+        if (user == null) {
+            return false;
+        }
+        try {
+            final UserPrincipal current = dir.getFileSystem().getUserPrincipalLookupService().lookupPrincipalByName(user);
+            return current.equals(Files.getOwner(dir, LinkOption.NOFOLLOW_LINKS));
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.debugf(e, "Failed to determine the owner of %s", dir);
+            return false;
+        }
+    }
+
+    /**
+     * Removes the indexes of previous states of the modules directory.
+     */
+    private void evict(final Path current) {
+        final String prefix = digest(modulesDir.toString()) + "-";
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDir, prefix + "*" + SUFFIX)) {
+            for (Path file : stream) {
+                if (!file.equals(current)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debugf(e, "Failed to evict previous indexes of %s", modulesDir);
+        }
+    }
+
+    private Path indexFile() {
+        if (cacheDir == null) {
+            return null;
+        }
+        try {
+            final long lastModified = Files.getLastModifiedTime(modulesDir).toMillis();
+            return cacheDir.resolve(digest(modulesDir.toString()) + "-" + lastModified + SUFFIX);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debugf(e, "Failed to resolve the last modified time of %s", modulesDir);
+            return null;
+        }
+    }
+
+    static Path resolveCacheDir() {
+        final String enabled = SecurityActions.getSystemProperty(CACHE_PROPERTY);
+        if (enabled != null && !Boolean.parseBoolean(enabled)) {
+            return null;
+        }
+        final String dir = SecurityActions.getSystemProperty(CACHE_DIR_PROPERTY);
+        if (dir != null) {
+            return Path.of(dir);
+        }
+        final String tmpDir = SecurityActions.getSystemProperty("java.io.tmpdir");
+        if (tmpDir == null) {
+            return null;
+        }
+        // The temporary directory is shared by all users, each user has their own index directory
+        final String user = SecurityActions.getSystemProperty("user.name");
+        final String suffix = user == null || user.isBlank() ? "unknown" : user.replaceAll("[^A-Za-z0-9._-]", "_");
+        return Path.of(tmpDir, DEFAULT_CACHE_DIR + "-" + suffix);
+    }
+
+    private static String key(final String name, final String slot) {
+        return name + ':' + slot;
+    }
+
+    private static String digest(final String value) {
+        try {
+            final MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Parses the module XML file, logging and skipping a file which cannot be read so a single malformed module does
+     * not prevent the other modules from being indexed.
+     *
+     * @return the module or {@code null} if the file does not define a module name or could not be parsed
+     */
+    private static ModuleDefinition parseOrSkip(final Path moduleXml) {
+        try {
+            final ModuleDefinition definition = parse(moduleXml);
+            if (definition == null) {
+                LOGGER.debugf("Ignoring %s as it does not define a module name", moduleXml);
+            }
+            return definition;
+        } catch (IOException e) {
+            LOGGER.warnf(e, "Ignoring %s as it could not be parsed", moduleXml);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the name of the module and the entries of the first {@code resources} element. The slot is the name of the
+     * directory of the module XML file.
+     *
+     * @return the module or {@code null} if the file does not define a module name
+     */
+    private static ModuleDefinition parse(final Path moduleXml) throws IOException {
+        final Path parent = moduleXml.getParent();
+        final String slot = parent == null || parent.getFileName() == null ? "" : parent.getFileName().toString();
+        final long lastModified = Files.getLastModifiedTime(moduleXml).toMillis();
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try (InputStream in = Files.newInputStream(moduleXml)) {
+            final XMLStreamReader reader = factory.createXMLStreamReader(in);
+            try {
+                reader.nextTag();
+                final String name = reader.getAttributeValue(null, "name");
+                if (name == null) {
+                    return null;
+                }
+                String artifactVersion = "";
+                final List<String> resourceRoots = new ArrayList<>();
+                // Depth of the current element relative to the root element
+                int depth = 0;
+                boolean inResources = false;
+                while (reader.hasNext()) {
+                    final int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        depth++;
+                        final String element = reader.getLocalName();
+                        if (depth == 1 && element.equals("resources")) {
+                            inResources = true;
+                        } else if (inResources && depth == 2) {
+                            if (element.equals("artifact")) {
+                                // Use the Maven GAV where the third entry should be the version
+                                final String[] gav = String.valueOf(reader.getAttributeValue(null, "name")).split(":");
+                                if (gav.length > 2) {
+                                    artifactVersion = sanitizeVersion(gav[2]);
+                                }
+                                break;
+                            } else if (element.equals("resource-root")) {
+                                final String path = reader.getAttributeValue(null, "path");
+                                if (path != null) {
+                                    resourceRoots.add(path);
+                                }
+                            }
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        // Only the first resources element is used, which there should only be one of
+                        if (inResources && depth == 1) {
+                            break;
+                        }
+                        depth--;
+                    }
+                }
+                return new ModuleDefinition(moduleXml, lastModified, name, slot, artifactVersion, resourceRoots);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to parse module XML file " + moduleXml, e);
+        }
+    }
+
+    private static String sanitizeVersion(final String version) {
+        if (version == null) {
+            return "";
+        }
+        // Skip the "-redhat" for our purposes
+        final int end = version.indexOf("-redhat");
+        if (end > 0) {
+            return version.substring(0, end);
+        }
+        return version;
+    }
+
+    /**
+     * Lists a directory and forks a task for each subdirectory. The module XML files found are parsed in the task of
+     * the directory they are in.
+     */
+    private static class ScanTask extends RecursiveTask<Collection<ModuleDefinition>> {
+        private final Path dir;
+
+        private ScanTask(final Path dir) {
+            this.dir = dir;
+        }
+
+        @Override
+        protected Collection<ModuleDefinition> compute() {
+            final List<ScanTask> tasks = new ArrayList<>();
+            final List<ModuleDefinition> definitions = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                for (Path path : stream) {
+                    final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class,
+                            LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isDirectory()) {
+                        final ScanTask task = new ScanTask(path);
+                        task.fork();
+                        tasks.add(task);
+                    } else if (attributes.isRegularFile() && path.getFileName().toString().equals(MODULE_XML)) {
+                        final ModuleDefinition definition = parseOrSkip(path);
+                        if (definition != null) {
+                            definitions.add(definition);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (ScanTask task : tasks) {
+                definitions.addAll(task.join());
+            }
+            return definitions;
+        }
+    }
+
+    /**
+     * A module found in the index.
+     */
+    static class ModuleDefinition {
+        final Path path;
+        final String name;
+        final String slot;
+        private final long lastModified;
+        private final String artifactVersion;
+        private final List<String> resourceRoots;
+        private volatile String version;
+
+        private ModuleDefinition(final Path path, final long lastModified, final String name, final String slot,
+                final String artifactVersion, final List<String> resourceRoots) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.name = name;
+            this.slot = slot;
+            this.artifactVersion = artifactVersion;
+            this.resourceRoots = List.copyOf(resourceRoots);
+        }
+
+        /**
+         * Returns the version of the module. The version of an {@code artifact} resource is used if defined, otherwise
+         * the {@code Implementation-Version} of the manifest of the last {@code resource-root} is used.
+         *
+         * @return the version or an empty string if the version could not be determined
+         *
+         * @throws IOException if an error occurs reading the manifest of a resource root
+         */
+        String version() throws IOException {
+            String version = this.version;
+            if (version == null) {
+                version = artifactVersion;
+                if (version.isEmpty()) {
+                    final Path parent = path.getParent();
+                    for (String resourceRoot : resourceRoots) {
+                        final Path jar = parent == null ? Path.of(resourceRoot) : parent.resolve(resourceRoot);
+                        try (JarFile jarFile = new JarFile(jar.toFile())) {
+                            final Manifest manifest = jarFile.getManifest();
+                            version = manifest == null ? ""
+                                    : sanitizeVersion(
+                                            manifest.getMainAttributes().getValue(Attributes.Name.IMPLEMENTATION_VERSION));
+                        }
+                    }
+                }
+                this.version = version;
+            }
+            return version;
+        }
+    }
+}
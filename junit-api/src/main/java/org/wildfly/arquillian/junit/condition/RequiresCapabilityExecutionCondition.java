@@ -0,0 +1,136 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.arquillian.junit.condition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.wildfly.arquillian.junit.annotations.RequiresCapability;
+
+/**
+ * Evaluates the {@link RequiresCapability} requirements against the {@link ManagementSnapshot} of the running
+ * containers.
+ */
+public class RequiresCapabilityExecutionCondition implements ExecutionCondition {
+    private static final Logger LOGGER = Logger.getLogger(RequiresCapabilityExecutionCondition.class);
+
+    // Default enabled condition
+    private static final ConditionEvaluationResult ENABLED = ConditionEvaluationResult
+            .enabled("All required capabilities have been found, enabling the test.");
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(final ExtensionContext context) {
+        final List<RequiresCapability> requirements = new ArrayList<>();
+        AnnotationSupport.findAnnotation(context.getElement(), RequiresCapability.class).ifPresent(requirements::add);
+        // The container is not started when the condition of the test class is evaluated, the requirements of the
+        // class are evaluated for each method as well
+        if (context.getTestMethod().isPresent()) {
+            AnnotationSupport.findAnnotation(context.getTestClass(), RequiresCapability.class)
+                    .ifPresent(requirements::add);
+        }
+        for (RequiresCapability requiresCapability : requirements) {
+            final ConditionEvaluationResult result = check(requiresCapability);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debugf("Condition of %s on %s result in an evaluation of: %s", requiresCapability,
+                        context.getElement(), result);
+            }
+            if (result.isDisabled()) {
+                return result;
+            }
+        }
+        return ENABLED;
+    }
+
+    private ConditionEvaluationResult check(final RequiresCapability requiresCapability) {
+        final Collection<ManagementSnapshot> snapshots = ManagementSnapshot.get(requiresCapability.container());
+        if (snapshots.isEmpty()) {
+            return ConditionEvaluationResult
+                    .enabled("No running container is available to evaluate the required capabilities.");
+        }
+        try {
+            for (ManagementSnapshot snapshot : snapshots) {
+                for (String capability : requiresCapability.value()) {
+                    if (!snapshot.hasCapability(capability)) {
+                        return ConditionEvaluationResult.disabled(formatReason(requiresCapability,
+                                "Capability %s is not registered on container %s. Disabling test.", capability,
+                                snapshot.getContainer()));
+                    }
+                }
+                for (String subsystem : requiresCapability.subsystems()) {
+                    if (!snapshot.hasSubsystem(subsystem)) {
+                        return ConditionEvaluationResult.disabled(formatReason(requiresCapability,
+                                "Subsystem %s is not configured on container %s. Disabling test.", subsystem,
+                                snapshot.getContainer()));
+                    }
+                }
+                for (String attribute : requiresCapability.attributes()) {
+                    final ConditionEvaluationResult result = checkAttribute(requiresCapability, snapshot, attribute);
+                    if (result.isDisabled()) {
+                        return result;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return ConditionEvaluationResult
+                    .enabled("Could not read the management model. Enabling by default. Reason: " + e.getMessage());
+        }
+        return ENABLED;
+    }
+
+    private ConditionEvaluationResult checkAttribute(final RequiresCapability requiresCapability,
+            final ManagementSnapshot snapshot, final String requirement) throws IOException {
+        // address:attribute[=value]
+        final int addressEnd = requirement.indexOf(':');
+        if (addressEnd < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid attribute requirement %s, expected address:attribute or address:attribute=value",
+                    requirement));
+        }
+        final String address = requirement.substring(0, addressEnd);
+        final String attribute;
+        final String expectedValue;
+        final int valueStart = requirement.indexOf('=', addressEnd);
+        if (valueStart < 0) {
+            attribute = requirement.substring(addressEnd + 1);
+            expectedValue = null;
+        } else {
+            attribute = requirement.substring(addressEnd + 1, valueStart);
+            expectedValue = requirement.substring(valueStart + 1);
+        }
+        final ModelNode value = snapshot.readAttribute(address, attribute);
+        if (!value.isDefined()) {
+            return ConditionEvaluationResult.disabled(formatReason(requiresCapability,
+                    "Attribute %s is not defined on %s on container %s. Disabling test.", attribute, address,
+                    snapshot.getContainer()));
+        }
+        if (expectedValue != null && !expectedValue.equals(value.asString())) {
+            return ConditionEvaluationResult.disabled(formatReason(requiresCapability,
+                    "Found value %s for attribute %s on %s on container %s and required %s. Disabling test.",
+                    value.asString(), attribute, address, snapshot.getContainer(), expectedValue));
+        }
+        return ENABLED;
+    }
+
+    private static String formatReason(final RequiresCapability requiresCapability, final String fmt,
+            final Object... args) {
+        String msg = String.format(fmt, args);
+        if (!requiresCapability.issueRef().isBlank()) {
+            msg = requiresCapability.issueRef() + ": " + msg;
+        }
+        if (!requiresCapability.reason().isBlank()) {
+            msg = msg + " Reason: " + requiresCapability.reason();
+        }
+        return msg;
+    }
+}
@@ -7,6 +7,7 @@ package org.wildfly.arquillian.junit.enricher;
 
 import org.jboss.arquillian.container.test.spi.client.deployment.AuxiliaryArchiveAppender;
 import org.jboss.arquillian.core.spi.LoadableExtension;
+import org.wildfly.arquillian.junit.condition.ManagementSnapshotObserver;
 
 /**
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
@@ -16,5 +17,7 @@ public class EnricherExtension implements LoadableExtension {
     public void register(final ExtensionBuilder builder) {
         builder.service(AuxiliaryArchiveAppender.class, ExtensionAuxiliaryArchiveAppender.class)
                 .service(AuxiliaryArchiveAppender.class, LegacyExtensionAuxiliaryArchiveAppender.class);
+        // Provides the management model snapshots for the @RequiresCapability condition
+        builder.observer(ManagementSnapshotObserver.class);
     }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.arquillian.junit.condition;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the {@link ModuleIndex}.
+ */
+@Tag("system.property")
+public class ModuleIndexTestCase {
+
+    @Test
+    public void layerPrecedence(@TempDir final Path modulesDir) throws Exception {
+        Files.writeString(modulesDir.resolve("layers.conf"), "layers=custom");
+        createModule(modulesDir.resolve("system/layers/base"), "org.test.layered", "main", "1.0.0.Final");
+        createModule(modulesDir.resolve("system/layers/custom"), "org.test.layered", "main", "2.0.0.Final");
+        createModule(modulesDir.resolve("system/add-ons/extra"), "org.test.layered", "main", "3.0.0.Final");
+        createModule(modulesDir.resolve("system/add-ons/extra"), "org.test.addon", "other", "1.0.0.Final");
+
+        final ModuleIndex index = ModuleIndex.load(modulesDir, null);
+        Assertions.assertEquals("2.0.0.Final", index.find("org.test.layered", "main").orElseThrow().version());
+        Assertions.assertEquals("1.0.0.Final", index.find("org.test.addon", "other").orElseThrow().version());
+        Assertions.assertTrue(index.find("org.test.addon", "main").isEmpty());
+    }
+
+    @Test
+    public void persistedIndex(@TempDir final Path tempDir) throws Exception {
+        final Path modulesDir = Files.createDirectory(tempDir.resolve("modules"));
+        final Path cacheDir = tempDir.resolve("cache");
+        createModule(modulesDir, "org.test.persisted", "main", "1.0.0.Final");
+        ModuleIndex.load(modulesDir, cacheDir);
+        try (var files = Files.list(cacheDir)) {
+            Assertions.assertEquals(1L, files.count(), "Expected the index to be persisted");
+        }
+        if (cacheDir.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Assertions.assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(cacheDir)));
+        }
+
+        // A module added without changing the modules directory itself is found by rescanning the directory
+        createModule(modulesDir, "org.test.added", "main", "1.0.0.Final");
+        final ModuleIndex index = ModuleIndex.load(modulesDir, cacheDir);
+        Assertions.assertEquals("1.0.0.Final", index.find("org.test.persisted", "main").orElseThrow().version());
+        Assertions.assertTrue(index.find("org.test.added", "main").isPresent());
+        Assertions.assertTrue(index.find("org.test.missing", "main").isEmpty());
+    }
+
+    @Test
+    public void malformedModuleSkipped(@TempDir final Path modulesDir) throws Exception {
+        createModule(modulesDir, "org.test.valid", "main", "1.0.0.Final");
+        final Path malformed = Files.createDirectories(modulesDir.resolve("org/test/malformed/main"));
+        Files.writeString(malformed.resolve("module.xml"), "<module name=\"org.test.malformed\"");
+
+        final ModuleIndex index = ModuleIndex.load(modulesDir, null);
+        Assertions.assertEquals("1.0.0.Final", index.find("org.test.valid", "main").orElseThrow().version());
+        Assertions.assertTrue(index.find("org.test.malformed", "main").isEmpty());
+    }
+
+    @Test
+    public void defaultCacheDirPerUser() {
+        Assertions.assertNull(System.getProperty(ModuleIndex.CACHE_DIR_PROPERTY));
+        final String user = System.getProperty("user.name");
+        try {
+            System.setProperty("user.name", "test user");
+            final Path cacheDir = ModuleIndex.resolveCacheDir();
+            Assertions.assertNotNull(cacheDir);
+            Assertions.assertEquals(Path.of(System.getProperty("java.io.tmpdir")), cacheDir.getParent());
+            Assertions.assertEquals("wildfly-arquillian-module-index-test_user", cacheDir.getFileName().toString());
+        } finally {
+            System.setProperty("user.name", user);
+        }
+    }
+
+    private static void createModule(final Path root, final String name, final String slot, final String version)
+            throws IOException {
+        final Path dir = Files.createDirectories(root.resolve(name.replace('.', '/')).resolve(slot));
+        Files.writeString(dir.resolve("module.xml"), String.format(
+                "<module name=\"%s\" xmlns=\"urn:jboss:module:1.9\">%n" +
+                        "    <resources>%n" +
+                        "        <artifact name=\"org.test:test:%s\"/>%n" +
+                        "    </resources>%n" +
+                        "</module>%n",
+                name, version));
+    }
+}
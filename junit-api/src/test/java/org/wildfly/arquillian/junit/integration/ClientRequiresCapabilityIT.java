@@ -0,0 +1,62 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.arquillian.junit.integration;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.container.annotation.ArquillianTest;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.wildfly.arquillian.junit.annotations.RequiresCapability;
+
+/**
+ * Tests that the client skips test methods which require a capability the server does not provide.
+ */
+@ArquillianTest
+@RunAsClient
+@RequiresCapability(subsystems = "undertow")
+public class ClientRequiresCapabilityIT {
+
+    @Deployment
+    public static WebArchive deployment() {
+        return ShrinkWrap.create(WebArchive.class, ClientRequiresCapabilityIT.class.getSimpleName() + ".war")
+                .addAsWebInfResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @RequiresCapability("org.wildfly.ejb3")
+    @Test
+    public void expectSkippedCapability() {
+        Assertions.fail("Test should have been skipped.");
+    }
+
+    @RequiresCapability(subsystems = "ejb3")
+    @Test
+    public void expectSkippedSubsystem() {
+        Assertions.fail("Test should have been skipped.");
+    }
+
+    @RequiresCapability(attributes = "subsystem=undertow:statistics-enabled=true")
+    @Test
+    public void expectSkippedAttributeValue() {
+        Assertions.fail("Test should have been skipped.");
+    }
+
+    @RequiresCapability(value = "org.wildfly.network.socket-binding.http", subsystems = "jaxrs",
+            attributes = "subsystem=undertow:default-server=default-server")
+    @Test
+    public void pass() {
+        // The requirements are met, nothing to do
+    }
+
+    @RequiresCapability(container = "invalid", value = "org.wildfly.ejb3")
+    @Test
+    public void passUnknownContainer() {
+        // There is no snapshot for the container so the test is enabled
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.arquillian.protocol.http2;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.arquillian.container.spi.Container;
+import org.jboss.arquillian.container.spi.client.container.DeploymentException;
+import org.jboss.arquillian.container.spi.event.container.BeforeDeploy;
+import org.jboss.arquillian.container.spi.event.container.BeforeStop;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.as.arquillian.protocol.jmx.ArquillianServiceDeployer;
+import org.jboss.logging.Logger;
+import org.jboss.shrinkwrap.api.Archive;
+import org.wildfly.arquillian.protocol.http2.Http2Protocol.EndpointHolder;
+
+/**
+ * A deployer for the endpoint of the {@link Http2Protocol}. The endpoint depends on the {@code arquillian-service},
+ * so it is deployed after the {@link ArquillianServiceDeployer} deployed the service and undeployed before the service
+ * is undeployed.
+ * <p>
+ * The test methods of a deployment enriched by the protocol cannot be invoked without the endpoint, so a failure to
+ * deploy the endpoint fails the deployment.
+ * </p>
+ */
+public class EndpointDeployer {
+    private static final Logger log = Logger.getLogger(EndpointDeployer.class);
+
+    private final Set<String> endpointDeployed = new HashSet<>();
+
+    public synchronized void deployEndpoint(@Observes BeforeDeploy event, Container container,
+            EndpointHolder endpointHolder) throws DeploymentException {
+        // only deploy the endpoint if the deployment has been enriched by the HTTP/2 protocol
+        if (endpointHolder.deploymentExistsAndRemove(event.getDeployment().getName())
+                && !endpointDeployed.contains(container.getName())) {
+            final Archive<?> archive = endpointHolder.getArchive();
+            try {
+                log.infof("Deploy arquillian HTTP/2 endpoint: %s", archive);
+                container.getDeployableContainer().deploy(archive);
+                endpointDeployed.add(container.getName());
+            } catch (DeploymentException e) {
+                throw new DeploymentException(String.format("Cannot deploy arquillian HTTP/2 endpoint %s to %s", archive,
+                        container.getName()), e);
+            }
+        }
+    }
+
+    public synchronized void undeployEndpoint(@Observes(precedence = 1) BeforeStop event, Container container,
+            EndpointHolder endpointHolder) {
+        if (endpointDeployed.remove(container.getName())) {
+            final Archive<?> archive = endpointHolder.getArchive();
+            try {
+                log.infof("Undeploy arquillian HTTP/2 endpoint: %s", archive);
+                container.getDeployableContainer().undeploy(archive);
+            } catch (Throwable th) {
+                log.error("Cannot undeploy arquillian HTTP/2 endpoint", th);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.arquillian.protocol.http2;
+
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.jboss.as.arquillian.protocol.jmx.BatchInvoker;
+import org.wildfly.arquillian.protocol.http2.service.Invocation;
+
+/**
+ * Runs a batch with a single request to the {@link Http2Endpoint}. The results are read from the response as the
+ * server streams them.
+ */
+class Http2BatchInvoker implements BatchInvoker {
+
+    private final Http2Endpoint endpoint;
+
+    /**
+     * Creates a new invoker.
+     *
+     * @param endpoint the endpoint of the server
+     */
+    Http2BatchInvoker(final Http2Endpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public boolean isAvailable() throws Exception {
+        endpoint.connect();
+        return true;
+    }
+
+    @Override
+    public int runTestMethods(final String batchId, final String className, final String[] methodNames,
+            final Map<String, String> protocolProps, final BiConsumer<String, byte[]> resultConsumer) throws Exception {
+        // The results are only sent on the response of this request, so the id of the batch is not sent
+        final Invocation invocation = new Invocation(className, List.of(methodNames), protocolProps);
+        try (InputStream in = endpoint.invoke(Invocation.BATCH_PATH, invocation, HttpResponse.BodyHandlers.ofInputStream())) {
+            return Invocation.readResults(in, resultConsumer);
+        }
+    }
+}
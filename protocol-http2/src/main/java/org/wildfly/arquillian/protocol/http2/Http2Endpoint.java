@@ -0,0 +1,116 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.arquillian.protocol.http2;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.wildfly.arquillian.protocol.http2.service.Invocation;
+
+/**
+ * The {@link org.wildfly.arquillian.protocol.http2.service.TestRunnerServlet} of a server. All invocations share the
+ * connection of the HTTP client, which is opened before the first invocation. The connection is upgraded to HTTP/2 and
+ * the invocations are then multiplexed over it, including concurrent invocations.
+ */
+class Http2Endpoint {
+    private final HttpClient client;
+    private final URI uri;
+    private final String token;
+    private boolean connected;
+
+    /**
+     * Creates a new endpoint.
+     *
+     * @param client the client used for the invocations
+     * @param uri    the URI of the servlet
+     * @param token  the token of the endpoint deployment the requests are authenticated with
+     */
+    Http2Endpoint(final HttpClient client, final URI uri, final String token) {
+        this.client = client;
+        this.uri = uri;
+        this.token = token;
+    }
+
+    /**
+     * Opens the connection to the servlet if it has not been opened yet. Requests with a body are not upgraded to
+     * HTTP/2, so a request without a body is sent first. Invocations wait until the connection has been opened,
+     * otherwise concurrent invocations would each open their own connection.
+     * <p>
+     * The invocations are not sent over HTTP/1.1, where each concurrent invocation would need its own connection, so
+     * the connection fails if the server does not upgrade it to HTTP/2.
+     * </p>
+     *
+     * @throws IOException          if the servlet is not available or the server does not support HTTP/2
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    synchronized void connect() throws IOException, InterruptedException {
+        if (connected) {
+            return;
+        }
+        final HttpResponse<Void> response = client.send(newRequest(Invocation.CONNECT_PATH).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 204) {
+            throw new IOException(String.format("The HTTP/2 endpoint %s is not available: %d", uri, response.statusCode()));
+        }
+        if (response.version() != HttpClient.Version.HTTP_2) {
+            throw new IOException(String.format("The server does not support HTTP/2 on %s. Enable HTTP/2 on the HTTP "
+                    + "listener or use the jmx-as7 protocol.", uri));
+        }
+        connected = true;
+    }
+
+    /**
+     * Sends the invocation to the servlet.
+     *
+     * @param path        the path of the invocation, either {@link Invocation#TEST_PATH} or {@link Invocation#BATCH_PATH}
+     * @param invocation  the invocation
+     * @param bodyHandler the handler of the response body
+     * @param <T>         the type of the response body
+     *
+     * @return the response body
+     *
+     * @throws IOException          if the invocation failed
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    <T> T invoke(final String path, final Invocation invocation, final HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        connect();
+        final HttpRequest request = newRequest(path)
+                .header("Content-Type", Invocation.CONTENT_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(invocation.toByteArray()))
+                .build();
+        // The body of a failed invocation is discarded rather than passed to the handler
+        final HttpResponse<T> response = client.send(request, responseInfo -> responseInfo.statusCode() == 200
+                ? bodyHandler.apply(responseInfo)
+                : HttpResponse.BodySubscribers.replacing(null));
+        if (response.statusCode() != 200) {
+            throw new IOException(String.format("Failed to invoke %s on %s: %d", invocation.getClassName(), request.uri(),
+                    response.statusCode()));
+        }
+        return response.body();
+    }
+
+    /**
+     * Returns the token the requests are authenticated with.
+     *
+     * @return the token
+     */
+    String getToken() {
+        return token;
+    }
+
+    private HttpRequest.Builder newRequest(final String path) {
+        return HttpRequest.newBuilder(URI.create(uri + path))
+                .header("Authorization", Invocation.AUTHORIZATION_PREFIX + token);
+    }
+
+    @Override
+    public String toString() {
+        return uri.toString();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.arquillian.protocol.http2;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.arquillian.container.test.spi.ContainerMethodExecutor;
+import org.jboss.arquillian.test.spi.TestMethodExecutor;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.as.arquillian.service.TestResultCodec;
+import org.wildfly.arquillian.protocol.http2.service.Invocation;
+
+/**
+ * Invokes a single in-container test method with a request to the {@link Http2Endpoint}.
+ */
+class Http2MethodExecutor implements ContainerMethodExecutor {
+
+    private final Http2Endpoint endpoint;
+    private final Map<String, String> protocolProps;
+
+    /**
+     * Creates a new executor.
+     *
+     * @param endpoint      the endpoint of the server
+     * @param protocolProps the protocol properties
+     */
+    Http2MethodExecutor(final Http2Endpoint endpoint, final Map<String, String> protocolProps) {
+        this.endpoint = endpoint;
+        this.protocolProps = protocolProps;
+    }
+
+    @Override
+    public TestResult invoke(final TestMethodExecutor testMethodExecutor) {
+        final Invocation invocation = new Invocation(testMethodExecutor.getInstance().getClass().getName(),
+                List.of(testMethodExecutor.getMethod().getName()), protocolProps);
+        try {
+            final byte[] result = endpoint.invoke(Invocation.TEST_PATH, invocation, HttpResponse.BodyHandlers.ofByteArray());
+            return new TestResultCodec().decode(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return TestResult.failed(e);
+        } catch (Exception e) {
+            return TestResult.failed(e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.arquillian.protocol.http2;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.MBeanServerConnection;
+
+import org.jboss.arquillian.container.spi.client.protocol.metadata.HTTPContext;
+import org.jboss.arquillian.container.spi.client.protocol.metadata.ProtocolMetaData;
+import org.jboss.arquillian.container.test.spi.ContainerMethodExecutor;
+import org.jboss.arquillian.container.test.spi.client.deployment.DeploymentPackager;
+import org.jboss.arquillian.container.test.spi.command.CommandCallback;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.test.spi.annotation.SuiteScoped;
+import org.jboss.as.arquillian.protocol.jmx.BatchInvoker;
+import org.jboss.as.arquillian.protocol.jmx.ExtendedJMXProtocol;
+import org.jboss.as.arquillian.protocol.jmx.ExtendedJMXProtocolConfiguration;
+import org.jboss.logging.Logger;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.wildfly.arquillian.protocol.http2.service.Invocation;
+import org.wildfly.arquillian.protocol.http2.service.TestRunnerServlet;
+
+/**
+ * A protocol which invokes the in-container test methods over HTTP/2 rather than over the management connection.
+ * <p>
+ * The deployments are enriched as for the {@code jmx-as7} protocol and the test methods are still run by the
+ * {@code arquillian-service}. An additional {@link TestRunnerServlet} is deployed, see {@link EndpointDeployer}, which
+ * passes the invocations to the test runners of the service. The invocations of a server are multiplexed over a single
+ * HTTP/2 connection, so concurrent invocations do not wait for each other. Batches, if
+ * {@linkplain ExtendedJMXProtocolConfiguration#isBatchInvocation() enabled}, are sent as a single request and the
+ * results are streamed in the response.
+ * </p>
+ * <p>
+ * The protocol requires the HTTP interface of the server. If the deployment has no HTTP context, the test methods are
+ * invoked over the management connection.
+ * </p>
+ */
+public class Http2Protocol extends ExtendedJMXProtocol {
+    private static final Logger log = Logger.getLogger(Http2Protocol.class);
+
+    /**
+     * The name of the protocol.
+     */
+    public static final String NAME = "wildfly-http2";
+
+    @Inject
+    @SuiteScoped
+    private InstanceProducer<EndpointHolder> endpointHolderInst;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(30L))
+            .build();
+    private final Map<URI, Http2Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public DeploymentPackager getPackager() {
+        if (endpointHolderInst.get() == null) {
+            endpointHolderInst.set(new EndpointHolder());
+        }
+        final EndpointHolder endpointHolder = endpointHolderInst.get();
+        final DeploymentPackager packager = super.getPackager();
+        return (testDeployment, protocolProcessors) -> {
+            endpointHolder.addPreparedDeployment(testDeployment.getDeploymentName());
+            return packager.generateDeployment(testDeployment, protocolProcessors);
+        };
+    }
+
+    @Override
+    protected ContainerMethodExecutor createMethodExecutor(final ExtendedJMXProtocolConfiguration config,
+            final ProtocolMetaData metaData, final CommandCallback callback) {
+        final Http2Endpoint endpoint = getEndpoint(metaData);
+        if (endpoint == null) {
+            return super.createMethodExecutor(config, metaData, callback);
+        }
+        return new Http2MethodExecutor(endpoint, config.getProtocolProperties());
+    }
+
+    @Override
+    protected BatchInvoker createBatchInvoker(final ExtendedJMXProtocolConfiguration config, final ProtocolMetaData metaData,
+            final MBeanServerConnection connection) {
+        final Http2Endpoint endpoint = getEndpoint(metaData);
+        if (endpoint == null) {
+            return super.createBatchInvoker(config, metaData, connection);
+        }
+        return new Http2BatchInvoker(endpoint);
+    }
+
+    @Override
+    public String getProtocolName() {
+        return NAME;
+    }
+
+    private Http2Endpoint getEndpoint(final ProtocolMetaData metaData) {
+        final Collection<HTTPContext> contexts = metaData.getContexts(HTTPContext.class);
+        if (contexts.isEmpty()) {
+            log.warnf("No HTTP context is available, the test methods are invoked over the management connection");
+            return null;
+        }
+        final EndpointHolder endpointHolder = endpointHolderInst.get();
+        if (endpointHolder == null) {
+            log.warnf("The HTTP/2 endpoint has not been deployed, the test methods are invoked over the management connection");
+            return null;
+        }
+        final HTTPContext context = contexts.iterator().next();
+        try {
+            final URI uri = new URI("http", null, context.getHost(), context.getPort(), Invocation.CONTEXT_PATH, null, null);
+            final String token = endpointHolder.getToken();
+            // An endpoint of a previous suite was deployed with another token
+            return endpoints.compute(uri, (u, endpoint) -> endpoint != null && token.equals(endpoint.getToken()) ? endpoint
+                    : new Http2Endpoint(client, u, token));
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    static class EndpointHolder {
+        /*
+         * The token the requests to the endpoint are authenticated with. It is only known to this client and the
+         * endpoint deployment.
+         */
+        private final String token = createToken();
+
+        /*
+         * The archive of the endpoint, created once and deployed to each container before the first deployment which
+         * uses this protocol.
+         */
+        private WebArchive endpointArchive;
+
+        /*
+         * Hold the Archives that have been enriched by this protocol so we can deploy the endpointArchive.
+         * This is removed in EndpointDeployer.
+         */
+        private final Set<String> preparedDeployments = new HashSet<>();
+
+        synchronized WebArchive getArchive() {
+            if (endpointArchive == null) {
+                endpointArchive = ShrinkWrap.create(WebArchive.class, "arquillian-http2.war")
+                        .addClasses(TestRunnerServlet.class, Invocation.class)
+                        .addAsWebInfResource(new StringAsset(token), Invocation.TOKEN_FILE)
+                        .setManifest(new StringAsset("Manifest-Version: 1.0\n"
+                                + "Dependencies: deployment.arquillian-service,org.jboss.logging\n"));
+            }
+            return endpointArchive;
+        }
+
+        String getToken() {
+            return token;
+        }
+
+        synchronized void addPreparedDeployment(final String deploymentName) {
+            if (deploymentName != null) {
+                preparedDeployments.add(deploymentName);
+            }
+        }
+
+        synchronized boolean deploymentExistsAndRemove(final String deploymentName) {
+            if (deploymentName != null) {
+                return preparedDeployments.remove(deploymentName);
+            }
+            return false;
+        }
+
+        private static String createToken() {
+            final byte[] bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        }
+    }
+}
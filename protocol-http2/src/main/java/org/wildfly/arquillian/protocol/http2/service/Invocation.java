@@ -0,0 +1,234 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.arquillian.protocol.http2.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An invocation of in-container test methods sent to the {@link TestRunnerServlet}. This also defines the format of the
+ * responses.
+ * <p>
+ * The request body contains the name of the test class, the names of the test methods and the protocol properties. The
+ * response to an invocation of a {@linkplain #TEST_PATH single test method} is the encoded
+ * {@link org.jboss.arquillian.test.spi.TestResult}. The response to a {@linkplain #BATCH_PATH batch} is streamed, a
+ * {@link #RESULT} frame with the method name and the encoded result is sent as each test method completes, followed by
+ * an {@link #END} frame with the number of test methods which have been run.
+ * </p>
+ */
+public final class Invocation {
+
+    /**
+     * The context path of the {@link TestRunnerServlet}.
+     */
+    public static final String CONTEXT_PATH = "/arquillian-http2";
+
+    /**
+     * The path used to open the connection before the first invocation.
+     */
+    public static final String CONNECT_PATH = "/connect";
+
+    /**
+     * The path used to run a single test method.
+     */
+    public static final String TEST_PATH = "/test";
+
+    /**
+     * The path used to run the test methods of a batch.
+     */
+    public static final String BATCH_PATH = "/batch";
+
+    /**
+     * The name of the file in the {@code WEB-INF} directory of the endpoint deployment which contains the token the
+     * requests are authenticated with. The token is created for each test run, so only the client which deployed the
+     * endpoint can invoke test methods.
+     */
+    public static final String TOKEN_FILE = "arquillian-http2.token";
+
+    /**
+     * The prefix of the {@code Authorization} header of the requests, followed by the token.
+     */
+    public static final String AUTHORIZATION_PREFIX = "Bearer ";
+
+    /**
+     * The content type of the requests and responses.
+     */
+    public static final String CONTENT_TYPE = "application/octet-stream";
+
+    /**
+     * The type of the frame which ends the response to a batch.
+     */
+    public static final int END = 0;
+
+    /**
+     * The type of the frame with the result of a test method of a batch.
+     */
+    public static final int RESULT = 1;
+
+    private final String className;
+    private final List<String> methodNames;
+    private final Map<String, String> protocolProperties;
+
+    /**
+     * Creates a new invocation.
+     *
+     * @param className          the name of the test class
+     * @param methodNames        the names of the test methods
+     * @param protocolProperties the protocol properties
+     */
+    public Invocation(final String className, final List<String> methodNames, final Map<String, String> protocolProperties) {
+        this.className = className;
+        this.methodNames = List.copyOf(methodNames);
+        this.protocolProperties = new LinkedHashMap<>(protocolProperties);
+    }
+
+    /**
+     * Reads an invocation.
+     *
+     * @param in the request body
+     *
+     * @return the invocation
+     *
+     * @throws IOException if the invocation could not be read
+     */
+    public static Invocation read(final InputStream in) throws IOException {
+        final DataInputStream data = new DataInputStream(in);
+        final String className = data.readUTF();
+        final int methodCount = data.readInt();
+        final List<String> methodNames = new ArrayList<>(methodCount);
+        for (int i = 0; i < methodCount; i++) {
+            methodNames.add(data.readUTF());
+        }
+        final int propertyCount = data.readInt();
+        final Map<String, String> protocolProperties = new LinkedHashMap<>();
+        for (int i = 0; i < propertyCount; i++) {
+            protocolProperties.put(data.readUTF(), data.readUTF());
+        }
+        return new Invocation(className, methodNames, protocolProperties);
+    }
+
+    /**
+     * Writes a frame with the result of a test method of a batch.
+     *
+     * @param out        the response body
+     * @param methodName the name of the test method
+     * @param result     the encoded result
+     *
+     * @throws IOException if the frame could not be written
+     */
+    public static void writeResult(final DataOutputStream out, final String methodName, final byte[] result)
+            throws IOException {
+        out.writeByte(RESULT);
+        out.writeUTF(methodName);
+        out.writeInt(result.length);
+        out.write(result);
+    }
+
+    /**
+     * Writes the frame which ends the response to a batch.
+     *
+     * @param out the response body
+     * @param run the number of test methods which have been run
+     *
+     * @throws IOException if the frame could not be written
+     */
+    public static void writeEnd(final DataOutputStream out, final int run) throws IOException {
+        out.writeByte(END);
+        out.writeInt(run);
+    }
+
+    /**
+     * Reads the response to a batch. The consumer is invoked with the method name and encoded result of each
+     * {@link #RESULT} frame as soon as it has been read.
+     *
+     * @param in             the response body
+     * @param resultConsumer the consumer of the results
+     *
+     * @return the number of test methods which have been run
+     *
+     * @throws IOException if the response ended before the {@link #END} frame or is invalid
+     */
+    public static int readResults(final InputStream in, final BiConsumer<String, byte[]> resultConsumer)
+            throws IOException {
+        final DataInputStream data = new DataInputStream(in);
+        while (true) {
+            final int type = data.readUnsignedByte();
+            if (type == END) {
+                return data.readInt();
+            }
+            if (type != RESULT) {
+                throw new IOException("Invalid frame type " + type);
+            }
+            final String methodName = data.readUTF();
+            final byte[] result = new byte[data.readInt()];
+            data.readFully(result);
+            resultConsumer.accept(methodName, result);
+        }
+    }
+
+    /**
+     * Returns the name of the test class.
+     *
+     * @return the name of the test class
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Returns the names of the test methods.
+     *
+     * @return the names of the test methods
+     */
+    public List<String> getMethodNames() {
+        return methodNames;
+    }
+
+    /**
+     * Returns the protocol properties.
+     *
+     * @return the protocol properties
+     */
+    public Map<String, String> getProtocolProperties() {
+        return protocolProperties;
+    }
+
+    /**
+     * Writes the invocation as a request body.
+     *
+     * @return the request body
+     */
+    public byte[] toByteArray() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(className);
+            out.writeInt(methodNames.size());
+            for (String methodName : methodNames) {
+                out.writeUTF(methodName);
+            }
+            // Properties without a value are not set on the server either
+            final Map<String, String> properties = new LinkedHashMap<>(protocolProperties);
+            properties.values().removeIf(Objects::isNull);
+            out.writeInt(properties.size());
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.arquillian.protocol.http2.service;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+
+import javax.management.JMException;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.NotificationFilterSupport;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.UnavailableException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.jboss.arquillian.protocol.jmx.JMXTestRunnerMBean;
+import org.jboss.as.arquillian.service.BatchTestRunnerMBean;
+import org.jboss.logging.Logger;
+
+/**
+ * Runs in-container test methods for the HTTP/2 protocol. The test methods are run by the test runners of the
+ * {@code arquillian-service} deployment, which are looked up in the platform MBean server of the server. The test
+ * classes are therefore resolved with the same Arquillian configurations as for the {@code jmx-as7} protocol.
+ * <p>
+ * Each invocation is a separate request, so the invocations are multiplexed over the HTTP/2 connection of the client.
+ * The results of a batch are streamed in the response as the test methods complete, see {@link Invocation}.
+ * </p>
+ * <p>
+ * Only the paths of the invocations are mapped within the context of the endpoint deployment. Each request must
+ * present the token of the deployment, see {@link Invocation#TOKEN_FILE}, otherwise it is rejected with a
+ * {@code 401} status without running anything.
+ * </p>
+ */
+@WebServlet(urlPatterns = { Invocation.CONNECT_PATH, Invocation.TEST_PATH, Invocation.BATCH_PATH })
+public class TestRunnerServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final Logger log = Logger.getLogger(TestRunnerServlet.class);
+
+    private transient byte[] token;
+
+    @Override
+    public void init() throws ServletException {
+        try (InputStream in = getServletContext().getResourceAsStream("/WEB-INF/" + Invocation.TOKEN_FILE)) {
+            if (in == null) {
+                throw new UnavailableException("The token of the HTTP/2 endpoint is missing");
+            }
+            token = in.readAllBytes();
+        } catch (IOException e) {
+            throw new ServletException("Failed to read the token of the HTTP/2 endpoint", e);
+        }
+        if (token.length == 0) {
+            throw new UnavailableException("The token of the HTTP/2 endpoint is empty");
+        }
+    }
+
+    @Override
+    protected void service(final HttpServletRequest req, final HttpServletResponse resp)
+            throws ServletException, IOException {
+        if (!isAuthorized(req)) {
+            resp.setHeader("WWW-Authenticate", Invocation.AUTHORIZATION_PREFIX.trim());
+            resp.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        super.service(req, resp);
+    }
+
+    @Override
+    protected void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws IOException {
+        if (!Invocation.CONNECT_PATH.equals(req.getServletPath())) {
+            resp.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+        // Sent by the client to open the connection, which is upgraded to HTTP/2, before the first invocation
+        resp.setStatus(HttpServletResponse.SC_NO_CONTENT);
+    }
+
+    @Override
+    protected void doPost(final HttpServletRequest req, final HttpServletResponse resp)
+            throws ServletException, IOException {
+        final String path = req.getServletPath();
+        if (!Invocation.TEST_PATH.equals(path) && !Invocation.BATCH_PATH.equals(path)) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        final Invocation invocation = Invocation.read(req.getInputStream());
+        try {
+            if (Invocation.TEST_PATH.equals(path)) {
+                runTestMethod(invocation, resp);
+            } else {
+                runTestMethods(invocation, resp);
+            }
+        } catch (JMException e) {
+            throw new ServletException("Failed to run the test methods of " + invocation.getClassName(), e);
+        }
+    }
+
+    private void runTestMethod(final Invocation invocation, final HttpServletResponse resp)
+            throws IOException, JMException {
+        final JMXTestRunnerMBean testRunner = JMX.newMBeanProxy(getMBeanServer(),
+                new ObjectName(JMXTestRunnerMBean.OBJECT_NAME), JMXTestRunnerMBean.class);
+        final byte[] result = testRunner.runTestMethod(invocation.getClassName(), invocation.getMethodNames().get(0),
+                invocation.getProtocolProperties());
+        resp.setContentType(Invocation.CONTENT_TYPE);
+        resp.setContentLength(result.length);
+        resp.getOutputStream().write(result);
+    }
+
+    private void runTestMethods(final Invocation invocation, final HttpServletResponse resp)
+            throws IOException, JMException {
+        final MBeanServer server = getMBeanServer();
+        final ObjectName objectName = new ObjectName(BatchTestRunnerMBean.OBJECT_NAME);
+        final String batchId = UUID.randomUUID().toString();
+        resp.setContentType(Invocation.CONTENT_TYPE);
+        final DataOutputStream out = new DataOutputStream(resp.getOutputStream());
+        final NotificationListener listener = (notification, handback) -> {
+            if (batchId.equals(notification.getMessage()) && notification.getUserData() instanceof Object[] data) {
+                synchronized (out) {
+                    try {
+                        // Flushed for each result so the client receives it while the remaining test methods run
+                        Invocation.writeResult(out, (String) data[0], (byte[]) data[1]);
+                        out.flush();
+                    } catch (IOException e) {
+                        // The client has gone away, the remaining test methods of the batch are still run
+                        log.debugf(e, "Failed to send the result of %s.%s", invocation.getClassName(), data[0]);
+                    }
+                }
+            }
+        };
+        final NotificationFilterSupport filter = new NotificationFilterSupport();
+        filter.enableType(BatchTestRunnerMBean.RESULT_NOTIFICATION);
+        server.addNotificationListener(objectName, listener, filter, null);
+        final int run;
+        try {
+            // The test runner sends the notifications before it returns, so all results have been written
+            final BatchTestRunnerMBean testRunner = JMX.newMBeanProxy(server, objectName, BatchTestRunnerMBean.class);
+            run = testRunner.runTestMethods(batchId, invocation.getClassName(),
+                    invocation.getMethodNames().toArray(new String[0]), invocation.getProtocolProperties());
+        } finally {
+            server.removeNotificationListener(objectName, listener, filter, null);
+        }
+        synchronized (out) {
+            Invocation.writeEnd(out, run);
+            out.flush();
+        }
+    }
+
+    private boolean isAuthorized(final HttpServletRequest req) {
+        final String authorization = req.getHeader("Authorization");
+        if (authorization == null || !authorization.startsWith(Invocation.AUTHORIZATION_PREFIX)) {
+            return false;
+        }
+        // Compared in constant time so the token cannot be guessed from the response times
+        return MessageDigest.isEqual(token,
+                authorization.substring(Invocation.AUTHORIZATION_PREFIX.length()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MBeanServer getMBeanServer() {
+        // The test runners of the arquillian-service are registered with the platform MBean server of WildFly
+        return ManagementFactory.getPlatformMBeanServer();
+    }
+}
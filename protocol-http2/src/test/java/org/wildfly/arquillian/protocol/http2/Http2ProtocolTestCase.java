@@ -0,0 +1,279 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.arquillian.protocol.http2;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.test.spi.TestMethodExecutor;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.as.arquillian.service.TestResultCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.wildfly.arquillian.protocol.http2.service.Invocation;
+
+import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+
+/**
+ * Tests the invocations sent by the {@link Http2MethodExecutor} and {@link Http2BatchInvoker}. The server stands in for
+ * the {@link org.wildfly.arquillian.protocol.http2.service.TestRunnerServlet} and upgrades the connection to HTTP/2
+ * without TLS, as the HTTP listener of WildFly does.
+ */
+public class Http2ProtocolTestCase {
+    private static final String TOKEN = "token";
+
+    // The client side address of each connection the server accepted requests on
+    private final Set<SocketAddress> connections = new CopyOnWriteArraySet<>();
+    private final Set<String> invocationProtocols = new CopyOnWriteArraySet<>();
+    private Undertow server;
+    private Http2Endpoint endpoint;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        server = startServer(true);
+        endpoint = createEndpoint(server, TOKEN);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    public void invokeTestMethod() throws Exception {
+        final Http2MethodExecutor executor = new Http2MethodExecutor(endpoint, Map.of());
+        Assertions.assertEquals(TestResult.Status.PASSED, executor.invoke(createTestMethodExecutor("first")).getStatus());
+        Assertions.assertEquals(TestResult.Status.PASSED, executor.invoke(createTestMethodExecutor("second")).getStatus());
+        // Only the connect request is sent before the connection is upgraded
+        Assertions.assertEquals(1, connections.size());
+        Assertions.assertEquals(Set.of("HTTP/2.0"), invocationProtocols);
+    }
+
+    @Test
+    public void concurrentInvocationsShareConnection() throws Exception {
+        final int threads = 8;
+        final Http2MethodExecutor executor = new Http2MethodExecutor(endpoint, Map.of());
+        final CyclicBarrier barrier = new CyclicBarrier(threads);
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<TestResult>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    // All invocations are sent at the same time, including the first one which opens the connection
+                    barrier.await(10, TimeUnit.SECONDS);
+                    return executor.invoke(createTestMethodExecutor("first"));
+                }));
+            }
+            for (Future<TestResult> result : results) {
+                Assertions.assertEquals(TestResult.Status.PASSED, result.get(30, TimeUnit.SECONDS).getStatus());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        Assertions.assertEquals(1, connections.size());
+        Assertions.assertEquals(Set.of("HTTP/2.0"), invocationProtocols);
+    }
+
+    @Test
+    public void failedInvocation() throws Exception {
+        final Http2MethodExecutor executor = new Http2MethodExecutor(endpoint, Map.of());
+        final TestResult result = executor.invoke(createTestMethodExecutor("fail"));
+        Assertions.assertEquals(TestResult.Status.FAILED, result.getStatus());
+        Assertions.assertInstanceOf(IOException.class, result.getThrowable());
+    }
+
+    @Test
+    public void batchResultsInOrder() throws Exception {
+        final Http2BatchInvoker invoker = new Http2BatchInvoker(endpoint);
+        Assertions.assertTrue(invoker.isAvailable());
+        final Map<String, TestResult.Status> results = new LinkedHashMap<>();
+        final int run = invoker.runTestMethods("batch", Target.class.getName(),
+                new String[] { "first", "second" }, Map.of(),
+                (methodName, result) -> results.put(methodName, decode(result).getStatus()));
+        Assertions.assertEquals(2, run);
+        Assertions.assertEquals(List.of("first", "second"), List.copyOf(results.keySet()));
+        Assertions.assertEquals(List.of(TestResult.Status.PASSED, TestResult.Status.PASSED), List.copyOf(results.values()));
+        Assertions.assertEquals(1, connections.size());
+        Assertions.assertEquals(Set.of("HTTP/2.0"), invocationProtocols);
+    }
+
+    @Test
+    public void truncatedBatch() throws Exception {
+        final Http2BatchInvoker invoker = new Http2BatchInvoker(endpoint);
+        final List<String> results = new ArrayList<>();
+        Assertions.assertThrows(IOException.class, () -> invoker.runTestMethods("batch", "Truncated",
+                new String[] { "first", "second" }, Map.of(), (methodName, result) -> results.add(methodName)));
+        // The results sent before the response ended are still passed on
+        Assertions.assertEquals(List.of("first", "second"), results);
+    }
+
+    @Test
+    public void protocolProperties() throws Exception {
+        final Http2MethodExecutor executor = new Http2MethodExecutor(endpoint, Map.of("key", "value"));
+        Assertions.assertEquals(TestResult.Status.PASSED, executor.invoke(createTestMethodExecutor("properties")).getStatus());
+    }
+
+    @Test
+    public void unauthorizedInvocation() throws Exception {
+        final Http2MethodExecutor executor = new Http2MethodExecutor(createEndpoint(server, "other"), Map.of());
+        final TestResult result = executor.invoke(createTestMethodExecutor("first"));
+        Assertions.assertEquals(TestResult.Status.FAILED, result.getStatus());
+        Assertions.assertInstanceOf(IOException.class, result.getThrowable());
+        Assertions.assertTrue(invocationProtocols.isEmpty(), "The test method was invoked without the token");
+    }
+
+    @Test
+    public void http11NotSupported() throws Exception {
+        final Undertow http11Server = startServer(false);
+        try {
+            final Http2MethodExecutor executor = new Http2MethodExecutor(createEndpoint(http11Server, TOKEN), Map.of());
+            final TestResult result = executor.invoke(createTestMethodExecutor("first"));
+            Assertions.assertEquals(TestResult.Status.FAILED, result.getStatus());
+            Assertions.assertInstanceOf(IOException.class, result.getThrowable());
+            Assertions.assertTrue(result.getThrowable().getMessage().contains("HTTP/2"),
+                    () -> "Unexpected failure: " + result.getThrowable().getMessage());
+            // The test method is not invoked over HTTP/1.1
+            Assertions.assertTrue(invocationProtocols.isEmpty(), () -> "Invoked over " + invocationProtocols);
+        } finally {
+            http11Server.stop();
+        }
+    }
+
+    private Undertow startServer(final boolean http2) {
+        final Undertow undertow = Undertow.builder()
+                .setServerOption(UndertowOptions.ENABLE_HTTP2, http2)
+                .addHttpListener(0, "localhost")
+                .setHandler(this::handle)
+                .build();
+        undertow.start();
+        return undertow;
+    }
+
+    private static Http2Endpoint createEndpoint(final Undertow server, final String token) throws Exception {
+        final InetSocketAddress address = (InetSocketAddress) server.getListenerInfo().get(0).getAddress();
+        final URI uri = new URI("http", null, address.getHostString(), address.getPort(), Invocation.CONTEXT_PATH, null,
+                null);
+        return new Http2Endpoint(HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build(), uri, token);
+    }
+
+    private void handle(final HttpServerExchange exchange) throws Exception {
+        if (exchange.isInIoThread()) {
+            // The invocations block, so they are run by the worker threads as by the servlet container
+            exchange.dispatch(this::handle);
+            return;
+        }
+        exchange.startBlocking();
+        try {
+            connections.add(exchange.getSourceAddress());
+            if (!(Invocation.AUTHORIZATION_PREFIX + TOKEN).equals(exchange.getRequestHeaders()
+                    .getFirst(Headers.AUTHORIZATION))) {
+                exchange.setStatusCode(401);
+                return;
+            }
+            final String path = exchange.getRequestPath().substring(Invocation.CONTEXT_PATH.length());
+            if (Methods.GET.equals(exchange.getRequestMethod()) && Invocation.CONNECT_PATH.equals(path)) {
+                exchange.setStatusCode(204);
+                return;
+            }
+            invocationProtocols.add(exchange.getProtocol().toString());
+            final Invocation invocation = Invocation.read(exchange.getInputStream());
+            if (Invocation.TEST_PATH.equals(path)) {
+                final String methodName = invocation.getMethodNames().get(0);
+                final boolean propertiesSent = Map.of("key", "value").equals(invocation.getProtocolProperties());
+                if ("fail".equals(methodName) || ("properties".equals(methodName) && !propertiesSent)) {
+                    exchange.setStatusCode(500);
+                    return;
+                }
+                final byte[] result = encode(TestResult.passed());
+                exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, result.length);
+                exchange.getOutputStream().write(result);
+            } else {
+                final DataOutputStream out = new DataOutputStream(exchange.getOutputStream());
+                for (String methodName : invocation.getMethodNames()) {
+                    Invocation.writeResult(out, methodName, encode(TestResult.passed()));
+                    out.flush();
+                }
+                if (!"Truncated".equals(invocation.getClassName())) {
+                    Invocation.writeEnd(out, invocation.getMethodNames().size());
+                }
+                out.flush();
+            }
+        } finally {
+            exchange.endExchange();
+        }
+    }
+
+    private static byte[] encode(final TestResult result) throws IOException {
+        return new TestResultCodec().encode(result);
+    }
+
+    private static TestResult decode(final byte[] bytes) {
+        try {
+            return new TestResultCodec().decode(bytes);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static TestMethodExecutor createTestMethodExecutor(final String methodName) throws NoSuchMethodException {
+        final Method method = Target.class.getMethod(methodName);
+        final Object instance = new Target();
+        return new TestMethodExecutor() {
+            public String getMethodName() {
+                return methodName;
+            }
+
+            @Override
+            public Method getMethod() {
+                return method;
+            }
+
+            @Override
+            public Object getInstance() {
+                return instance;
+            }
+
+            @Override
+            public void invoke(final Object... parameters) {
+            }
+        };
+    }
+
+    public static class Target {
+        public void first() {
+        }
+
+        public void second() {
+        }
+
+        public void fail() {
+        }
+
+        public void properties() {
+        }
+    }
+}
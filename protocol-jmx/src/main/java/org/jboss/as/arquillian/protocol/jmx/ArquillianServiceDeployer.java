@@ -5,19 +5,33 @@
 package org.jboss.as.arquillian.protocol.jmx;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.jboss.arquillian.container.spi.Container;
 import org.jboss.arquillian.container.spi.client.container.DeployableContainer;
+import org.jboss.arquillian.container.spi.client.container.DeploymentException;
 import org.jboss.arquillian.container.spi.context.annotation.ContainerScoped;
 import org.jboss.arquillian.container.spi.event.container.BeforeDeploy;
 import org.jboss.arquillian.container.spi.event.container.BeforeStop;
 import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.as.arquillian.container.ArchiveDeployer;
 import org.jboss.as.arquillian.container.ManagementClient;
 import org.jboss.as.arquillian.protocol.jmx.ExtendedJMXProtocol.ServiceArchiveHolder;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.helpers.ClientConstants;
+import org.jboss.as.controller.client.helpers.Operations;
+import org.jboss.dmr.ModelNode;
 import org.jboss.logging.Logger;
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
@@ -25,6 +39,12 @@ import org.wildfly.plugin.tools.ContainerDescription;
 
 /**
  * A deployer for the Arquillian JMXProtocol endpoint.
+ * <p>
+ * If the {@value #KEEP_DEPLOYED_PROPERTY} system property is set to {@code true}, the service is not undeployed when
+ * the container is stopped. The next run reuses the deployed service if the hash of its content matches the service
+ * archive, otherwise the service is replaced. This avoids deploying the service for each run against a server which
+ * outlives the test run, for example a remote server.
+ * </p>
  *
  * @author thomas.diesler@jboss.com
  * @see JMXProtocolPackager
@@ -36,10 +56,26 @@ public class ArquillianServiceDeployer {
     @ContainerScoped
     private Instance<ManagementClient> managementClientInstance;
 
+    @Inject
+    @ContainerScoped
+    private Instance<ArchiveDeployer> archiveDeployerInstance;
+
     private static final Logger log = Logger.getLogger(ArquillianServiceDeployer.class);
 
+    static final String KEEP_DEPLOYED_PROPERTY = "wildfly.arquillian.service.keepDeployed";
+
+    private final boolean keepDeployed;
+
     private Set<String> serviceArchiveDeployed = new HashSet<String>();
 
+    public ArquillianServiceDeployer() {
+        this(Boolean.getBoolean(KEEP_DEPLOYED_PROPERTY));
+    }
+
+    ArquillianServiceDeployer(final boolean keepDeployed) {
+        this.keepDeployed = keepDeployed;
+    }
+
     public synchronized void doServiceDeploy(@Observes(precedence = 1) BeforeDeploy event, Container container,
             ServiceArchiveHolder archiveHolder) {
         // already deployed?
@@ -83,8 +119,17 @@ public class ArquillianServiceDeployer {
             JavaArchive serviceArchive = (JavaArchive) archiveHolder.getArchive();
             try {
                 log.infof("Deploy arquillian service: %s", serviceArchive);
-                DeployableContainer<?> deployableContainer = container.getDeployableContainer();
-                deployableContainer.deploy(serviceArchive);
+                final Path content = archiveHolder.getArchiveContent();
+                final ArchiveDeployer archiveDeployer = archiveDeployerInstance.get();
+                if (content != null && archiveDeployer != null) {
+                    if (deployContent(managementClientInstance.get().getControllerClient(), archiveDeployer,
+                            serviceArchive.getName(), content)) {
+                        log.infof("Reusing the deployed arquillian service: %s", serviceArchive);
+                    }
+                } else {
+                    DeployableContainer<?> deployableContainer = container.getDeployableContainer();
+                    deployableContainer.deploy(serviceArchive);
+                }
                 serviceArchiveDeployed.add(container.getName());
             } catch (Throwable th) {
                 log.error("Cannot deploy arquillian service", th);
@@ -92,9 +137,20 @@ public class ArquillianServiceDeployer {
         }
     }
 
+    public void removeOutputListener(@Observes(precedence = 1) BeforeStop event, Container container,
+            TestOutputListeners outputListeners) {
+        // Remove the listener while the service is still deployed and the connection is open
+        outputListeners.remove(container.getName());
+    }
+
     public synchronized void undeploy(@Observes BeforeStop event, Container container, ServiceArchiveHolder archiveHolder) {
         // clean up if we deployed to this container?
         if (serviceArchiveDeployed.contains(container.getName())) {
+            if (keepDeployed && archiveHolder.getArchiveContent() != null && archiveDeployerInstance.get() != null) {
+                log.debugf("Leaving the arquillian service deployed: %s", archiveHolder.getArchive());
+                serviceArchiveDeployed.remove(container.getName());
+                return;
+            }
             try {
                 Archive<?> serviceArchive = archiveHolder.getArchive();
                 log.infof("Undeploy arquillian service: %s", serviceArchive);
@@ -106,4 +162,70 @@ public class ArquillianServiceDeployer {
             }
         }
     }
+
+    /**
+     * Deploys the content of the service. If the service is kept deployed and a previous run deployed the same content,
+     * the deployed service is reused, otherwise the deployed service is replaced.
+     *
+     * @param client          the client used to read the deployed content
+     * @param archiveDeployer the deployer for the service
+     * @param name            the name of the service deployment
+     * @param content         the content of the service
+     *
+     * @return {@code true} if the deployed service is reused, {@code false} if the content has been deployed
+     *
+     * @throws IOException         if the deployed content could not be read
+     * @throws DeploymentException if the content could not be deployed
+     */
+    boolean deployContent(final ModelControllerClient client, final ArchiveDeployer archiveDeployer, final String name,
+            final Path content) throws IOException, DeploymentException {
+        if (keepDeployed) {
+            if (isDeployed(client, name, content)) {
+                return true;
+            }
+            // Replace a service deployed by a previous run
+            archiveDeployer.undeploy(name, false);
+        }
+        // Deploy the cached bytes rather than exporting the archive again
+        archiveDeployer.deploy(name, content);
+        return false;
+    }
+
+    /**
+     * Checks if the service is deployed with the same content. The hash of the deployed content is read with a single
+     * operation.
+     */
+    private static boolean isDeployed(final ModelControllerClient client, final String name, final Path content)
+            throws IOException {
+        final ModelNode op = Operations.createReadResourceOperation(Operations.createAddress(ClientConstants.DEPLOYMENT, name));
+        final ModelNode result = client.execute(op);
+        if (!Operations.isSuccessfulOutcome(result)) {
+            // Not deployed
+            return false;
+        }
+        final ModelNode deployment = Operations.readResult(result);
+        if (!deployment.get("enabled").asBoolean(false) || !deployment.hasDefined(ClientConstants.CONTENT)) {
+            return false;
+        }
+        final byte[] hash = hash(content);
+        for (ModelNode c : deployment.get(ClientConstants.CONTENT).asList()) {
+            if (c.hasDefined("hash") && Arrays.equals(hash, c.get("hash").asBytes())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] hash(final Path content) throws IOException {
+        try {
+            // The server identifies content by its SHA-1 hash
+            final MessageDigest md = MessageDigest.getInstance("SHA-1");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(content), md)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return md.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
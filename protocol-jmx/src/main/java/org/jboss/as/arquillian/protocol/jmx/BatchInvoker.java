@@ -0,0 +1,52 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Sends the test methods of a batch to the server and receives their results. The {@link ExtendedJMXProtocol} invokes
+ * the {@link org.jboss.as.arquillian.service.BatchTestRunnerMBean} over the management connection, other protocols
+ * may send the batch over their own connection.
+ *
+ * @see ExtendedJMXProtocol#createBatchInvoker(ExtendedJMXProtocolConfiguration,
+ *          org.jboss.arquillian.container.spi.client.protocol.metadata.ProtocolMetaData,
+ *          javax.management.MBeanServerConnection)
+ */
+public interface BatchInvoker {
+
+    /**
+     * Checks whether the server can run a batch. If it cannot, the test methods are invoked individually.
+     *
+     * @return {@code true} if the server can run a batch
+     *
+     * @throws Exception if the server could not be queried
+     */
+    boolean isAvailable() throws Exception;
+
+    /**
+     * Runs the test methods of the test class on the server in the order given. The result of each test method,
+     * encoded as described by {@link org.jboss.as.arquillian.service.TestResultCodec}, is passed to the consumer as
+     * soon as it has been received. The consumer may be invoked from any thread.
+     * <p>
+     * This returns once the results of the test methods which have been run have been passed to the consumer, or once
+     * the results which are still missing will no longer be received.
+     * </p>
+     *
+     * @param batchId        the id of the batch
+     * @param className      the name of the test class
+     * @param methodNames    the names of the test methods
+     * @param protocolProps  the protocol properties
+     * @param resultConsumer the consumer invoked with the method name and encoded result of each test method
+     *
+     * @return the number of test methods which have been run, the test methods are run in order so the remaining test
+     *             methods have not been run
+     *
+     * @throws Exception if the batch failed, the test methods without a result have not been run
+     */
+    int runTestMethods(String batchId, String className, String[] methodNames, Map<String, String> protocolProps,
+            BiConsumer<String, byte[]> resultConsumer) throws Exception;
+}
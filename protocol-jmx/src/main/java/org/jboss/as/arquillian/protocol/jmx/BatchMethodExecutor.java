@@ -0,0 +1,382 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import org.jboss.arquillian.container.test.spi.ContainerMethodExecutor;
+import org.jboss.arquillian.test.spi.TestMethodExecutor;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.as.arquillian.service.BatchTestRunnerMBean;
+import org.jboss.as.arquillian.service.TestResultCodec;
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link ContainerMethodExecutor} which runs the in-container test methods the test runner has scheduled with a single
+ * invocation of the {@link BatchTestRunnerMBean}. When a test method is invoked, the test method and the test methods
+ * scheduled directly after it, see {@link TestMethodSchedule}, are sent as a batch with a {@link BatchInvoker}. The
+ * results are sent back as each test method completes and the invocations of the other test methods of the batch wait
+ * for their result rather than invoking the server again.
+ * <p>
+ * A batch ends before the first scheduled test method which cannot be batched, so the test methods are run in the
+ * order of the schedule. Test methods which are run on the client, which register extensions other than the Arquillian
+ * extension, for example execution conditions, or which operate on a different deployment cannot be batched. These
+ * test methods, and test methods of test classes without a schedule, are invoked with the delegate executor. If the
+ * batch cannot be started, for example because the server does not have the {@link BatchTestRunnerMBean} registered,
+ * the delegate is used as well.
+ * </p>
+ */
+class BatchMethodExecutor implements ContainerMethodExecutor {
+    private static final Logger log = Logger.getLogger(BatchMethodExecutor.class);
+
+    private static final Set<String> EXCLUDED_ANNOTATIONS = Set.of("RunAsClient", "Disabled", "Ignore");
+    private static final String EXTEND_WITH = "org.junit.jupiter.api.extension.ExtendWith";
+    private static final String EXTENSIONS = "org.junit.jupiter.api.extension.Extensions";
+    private static final String ARQUILLIAN_EXTENSION = "ArquillianExtension";
+    private static final String OPERATE_ON_DEPLOYMENT = "OperateOnDeployment";
+
+    // The batches of the test methods which have not been invoked yet, keyed by the test class and method name. The
+    // batches of a test class are removed once the test class has finished, see TestPlanScheduleListener.
+    private static final Map<String, Map<String, Batch>> BATCHES = new HashMap<>();
+
+    private final BatchInvoker invoker;
+    private final Map<String, String> protocolProps;
+    private final ContainerMethodExecutor delegate;
+    private final Executor executor;
+
+    /**
+     * Creates a new executor.
+     *
+     * @param invoker       the invoker sending the batches to the server
+     * @param protocolProps the protocol properties
+     * @param delegate      the executor used for test methods which are not part of a batch
+     * @param executor      the executor the batch invocations are run on
+     */
+    BatchMethodExecutor(final BatchInvoker invoker, final Map<String, String> protocolProps,
+            final ContainerMethodExecutor delegate, final Executor executor) {
+        this.invoker = invoker;
+        this.protocolProps = protocolProps;
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    /**
+     * Removes the batches of the test methods of the test classes which have not been invoked.
+     *
+     * @param classNames the names of the test classes
+     */
+    static void removeBatches(final Collection<String> classNames) {
+        synchronized (BATCHES) {
+            BATCHES.keySet().removeAll(classNames);
+        }
+    }
+
+    @Override
+    public TestResult invoke(final TestMethodExecutor testMethodExecutor) {
+        final Class<?> testClass = testMethodExecutor.getInstance().getClass();
+        final Method method = testMethodExecutor.getMethod();
+        final CompletableFuture<TestResult> result;
+        // Test methods of the same class may be invoked concurrently, only one of them should start the batch
+        synchronized (BATCHES) {
+            final Map<String, Batch> pending = BATCHES.get(testClass.getName());
+            Batch batch = pending == null ? null : pending.remove(method.getName());
+            if (pending != null && pending.isEmpty()) {
+                BATCHES.remove(testClass.getName());
+            }
+            if (batch == null) {
+                batch = startBatch(testClass, method);
+            }
+            result = batch == null ? null : batch.results.get(method.getName());
+        }
+        if (result == null) {
+            return delegate.invoke(testMethodExecutor);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return TestResult.failed(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof NotRunException) {
+                // The server did not report a result, the test method has not been run
+                log.debugf(e.getCause(), "The batch did not run %s.%s, invoking the test method directly",
+                        testClass.getName(), method.getName());
+                return delegate.invoke(testMethodExecutor);
+            }
+            return TestResult.failed(e.getCause());
+        }
+    }
+
+    private Batch startBatch(final Class<?> testClass, final Method method) {
+        final List<String> methodNames = findScheduledMethods(testClass, method);
+        // Batching a single test method does not save any invocations
+        if (methodNames.size() < 2) {
+            return null;
+        }
+        final Batch batch = new Batch(UUID.randomUUID().toString(), methodNames);
+        try {
+            if (!invoker.isAvailable()) {
+                log.debugf("The server cannot run batches, the test methods of %s will be invoked individually",
+                        testClass.getName());
+                return null;
+            }
+        } catch (Exception e) {
+            log.debugf(e, "Failed to start the batch for %s, the test methods will be invoked individually",
+                    testClass.getName());
+            return null;
+        }
+        // Servers which do not support the compact encoding ignore the property and send Java serialized results
+        final Map<String, String> batchProps = new HashMap<>(protocolProps);
+        batchProps.put(BatchTestRunnerMBean.PROPERTY_RESULT_ENCODING, TestResultCodec.COMPACT_ENCODING);
+        executor.execute(() -> {
+            try {
+                final int run = invoker.runTestMethods(batch.id, testClass.getName(),
+                        methodNames.toArray(new String[0]), batchProps, batch::complete);
+                batch.completed(run);
+            } catch (Throwable t) {
+                batch.notRun(t);
+            }
+        });
+        // The invoking test method takes its result directly, the other test methods when they are invoked
+        final Map<String, Batch> pending = BATCHES.computeIfAbsent(testClass.getName(), ignore -> new HashMap<>());
+        for (String methodName : methodNames.subList(1, methodNames.size())) {
+            pending.put(methodName, batch);
+        }
+        return batch;
+    }
+
+    /**
+     * Returns the test method and the test methods scheduled directly after it which can be run in the same batch.
+     */
+    private static List<String> findScheduledMethods(final Class<?> testClass, final Method method) {
+        final List<String> result = new ArrayList<>();
+        if (!canBatch(testClass)) {
+            return result;
+        }
+        final String deployment = getTargetDeployment(method);
+        for (String methodName : TestMethodSchedule.from(testClass.getName(), method.getName())) {
+            final Method scheduled = findTestMethod(testClass, methodName);
+            if (scheduled == null || !canBatch(scheduled)
+                    || !Objects.equals(deployment, getTargetDeployment(scheduled))) {
+                break;
+            }
+            result.add(methodName);
+        }
+        return result;
+    }
+
+    private static boolean canBatch(final Class<?> testClass) {
+        // Extensions registered on the test class, its super classes and the enclosing classes apply to the test methods
+        for (Class<?> enclosing = testClass; enclosing != null; enclosing = enclosing.getEnclosingClass()) {
+            for (Class<?> current = enclosing; current != null && current != Object.class; current = current
+                    .getSuperclass()) {
+                if (isExcluded(current) || registersExtensions(current.getAnnotations(), new HashSet<>())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean canBatch(final Method method) {
+        return !Modifier.isStatic(method.getModifiers()) && hasAnnotation(method, "Test") && !isExcluded(method)
+                && !registersExtensions(method.getAnnotations(), new HashSet<>());
+    }
+
+    /**
+     * Finds the test method without parameters. Overloaded test methods cannot be identified by the name alone and
+     * are not returned.
+     */
+    private static Method findTestMethod(final Class<?> testClass, final String methodName) {
+        Method result = null;
+        for (Class<?> current = testClass; current != null && current != Object.class; current = current
+                .getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (method.isSynthetic() || !method.getName().equals(methodName)) {
+                    continue;
+                }
+                if (method.getParameterCount() > 0) {
+                    return null;
+                }
+                // The most specific declaration wins
+                if (result == null) {
+                    result = method;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String getTargetDeployment(final Method method) {
+        for (Annotation annotation : method.getAnnotations()) {
+            if (annotation.annotationType().getSimpleName().equals(OPERATE_ON_DEPLOYMENT)) {
+                final Object value = getValue(annotation);
+                return value == null ? null : value.toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the annotations register extensions other than the Arquillian extension, directly or as a
+     * meta-annotation. Such extensions, for example execution conditions, are evaluated on the client for each test
+     * method and may decide not to run it.
+     */
+    private static boolean registersExtensions(final Annotation[] annotations, final Set<Class<?>> visited) {
+        for (Annotation annotation : annotations) {
+            final Class<? extends Annotation> type = annotation.annotationType();
+            if (type.getName().equals(EXTEND_WITH)) {
+                if (getValue(annotation) instanceof Class<?>[] extensions) {
+                    for (Class<?> extension : extensions) {
+                        if (!extension.getSimpleName().equals(ARQUILLIAN_EXTENSION)) {
+                            return true;
+                        }
+                    }
+                }
+            } else if (type.getName().equals(EXTENSIONS)) {
+                if (getValue(annotation) instanceof Annotation[] extendWith && registersExtensions(extendWith, visited)) {
+                    return true;
+                }
+            } else if (!type.getName().startsWith("java.lang.annotation.") && visited.add(type)
+                    && registersExtensions(type.getAnnotations(), visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object getValue(final Annotation annotation) {
+        try {
+            return annotation.annotationType().getMethod("value").invoke(annotation);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static boolean isExcluded(final AnnotatedElement element) {
+        for (Annotation annotation : element.getAnnotations()) {
+            if (EXCLUDED_ANNOTATIONS.contains(annotation.annotationType().getSimpleName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasAnnotation(final AnnotatedElement element, final String simpleName) {
+        for (Annotation annotation : element.getAnnotations()) {
+            if (annotation.annotationType().getSimpleName().equals(simpleName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The pending results of the test methods of a batch.
+     */
+    static class Batch {
+        private final String id;
+        private final List<String> methodNames;
+        private final Map<String, CompletableFuture<TestResult>> results;
+        // The results reference the tables of the previous results of the batch and are decoded in their sequence
+        private final TestResultCodec codec = TestResultCodec.forBatch();
+        private final Map<Integer, Object[]> outOfSequence = new HashMap<>();
+        private int nextSequence;
+
+        private Batch(final String id, final List<String> methodNames) {
+            this.id = id;
+            this.methodNames = List.copyOf(methodNames);
+            final Map<String, CompletableFuture<TestResult>> results = new HashMap<>();
+            for (String methodName : methodNames) {
+                results.put(methodName, new CompletableFuture<>());
+            }
+            this.results = Map.copyOf(results);
+        }
+
+        private synchronized void complete(final String methodName, final byte[] bytes) {
+            final int sequence = TestResultCodec.getSequence(bytes);
+            if (sequence < 0) {
+                decode(methodName, bytes);
+                return;
+            }
+            // Results may be delivered out of order, hold back the results until the previous ones are decoded
+            outOfSequence.put(sequence, new Object[] { methodName, bytes });
+            Object[] next;
+            while ((next = outOfSequence.remove(nextSequence)) != null) {
+                nextSequence++;
+                decode((String) next[0], (byte[]) next[1]);
+            }
+        }
+
+        private void decode(final String methodName, final byte[] bytes) {
+            final CompletableFuture<TestResult> result = results.get(methodName);
+            if (result != null && !result.isDone()) {
+                try {
+                    result.complete(codec.decode(bytes));
+                } catch (IOException | ClassNotFoundException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        }
+
+        /**
+         * Completes the batch once the invoker has returned. The test methods the server has not run are invoked
+         * directly.
+         *
+         * @param run the number of test methods the server has run
+         */
+        private void completed(final int run) {
+            notRun(new NotRunException(String.format("The batch %s ended after %d test methods", id, run)),
+                    methodNames.subList(Math.min(run, methodNames.size()), methodNames.size()));
+            // The test methods have been run, they must not be invoked again even if their result was not received
+            for (String methodName : methodNames.subList(0, Math.min(run, methodNames.size()))) {
+                results.get(methodName).completeExceptionally(new IllegalStateException(
+                        String.format("The result of %s in batch %s was not received", methodName, id)));
+            }
+        }
+
+        private void notRun(final Throwable cause) {
+            notRun(cause instanceof NotRunException ? (NotRunException) cause
+                    : new NotRunException(String.format("The batch %s failed", id), cause), methodNames);
+        }
+
+        private void notRun(final NotRunException cause, final List<String> methodNames) {
+            for (String methodName : methodNames) {
+                results.get(methodName).completeExceptionally(cause);
+            }
+        }
+    }
+
+    /**
+     * Indicates the result of a test method has not been reported by the server.
+     */
+    private static class NotRunException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        NotRunException(final String message) {
+            super(message);
+        }
+
+        NotRunException(final String message, final Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -4,14 +4,30 @@
  */
 package org.jboss.as.arquillian.protocol.jmx;
 
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.management.MBeanServerConnection;
+
+import org.jboss.arquillian.container.spi.Container;
+import org.jboss.arquillian.container.spi.client.protocol.metadata.JMXContext;
+import org.jboss.arquillian.container.spi.client.protocol.metadata.ProtocolMetaData;
+import org.jboss.arquillian.container.test.spi.ContainerMethodExecutor;
 import org.jboss.arquillian.container.test.spi.client.deployment.DeploymentPackager;
+import org.jboss.arquillian.container.test.spi.command.CommandCallback;
+import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.InstanceProducer;
 import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.protocol.jmx.AbstractJMXProtocol;
 import org.jboss.arquillian.test.spi.annotation.SuiteScoped;
+import org.jboss.logging.Logger;
 import org.jboss.shrinkwrap.api.Archive;
 
 /**
@@ -21,11 +37,22 @@ import org.jboss.shrinkwrap.api.Archive;
  * @since 31-May-2011
  */
 public class ExtendedJMXProtocol extends AbstractJMXProtocol<ExtendedJMXProtocolConfiguration> {
+    private static final Logger log = Logger.getLogger(ExtendedJMXProtocol.class);
 
     @Inject
     @SuiteScoped
     private InstanceProducer<ServiceArchiveHolder> archiveHolderInst;
 
+    @Inject
+    @SuiteScoped
+    private InstanceProducer<TestOutputListeners> outputListenersInst;
+
+    @Inject
+    private Instance<Container> containerInst;
+
+    // Runs the batch invocations, the threads are not kept once they are idle
+    private final ExecutorService batchExecutor = createBatchExecutor();
+
     public Class<ExtendedJMXProtocolConfiguration> getProtocolConfigurationClass() {
         return ExtendedJMXProtocolConfiguration.class;
     }
@@ -38,6 +65,73 @@ public class ExtendedJMXProtocol extends AbstractJMXProtocol<ExtendedJMXProtocol
         return new JMXProtocolPackager(archiveHolderInst.get());
     }
 
+    @Override
+    public ContainerMethodExecutor getExecutor(final ExtendedJMXProtocolConfiguration config, final ProtocolMetaData metaData,
+            final CommandCallback callback) {
+        final ContainerMethodExecutor executor = createMethodExecutor(config, metaData, callback);
+        final Collection<JMXContext> contexts = metaData.getContexts(JMXContext.class);
+        final MBeanServerConnection connection = contexts.iterator().next().getConnection();
+        if (config.isStreamOutput()) {
+            addOutputListener(connection);
+        }
+        if (config.isBatchInvocation()) {
+            return new BatchMethodExecutor(createBatchInvoker(config, metaData, connection), config.getProtocolProperties(),
+                    executor, batchExecutor);
+        }
+        return executor;
+    }
+
+    /**
+     * Creates the executor for the test methods which are invoked individually. By default, the test methods are
+     * invoked over the management connection.
+     *
+     * @param config   the protocol configuration
+     * @param metaData the meta data of the deployment
+     * @param callback the callback for the commands sent by the test methods
+     *
+     * @return the executor
+     */
+    protected ContainerMethodExecutor createMethodExecutor(final ExtendedJMXProtocolConfiguration config,
+            final ProtocolMetaData metaData, final CommandCallback callback) {
+        return super.getExecutor(config, metaData, callback);
+    }
+
+    /**
+     * Creates the invoker for the batches of test methods if {@linkplain ExtendedJMXProtocolConfiguration#isBatchInvocation()
+     * batch invocation} is enabled. By default, the batches are run over the management connection.
+     *
+     * @param config     the protocol configuration
+     * @param metaData   the meta data of the deployment
+     * @param connection the management connection
+     *
+     * @return the invoker
+     */
+    protected BatchInvoker createBatchInvoker(final ExtendedJMXProtocolConfiguration config, final ProtocolMetaData metaData,
+            final MBeanServerConnection connection) {
+        return new JMXBatchInvoker(connection);
+    }
+
+    private void addOutputListener(final MBeanServerConnection connection) {
+        final Container container = containerInst.get();
+        if (container == null) {
+            log.debugf("No container is active, the output of the tests will not be streamed");
+            return;
+        }
+        if (outputListenersInst.get() == null) {
+            outputListenersInst.set(new TestOutputListeners());
+        }
+        outputListenersInst.get().add(container.getName(), connection);
+    }
+
+    private static ExecutorService createBatchExecutor() {
+        final AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 30L, TimeUnit.SECONDS, new SynchronousQueue<>(), task -> {
+            final Thread thread = new Thread(task, "arquillian-batch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     @Override
     public String getProtocolName() {
         return "jmx-as7";
@@ -49,6 +143,11 @@ public class ExtendedJMXProtocol extends AbstractJMXProtocol<ExtendedJMXProtocol
          */
         private Archive<?> serviceArchive;
 
+        /*
+         * The exported service archive if it was cached on disk, the exact bytes are deployed.
+         */
+        private Path serviceArchiveContent;
+
         /*
          * Hold the Archives that have been enriched with the jmx-as7 protocol so we can deploy the serviceArchive.
          * This is removed in ArquillianServiceDeployer.
@@ -59,8 +158,13 @@ public class ExtendedJMXProtocol extends AbstractJMXProtocol<ExtendedJMXProtocol
             return serviceArchive;
         }
 
-        void setArchive(Archive<?> serviceArchive) {
+        void setArchive(Archive<?> serviceArchive, Path serviceArchiveContent) {
             this.serviceArchive = serviceArchive;
+            this.serviceArchiveContent = serviceArchiveContent;
+        }
+
+        Path getArchiveContent() {
+            return serviceArchiveContent;
         }
 
         void addPreparedDeployment(String deploymentName) {
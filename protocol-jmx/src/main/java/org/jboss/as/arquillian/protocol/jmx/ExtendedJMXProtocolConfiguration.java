@@ -15,8 +15,15 @@ import org.jboss.arquillian.protocol.jmx.JMXProtocolConfiguration;
 public class ExtendedJMXProtocolConfiguration extends JMXProtocolConfiguration {
 
     public static final String PROPERTY_ENABLE_TCCL = "enableThreadContextClassLoader";
+    public static final String PROPERTY_CONCURRENT_INVOCATION = "concurrentInvocation";
+    public static final String PROPERTY_MAX_CONCURRENT_INVOCATIONS = "maxConcurrentInvocations";
+    public static final String PROPERTY_STREAM_OUTPUT = "streamOutput";
 
     private boolean enableThreadContextClassLoader = true;
+    private boolean batchInvocation;
+    private boolean concurrentInvocation;
+    private int maxConcurrentInvocations;
+    private boolean streamOutput;
 
     public boolean isEnableThreadContextClassLoader() {
         return enableThreadContextClassLoader;
@@ -25,4 +32,100 @@ public class ExtendedJMXProtocolConfiguration extends JMXProtocolConfiguration {
     public void setEnableThreadContextClassLoader(boolean enableThreadContextClassLoader) {
         this.enableThreadContextClassLoader = enableThreadContextClassLoader;
     }
+
+    /**
+     * Indicates whether the in-container test methods of a test class should be run with a single invocation on the
+     * server.
+     *
+     * @return {@code true} to run the test methods of a test class in a single invocation
+     */
+    public boolean isBatchInvocation() {
+        return batchInvocation;
+    }
+
+    /**
+     * Sets whether the in-container test methods of a test class should be run with a single invocation on the
+     * server. When a test method is invoked, the test methods the JUnit Platform has scheduled directly after it are
+     * run on the server in the same invocation, in the order of the schedule, and the results are streamed back as
+     * they complete. Test methods excluded by a filter are not part of the schedule. Test methods with execution
+     * conditions or other extensions evaluated on the client, and test classes without a schedule, are invoked
+     * individually.
+     * <p>
+     * Note that the test methods of a batch run ahead of the client. This should not be enabled for test classes which
+     * rely on client side operations between test methods, for example manually deploying archives or test methods
+     * which use remote commands such as an injected {@link org.jboss.arquillian.container.test.api.Deployer}.
+     * </p>
+     *
+     * @param batchInvocation {@code true} to run the test methods of a test class in a single invocation
+     */
+    public void setBatchInvocation(final boolean batchInvocation) {
+        this.batchInvocation = batchInvocation;
+    }
+
+    /**
+     * Indicates whether the test methods of a batch are run concurrently on the server.
+     *
+     * @return {@code true} if the test methods of a batch are run concurrently
+     */
+    public boolean isConcurrentInvocation() {
+        return concurrentInvocation;
+    }
+
+    /**
+     * Sets whether the test methods of a batch are run concurrently on the server. Each test method is dispatched to
+     * its own thread, a virtual thread if the server runs on Java 21 or later, with its own contexts and thread context
+     * class loader. This only has an effect if {@linkplain #setBatchInvocation(boolean) batch invocation} is enabled
+     * and the test methods of a test class must not depend on each other.
+     *
+     * @param concurrentInvocation {@code true} to run the test methods of a batch concurrently
+     */
+    public void setConcurrentInvocation(final boolean concurrentInvocation) {
+        this.concurrentInvocation = concurrentInvocation;
+    }
+
+    /**
+     * Returns the maximum number of test methods of a batch which are run at the same time when the test methods are
+     * {@linkplain #setConcurrentInvocation(boolean) run concurrently}.
+     *
+     * @return the maximum number of concurrently running test methods, {@code 0} or less for the number of processors
+     *             available to the server
+     */
+    public int getMaxConcurrentInvocations() {
+        return maxConcurrentInvocations;
+    }
+
+    /**
+     * Sets the maximum number of test methods of a batch which are run at the same time when the test methods are
+     * {@linkplain #setConcurrentInvocation(boolean) run concurrently}. The remaining test methods wait until a running
+     * test method has completed. If {@code 0} or less, the number of processors available to the server is used.
+     *
+     * @param maxConcurrentInvocations the maximum number of concurrently running test methods
+     */
+    public void setMaxConcurrentInvocations(final int maxConcurrentInvocations) {
+        this.maxConcurrentInvocations = maxConcurrentInvocations;
+    }
+
+    /**
+     * Indicates whether the output of in-container test methods is streamed to the client while they run.
+     *
+     * @return {@code true} if the output is streamed to the client
+     */
+    public boolean isStreamOutput() {
+        return streamOutput;
+    }
+
+    /**
+     * Sets whether the output of in-container test methods is streamed to the client while they run. The log records
+     * of the test, including anything written to {@link System#out} and {@link System#err}, are printed to the
+     * standard output of the client prefixed with the name of the test.
+     * <p>
+     * The output is buffered on the server in a bounded buffer. If the test produces output faster than it can be
+     * sent, lines are dropped and the number of dropped lines is printed.
+     * </p>
+     *
+     * @param streamOutput {@code true} to stream the output to the client
+     */
+    public void setStreamOutput(final boolean streamOutput) {
+        this.streamOutput = streamOutput;
+    }
 }
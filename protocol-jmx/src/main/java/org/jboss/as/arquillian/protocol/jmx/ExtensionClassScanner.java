@@ -0,0 +1,180 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Node;
+
+/**
+ * Checks whether a class implements an interface by reading the class files rather than loading the classes. The
+ * class files are looked up in an archive first and then as resources of a class loader.
+ * <p>
+ * The super types read are cached for the lifetime of the scanner, which is not thread safe. A scanner should only be
+ * used for a single scan of an archive.
+ * </p>
+ */
+class ExtensionClassScanner {
+
+    private final Archive<?> archive;
+    private final ClassLoader classLoader;
+    // The super types of the class files which have been read, keyed by the internal class name. A null value is
+    // cached for class files which could not be found.
+    private final Map<String, List<String>> cache = new HashMap<>();
+
+    /**
+     * Creates a new scanner.
+     *
+     * @param archive     the archive to look up class files in
+     * @param classLoader the class loader used to look up class files which are not in the archive
+     */
+    ExtensionClassScanner(final Archive<?> archive, final ClassLoader classLoader) {
+        this.archive = archive;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Checks whether the class implements the interface.
+     *
+     * @param className the binary name of the class
+     * @param type      the interface
+     *
+     * @return {@code true} if the class implements the interface, {@code false} if it does not or {@code null} if the
+     *             class file of the class could not be found
+     *
+     * @throws IOException if an error occurs reading a class file
+     */
+    Boolean isAssignable(final String className, final Class<?> type) throws IOException {
+        final String target = toInternalName(type.getName());
+        final String start = toInternalName(className);
+        final Deque<String> queue = new ArrayDeque<>();
+        final Set<String> visited = new HashSet<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            final String current = queue.poll();
+            if (current.equals(target)) {
+                return true;
+            }
+            if (!visited.add(current) || current.equals("java/lang/Object")) {
+                continue;
+            }
+            final List<String> superTypes = superTypes(current);
+            if (superTypes == null) {
+                if (current.equals(start)) {
+                    return null;
+                }
+                // Types which cannot be found, for example from the JDK, do not implement the interface
+                continue;
+            }
+            queue.addAll(superTypes);
+        }
+        return false;
+    }
+
+    private List<String> superTypes(final String internalName) throws IOException {
+        if (cache.containsKey(internalName)) {
+            return cache.get(internalName);
+        }
+        final List<String> result = readSuperTypes(internalName + ".class");
+        cache.put(internalName, result);
+        return result;
+    }
+
+    private List<String> readSuperTypes(final String resource) throws IOException {
+        final Node node = archive == null ? null : archive.get(resource);
+        if (node != null && node.getAsset() != null) {
+            try (InputStream in = node.getAsset().openStream()) {
+                return readSuperTypes(in);
+            }
+        }
+        try (InputStream in = classLoader.getResourceAsStream(resource)) {
+            return in == null ? null : readSuperTypes(in);
+        }
+    }
+
+    /**
+     * Reads the super class and the interfaces from the class file.
+     */
+    private static List<String> readSuperTypes(final InputStream classFile) throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile.readAllBytes()));
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        // minor and major version
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+        final int count = in.readUnsignedShort();
+        final String[] utf8 = new String[count];
+        final int[] classes = new int[count];
+        for (int i = 1; i < count; i++) {
+            final int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    break;
+                case 7: // Class
+                    classes[i] = in.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    in.readUnsignedShort();
+                    break;
+                case 15: // MethodHandle
+                    in.readUnsignedByte();
+                    in.readUnsignedShort();
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    in.readInt();
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    in.readLong();
+                    // Takes two entries in the constant pool
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Invalid constant pool tag " + tag);
+            }
+        }
+        // access flags and this class
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+        final List<String> superTypes = new ArrayList<>();
+        final int superClass = in.readUnsignedShort();
+        if (superClass != 0) {
+            superTypes.add(utf8[classes[superClass]]);
+        }
+        final int interfaces = in.readUnsignedShort();
+        for (int i = 0; i < interfaces; i++) {
+            superTypes.add(utf8[classes[in.readUnsignedShort()]]);
+        }
+        return List.copyOf(superTypes);
+    }
+
+    private static String toInternalName(final String className) {
+        return className.replace('.', '/');
+    }
+}
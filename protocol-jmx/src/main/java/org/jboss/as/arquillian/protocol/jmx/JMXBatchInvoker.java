@@ -0,0 +1,99 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import javax.management.JMX;
+import javax.management.MBeanServerConnection;
+import javax.management.Notification;
+import javax.management.NotificationFilterSupport;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
+
+import org.jboss.as.arquillian.service.BatchTestRunnerMBean;
+import org.jboss.logging.Logger;
+
+/**
+ * Runs a batch with the {@link BatchTestRunnerMBean} over the management connection. The results are received as
+ * notifications.
+ */
+class JMXBatchInvoker implements BatchInvoker {
+    private static final Logger log = Logger.getLogger(JMXBatchInvoker.class);
+
+    // How long to wait for the notifications still in transit once the server has acknowledged the batch
+    private static final long RESULT_TIMEOUT = 30L;
+
+    private final MBeanServerConnection connection;
+
+    JMXBatchInvoker(final MBeanServerConnection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public boolean isAvailable() throws Exception {
+        final ObjectName objectName = new ObjectName(BatchTestRunnerMBean.OBJECT_NAME);
+        if (connection.isRegistered(objectName)) {
+            return true;
+        }
+        log.debugf("The %s MBean is not registered", objectName);
+        return false;
+    }
+
+    @Override
+    public int runTestMethods(final String batchId, final String className, final String[] methodNames,
+            final Map<String, String> protocolProps, final BiConsumer<String, byte[]> resultConsumer) throws Exception {
+        final ObjectName objectName = new ObjectName(BatchTestRunnerMBean.OBJECT_NAME);
+        final ResultListener listener = new ResultListener(batchId, resultConsumer);
+        final NotificationFilterSupport filter = new NotificationFilterSupport();
+        filter.enableType(BatchTestRunnerMBean.RESULT_NOTIFICATION);
+        connection.addNotificationListener(objectName, listener, filter, null);
+        try {
+            final BatchTestRunnerMBean testRunner = JMX.newMBeanProxy(connection, objectName, BatchTestRunnerMBean.class);
+            final int run = testRunner.runTestMethods(batchId, className, methodNames, protocolProps);
+            // The invocation only acknowledges the batch, wait for the notifications which are still in transit
+            listener.await(run);
+            return run;
+        } finally {
+            try {
+                connection.removeNotificationListener(objectName, listener, filter, null);
+            } catch (Exception e) {
+                log.debugf(e, "Failed to remove the notification listener for batch %s", batchId);
+            }
+        }
+    }
+
+    private static class ResultListener implements NotificationListener {
+        private final String batchId;
+        private final BiConsumer<String, byte[]> resultConsumer;
+        private int received;
+
+        private ResultListener(final String batchId, final BiConsumer<String, byte[]> resultConsumer) {
+            this.batchId = batchId;
+            this.resultConsumer = resultConsumer;
+        }
+
+        @Override
+        public void handleNotification(final Notification notification, final Object handback) {
+            if (batchId.equals(notification.getMessage()) && notification.getUserData() instanceof Object[] data) {
+                resultConsumer.accept((String) data[0], (byte[]) data[1]);
+                synchronized (this) {
+                    received++;
+                    notifyAll();
+                }
+            }
+        }
+
+        private synchronized void await(final int count) throws InterruptedException {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(RESULT_TIMEOUT);
+            long remaining;
+            while (received < count && (remaining = deadline - System.nanoTime()) > 0L) {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+    }
+}
@@ -13,6 +13,8 @@ import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -50,6 +52,7 @@ import org.jboss.shrinkwrap.api.asset.Asset;
 import org.jboss.shrinkwrap.api.asset.StringAsset;
 import org.jboss.shrinkwrap.api.asset.UrlAsset;
 import org.jboss.shrinkwrap.api.container.ManifestContainer;
+import org.jboss.shrinkwrap.api.importer.ZipImporter;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 
 /**
@@ -84,6 +87,8 @@ public class JMXProtocolPackager implements DeploymentPackager {
 
     private static final Logger log = Logger.getLogger(JMXProtocolPackager.class);
 
+    private static final String SERVICE_ARCHIVE_NAME = "arquillian-service";
+
     private ServiceArchiveHolder archiveHolder;
 
     JMXProtocolPackager(ServiceArchiveHolder archiveHolder) {
@@ -97,13 +102,28 @@ public class JMXProtocolPackager implements DeploymentPackager {
         if (archiveHolder.getArchive() == null) {
             try {
                 Collection<Archive<?>> auxArchives = testDeployment.getAuxiliaryArchives();
-                JavaArchive archive = generateArquillianServiceArchive(auxArchives);
-
-                for (ProtocolArchiveProcessor processor : protocolProcessors) {
-                    processor.process(testDeployment, archive);
+                final ServiceArchiveCache cache = ServiceArchiveCache.create();
+                String key = null;
+                if (cache != null) {
+                    key = cache.key(testDeployment, protocolProcessors, ArquillianService.class, AbstractJMXProtocol.class,
+                            JMXProtocolPackager.class, ServerSetup.class, ManagementClient.class);
+                    final Path cached = cache.get(key);
+                    if (cached != null) {
+                        log.debugf("Using cached arquillian service: %s", cached);
+                        archiveHolder.setArchive(ShrinkWrap.create(ZipImporter.class, SERVICE_ARCHIVE_NAME)
+                                .importFrom(cached.toFile())
+                                .as(JavaArchive.class), cached);
+                    }
                 }
+                if (archiveHolder.getArchive() == null) {
+                    JavaArchive archive = generateArquillianServiceArchive(auxArchives);
 
-                archiveHolder.setArchive(archive);
+                    for (ProtocolArchiveProcessor processor : protocolProcessors) {
+                        processor.process(testDeployment, archive);
+                    }
+
+                    archiveHolder.setArchive(archive, cache == null ? null : cache.put(key, archive));
+                }
             } catch (Exception ex) {
                 throw new IllegalStateException("Cannot generate arquillian service", ex);
             }
@@ -116,7 +136,7 @@ public class JMXProtocolPackager implements DeploymentPackager {
 
     private JavaArchive generateArquillianServiceArchive(Collection<Archive<?>> auxArchives) throws Exception {
 
-        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "arquillian-service");
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class, SERVICE_ARCHIVE_NAME);
         log.debugf("Generating: %s", archive.getName());
 
         archive.addPackage(ArquillianService.class.getPackage());
@@ -142,20 +162,27 @@ public class JMXProtocolPackager implements DeploymentPackager {
         // Merge the auxiliary archives and collect the loadable extensions
         final Set<String> loadableExtensions = new HashSet<String>();
         final String loadableExtensionsPath = "META-INF/services/" + RemoteLoadableExtension.class.getName();
+        final ClassLoader classLoader = getClass().getClassLoader();
         for (Archive<?> aux : auxArchives) {
+            final Node descriptor = aux.get(DependenciesProvider.DESCRIPTOR);
+            if (descriptor != null && descriptor.getAsset() != null) {
+                for (String line : readLines(descriptor)) {
+                    archiveDependencies.add(ModuleIdentifier.fromString(line));
+                }
+            }
             Node node = aux.get(loadableExtensionsPath);
             if (node != null) {
-                BufferedReader br = new BufferedReader(new InputStreamReader(node.getAsset().openStream()));
-                String line = br.readLine();
-                while (line != null) {
+                final ExtensionClassScanner scanner = new ExtensionClassScanner(aux, classLoader);
+                for (String line : readLines(node)) {
                     loadableExtensions.add(line);
-                    ClassLoader classLoader = getClass().getClassLoader();
-                    Object extension = classLoader.loadClass(line).newInstance();
-                    if (extension instanceof DependenciesProvider) {
-                        DependenciesProvider provider = (DependenciesProvider) extension;
-                        archiveDependencies.addAll(provider.getDependencies());
+                    // Only load and instantiate the extensions which provide dependencies
+                    final Boolean provider = scanner.isAssignable(line, DependenciesProvider.class);
+                    if (provider == null || provider) {
+                        Object extension = classLoader.loadClass(line).getDeclaredConstructor().newInstance();
+                        if (extension instanceof DependenciesProvider) {
+                            archiveDependencies.addAll(((DependenciesProvider) extension).getDependencies());
+                        }
                     }
-                    line = br.readLine();
                 }
             }
             log.debugf("Merging archive: %s", aux);
@@ -227,6 +254,21 @@ public class JMXProtocolPackager implements DeploymentPackager {
         return archive;
     }
 
+    private static List<String> readLines(final Node node) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(node.getAsset().openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && line.charAt(0) != '#') {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines;
+    }
+
     /**
      * Adds the Manifest Attribute "Dependencies" with the required dependencies for JBoss Modules to depend on the Arquillian
      * Service.
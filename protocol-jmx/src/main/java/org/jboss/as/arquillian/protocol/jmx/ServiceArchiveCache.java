@@ -0,0 +1,257 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.jboss.arquillian.container.spi.client.deployment.TargetDescription;
+import org.jboss.arquillian.container.test.spi.TestDeployment;
+import org.jboss.arquillian.container.test.spi.client.deployment.ProtocolArchiveProcessor;
+import org.jboss.logging.Logger;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+
+/**
+ * An on disk cache of generated arquillian-service archives.
+ * <p>
+ * An archive is keyed by the SHA-256 digest of the content of the auxiliary archives, the names of the protocol
+ * processors and the classes packaged from the class path. The same test suite therefore reuses the exact bytes of the
+ * archive across runs.
+ * </p>
+ * <p>
+ * Protocol processors are passed the test deployment the archive is generated for. If there are protocol processors,
+ * the name, the target and the content of the application archive of the test deployment are part of the key as well.
+ * Protocol processors are expected to produce the same content for the same input.
+ * </p>
+ * <p>
+ * The cache is enabled with the {@code wildfly.arquillian.service.cache} system property, or when the service is kept
+ * deployed with the {@value ArquillianServiceDeployer#KEEP_DEPLOYED_PROPERTY} system property as the deployed content
+ * is only reused if the bytes are the same. The directory defaults to
+ * {@code wildfly-arquillian-service-cache} in the {@code java.io.tmpdir} and can be changed with the
+ * {@code wildfly.arquillian.service.cache.dir} system property. Entries which have not been used for a week are
+ * removed.
+ * </p>
+ */
+final class ServiceArchiveCache {
+    private static final Logger log = Logger.getLogger(ServiceArchiveCache.class);
+
+    static final String CACHE_PROPERTY = "wildfly.arquillian.service.cache";
+    static final String CACHE_DIR_PROPERTY = "wildfly.arquillian.service.cache.dir";
+    private static final String DEFAULT_CACHE_DIR = "wildfly-arquillian-service-cache";
+    // Increment if the layout of the generated archive changes in a way the digest does not cover
+    private static final int FORMAT_VERSION = 2;
+    private static final Duration MAX_AGE = Duration.ofDays(7);
+    private static final String SUFFIX = ".jar";
+
+    private final Path cacheDir;
+
+    ServiceArchiveCache(final Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Creates the cache if it has been enabled.
+     *
+     * @return the cache or {@code null} if the cache is not enabled
+     */
+    static ServiceArchiveCache create() {
+        if (!Boolean.getBoolean(CACHE_PROPERTY) && !Boolean.getBoolean(ArquillianServiceDeployer.KEEP_DEPLOYED_PROPERTY)) {
+            return null;
+        }
+        final String dir = System.getProperty(CACHE_DIR_PROPERTY);
+        return new ServiceArchiveCache(
+                dir == null ? Paths.get(System.getProperty("java.io.tmpdir"), DEFAULT_CACHE_DIR) : Paths.get(dir));
+    }
+
+    /**
+     * Computes the key for the service archive generated from the auxiliary archives of the test deployment and
+     * processed by the protocol processors.
+     *
+     * @param testDeployment     the test deployment the service archive is generated for
+     * @param protocolProcessors the protocol processors
+     * @param packagedClasses    the classes whose packages are added to the service archive
+     *
+     * @return the key
+     *
+     * @throws IOException if an error occurs reading the content
+     */
+    String key(final TestDeployment testDeployment, final Collection<ProtocolArchiveProcessor> protocolProcessors,
+            final Class<?>... packagedClasses) throws IOException {
+        final MessageDigest md = createDigest();
+        try (DigestOutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), md)) {
+            update(md, "format:" + FORMAT_VERSION);
+            for (Class<?> type : packagedClasses) {
+                updateCodeSource(md, type);
+            }
+            for (ProtocolArchiveProcessor processor : protocolProcessors) {
+                update(md, "processor:" + processor.getClass().getName());
+            }
+            if (!protocolProcessors.isEmpty()) {
+                // The output of the processors depends on the test deployment
+                update(md, "deployment:" + testDeployment.getDeploymentName());
+                final TargetDescription target = testDeployment.getTargetDescription();
+                update(md, "target:" + (target == null ? null : target.getName()));
+                updateArchive(md, out, "application", testDeployment.getApplicationArchive());
+            }
+            for (Archive<?> aux : testDeployment.getAuxiliaryArchives()) {
+                updateArchive(md, out, "archive", aux);
+            }
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    /**
+     * Returns the cached archive for the key.
+     *
+     * @param key the key of the archive
+     *
+     * @return the path to the cached archive or {@code null} if the archive has not been cached
+     */
+    Path get(final String key) {
+        final Path file = cacheDir.resolve(key + SUFFIX);
+        if (Files.isRegularFile(file)) {
+            try {
+                // The last modified time tracks the last time the archive was used
+                Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            } catch (IOException e) {
+                log.debugf(e, "Failed to update the last modified time of %s", file);
+            }
+            return file;
+        }
+        return null;
+    }
+
+    /**
+     * Exports the archive to the cache.
+     *
+     * @param key     the key of the archive
+     * @param archive the archive to cache
+     *
+     * @return the path to the cached archive
+     *
+     * @throws IOException if an error occurs writing the archive
+     */
+    Path put(final String key, final Archive<?> archive) throws IOException {
+        Files.createDirectories(cacheDir);
+        evict();
+        final Path file = cacheDir.resolve(key + SUFFIX);
+        final Path tmp = Files.createTempFile(cacheDir, key, ".tmp");
+        try {
+            archive.as(ZipExporter.class).exportTo(tmp.toFile(), true);
+            // Another process may have cached the same archive, the content is the same so replace it
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return file;
+    }
+
+    private void evict() {
+        final Instant expired = Instant.now().minus(MAX_AGE);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDir, "*" + SUFFIX)) {
+            for (Path file : stream) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(expired)) {
+                    log.debugf("Removing expired arquillian service %s", file);
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.debugf(e, "Failed to evict expired entries from %s", cacheDir);
+        }
+    }
+
+    private static void updateArchive(final MessageDigest md, final OutputStream out, final String type,
+            final Archive<?> archive) throws IOException {
+        update(md, type + ":" + archive.getName());
+        // Sort the content so the digest does not depend on the order the content was added in
+        final List<Map.Entry<ArchivePath, Node>> content = new ArrayList<>(archive.getContent().entrySet());
+        content.sort(Comparator.comparing(e -> e.getKey().get()));
+        for (Map.Entry<ArchivePath, Node> entry : content) {
+            update(md, "path:" + entry.getKey().get());
+            final Asset asset = entry.getValue().getAsset();
+            if (asset != null) {
+                try (InputStream in = asset.openStream()) {
+                    if (in != null) {
+                        in.transferTo(out);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void updateCodeSource(final MessageDigest md, final Class<?> type) throws IOException {
+        update(md, "class:" + type.getName());
+        final CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return;
+        }
+        final Path location;
+        try {
+            location = Paths.get(codeSource.getLocation().toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            update(md, codeSource.getLocation().toExternalForm());
+            return;
+        }
+        if (Files.isDirectory(location)) {
+            // Classes from a directory, for example from a build of the project, include the package content
+            final Path packageDir = location.resolve(type.getPackageName().replace('.', '/'));
+            if (Files.isDirectory(packageDir)) {
+                try (Stream<Path> files = Files.list(packageDir)) {
+                    final List<Path> sorted = files.sorted().toList();
+                    for (Path file : sorted) {
+                        updateFile(md, file);
+                    }
+                }
+            }
+        } else {
+            updateFile(md, location);
+        }
+    }
+
+    private static void updateFile(final MessageDigest md, final Path file) throws IOException {
+        final BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        update(md, file.toAbsolutePath() + ":" + attrs.size() + ":" + attrs.lastModifiedTime().toMillis());
+    }
+
+    private static void update(final MessageDigest md, final String value) {
+        md.update(value.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The test methods the test runner on the client has scheduled for each test class, in the order they are executed.
+ * The schedule is only known if the test runner reports it, see {@link TestPlanScheduleListener}. The test methods of
+ * a test class without a schedule are not batched.
+ */
+final class TestMethodSchedule {
+
+    private static final Map<String, List<String>> SCHEDULES = new ConcurrentHashMap<>();
+
+    private TestMethodSchedule() {
+    }
+
+    /**
+     * Sets the scheduled test methods of the test class.
+     *
+     * @param className   the name of the test class
+     * @param methodNames the names of the scheduled test methods in the order they are executed
+     */
+    static void schedule(final String className, final List<String> methodNames) {
+        SCHEDULES.put(className, List.copyOf(methodNames));
+    }
+
+    /**
+     * Removes the schedules of the test classes.
+     *
+     * @param classNames the names of the test classes
+     */
+    static void remove(final Collection<String> classNames) {
+        SCHEDULES.keySet().removeAll(classNames);
+    }
+
+    /**
+     * Returns the scheduled test methods of the test class starting with the test method.
+     *
+     * @param className  the name of the test class
+     * @param methodName the name of the test method
+     *
+     * @return the test method and the test methods scheduled after it or an empty list if the test method is not
+     *             scheduled
+     */
+    static List<String> from(final String className, final String methodName) {
+        final List<String> methodNames = SCHEDULES.getOrDefault(className, List.of());
+        final int index = methodNames.indexOf(methodName);
+        return index < 0 ? List.of() : methodNames.subList(index, methodNames.size());
+    }
+}
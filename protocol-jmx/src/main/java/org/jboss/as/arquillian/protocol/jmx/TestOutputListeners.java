@@ -0,0 +1,99 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.management.MBeanServerConnection;
+import javax.management.NotificationFilterSupport;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
+
+import org.jboss.as.arquillian.service.TestOutputMBean;
+import org.jboss.logging.Logger;
+
+/**
+ * The listeners printing the output of the tests streamed by the {@link TestOutputMBean}, at most one for each
+ * container. The listener of a container is removed before the container is stopped, see
+ * {@link ArquillianServiceDeployer}.
+ */
+class TestOutputListeners {
+    private static final Logger log = Logger.getLogger(TestOutputListeners.class);
+
+    private final Map<String, Registration> registrations = new HashMap<>();
+
+    /**
+     * Adds the listener for the output of the tests to the connection of the container if it has not already been
+     * added.
+     *
+     * @param containerName the name of the container
+     * @param connection    the connection to the container
+     */
+    synchronized void add(final String containerName, final MBeanServerConnection connection) {
+        final Registration current = registrations.get(containerName);
+        if (current != null) {
+            if (current.connection == connection) {
+                return;
+            }
+            // The container has been reconnected
+            current.remove();
+            registrations.remove(containerName);
+        }
+        try {
+            final ObjectName objectName = new ObjectName(TestOutputMBean.OBJECT_NAME);
+            NotificationListener listener = null;
+            if (connection.isRegistered(objectName)) {
+                final NotificationFilterSupport filter = new NotificationFilterSupport();
+                filter.enableType(TestOutputMBean.OUTPUT_NOTIFICATION);
+                listener = new TestOutputPrinter(System.out);
+                connection.addNotificationListener(objectName, listener, filter, null);
+            } else {
+                log.debugf("The %s MBean is not registered, the output of the tests will not be streamed", objectName);
+            }
+            // Also recorded without a listener so the MBean is only looked up once for each connection
+            registrations.put(containerName, new Registration(connection, objectName, listener));
+        } catch (Exception e) {
+            log.warnf(e, "Failed to register the listener for the output of the tests");
+        }
+    }
+
+    /**
+     * Removes the listener for the output of the tests from the container.
+     *
+     * @param containerName the name of the container
+     */
+    synchronized void remove(final String containerName) {
+        final Registration registration = registrations.remove(containerName);
+        if (registration != null) {
+            registration.remove();
+        }
+    }
+
+    private static class Registration {
+        private final MBeanServerConnection connection;
+        private final ObjectName objectName;
+        private final NotificationListener listener;
+
+        private Registration(final MBeanServerConnection connection, final ObjectName objectName,
+                final NotificationListener listener) {
+            this.connection = connection;
+            this.objectName = objectName;
+            this.listener = listener;
+        }
+
+        private void remove() {
+            if (listener == null) {
+                return;
+            }
+            try {
+                connection.removeNotificationListener(objectName, listener);
+            } catch (Exception e) {
+                // The connection may already be closed or the MBean unregistered
+                log.debugf(e, "Failed to remove the listener for the output of the tests");
+            }
+        }
+    }
+}
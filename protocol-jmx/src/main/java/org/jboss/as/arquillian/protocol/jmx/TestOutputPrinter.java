@@ -0,0 +1,37 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import java.io.PrintStream;
+
+import javax.management.Notification;
+import javax.management.NotificationListener;
+
+import org.jboss.as.arquillian.service.TestOutputMBean;
+
+/**
+ * Prints the output of in-container test methods streamed by the {@link TestOutputMBean}. Each line is prefixed with
+ * the name of the test which produced it.
+ */
+class TestOutputPrinter implements NotificationListener {
+
+    private final PrintStream out;
+
+    TestOutputPrinter(final PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void handleNotification(final Notification notification, final Object handback) {
+        if (notification.getUserData() instanceof String[] lines) {
+            final String prefix = "[" + notification.getMessage() + "] ";
+            synchronized (out) {
+                for (String line : lines) {
+                    out.println(prefix + line);
+                }
+            }
+        }
+    }
+}
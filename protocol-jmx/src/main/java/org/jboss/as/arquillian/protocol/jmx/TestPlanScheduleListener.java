@@ -0,0 +1,90 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Records the test methods of the {@link TestPlan} in the {@link TestMethodSchedule}. The test plan only contains the
+ * test methods which are left once the filters of the launcher have been applied and lists them in the order they are
+ * executed.
+ * <p>
+ * Only test methods without parameters are recorded. A test class which is part of the test plan more than once is not
+ * recorded at all.
+ * </p>
+ * <p>
+ * The batches of the test methods of a test class which have not been invoked, for example because the test class was
+ * aborted, are removed once the test class has finished. The schedules and the remaining batches are removed once the
+ * test plan has finished.
+ * </p>
+ */
+public class TestPlanScheduleListener implements TestExecutionListener {
+
+    private final Set<String> classNames = new HashSet<>();
+
+    @Override
+    public void testPlanExecutionStarted(final TestPlan testPlan) {
+        final Map<String, List<String>> schedules = new LinkedHashMap<>();
+        final Set<String> ambiguous = new HashSet<>();
+        for (TestIdentifier root : testPlan.getRoots()) {
+            collect(testPlan, root, schedules, ambiguous);
+        }
+        schedules.keySet().removeAll(ambiguous);
+        synchronized (classNames) {
+            schedules.forEach(TestMethodSchedule::schedule);
+            classNames.addAll(schedules.keySet());
+        }
+    }
+
+    @Override
+    public void executionFinished(final TestIdentifier testIdentifier, final TestExecutionResult testExecutionResult) {
+        if (testIdentifier.getSource().orElse(null) instanceof ClassSource source) {
+            BatchMethodExecutor.removeBatches(Set.of(source.getClassName()));
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(final TestPlan testPlan) {
+        synchronized (classNames) {
+            TestMethodSchedule.remove(classNames);
+            BatchMethodExecutor.removeBatches(classNames);
+            classNames.clear();
+        }
+    }
+
+    private static void collect(final TestPlan testPlan, final TestIdentifier parent,
+            final Map<String, List<String>> schedules, final Set<String> ambiguous) {
+        for (TestIdentifier child : testPlan.getChildren(parent)) {
+            if (!child.isContainer()) {
+                continue;
+            }
+            if (child.getSource().orElse(null) instanceof ClassSource source) {
+                final List<String> methodNames = new ArrayList<>();
+                for (TestIdentifier test : testPlan.getChildren(child)) {
+                    if (test.isTest() && test.getSource().orElse(null) instanceof MethodSource methodSource
+                            && methodSource.getMethodParameterTypes().isEmpty()) {
+                        methodNames.add(methodSource.getMethodName());
+                    }
+                }
+                if (schedules.putIfAbsent(source.getClassName(), methodNames) != null) {
+                    ambiguous.add(source.getClassName());
+                }
+            }
+            collect(testPlan, child, schedules, ambiguous);
+        }
+    }
+}
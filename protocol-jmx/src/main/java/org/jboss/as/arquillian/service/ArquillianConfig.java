@@ -5,8 +5,7 @@
 package org.jboss.as.arquillian.service;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -17,6 +16,7 @@ import org.jboss.arquillian.testenricher.msc.ServiceTargetAssociation;
 import org.jboss.as.arquillian.protocol.jmx.TestDescription;
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.logging.Logger;
 import org.jboss.modules.Module;
 import org.jboss.msc.Service;
 import org.jboss.msc.service.ServiceBuilder;
@@ -33,18 +33,27 @@ import org.jboss.msc.service.StopContext;
  * @author <a href="mailto:ropalka@redhat.com">Richard Opalka</a>
  */
 public final class ArquillianConfig implements Service {
+    private static final Logger log = Logger.getLogger("org.jboss.as.arquillian");
 
     private final List<ArquillianConfigServiceCustomizer> serviceCustomizers = new ArrayList<>();
     private final Supplier<ArquillianService> arquillianServiceSupplier;
     private final Supplier<DeploymentUnit> deploymentUnitSupplier;
     private final ServiceName serviceName;
     private final Map<String, TestClassInfo> testClasses;
+    private final Map<String, Map<String, Object>> setupProperties;
+    private volatile String deploymentName;
+    private volatile ContextManager contextManager;
 
     ArquillianConfig(final ServiceName serviceName, final Map<String, TestClassInfo> testClasses,
             final Supplier<ArquillianService> arquillianServiceSupplier,
             final Supplier<DeploymentUnit> deploymentUnitSupplier) {
         this.serviceName = serviceName;
         this.testClasses = Map.copyOf(testClasses);
+        final Map<String, Map<String, Object>> setupProperties = new HashMap<>();
+        for (String className : testClasses.keySet()) {
+            setupProperties.put(className, Map.of(ArquillianService.TEST_CLASS_PROPERTY, className));
+        }
+        this.setupProperties = Map.copyOf(setupProperties);
         this.arquillianServiceSupplier = arquillianServiceSupplier;
         this.deploymentUnitSupplier = deploymentUnitSupplier;
         for (ArquillianConfigServiceCustomizer customizer : ServiceLoader.load(ArquillianConfigServiceCustomizer.class)) {
@@ -66,6 +75,37 @@ public final class ArquillianConfig implements Service {
         return serviceName;
     }
 
+    /**
+     * Returns the context manager for the deployment. The context manager is created when this service is started.
+     *
+     * @return the context manager or {@code null} if the service has not been started or the context manager could
+     *             not be created, in which case the tests are run without the contexts
+     */
+    ContextManager getContextManager() {
+        return contextManager;
+    }
+
+    /**
+     * Returns the properties passed to the {@link ContextManager} when invoking a test on the test class.
+     *
+     * @param className the name of the test class
+     *
+     * @return the properties for the setup actions
+     */
+    Map<String, Object> getSetupProperties(final String className) {
+        final Map<String, Object> properties = setupProperties.get(className);
+        return properties == null ? Map.of(ArquillianService.TEST_CLASS_PROPERTY, className) : properties;
+    }
+
+    /**
+     * Returns the names of the test classes this config supports.
+     *
+     * @return the test class names
+     */
+    Set<String> getTestClassNames() {
+        return testClasses.keySet();
+    }
+
     /**
      * Gets whether this config supports the given test class.
      *
@@ -91,8 +131,11 @@ public final class ArquillianConfig implements Service {
      */
     boolean supports(String className, String methodName) {
         final TestClassInfo testClassInfo = testClasses.get(className);
-        return testClassInfo != null && (getDeploymentUnit().getName()
-                .equals(testClassInfo.testDescription.deploymentName())
+        String deploymentName = this.deploymentName;
+        if (deploymentName == null) {
+            deploymentName = getDeploymentUnit().getName();
+        }
+        return testClassInfo != null && (deploymentName.equals(testClassInfo.testDescription.deploymentName())
                 && testClassInfo.supportsMethod(methodName));
     }
 
@@ -112,6 +155,17 @@ public final class ArquillianConfig implements Service {
 
     @Override
     public void start(final StartContext context) {
+        // The name does not change for the lifetime of this service, resolve it once rather than for each lookup
+        deploymentName = getDeploymentUnit().getName();
+        // The setup actions are attached to the deployment unit before this service is started
+        try {
+            contextManager = new ContextManagerBuilder(this).addAll(getDeploymentUnit()).build();
+        } catch (Throwable t) {
+            // A failure must not fail the deployment, as before the tests are run without the contexts
+            log.warnf(t, "Failed to create the context manager for %s, the tests are run without the contexts",
+                    deploymentName);
+            contextManager = null;
+        }
         arquillianServiceSupplier.get().registerArquillianConfig(this);
         for (final String testClass : testClasses.keySet()) {
             ServiceTargetAssociation.setServiceTarget(testClass, context.getChildTarget());
@@ -143,13 +197,14 @@ public final class ArquillianConfig implements Service {
         TestClassInfo(final TestDescription testDescription) {
             this.allMethods = true;
             this.testDescription = testDescription;
-            this.methods = Collections.emptySet();
+            this.methods = Set.of();
         }
 
         TestClassInfo(final TestDescription testDescription, final Set<String> methods) {
             this.allMethods = false;
             this.testDescription = testDescription;
-            this.methods = new HashSet<>(methods);
+            // The resolved methods are already immutable, in which case no copy is made
+            this.methods = Set.copyOf(methods);
         }
 
         private boolean supportsMethod(final String methodName) {
@@ -6,6 +6,7 @@
 package org.jboss.as.arquillian.service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -21,6 +22,7 @@ import org.jboss.jandex.AnnotationInstance;
 import org.jboss.jandex.AnnotationTarget;
 import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.DotName;
+import org.jboss.jandex.MethodInfo;
 import org.jboss.logging.Logger;
 
 /**
@@ -100,6 +102,8 @@ class ArquillianConfigBuilder {
         // Get Test Class Names
         final Map<String, ArquillianConfig.TestClassInfo> testClasses = new LinkedHashMap<>();
         final TestDescription testDescription = TestDescription.from(deploymentUnit);
+        final MethodResolver methodResolver = new MethodResolver(compositeIndex,
+                testDescription.arquillianDeploymentName().orElse(null));
         // JUnit
         for (AnnotationInstance instance : runWithList) {
             final AnnotationTarget target = instance.target();
@@ -107,48 +111,60 @@ class ArquillianConfigBuilder {
                 final ClassInfo classInfo = (ClassInfo) target;
                 final String testClassName = classInfo.name().toString();
                 testClasses.put(testClassName,
-                        getTestMethods(compositeIndex, classInfo, testDescription));
+                        new ArquillianConfig.TestClassInfo(testDescription, methodResolver.resolve(classInfo)));
             }
         }
         // TestNG
         for (final ClassInfo classInfo : testNgTests) {
-            testClasses.put(classInfo.name().toString(), getTestMethods(compositeIndex, classInfo, testDescription));
+            testClasses.put(classInfo.name().toString(),
+                    new ArquillianConfig.TestClassInfo(testDescription, methodResolver.resolve(classInfo)));
         }
         deploymentUnit.putAttachment(CLASSES, testClasses);
     }
 
-    private static ArquillianConfig.TestClassInfo getTestMethods(final CompositeIndex compositeIndex, final ClassInfo classInfo,
-            final TestDescription testDescription) {
-        // Record all methods which can operate on this deployment.
-        final Set<String> methods = new HashSet<>();
-        final String deploymentName = testDescription.arquillianDeploymentName().orElse(null);
-        findAllMethods(compositeIndex, classInfo, deploymentName, methods);
-        return new ArquillianConfig.TestClassInfo(testDescription, Set.copyOf(methods));
-    }
-
-    private static void findAllMethods(final CompositeIndex compositeIndex, final ClassInfo classInfo,
-            final String deploymentName, final Set<String> methods) {
-        if (classInfo == null) {
-            return;
+    /**
+     * Resolves the names of the methods which can operate on the deployment for a class, including the methods of its
+     * super classes and interfaces. The methods of each class are only resolved once, so base classes shared by many
+     * test classes are not walked again for each test class.
+     */
+    static class MethodResolver {
+        private final CompositeIndex compositeIndex;
+        private final String deploymentName;
+        private final Map<DotName, Set<String>> resolved = new HashMap<>();
+
+        MethodResolver(final CompositeIndex compositeIndex, final String deploymentName) {
+            this.compositeIndex = compositeIndex;
+            this.deploymentName = deploymentName;
         }
-        classInfo.methods().forEach(methodInfo -> {
-            // If the @OperateOnDeployment method is present, it must match the test descriptions deployment
-            if (methodInfo.hasAnnotation(OPERATE_ON_DEPLOYMENT)) {
+
+        Set<String> resolve(final ClassInfo classInfo) {
+            if (classInfo == null) {
+                return Set.of();
+            }
+            final Set<String> cached = resolved.get(classInfo.name());
+            if (cached != null) {
+                return cached;
+            }
+            final Set<String> methods = new HashSet<>();
+            for (MethodInfo methodInfo : classInfo.methods()) {
+                // If the @OperateOnDeployment method is present, it must match the test descriptions deployment. If
+                // not present, we have to assume it's okay to run for this test description.
                 final AnnotationInstance annotation = methodInfo.annotation(OPERATE_ON_DEPLOYMENT);
-                if (annotation.value().asString().equals(deploymentName)) {
+                if (annotation == null || annotation.value().asString().equals(deploymentName)) {
                     methods.add(methodInfo.name());
                 }
-            } else {
-                // No @OperateOnDeployment annotation present on the method, we have to assume it's okay to run for
-                // this test description.
-                methods.add(methodInfo.name());
             }
-        });
-        if (classInfo.superName() != null && !classInfo.superName().toString().equals(Object.class.getName())) {
-            findAllMethods(compositeIndex, compositeIndex.getClassByName(classInfo.superName()), deploymentName, methods);
+            final DotName superName = classInfo.superName();
+            if (superName != null && !superName.toString().equals(Object.class.getName())) {
+                methods.addAll(resolve(compositeIndex.getClassByName(superName)));
+            }
+            // Interfaces can have default methods, we'll check those too
+            for (DotName name : classInfo.interfaceNames()) {
+                methods.addAll(resolve(compositeIndex.getClassByName(name)));
+            }
+            final Set<String> result = Set.copyOf(methods);
+            resolved.put(classInfo.name(), result);
+            return result;
         }
-        // Interfaces can have default methods, we'll check those too
-        classInfo.interfaceNames()
-                .forEach(name -> findAllMethods(compositeIndex, compositeIndex.getClassByName(name), deploymentName, methods));
     }
 }
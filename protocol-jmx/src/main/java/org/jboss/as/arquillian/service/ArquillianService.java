@@ -7,14 +7,35 @@ package org.jboss.as.arquillian.service;
 
 import static org.jboss.as.server.deployment.Services.JBOSS_DEPLOYMENT;
 
-import java.util.Collections;
-import java.util.HashSet;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import javax.management.MBeanServer;
+import javax.management.Notification;
+import javax.management.NotificationBroadcasterSupport;
+import javax.management.ObjectName;
+import javax.management.StandardEmitterMBean;
 
 import org.jboss.arquillian.container.test.spi.TestRunner;
 import org.jboss.arquillian.protocol.jmx.JMXTestRunner;
@@ -53,8 +74,15 @@ public class ArquillianService implements Service {
 
     private final Supplier<MBeanServer> mBeanServerSupplier;
     private final Consumer<ArquillianService> arquillianServiceConsumer;
-    private final Set<ArquillianConfig> deployedTests = new HashSet<>();
-    private volatile JMXTestRunner jmxTestRunner;
+    private final Set<ArquillianConfig> deployedTests = ConcurrentHashMap.newKeySet();
+    // The configs registered for each test class, entries are removed once the last config of a class is unregistered
+    private final Map<String, List<ArquillianConfig>> testClassIndex = new ConcurrentHashMap<>();
+    // The signals for threads waiting on a config of a test class, completed and removed once a config of the class is
+    // registered or unregistered
+    private final Map<String, CompletableFuture<Void>> registrationSignals = new ConcurrentHashMap<>();
+    private volatile ExtendedJMXTestRunner jmxTestRunner;
+    private volatile ExecutorService testExecutor;
+    private volatile TestOutputStreamer outputStreamer;
     private volatile LifecycleListener listener;
 
     private ArquillianService(final Supplier<MBeanServer> mBeanServerSupplier,
@@ -76,9 +104,20 @@ public class ArquillianService implements Service {
 
         arquillianServiceConsumer.accept(this);
         final MBeanServer mbeanServer = mBeanServerSupplier.get();
+        testExecutor = createTestExecutor();
         try {
             jmxTestRunner = new ExtendedJMXTestRunner(new ThreadLocal<>());
             jmxTestRunner.registerMBean(mbeanServer);
+            final ObjectName batchObjectName = new ObjectName(BatchTestRunnerMBean.OBJECT_NAME);
+            final BatchTestRunner batchTestRunner = new BatchTestRunner(batchObjectName);
+            mbeanServer.registerMBean(new StandardEmitterMBean(batchTestRunner, BatchTestRunnerMBean.class, batchTestRunner),
+                    batchObjectName);
+            final ObjectName outputObjectName = new ObjectName(TestOutputMBean.OBJECT_NAME);
+            final TestOutputStreamer outputStreamer = new TestOutputStreamer(outputObjectName);
+            mbeanServer.registerMBean(new StandardEmitterMBean(outputStreamer, TestOutputMBean.class, outputStreamer),
+                    outputObjectName);
+            outputStreamer.start();
+            this.outputStreamer = outputStreamer;
         } catch (Throwable t) {
             throw new StartException("Failed to start Arquillian Test Runner", t);
         }
@@ -94,25 +133,78 @@ public class ArquillianService implements Service {
             if (jmxTestRunner != null) {
                 jmxTestRunner.unregisterMBean(mBeanServerSupplier.get());
             }
+            final ObjectName batchObjectName = new ObjectName(BatchTestRunnerMBean.OBJECT_NAME);
+            if (mBeanServerSupplier.get().isRegistered(batchObjectName)) {
+                mBeanServerSupplier.get().unregisterMBean(batchObjectName);
+            }
+            if (outputStreamer != null) {
+                outputStreamer.stop();
+                outputStreamer = null;
+            }
+            final ObjectName outputObjectName = new ObjectName(TestOutputMBean.OBJECT_NAME);
+            if (mBeanServerSupplier.get().isRegistered(outputObjectName)) {
+                mBeanServerSupplier.get().unregisterMBean(outputObjectName);
+            }
         } catch (Exception ex) {
             log.errorf(ex, "Cannot stop Arquillian Test Runner");
         }
 
         context.getController().getServiceContainer().removeListener(listener);
+        if (testExecutor != null) {
+            testExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Creates the executor for test methods which are run concurrently. Each test method is run on a new virtual thread
+     * if the JVM supports virtual threads.
+     *
+     * @return the executor
+     */
+    private static ExecutorService createTestExecutor() {
+        try {
+            // Virtual threads are only available on Java 21 or later
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ignore) {
+        }
+        final AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            final Thread thread = new Thread(task, "arquillian-test-runner-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     void registerArquillianConfig(final ArquillianConfig arqConfig) {
-        synchronized (deployedTests) {
-            log.debugf("Register Arquillian config: %s", arqConfig.getServiceName());
-            deployedTests.add(arqConfig);
-            deployedTests.notifyAll();
+        log.debugf("Register Arquillian config: %s", arqConfig.getServiceName());
+        deployedTests.add(arqConfig);
+        for (String className : arqConfig.getTestClassNames()) {
+            testClassIndex.compute(className, (ignore, configs) -> {
+                final List<ArquillianConfig> result = configs == null ? new CopyOnWriteArrayList<>() : configs;
+                result.add(arqConfig);
+                return result;
+            });
+            signalRegistration(className);
         }
     }
 
     void unregisterArquillianConfig(final ArquillianConfig arqConfig) {
-        synchronized (deployedTests) {
-            log.debugf("Unregister Arquillian config: %s", arqConfig.getServiceName());
-            deployedTests.remove(arqConfig);
+        log.debugf("Unregister Arquillian config: %s", arqConfig.getServiceName());
+        deployedTests.remove(arqConfig);
+        for (String className : arqConfig.getTestClassNames()) {
+            testClassIndex.computeIfPresent(className, (ignore, configs) -> {
+                configs.remove(arqConfig);
+                return configs.isEmpty() ? null : configs;
+            });
+            // Wakes up threads waiting on the class, they check the configs again and wait on a new signal
+            signalRegistration(className);
+        }
+    }
+
+    private void signalRegistration(final String className) {
+        final CompletableFuture<Void> signal = registrationSignals.remove(className);
+        if (signal != null) {
+            signal.complete(null);
         }
     }
 
@@ -121,13 +213,18 @@ public class ArquillianService implements Service {
     }
 
     private ArquillianConfig getArquillianConfig(final String className, String methodName, final long timeout) {
-        synchronized (deployedTests) {
-            if (methodName == null && deployedTests.size() > 1) {
-                log.warn(
-                        "An attempt was made to lookup an Arquillian configuration with more than one deployed test. This may result in unexpected behavior.");
-            }
-            log.debugf("Getting Arquillian config for: %s", className);
-            for (ArquillianConfig arqConfig : deployedTests) {
+        if (methodName == null && deployedTests.size() > 1) {
+            log.warn(
+                    "An attempt was made to lookup an Arquillian configuration with more than one deployed test. This may result in unexpected behavior.");
+        }
+        log.debugf("Getting Arquillian config for: %s", className);
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        while (true) {
+            // Get the signal before checking the configs so a registration which happens in between is not missed
+            final CompletableFuture<Void> signal = registrationSignals.computeIfAbsent(className,
+                    ignore -> new CompletableFuture<>());
+            final List<ArquillianConfig> configs = testClassIndex.getOrDefault(className, List.of());
+            for (ArquillianConfig arqConfig : configs) {
                 // A test class with methods annotated with @OperateOnDeployment may be packaged in multiple
                 // deployments and thus multiple ArquillianConfig instances that recognize that class name
                 // may be present. But different configs will support different test methods.
@@ -140,30 +237,36 @@ public class ArquillianService implements Service {
                 //
                 // For other calls, the target method is available, so we should find the config that supports
                 // that specific method.
-                boolean supports = methodName == null ? arqConfig.supports(className)
-                        : arqConfig.supports(className, methodName);
+                boolean supports = methodName == null || arqConfig.supports(className, methodName);
                 if (supports) {
                     log.debugf("Found Arquillian config for class %s and method %s", className, methodName);
                     return arqConfig;
                 }
             }
 
-            if (timeout <= 0) {
+            final long remaining = deadline - System.nanoTime();
+            if (timeout <= 0 || remaining <= 0) {
                 throw new IllegalStateException("Cannot obtain Arquillian config for: " + className);
             }
 
             try {
                 log.debugf("Waiting on Arquillian config for: %s", className);
-                deployedTests.wait(timeout);
+                signal.get(remaining, TimeUnit.NANOSECONDS);
             } catch (InterruptedException e) {
-                // ignore
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting on Arquillian config for: " + className, e);
+            } catch (ExecutionException | TimeoutException ignore) {
+                // Check the configs once more before failing
             }
         }
-        return getArquillianConfig(className, methodName, -1);
     }
 
     private class ExtendedJMXTestRunner extends JMXTestRunner {
+        // The config of the invocation on the current thread. Concurrent invocations, including test methods dispatched
+        // to the test executor, each run on their own thread and the value is removed once the invocation completes.
         private final ThreadLocal<ArquillianConfig> configHolder;
+        // The full result of a test method when the compact encoding was requested, see doRunTestMethod()
+        private final ThreadLocal<TestResult> resultHolder = new ThreadLocal<>();
 
         ExtendedJMXTestRunner(final ThreadLocal<ArquillianConfig> configHolder) {
             super(new ExtendedTestClassLoader(configHolder));
@@ -174,30 +277,194 @@ public class ArquillianService implements Service {
         public byte[] runTestMethod(final String className, final String methodName, Map<String, String> protocolProps) {
             // Setup the ContextManager
             final ArquillianConfig config = getArquillianConfig(className, methodName, 30000L);
-            Map<String, Object> properties = Collections.singletonMap(TEST_CLASS_PROPERTY, className);
-            ContextManager contextManager = setupContextManager(config, properties);
-            try {
-                configHolder.set(config);
-                ClassLoader runWithClassLoader = ClassLoader.getSystemClassLoader();
-                if (Boolean.parseBoolean(protocolProps.get(ExtendedJMXProtocolConfiguration.PROPERTY_ENABLE_TCCL))) {
-                    DeploymentUnit depUnit = config.getDeploymentUnit();
-                    Module module = depUnit.getAttachment(Attachments.MODULE);
-                    if (module != null) {
-                        runWithClassLoader = module.getClassLoader();
-                    }
+            final Map<String, Object> properties = config.getSetupProperties(className);
+            try (TestOutputStreamer.Capture ignored = captureOutput(config, className, methodName, protocolProps)) {
+                final ContextManager contextManager;
+                try {
+                    contextManager = setupContextManager(config, properties);
+                } catch (RuntimeException e) {
+                    return toByteArray(TestResult.failed(e));
                 }
-                ClassLoader tccl = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(runWithClassLoader);
                 try {
-                    return super.runTestMethod(className, methodName, protocolProps);
+                    configHolder.set(config);
+                    ClassLoader tccl = WildFlySecurityManager
+                            .setCurrentContextClassLoaderPrivileged(getRunWithClassLoader(config, protocolProps));
+                    try {
+                        return super.runTestMethod(className, methodName, protocolProps);
+                    } finally {
+                        WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(tccl);
+                    }
                 } finally {
-                    WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(tccl);
+                    configHolder.remove();
+                    if (contextManager != null) {
+                        contextManager.teardown(properties);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Sets up the contexts of the deployment. If the deployment has no context manager, the test is run without the
+         * contexts.
+         *
+         * @param config     the config of the deployment
+         * @param properties the properties for the setup actions
+         *
+         * @return the context manager which has been set up or {@code null} if the deployment has no context manager
+         *
+         * @throws RuntimeException if a setup action failed, the test must not be run
+         */
+        private ContextManager setupContextManager(final ArquillianConfig config, final Map<String, Object> properties) {
+            final ContextManager contextManager = config.getContextManager();
+            if (contextManager == null) {
+                return null;
+            }
+            try {
+                contextManager.setup(properties);
+                return contextManager;
+            } catch (RuntimeException e) {
+                // The setup actions which did complete have been torn down by the context manager
+                log.warnf(e, "Failed to set up the contexts for %s", config.getServiceName());
+                throw e;
+            }
+        }
+
+        /**
+         * Runs the test methods of a test class in a single invocation. The config is only looked up, and the contexts
+         * only set up, again if a test method operates on a different deployment than the previous one.
+         * <p>
+         * The results of a batch are encoded with a {@linkplain TestResultCodec#forBatch() codec for the batch}, so
+         * the names and frames of the stack traces are only sent once for the whole batch.
+         * </p>
+         *
+         * @param className      the name of the test class
+         * @param methodNames    the test methods to run
+         * @param protocolProps  the protocol properties
+         * @param resultConsumer a consumer invoked with the method name and encoded result when a test method has
+         *                           completed
+         *
+         * @return the number of test methods which have been run
+         */
+        int runTestMethods(final String className, final String[] methodNames, final Map<String, String> protocolProps,
+                final BiConsumer<String, byte[]> resultConsumer) {
+            if (Boolean.parseBoolean(protocolProps.get(ExtendedJMXProtocolConfiguration.PROPERTY_CONCURRENT_INVOCATION))) {
+                return runTestMethodsConcurrently(className, methodNames, protocolProps, resultConsumer);
+            }
+            final TestResultCodec batchCodec = TestResultCodec.forBatch();
+            int run = 0;
+            final ClassLoader tccl = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+            ArquillianConfig current = null;
+            ContextManager contextManager = null;
+            Map<String, Object> properties = null;
+            try {
+                for (int i = 0; i < methodNames.length; i++) {
+                    final String methodName = methodNames[i];
+                    byte[] result;
+                    try {
+                        final ArquillianConfig config = getArquillianConfig(className, methodName, 30000L);
+                        if (config != current) {
+                            // Switch the contexts, for example when the methods operate on different deployments
+                            current = null;
+                            if (contextManager != null) {
+                                final ContextManager previous = contextManager;
+                                contextManager = null;
+                                previous.teardown(properties);
+                            }
+                            properties = config.getSetupProperties(className);
+                            contextManager = setupContextManager(config, properties);
+                            current = config;
+                            configHolder.set(config);
+                            WildFlySecurityManager
+                                    .setCurrentContextClassLoaderPrivileged(getRunWithClassLoader(config, protocolProps));
+                        }
+                        try (TestOutputStreamer.Capture ignored = captureOutput(config, className, methodName,
+                                protocolProps)) {
+                            result = encode(super.runTestMethod(className, methodName, protocolProps), protocolProps,
+                                    batchCodec);
+                        }
+                    } catch (Throwable t) {
+                        log.errorf(t, "Failed to run %s.%s", className, methodName);
+                        resultHolder.remove();
+                        result = encode(TestResult.failed(t), protocolProps, batchCodec);
+                    }
+                    resultConsumer.accept(methodName, result);
+                    run++;
                 }
             } finally {
                 configHolder.remove();
+                WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(tccl);
                 if (contextManager != null) {
                     contextManager.teardown(properties);
                 }
             }
+            return run;
+        }
+
+        /**
+         * Runs each test method on its own thread. Every invocation sets up its own contexts and TCCL in
+         * {@link #runTestMethod(String, String, Map)}, so the test methods do not share any state. At most
+         * {@link #getMaxConcurrentInvocations(Map)} test methods are run at the same time.
+         */
+        private int runTestMethodsConcurrently(final String className, final String[] methodNames,
+                final Map<String, String> protocolProps, final BiConsumer<String, byte[]> resultConsumer) {
+            final Semaphore permits = new Semaphore(getMaxConcurrentInvocations(protocolProps));
+            final TestResultCodec batchCodec = TestResultCodec.forBatch();
+            final CompletableFuture<?>[] futures = new CompletableFuture<?>[methodNames.length];
+            // Read once, the executor is replaced when the service is restarted
+            final ExecutorService executor = testExecutor;
+            for (int i = 0; i < methodNames.length; i++) {
+                final String methodName = methodNames[i];
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    // Let the running test methods complete, the remaining test methods are not run
+                    CompletableFuture.allOf(Arrays.copyOf(futures, i)).join();
+                    return i;
+                }
+                final Runnable task = () -> {
+                    byte[] serialized = null;
+                    Throwable failure = null;
+                    try {
+                        serialized = runTestMethod(className, methodName, protocolProps);
+                    } catch (Throwable t) {
+                        log.errorf(t, "Failed to run %s.%s", className, methodName);
+                        resultHolder.remove();
+                        failure = t;
+                    }
+                    // The results reference the tables of the previous results, they are sent in the encoded order
+                    synchronized (batchCodec) {
+                        final byte[] result = failure == null ? encode(serialized, protocolProps, batchCodec)
+                                : encode(TestResult.failed(failure), protocolProps, batchCodec);
+                        resultConsumer.accept(methodName, result);
+                    }
+                };
+                try {
+                    futures[i] = CompletableFuture.runAsync(task, executor).whenComplete((ignore, error) -> permits.release());
+                } catch (RejectedExecutionException e) {
+                    // The service is stopping, the client invokes the remaining test methods individually
+                    log.debugf(e, "Failed to run %s.%s, the test executor has been shut down", className, methodName);
+                    permits.release();
+                    CompletableFuture.allOf(Arrays.copyOf(futures, i)).join();
+                    return i;
+                }
+            }
+            CompletableFuture.allOf(futures).join();
+            return methodNames.length;
+        }
+
+        private int getMaxConcurrentInvocations(final Map<String, String> protocolProps) {
+            final String value = protocolProps.get(ExtendedJMXProtocolConfiguration.PROPERTY_MAX_CONCURRENT_INVOCATIONS);
+            int max = 0;
+            if (value != null) {
+                try {
+                    max = Integer.parseInt(value.trim());
+                } catch (NumberFormatException e) {
+                    log.warnf("Invalid value %s for %s, using the number of available processors", value,
+                            ExtendedJMXProtocolConfiguration.PROPERTY_MAX_CONCURRENT_INVOCATIONS);
+                }
+            }
+            return max > 0 ? max : Runtime.getRuntime().availableProcessors();
         }
 
         @Override
@@ -210,30 +477,112 @@ public class ArquillianService implements Service {
                 if (config == null) {
                     config = getArquillianConfig(testClass.getName(), methodName, 30000L);
                 }
-                DeploymentUnit depUnit = config.getDeploymentUnit();
-                Module module = depUnit.getAttachment(Attachments.MODULE);
-                if (module != null) {
-                    runWithClassLoader = module.getClassLoader();
-                }
+                runWithClassLoader = getRunWithClassLoader(config, protocolProps);
             }
             ClassLoader tccl = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(runWithClassLoader);
+            final TestResult result;
             try {
-                return super.doRunTestMethod(runner, testClass, methodName, protocolProps);
+                result = super.doRunTestMethod(runner, testClass, methodName, protocolProps);
             } finally {
                 WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(tccl);
             }
+            if (isCompactEncoding(protocolProps)) {
+                // The full result is encoded by the caller, the JMXTestRunner only needs to serialize the status
+                resultHolder.set(result);
+                final TestResult placeholder = new TestResult();
+                placeholder.setStatus(result.getStatus());
+                placeholder.setStart(result.getStart());
+                placeholder.setEnd(result.getEnd());
+                return placeholder;
+            }
+            return result;
         }
 
-        private ContextManager setupContextManager(final ArquillianConfig config, final Map<String, Object> properties) {
-            try {
-                final DeploymentUnit depUnit = config.getDeploymentUnit();
-                final ContextManagerBuilder builder = new ContextManagerBuilder(config).addAll(depUnit);
-                ContextManager contextManager = builder.build();
-                contextManager.setup(properties);
-                return contextManager;
-            } catch (Throwable t) {
+        /**
+         * Returns the result of the test method in the encoding requested by the client. If the full result was not
+         * recorded, the serialized result is returned as is.
+         */
+        private byte[] encode(final byte[] serialized, final Map<String, String> protocolProps,
+                final TestResultCodec codec) {
+            final TestResult result = resultHolder.get();
+            if (result == null) {
+                return serialized;
+            }
+            resultHolder.remove();
+            return encode(result, protocolProps, codec);
+        }
+
+        private byte[] encode(final TestResult result, final Map<String, String> protocolProps,
+                final TestResultCodec codec) {
+            if (isCompactEncoding(protocolProps)) {
+                try {
+                    return codec.encode(result);
+                } catch (Exception e) {
+                    log.debugf(e, "Failed to encode %s, falling back to Java serialization", result);
+                }
+            }
+            return toByteArray(result);
+        }
+
+        private boolean isCompactEncoding(final Map<String, String> protocolProps) {
+            return TestResultCodec.COMPACT_ENCODING.equals(protocolProps.get(BatchTestRunnerMBean.PROPERTY_RESULT_ENCODING));
+        }
+
+        /**
+         * Starts capturing the output of the test method if the client requested the output to be streamed.
+         *
+         * @return the capture or {@code null} if the output should not be captured
+         */
+        private TestOutputStreamer.Capture captureOutput(final ArquillianConfig config, final String className,
+                final String methodName, final Map<String, String> protocolProps) {
+            final TestOutputStreamer outputStreamer = ArquillianService.this.outputStreamer;
+            if (outputStreamer == null
+                    || !Boolean.parseBoolean(protocolProps.get(ExtendedJMXProtocolConfiguration.PROPERTY_STREAM_OUTPUT))) {
                 return null;
             }
+            final Module module = config.getDeploymentUnit().getAttachment(Attachments.MODULE);
+            return outputStreamer.capture(className + "." + methodName, module == null ? null : module.getClassLoader());
+        }
+
+        private ClassLoader getRunWithClassLoader(final ArquillianConfig config, final Map<String, String> protocolProps) {
+            if (Boolean.parseBoolean(protocolProps.get(ExtendedJMXProtocolConfiguration.PROPERTY_ENABLE_TCCL))) {
+                DeploymentUnit depUnit = config.getDeploymentUnit();
+                Module module = depUnit.getAttachment(Attachments.MODULE);
+                if (module != null) {
+                    return module.getClassLoader();
+                }
+            }
+            return ClassLoader.getSystemClassLoader();
+        }
+
+        private byte[] toByteArray(final TestResult result) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+                oos.writeObject(result);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to serialize " + result, e);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private class BatchTestRunner extends NotificationBroadcasterSupport implements BatchTestRunnerMBean {
+        private final ObjectName objectName;
+        private final AtomicLong sequence = new AtomicLong();
+
+        private BatchTestRunner(final ObjectName objectName) {
+            this.objectName = objectName;
+        }
+
+        @Override
+        public int runTestMethods(final String batchId, final String className, final String[] methodNames,
+                final Map<String, String> protocolProps) {
+            return jmxTestRunner.runTestMethods(className, methodNames, protocolProps, (methodName, result) -> {
+                final Notification notification = new Notification(RESULT_NOTIFICATION, objectName,
+                        sequence.incrementAndGet(), batchId);
+                notification.setUserData(new Object[] { methodName, result });
+                sendNotification(notification);
+            });
         }
     }
 
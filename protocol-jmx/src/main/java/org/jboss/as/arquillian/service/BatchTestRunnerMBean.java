@@ -0,0 +1,53 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.service;
+
+import java.util.Map;
+
+/**
+ * An MBean which runs several in-container test methods of a test class in a single invocation.
+ * <p>
+ * The result of each test method is sent as a {@link javax.management.Notification} of the type
+ * {@link #RESULT_NOTIFICATION} as soon as the test method has completed. The message of the notification is the batch
+ * id passed to {@link #runTestMethods(String, String, String[], Map)} and the user data is an {@code Object[]} with the
+ * method name and the encoded {@link org.jboss.arquillian.test.spi.TestResult}. The results are only sent as
+ * notifications, the invocation itself only acknowledges how many test methods have been run.
+ * </p>
+ * <p>
+ * The results are Java serialized unless the client requests the {@linkplain TestResultCodec#COMPACT_ENCODING compact
+ * encoding} with the {@link #PROPERTY_RESULT_ENCODING} protocol property. Either format can be decoded with the
+ * {@link TestResultCodec}.
+ * </p>
+ */
+public interface BatchTestRunnerMBean {
+
+    /**
+     * The object name the MBean is registered with.
+     */
+    String OBJECT_NAME = "jboss.arquillian:service=jmx-test-runner,type=batch";
+
+    /**
+     * The type of the notification sent for each test method result.
+     */
+    String RESULT_NOTIFICATION = "org.jboss.as.arquillian.batch.result";
+
+    /**
+     * The protocol property used to request the encoding of the test results.
+     */
+    String PROPERTY_RESULT_ENCODING = "org.jboss.as.arquillian.resultEncoding";
+
+    /**
+     * Runs the test methods of the test class in the order given.
+     *
+     * @param batchId       the id used as the message of the result notifications
+     * @param className     the name of the test class
+     * @param methodNames   the names of the test methods to run
+     * @param protocolProps the protocol properties
+     *
+     * @return the number of test methods which have been run, the test methods are run in order so the remaining test
+     *             methods have not been run
+     */
+    int runTestMethods(String batchId, String className, String[] methodNames, Map<String, String> protocolProps);
+}
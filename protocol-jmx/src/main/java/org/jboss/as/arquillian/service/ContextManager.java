@@ -4,23 +4,26 @@
  */
 package org.jboss.as.arquillian.service;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
-import org.jboss.as.server.deployment.Attachments;
-import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.SetupAction;
-import org.jboss.modules.Module;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Sets up and tears down a set of contexts, represented by a list of {@link SetupAction}s. If {@link #setup(java.util.Map)}
  * completes
  * successfully then {@link #teardown(java.util.Map)} must be called.
+ * <p>
+ * The actions are sorted once when the context manager is created. The same context manager can be used for any number of
+ * invocations, including concurrent invocations. The contexts are bound to the invoking thread, but a {@link SetupAction}
+ * is not required to be thread-safe, so the calls to the actions are serialized. Only setting up and tearing down the
+ * contexts is serialized, not the invocations running within the contexts.
+ * </p>
  *
  * @author Stuart Douglas
  * @author <a href="mailto:alr@jboss.org">Andrew Lee Rubinger</a>
@@ -28,20 +31,16 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  */
 public class ContextManager {
 
-    private final List<SetupAction> setupActions;
-    private final ArquillianConfig config;
+    private final SetupAction[] setupActions;
+    private final ClassLoader classLoader;
+    private final Lock lock = new ReentrantLock();
 
-    ContextManager(final ArquillianConfig config, final List<SetupAction> setupActions) {
-        this.config = config;
-        final List<SetupAction> actions = new ArrayList<SetupAction>(setupActions);
-        Collections.sort(actions, new Comparator<SetupAction>() {
-
-            @Override
-            public int compare(final SetupAction arg0, final SetupAction arg1) {
-                return arg0.priority() > arg1.priority() ? -1 : arg0.priority() == arg1.priority() ? 0 : 1;
-            }
-        });
-        this.setupActions = Collections.unmodifiableList(actions);
+    ContextManager(final ClassLoader classLoader, final List<SetupAction> setupActions) {
+        final SetupAction[] actions = setupActions.toArray(new SetupAction[0]);
+        // Highest priority first, the sort is stable so actions with the same priority keep the order they were added in
+        Arrays.sort(actions, Comparator.comparingInt(SetupAction::priority).reversed());
+        this.setupActions = actions;
+        this.classLoader = classLoader;
     }
 
     /**
@@ -49,19 +48,18 @@ public class ContextManager {
      * wrapped and thrown
      */
     public void setup(final Map<String, Object> properties) {
-        final List<SetupAction> successfulActions = new ArrayList<SetupAction>();
-        final DeploymentUnit depUnit = config.getDeploymentUnit();
-        final Module module = depUnit.getAttachment(Attachments.MODULE);
-        ClassLoader tccl = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(module.getClassLoader());
+        final SetupAction[] actions = setupActions;
+        ClassLoader tccl = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(classLoader);
+        lock.lock();
         try {
-            for (final SetupAction action : setupActions) {
+            for (int i = 0; i < actions.length; i++) {
                 try {
-                    action.setup(properties);
-                    successfulActions.add(action);
+                    actions[i].setup(properties);
                 } catch (final Throwable e) {
-                    for (SetupAction s : successfulActions) {
+                    // Tear down the actions which were successfully set up
+                    for (int j = i - 1; j >= 0; j--) {
                         try {
-                            s.teardown(properties);
+                            actions[j].teardown(properties);
                         } catch (final Throwable t) {
                             // we ignore these, and just propagate the exception that caused the setup to fail
                         }
@@ -70,6 +68,7 @@ public class ContextManager {
                 }
             }
         } finally {
+            lock.unlock();
             WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(tccl);
         }
     }
@@ -85,15 +84,13 @@ public class ContextManager {
      */
     public void teardown(final Map<String, Object> properties) {
         Throwable exceptionToThrow = null;
-        final ListIterator<SetupAction> itr = setupActions.listIterator(setupActions.size());
-        final DeploymentUnit depUnit = config.getDeploymentUnit();
-        final Module module = depUnit.getAttachment(Attachments.MODULE);
-        ClassLoader tccl = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(module.getClassLoader());
+        final SetupAction[] actions = setupActions;
+        ClassLoader tccl = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(classLoader);
+        lock.lock();
         try {
-            while (itr.hasPrevious()) {
-                final SetupAction action = itr.previous();
+            for (int i = actions.length - 1; i >= 0; i--) {
                 try {
-                    action.teardown(properties);
+                    actions[i].teardown(properties);
                 } catch (Throwable e) {
                     if (exceptionToThrow == null) {
                         exceptionToThrow = e;
@@ -104,6 +101,7 @@ public class ContextManager {
                 throw new RuntimeException(exceptionToThrow);
             }
         } finally {
+            lock.unlock();
             WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(tccl);
         }
     }
@@ -10,6 +10,7 @@ import java.util.List;
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.SetupAction;
+import org.jboss.modules.Module;
 
 /**
  * Builds a {@link ContextManager}
@@ -47,7 +48,8 @@ public class ContextManagerBuilder {
     }
 
     public ContextManager build() {
-        return new ContextManager(config, setupActions);
+        final Module module = config.getDeploymentUnit().getAttachment(Attachments.MODULE);
+        return new ContextManager(module.getClassLoader(), setupActions);
     }
 
 }
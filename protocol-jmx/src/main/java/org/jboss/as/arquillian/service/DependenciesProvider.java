@@ -10,12 +10,22 @@ import org.jboss.modules.ModuleIdentifier;
 
 /**
  * Implemented by a {@link org.jboss.arquillian.container.test.spi.RemoteLoadableExtension} to provide additional dependencies.
+ * <p>
+ * The dependencies can also be declared without implementing this interface in a {@link #DESCRIPTOR} file of the
+ * auxiliary archive, one module name per line. Lines starting with {@code #} are ignored. Extensions which implement this
+ * interface are detected by reading their class files and only those extensions are instantiated on the client.
+ * </p>
  *
  * @author Thomas.Diesler@jboss.com
  * @since 19-May-2013
  */
 public interface DependenciesProvider {
 
+    /**
+     * The path of the descriptor declaring the module dependencies of an auxiliary archive.
+     */
+    String DESCRIPTOR = "META-INF/wildfly-arquillian/module-dependencies";
+
     /** The set of extension dependencies */
     Set<ModuleIdentifier> getDependencies();
 }
\ No newline at end of file
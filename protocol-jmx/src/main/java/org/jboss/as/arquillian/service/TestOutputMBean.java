@@ -0,0 +1,40 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.service;
+
+/**
+ * An MBean which streams the output of running in-container test methods to the client.
+ * <p>
+ * While a test method runs, the log records published on the thread of the invocation, which includes anything written
+ * to {@link System#out} and {@link System#err}, and the log records published with the class loader of the deployment
+ * as the TCCL are buffered. The latter are only captured while no other test method of the deployment is running. The
+ * buffered lines are periodically, and once the test method has completed, sent as notifications of the type
+ * {@link #OUTPUT_NOTIFICATION}. The message of the notification is the test, in the form of
+ * {@code className.methodName}, and the user data is a {@code String[]} of the lines.
+ * </p>
+ * <p>
+ * The buffer is bounded. If the output is produced faster than it can be sent, lines are dropped rather than blocking
+ * the test and the number of dropped lines is reported in the output.
+ * </p>
+ */
+public interface TestOutputMBean {
+
+    /**
+     * The object name the MBean is registered with.
+     */
+    String OBJECT_NAME = "jboss.arquillian:service=jmx-test-runner,type=output";
+
+    /**
+     * The type of the notification sent with the buffered output lines.
+     */
+    String OUTPUT_NOTIFICATION = "org.jboss.as.arquillian.output";
+
+    /**
+     * Returns the total number of lines which were dropped because the buffer was full.
+     *
+     * @return the number of dropped lines
+     */
+    long getDroppedLines();
+}
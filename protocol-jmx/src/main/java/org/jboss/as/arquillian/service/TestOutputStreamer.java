@@ -0,0 +1,270 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.service;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+import javax.management.Notification;
+import javax.management.NotificationBroadcasterSupport;
+import javax.management.ObjectName;
+
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Captures the output of running test methods and sends it to the client as notifications. See {@link TestOutputMBean}
+ * for details.
+ * <p>
+ * Captured lines are added to a lock-free queue of the capture. The total number of buffered characters is bounded,
+ * lines which do not fit are dropped so a test writing a lot of output cannot exhaust the heap of the server. The
+ * remaining lines of a capture are sent when it is closed, before the result of the test method is returned.
+ * </p>
+ * <p>
+ * Log records published on other threads are only captured by the class loader of the deployment if a single test
+ * method of the deployment is running, as the test method which produced them is otherwise not known.
+ * </p>
+ */
+final class TestOutputStreamer extends NotificationBroadcasterSupport implements TestOutputMBean {
+
+    private static final long MAX_BUFFERED_CHARS = 1024L * 1024L;
+    private static final int MAX_LINE_LENGTH = 8192;
+    private static final int MAX_LINES_PER_NOTIFICATION = 512;
+    private static final long FLUSH_INTERVAL_MILLIS = 200L;
+
+    private static final Formatter FORMATTER = new SimpleFormatter();
+    // Log records of the JBoss Log Manager may use printf style messages which the JUL formatter does not support
+    private static final ClassValue<Method> FORMATTED_MESSAGE = new ClassValue<>() {
+        @Override
+        protected Method computeValue(final Class<?> type) {
+            try {
+                return type.getMethod("getFormattedMessage");
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    private final ObjectName objectName;
+    private final Set<Capture> captures = ConcurrentHashMap.newKeySet();
+    private final AtomicLong bufferedChars = new AtomicLong();
+    private final AtomicLong droppedLines = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Thread, Capture> threadCaptures = new ConcurrentHashMap<>();
+    private final Map<ClassLoader, List<Capture>> classLoaderCaptures = new ConcurrentHashMap<>();
+    private final Handler handler = new CaptureHandler();
+    private volatile ScheduledExecutorService flusher;
+
+    TestOutputStreamer(final ObjectName objectName) {
+        this.objectName = objectName;
+    }
+
+    @Override
+    public long getDroppedLines() {
+        return droppedLines.get();
+    }
+
+    /**
+     * Starts sending the captured output and installs the handler capturing the log records.
+     */
+    void start() {
+        final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+            final Thread thread = new Thread(task, "arquillian-test-output");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        this.flusher = flusher;
+        Logger.getLogger("").addHandler(handler);
+    }
+
+    /**
+     * Removes the handler and sends any remaining output.
+     */
+    void stop() {
+        Logger.getLogger("").removeHandler(handler);
+        final ScheduledExecutorService flusher = this.flusher;
+        if (flusher != null) {
+            flusher.shutdown();
+            this.flusher = null;
+        }
+        flush();
+    }
+
+    /**
+     * Starts capturing the output of a test method running on the current thread. The returned capture must be closed
+     * once the test method has completed.
+     *
+     * @param test                   the name of the test, used as the message of the notifications
+     * @param deploymentClassLoader the class loader of the deployment or {@code null} to only capture the output of
+     *                                   the current thread
+     *
+     * @return the capture
+     */
+    Capture capture(final String test, final ClassLoader deploymentClassLoader) {
+        final Capture capture = new Capture(test, Thread.currentThread(), deploymentClassLoader);
+        captures.add(capture);
+        threadCaptures.put(capture.thread, capture);
+        if (deploymentClassLoader != null) {
+            classLoaderCaptures.compute(deploymentClassLoader, (classLoader, current) -> {
+                final List<Capture> result = current == null ? new ArrayList<>() : new ArrayList<>(current);
+                result.add(capture);
+                return List.copyOf(result);
+            });
+        }
+        return capture;
+    }
+
+    private void flush() {
+        for (Capture capture : captures) {
+            capture.flush();
+        }
+    }
+
+    private static String format(final LogRecord record) {
+        String message = null;
+        final Method formattedMessage = FORMATTED_MESSAGE.get(record.getClass());
+        if (formattedMessage != null) {
+            try {
+                message = (String) formattedMessage.invoke(record);
+            } catch (ReflectiveOperationException ignore) {
+            }
+        }
+        if (message == null) {
+            message = FORMATTER.formatMessage(record);
+        }
+        final String loggerName = record.getLoggerName();
+        // Output from System.out and System.err is logged to the stdout and stderr loggers
+        if ("stdout".equals(loggerName) || "stderr".equals(loggerName)) {
+            return message;
+        }
+        final StringBuilder result = new StringBuilder()
+                .append(record.getLevel())
+                .append(" [")
+                .append(loggerName)
+                .append("] ")
+                .append(message);
+        if (record.getThrown() != null) {
+            result.append(": ").append(record.getThrown());
+        }
+        return result.toString();
+    }
+
+    /**
+     * The capture of the output of a single test method.
+     */
+    final class Capture implements AutoCloseable {
+        private final String test;
+        private final Thread thread;
+        private final ClassLoader classLoader;
+        private final Queue<String> lines = new ConcurrentLinkedQueue<>();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile boolean closed;
+
+        private Capture(final String test, final Thread thread, final ClassLoader classLoader) {
+            this.test = test;
+            this.thread = thread;
+            this.classLoader = classLoader;
+        }
+
+        private void add(final String text) {
+            if (closed) {
+                // Published on another thread while the capture was being closed
+                return;
+            }
+            final String line = text.length() > MAX_LINE_LENGTH ? text.substring(0, MAX_LINE_LENGTH) + "..." : text;
+            if (bufferedChars.addAndGet(line.length()) > MAX_BUFFERED_CHARS) {
+                bufferedChars.addAndGet(-line.length());
+                dropped.incrementAndGet();
+                droppedLines.incrementAndGet();
+                return;
+            }
+            lines.add(line);
+        }
+
+        // Synchronized so the lines of the capture are sent in order by either the flusher or the closing thread
+        private synchronized void flush() {
+            final List<String> pending = new ArrayList<>();
+            String line;
+            while ((line = lines.poll()) != null) {
+                bufferedChars.addAndGet(-line.length());
+                pending.add(line);
+            }
+            for (int i = 0; i < pending.size(); i += MAX_LINES_PER_NOTIFICATION) {
+                final List<String> chunk = pending.subList(i, Math.min(pending.size(), i + MAX_LINES_PER_NOTIFICATION));
+                final Notification notification = new Notification(OUTPUT_NOTIFICATION, objectName,
+                        sequence.incrementAndGet(), test);
+                notification.setUserData(chunk.toArray(new String[0]));
+                sendNotification(notification);
+            }
+        }
+
+        @Override
+        public void close() {
+            threadCaptures.remove(thread, this);
+            if (classLoader != null) {
+                classLoaderCaptures.computeIfPresent(classLoader, (ignored, current) -> {
+                    final List<Capture> result = new ArrayList<>(current);
+                    result.remove(this);
+                    return result.isEmpty() ? null : List.copyOf(result);
+                });
+            }
+            closed = true;
+            final long count = dropped.get();
+            if (count > 0L) {
+                // Always report dropped lines, this single line may exceed the bound
+                final String line = String.format("[%d lines of output were dropped]", count);
+                bufferedChars.addAndGet(line.length());
+                lines.add(line);
+            }
+            flush();
+            captures.remove(this);
+        }
+    }
+
+    private class CaptureHandler extends Handler {
+
+        @Override
+        public void publish(final LogRecord record) {
+            if (record == null) {
+                return;
+            }
+            Capture capture = threadCaptures.get(Thread.currentThread());
+            if (capture == null && !classLoaderCaptures.isEmpty()) {
+                final ClassLoader tccl = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+                final List<Capture> loaderCaptures = tccl == null ? null : classLoaderCaptures.get(tccl);
+                // Which of several running test methods published the record is not known
+                if (loaderCaptures != null && loaderCaptures.size() == 1) {
+                    capture = loaderCaptures.get(0);
+                }
+            }
+            if (capture != null && isLoggable(record)) {
+                capture.add(format(record));
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
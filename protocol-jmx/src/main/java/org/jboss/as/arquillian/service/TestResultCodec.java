@@ -0,0 +1,433 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.jboss.arquillian.test.spi.TestResult;
+
+/**
+ * Encodes and decodes {@link TestResult test results} in a compact binary format.
+ * <p>
+ * The stack frames of the throwable, including all causes and suppressed throwables, are written once to a frame table
+ * and the class, method and file names of the frames are written once to a string table. The remaining throwable graph
+ * is written with Java serialization referencing the frames by index, so the exception types and their state are
+ * preserved. Large payloads are compressed.
+ * </p>
+ * <p>
+ * The results encoded by a codec created with {@link #TestResultCodec()} are self-contained. A codec created with
+ * {@link #forBatch()} shares the tables across the results it encodes, each result only contains the frames and
+ * names which have not been written before. These results must be decoded by a codec which has been created with
+ * {@link #forBatch()} as well, in the order of their {@linkplain #getSequence(byte[]) sequence}. Results which are Java
+ * serialized are detected and decoded as well, which allows the Java serialization to be used as a fallback.
+ * </p>
+ */
+public final class TestResultCodec {
+
+    /**
+     * The value of the {@link BatchTestRunnerMBean#PROPERTY_RESULT_ENCODING} protocol property to request the compact
+     * encoding.
+     */
+    public static final String COMPACT_ENCODING = "compact";
+
+    private static final byte[] MAGIC = { 'A', 'Q', 'T', 'R' };
+    private static final byte VERSION = 2;
+    private static final byte FLAG_DEFLATED = 0x01;
+    private static final byte FLAG_SHARED_TABLES = 0x02;
+    private static final int HEADER_SIZE = MAGIC.length + 2;
+    private static final int COMPRESSION_THRESHOLD = 4096;
+
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+    // The tables shared across the results of a batch, null if each result is self-contained
+    private final FrameTable encodedTable;
+    private final List<String> decodedStrings;
+    private final List<StackTraceElement> decodedFrames;
+    private int encodedCount;
+    private int decodedCount;
+
+    /**
+     * Creates a codec which encodes self-contained results.
+     */
+    public TestResultCodec() {
+        this(false);
+    }
+
+    private TestResultCodec(final boolean shareTables) {
+        encodedTable = shareTables ? new FrameTable() : null;
+        decodedStrings = shareTables ? new ArrayList<>() : null;
+        decodedFrames = shareTables ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Creates a codec which shares the frame and string tables across the results of a batch. The class, method and
+     * file names, and the frames, which have already been written for a previous result are only referenced.
+     * <p>
+     * A codec is used for a single batch on either side. The results have to be decoded in the order of their
+     * {@linkplain #getSequence(byte[]) sequence}.
+     * </p>
+     *
+     * @return a new codec for the results of a single batch
+     */
+    public static TestResultCodec forBatch() {
+        return new TestResultCodec(true);
+    }
+
+    /**
+     * Encodes the test result.
+     *
+     * @param result the test result to encode
+     *
+     * @return the encoded test result
+     *
+     * @throws IOException if an error occurs encoding the test result
+     */
+    public byte[] encode(final TestResult result) throws IOException {
+        if (encodedTable == null) {
+            return encode(result, new FrameTable(), -1);
+        }
+        synchronized (encodedTable) {
+            final int strings = encodedTable.strings.size();
+            final int frames = encodedTable.frames.size();
+            try {
+                final byte[] bytes = encode(result, encodedTable, encodedCount);
+                encodedCount++;
+                return bytes;
+            } catch (IOException | RuntimeException e) {
+                // The result is not sent, the next result must not reference the entries added for it
+                encodedTable.truncate(strings, frames);
+                throw e;
+            }
+        }
+    }
+
+    private static byte[] encode(final TestResult result, final FrameTable table, final int sequence)
+            throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            out.writeUTF(result.getStatus().name());
+            out.writeLong(result.getStart());
+            out.writeLong(result.getEnd());
+            final Throwable throwable = result.getThrowable();
+            out.writeBoolean(throwable != null);
+            if (throwable != null) {
+                writeThrowable(out, throwable, table);
+            }
+        }
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream(body.size() + HEADER_SIZE + 4);
+        encoded.write(MAGIC);
+        encoded.write(VERSION);
+        final boolean deflate = body.size() > COMPRESSION_THRESHOLD;
+        encoded.write((deflate ? FLAG_DEFLATED : 0) | (sequence < 0 ? 0 : FLAG_SHARED_TABLES));
+        if (sequence >= 0) {
+            new DataOutputStream(encoded).writeInt(sequence);
+        }
+        if (deflate) {
+            try (OutputStream out = new DeflaterOutputStream(encoded)) {
+                body.writeTo(out);
+            }
+        } else {
+            body.writeTo(encoded);
+        }
+        return encoded.toByteArray();
+    }
+
+    /**
+     * Decodes the test result. If the bytes are not in the compact format, they are deserialized with Java
+     * serialization.
+     *
+     * @param bytes the encoded test result
+     *
+     * @return the test result
+     *
+     * @throws IOException            if an error occurs decoding the test result
+     * @throws ClassNotFoundException if a class of the throwable could not be found
+     */
+    public TestResult decode(final byte[] bytes) throws IOException, ClassNotFoundException {
+        if (!isCompact(bytes)) {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return (TestResult) in.readObject();
+            }
+        }
+        final int version = bytes[MAGIC.length];
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported test result encoding version %d", version));
+        }
+        final int sequence = getSequence(bytes);
+        if (sequence < 0) {
+            return decode(bytes, HEADER_SIZE, new ArrayList<>(), new ArrayList<>());
+        }
+        if (decodedStrings == null) {
+            throw new IOException("The test result references the tables of a batch and requires a batch codec");
+        }
+        synchronized (decodedStrings) {
+            if (sequence != decodedCount) {
+                throw new IOException(String.format("Expected the test result %d of the batch but got %d", decodedCount,
+                        sequence));
+            }
+            final int strings = decodedStrings.size();
+            final int frames = decodedFrames.size();
+            try {
+                final TestResult result = decode(bytes, HEADER_SIZE + 4, decodedStrings, decodedFrames);
+                decodedCount++;
+                return result;
+            } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                decodedStrings.subList(strings, decodedStrings.size()).clear();
+                decodedFrames.subList(frames, decodedFrames.size()).clear();
+                throw e;
+            }
+        }
+    }
+
+    private TestResult decode(final byte[] bytes, final int offset, final List<String> strings,
+            final List<StackTraceElement> frames) throws IOException, ClassNotFoundException {
+        InputStream body = new ByteArrayInputStream(bytes, offset, bytes.length - offset);
+        if ((bytes[MAGIC.length + 1] & FLAG_DEFLATED) != 0) {
+            body = new InflaterInputStream(body);
+        }
+        try (DataInputStream in = new DataInputStream(body)) {
+            final TestResult result = new TestResult();
+            result.setStatus(TestResult.Status.valueOf(in.readUTF()));
+            result.setStart(in.readLong());
+            result.setEnd(in.readLong());
+            if (in.readBoolean()) {
+                result.setThrowable(readThrowable(in, strings, frames));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns the sequence of a result encoded by a codec {@linkplain #forBatch() for a batch}. The sequence starts
+     * with {@code 0} for the first result of the batch.
+     *
+     * @param bytes the encoded test result
+     *
+     * @return the sequence of the result in the batch or {@code -1} if the result is self-contained
+     */
+    public static int getSequence(final byte[] bytes) {
+        if (!isCompact(bytes) || (bytes[MAGIC.length + 1] & FLAG_SHARED_TABLES) == 0 || bytes.length < HEADER_SIZE + 4) {
+            return -1;
+        }
+        return ((bytes[HEADER_SIZE] & 0xFF) << 24) | ((bytes[HEADER_SIZE + 1] & 0xFF) << 16)
+                | ((bytes[HEADER_SIZE + 2] & 0xFF) << 8) | (bytes[HEADER_SIZE + 3] & 0xFF);
+    }
+
+    /**
+     * Checks whether the bytes are in the compact format.
+     *
+     * @param bytes the bytes to check
+     *
+     * @return {@code true} if the bytes are in the compact format
+     */
+    public static boolean isCompact(final byte[] bytes) {
+        if (bytes.length < HEADER_SIZE) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeThrowable(final DataOutputStream out, final Throwable throwable, final FrameTable frames)
+            throws IOException {
+        // Only the entries added for this throwable are written, the previous entries are known to the decoder
+        final int writtenStrings = frames.strings.size();
+        final int writtenFrames = frames.frames.size();
+        final ByteArrayOutputStream graph = new ByteArrayOutputStream();
+        try (FrameReplacingOutputStream objectOut = new FrameReplacingOutputStream(graph, frames)) {
+            objectOut.writeObject(throwable);
+        }
+        out.writeInt(writtenStrings);
+        out.writeInt(frames.strings.size() - writtenStrings);
+        for (String s : frames.strings.subList(writtenStrings, frames.strings.size())) {
+            out.writeUTF(s);
+        }
+        out.writeInt(writtenFrames);
+        out.writeInt(frames.frames.size() - writtenFrames);
+        for (StackTraceElement frame : frames.frames.subList(writtenFrames, frames.frames.size())) {
+            out.writeInt(frames.indexOf(frame.getClassLoaderName()));
+            out.writeInt(frames.indexOf(frame.getModuleName()));
+            out.writeInt(frames.indexOf(frame.getModuleVersion()));
+            out.writeInt(frames.indexOf(frame.getClassName()));
+            out.writeInt(frames.indexOf(frame.getMethodName()));
+            out.writeInt(frames.indexOf(frame.getFileName()));
+            out.writeInt(frame.getLineNumber());
+        }
+        out.writeInt(graph.size());
+        graph.writeTo(out);
+    }
+
+    private Throwable readThrowable(final DataInputStream in, final List<String> strings,
+            final List<StackTraceElement> frames) throws IOException, ClassNotFoundException {
+        checkTableSize("string", strings, in.readInt());
+        final int stringCount = in.readInt();
+        for (int i = 0; i < stringCount; i++) {
+            final String s = in.readUTF();
+            final String existing = names.putIfAbsent(s, s);
+            strings.add(existing == null ? s : existing);
+        }
+        checkTableSize("frame", frames, in.readInt());
+        final int frameCount = in.readInt();
+        for (int i = 0; i < frameCount; i++) {
+            final String classLoaderName = lookup(strings, in.readInt());
+            final String moduleName = lookup(strings, in.readInt());
+            final String moduleVersion = lookup(strings, in.readInt());
+            final String className = lookup(strings, in.readInt());
+            final String methodName = lookup(strings, in.readInt());
+            final String fileName = lookup(strings, in.readInt());
+            frames.add(new StackTraceElement(classLoaderName, moduleName, moduleVersion, className, methodName, fileName,
+                    in.readInt()));
+        }
+        final byte[] graph = new byte[in.readInt()];
+        in.readFully(graph);
+        try (FrameResolvingInputStream objectIn = new FrameResolvingInputStream(new ByteArrayInputStream(graph),
+                frames)) {
+            return (Throwable) objectIn.readObject();
+        }
+    }
+
+    private static void checkTableSize(final String name, final List<?> table, final int expected) throws IOException {
+        if (table.size() != expected) {
+            throw new IOException(String.format("The test result expects %d entries in the %s table, found %d",
+                    expected, name, table.size()));
+        }
+    }
+
+    private static String lookup(final List<String> strings, final int index) {
+        return index < 0 ? null : strings.get(index);
+    }
+
+    private static class FrameTable {
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final List<StackTraceElement> frames = new ArrayList<>();
+        private final Map<StackTraceElement, Integer> frameIndexes = new HashMap<>();
+
+        int add(final StackTraceElement frame) {
+            return frameIndexes.computeIfAbsent(frame, f -> {
+                final StackTraceElement normalized = normalize(f);
+                add(normalized.getClassLoaderName());
+                add(normalized.getModuleName());
+                add(normalized.getModuleVersion());
+                add(normalized.getClassName());
+                add(normalized.getMethodName());
+                add(normalized.getFileName());
+                frames.add(normalized);
+                return frames.size() - 1;
+            });
+        }
+
+        /**
+         * The frame keeps whether the class loader name and module version are shown internally, a decoded frame
+         * always shows them. Only keep them if they are shown so the frame looks the same once decoded.
+         */
+        private static StackTraceElement normalize(final StackTraceElement frame) {
+            final String classLoaderName = frame.getClassLoaderName();
+            final String moduleVersion = frame.getModuleVersion();
+            if (classLoaderName == null && moduleVersion == null) {
+                return frame;
+            }
+            final String value = frame.toString();
+            final boolean showLoader = classLoaderName != null && value.startsWith(classLoaderName + "/");
+            final boolean showVersion = moduleVersion != null && value.contains("@" + moduleVersion + "/");
+            if (showLoader && (showVersion || moduleVersion == null)) {
+                return frame;
+            }
+            return new StackTraceElement(showLoader ? classLoaderName : null, frame.getModuleName(),
+                    showVersion ? moduleVersion : null, frame.getClassName(), frame.getMethodName(), frame.getFileName(),
+                    frame.getLineNumber());
+        }
+
+        int indexOf(final String s) {
+            return s == null ? -1 : stringIndexes.get(s);
+        }
+
+        private void add(final String s) {
+            if (s != null) {
+                stringIndexes.computeIfAbsent(s, ignored -> {
+                    strings.add(s);
+                    return strings.size() - 1;
+                });
+            }
+        }
+
+        /**
+         * Removes the entries which have been added after the table had the given sizes.
+         */
+        void truncate(final int stringCount, final int frameCount) {
+            stringIndexes.values().removeIf(index -> index >= stringCount);
+            strings.subList(stringCount, strings.size()).clear();
+            frameIndexes.values().removeIf(index -> index >= frameCount);
+            frames.subList(frameCount, frames.size()).clear();
+        }
+    }
+
+    /**
+     * A reference to a frame in the frame table, replaces a {@link StackTraceElement} in the serialized throwable graph.
+     */
+    private static final class FrameRef implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final int index;
+
+        private FrameRef(final int index) {
+            this.index = index;
+        }
+    }
+
+    private static class FrameReplacingOutputStream extends ObjectOutputStream {
+        private final FrameTable frames;
+
+        FrameReplacingOutputStream(final OutputStream out, final FrameTable frames) throws IOException {
+            super(out);
+            this.frames = frames;
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(final Object obj) {
+            if (obj instanceof StackTraceElement) {
+                return new FrameRef(frames.add((StackTraceElement) obj));
+            }
+            return obj;
+        }
+    }
+
+    private static class FrameResolvingInputStream extends ObjectInputStream {
+        private final List<StackTraceElement> frames;
+
+        FrameResolvingInputStream(final InputStream in, final List<StackTraceElement> frames) throws IOException {
+            super(in);
+            this.frames = frames;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(final Object obj) {
+            if (obj instanceof FrameRef) {
+                return frames.get(((FrameRef) obj).index);
+            }
+            return obj;
+        }
+    }
+}
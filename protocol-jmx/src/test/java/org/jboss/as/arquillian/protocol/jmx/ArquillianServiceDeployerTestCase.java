@@ -0,0 +1,142 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jboss.as.arquillian.container.ArchiveDeployer;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.helpers.ClientConstants;
+import org.jboss.as.controller.client.helpers.Operations;
+import org.jboss.dmr.ModelNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link ArquillianServiceDeployer} reusing a service deployed by a previous run.
+ */
+public class ArquillianServiceDeployerTestCase {
+    private static final String NAME = "arquillian-service";
+
+    @TempDir
+    private Path tempDir;
+
+    private final List<String> operations = new CopyOnWriteArrayList<>();
+    private ModelNode deployed;
+    private Path content;
+
+    @BeforeEach
+    public void createContent() throws Exception {
+        content = Files.writeString(tempDir.resolve(NAME), "service content");
+    }
+
+    @Test
+    public void sameContentReused() throws Exception {
+        deployed = createDeployment(hash("service content"), true);
+        Assertions.assertTrue(new ArquillianServiceDeployer(true).deployContent(createClient(), new RecordingDeployer(),
+                NAME, content));
+        Assertions.assertEquals(List.of("read " + NAME), operations);
+    }
+
+    @Test
+    public void changedContentReplaced() throws Exception {
+        deployed = createDeployment(hash("previous service content"), true);
+        Assertions.assertFalse(new ArquillianServiceDeployer(true).deployContent(createClient(), new RecordingDeployer(),
+                NAME, content));
+        Assertions.assertEquals(List.of("read " + NAME, "undeploy " + NAME, "deploy " + NAME), operations);
+    }
+
+    @Test
+    public void disabledContentReplaced() throws Exception {
+        deployed = createDeployment(hash("service content"), false);
+        Assertions.assertFalse(new ArquillianServiceDeployer(true).deployContent(createClient(), new RecordingDeployer(),
+                NAME, content));
+        Assertions.assertEquals(List.of("read " + NAME, "undeploy " + NAME, "deploy " + NAME), operations);
+    }
+
+    @Test
+    public void notDeployed() throws Exception {
+        Assertions.assertFalse(new ArquillianServiceDeployer(true).deployContent(createClient(), new RecordingDeployer(),
+                NAME, content));
+        Assertions.assertEquals(List.of("read " + NAME, "undeploy " + NAME, "deploy " + NAME), operations);
+    }
+
+    @Test
+    public void notKeptDeployed() throws Exception {
+        deployed = createDeployment(hash("service content"), true);
+        Assertions.assertFalse(new ArquillianServiceDeployer(false).deployContent(createClient(), new RecordingDeployer(),
+                NAME, content));
+        // The deployed content is not read when the service is not kept deployed
+        Assertions.assertEquals(List.of("deploy " + NAME), operations);
+    }
+
+    private ModelControllerClient createClient() {
+        return (ModelControllerClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ModelControllerClient.class }, (proxy, method, args) -> {
+                    if ("execute".equals(method.getName()) && args != null && args.length == 1
+                            && args[0] instanceof ModelNode) {
+                        return execute((ModelNode) args[0]);
+                    }
+                    if ("close".equals(method.getName())) {
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.toString());
+                });
+    }
+
+    private ModelNode execute(final ModelNode op) {
+        final String name = Operations.getOperationAddress(op).asList().get(0).get(ClientConstants.DEPLOYMENT).asString();
+        operations.add("read " + name);
+        final ModelNode result = new ModelNode();
+        if (deployed == null) {
+            result.get(ClientConstants.OUTCOME).set(ClientConstants.FAILED);
+            result.get(ClientConstants.FAILURE_DESCRIPTION).set(String.format("Deployment %s not found", name));
+        } else {
+            result.get(ClientConstants.OUTCOME).set(ClientConstants.SUCCESS);
+            result.get(ClientConstants.RESULT).set(deployed);
+        }
+        return result;
+    }
+
+    private static ModelNode createDeployment(final byte[] hash, final boolean enabled) {
+        final ModelNode deployment = new ModelNode();
+        deployment.get("enabled").set(enabled);
+        final ModelNode c = new ModelNode();
+        c.get("hash").set(hash);
+        deployment.get(ClientConstants.CONTENT).add(c);
+        return deployment;
+    }
+
+    private static byte[] hash(final String content) throws Exception {
+        return MessageDigest.getInstance("SHA-1").digest(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private class RecordingDeployer extends ArchiveDeployer {
+
+        @SuppressWarnings("deprecation")
+        private RecordingDeployer() {
+            super(createClient());
+        }
+
+        @Override
+        public String deploy(final String name, final Path content) {
+            operations.add("deploy " + name);
+            return name;
+        }
+
+        @Override
+        public void undeploy(final String runtimeName, final boolean failOnMissing) {
+            operations.add("undeploy " + runtimeName);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
+
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.Notification;
+import javax.management.NotificationBroadcasterSupport;
+import javax.management.ObjectName;
+import javax.management.StandardEmitterMBean;
+
+import org.jboss.arquillian.container.test.spi.ContainerMethodExecutor;
+import org.jboss.arquillian.test.spi.TestMethodExecutor;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.as.arquillian.service.BatchTestRunnerMBean;
+import org.jboss.as.arquillian.service.TestResultCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+/**
+ * Tests the test methods sent in a batch by the {@link BatchMethodExecutor}.
+ */
+public class BatchMethodExecutorTestCase {
+
+    private final List<List<String>> invocations = new CopyOnWriteArrayList<>();
+    private final List<String> delegated = new CopyOnWriteArrayList<>();
+    private MBeanServer server;
+    private TestBatchRunner batchRunner;
+
+    @BeforeEach
+    public void registerBatchRunner() throws Exception {
+        server = MBeanServerFactory.newMBeanServer();
+        batchRunner = new TestBatchRunner();
+        server.registerMBean(new StandardEmitterMBean(batchRunner, BatchTestRunnerMBean.class, batchRunner),
+                new ObjectName(BatchTestRunnerMBean.OBJECT_NAME));
+    }
+
+    @AfterEach
+    public void clearSchedule() {
+        TestMethodSchedule.remove(List.of(Scheduled.class.getName()));
+        BatchMethodExecutor.removeBatches(List.of(Scheduled.class.getName()));
+    }
+
+    @Test
+    public void batchScheduledMethodsInOrder() throws Exception {
+        TestMethodSchedule.schedule(Scheduled.class.getName(), List.of("second", "first", "fourth"));
+        final BatchMethodExecutor executor = createExecutor();
+        assertPassed(executor, "second");
+        assertPassed(executor, "first");
+        assertPassed(executor, "fourth");
+        Assertions.assertEquals(List.of(List.of("second", "first", "fourth")), invocations);
+        Assertions.assertEquals(List.of(), delegated);
+    }
+
+    @Test
+    public void filteredMethodsNotRun() throws Exception {
+        // The second test method has been excluded on the client, for example by a filter
+        TestMethodSchedule.schedule(Scheduled.class.getName(), List.of("first", "fourth"));
+        final BatchMethodExecutor executor = createExecutor();
+        assertPassed(executor, "first");
+        assertPassed(executor, "fourth");
+        Assertions.assertEquals(List.of(List.of("first", "fourth")), invocations);
+        Assertions.assertEquals(List.of(), delegated);
+    }
+
+    @Test
+    public void batchEndsBeforeClientExtensions() throws Exception {
+        TestMethodSchedule.schedule(Scheduled.class.getName(),
+                List.of("first", "second", "conditional", "metaConditional", "fourth", "fifth"));
+        final BatchMethodExecutor executor = createExecutor();
+        for (String methodName : List.of("first", "second", "conditional", "metaConditional", "fourth", "fifth")) {
+            assertPassed(executor, methodName);
+        }
+        Assertions.assertEquals(List.of(List.of("first", "second"), List.of("fourth", "fifth")), invocations);
+        Assertions.assertEquals(List.of("conditional", "metaConditional"), delegated);
+    }
+
+    @Test
+    public void batchEndsBeforeOtherDeployment() throws Exception {
+        TestMethodSchedule.schedule(Scheduled.class.getName(), List.of("first", "second", "otherDeployment", "fourth"));
+        final BatchMethodExecutor executor = createExecutor();
+        for (String methodName : List.of("first", "second", "otherDeployment", "fourth")) {
+            assertPassed(executor, methodName);
+        }
+        Assertions.assertEquals(List.of(List.of("first", "second")), invocations);
+        Assertions.assertEquals(List.of("otherDeployment", "fourth"), delegated);
+    }
+
+    @Test
+    public void unscheduledMethodsInvokedIndividually() throws Exception {
+        final BatchMethodExecutor executor = createExecutor();
+        assertPassed(executor, "first");
+        assertPassed(executor, "second");
+        Assertions.assertEquals(List.of(), invocations);
+        Assertions.assertEquals(List.of("first", "second"), delegated);
+    }
+
+    @Test
+    public void failedBatchDoesNotRerunReportedMethods() throws Exception {
+        batchRunner.failAfter = 1;
+        TestMethodSchedule.schedule(Scheduled.class.getName(), List.of("first", "second", "fourth"));
+        final BatchMethodExecutor executor = createExecutor();
+        assertPassed(executor, "first");
+        assertPassed(executor, "second");
+        assertPassed(executor, "fourth");
+        Assertions.assertEquals(List.of(List.of("first", "second", "fourth")), invocations);
+        Assertions.assertEquals(List.of("second", "fourth"), delegated);
+    }
+
+    @Test
+    public void unregisteredBatchRunner() throws Exception {
+        server.unregisterMBean(new ObjectName(BatchTestRunnerMBean.OBJECT_NAME));
+        TestMethodSchedule.schedule(Scheduled.class.getName(), List.of("first", "second"));
+        final BatchMethodExecutor executor = createExecutor();
+        assertPassed(executor, "first");
+        assertPassed(executor, "second");
+        Assertions.assertEquals(List.of("first", "second"), delegated);
+    }
+
+    @Test
+    public void finishedClassRemovesBatches() throws Exception {
+        TestMethodSchedule.schedule(Scheduled.class.getName(), List.of("first", "second", "fourth"));
+        final BatchMethodExecutor executor = createExecutor();
+        assertPassed(executor, "first");
+        // The class finishes without the other test methods of the batch being invoked
+        final TestPlanScheduleListener listener = new TestPlanScheduleListener();
+        final TestPlan testPlan = LauncherFactory.create().discover(LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectClass(Scheduled.class))
+                .build());
+        listener.executionFinished(findClass(testPlan), TestExecutionResult.aborted(null));
+        // A new batch is started rather than a result of the removed batch being used
+        assertPassed(executor, "second");
+        Assertions.assertEquals(List.of(List.of("first", "second", "fourth"), List.of("second", "fourth")), invocations);
+    }
+
+    @Test
+    public void finishedTestPlanRemovesBatches() throws Exception {
+        final TestPlanScheduleListener listener = new TestPlanScheduleListener();
+        final TestPlan testPlan = LauncherFactory.create().discover(LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectMethod(Scheduled.class, "first"), selectMethod(Scheduled.class, "fourth"))
+                .build());
+        listener.testPlanExecutionStarted(testPlan);
+        final BatchMethodExecutor executor = createExecutor();
+        assertPassed(executor, "first");
+        listener.testPlanExecutionFinished(testPlan);
+        // Neither a schedule nor a batch is left, the test method is invoked individually
+        assertPassed(executor, "fourth");
+        Assertions.assertEquals(List.of(List.of("first", "fourth")), invocations);
+        Assertions.assertEquals(List.of("fourth"), delegated);
+    }
+
+    @Test
+    public void scheduleFromTestPlan() {
+        final TestPlanScheduleListener listener = new TestPlanScheduleListener();
+        final TestPlan testPlan = LauncherFactory.create().discover(LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectClass(Scheduled.class))
+                .build());
+        listener.testPlanExecutionStarted(testPlan);
+        Assertions.assertEquals(List.of("second", "first", "fourth", "fifth", "conditional", "metaConditional",
+                "otherDeployment"), TestMethodSchedule.from(Scheduled.class.getName(), "second"));
+        listener.testPlanExecutionFinished(testPlan);
+        Assertions.assertEquals(List.of(), TestMethodSchedule.from(Scheduled.class.getName(), "second"));
+    }
+
+    @Test
+    public void scheduleFromFilteredTestPlan() {
+        final TestPlanScheduleListener listener = new TestPlanScheduleListener();
+        final TestPlan testPlan = LauncherFactory.create().discover(LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectMethod(Scheduled.class, "first"), selectMethod(Scheduled.class, "fifth"))
+                .build());
+        listener.testPlanExecutionStarted(testPlan);
+        Assertions.assertEquals(List.of("first", "fifth"), TestMethodSchedule.from(Scheduled.class.getName(), "first"));
+        listener.testPlanExecutionFinished(testPlan);
+    }
+
+    private static TestIdentifier findClass(final TestPlan testPlan) {
+        for (TestIdentifier root : testPlan.getRoots()) {
+            for (TestIdentifier child : testPlan.getChildren(root)) {
+                if (child.getSource().orElse(null) instanceof ClassSource) {
+                    return child;
+                }
+            }
+        }
+        throw new AssertionError("No test class found in the test plan");
+    }
+
+    private BatchMethodExecutor createExecutor() {
+        final ContainerMethodExecutor delegate = testMethodExecutor -> {
+            delegated.add(testMethodExecutor.getMethod().getName());
+            return TestResult.passed();
+        };
+        return new BatchMethodExecutor(new JMXBatchInvoker(server), Map.of(), delegate, Runnable::run);
+    }
+
+    private static void assertPassed(final BatchMethodExecutor executor, final String methodName) throws Exception {
+        final TestResult result = executor.invoke(createTestMethodExecutor(new Scheduled(), methodName));
+        Assertions.assertEquals(TestResult.Status.PASSED, result.getStatus(),
+                () -> String.format("Expected %s to pass: %s", methodName, result.getThrowable()));
+    }
+
+    private static TestMethodExecutor createTestMethodExecutor(final Object instance, final String methodName)
+            throws NoSuchMethodException {
+        final Method method = instance.getClass().getMethod(methodName);
+        return new TestMethodExecutor() {
+            public String getMethodName() {
+                return methodName;
+            }
+
+            @Override
+            public Method getMethod() {
+                return method;
+            }
+
+            @Override
+            public Object getInstance() {
+                return instance;
+            }
+
+            @Override
+            public void invoke(final Object... parameters) {
+            }
+        };
+    }
+
+    private class TestBatchRunner extends NotificationBroadcasterSupport implements BatchTestRunnerMBean {
+        private final AtomicLong sequence = new AtomicLong();
+        private volatile int failAfter = -1;
+
+        @Override
+        public int runTestMethods(final String batchId, final String className, final String[] methodNames,
+                final Map<String, String> protocolProps) {
+            invocations.add(List.of(methodNames));
+            final TestResultCodec codec = TestResultCodec.forBatch();
+            int run = 0;
+            for (String methodName : methodNames) {
+                if (run == failAfter) {
+                    throw new IllegalStateException("The connection was closed");
+                }
+                final Notification notification = new Notification(RESULT_NOTIFICATION, OBJECT_NAME,
+                        sequence.incrementAndGet(), batchId);
+                try {
+                    notification.setUserData(new Object[] { methodName, codec.encode(TestResult.passed()) });
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                sendNotification(notification);
+                run++;
+            }
+            return run;
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    @ExtendWith(AlwaysEnabled.class)
+    public @interface ClientCondition {
+    }
+
+    public static class AlwaysEnabled implements ExecutionCondition {
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(final ExtensionContext context) {
+            return ConditionEvaluationResult.enabled("Always enabled");
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    public @interface OperateOnDeployment {
+        String value();
+    }
+
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    public static class Scheduled {
+
+        @Test
+        @Order(2)
+        public void first() {
+        }
+
+        @Test
+        @Order(1)
+        public void second() {
+        }
+
+        @Test
+        @Order(5)
+        @ExtendWith(AlwaysEnabled.class)
+        public void conditional() {
+        }
+
+        @Test
+        @Order(6)
+        @ClientCondition
+        public void metaConditional() {
+        }
+
+        @Test
+        @Order(3)
+        public void fourth() {
+        }
+
+        @Test
+        @Order(4)
+        public void fifth() {
+        }
+
+        @Test
+        @Order(7)
+        @OperateOnDeployment("other")
+        public void otherDeployment() {
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests reading the super types from class files with the {@link ExtensionClassScanner}.
+ */
+public class ExtensionClassScannerTestCase {
+
+    @Test
+    public void constantPoolTags() throws Exception {
+        final ClassFiles classFiles = new ClassFiles()
+                .add("test/Extension", "test/Base", "java/lang/Runnable")
+                .add("test/Base", "java/lang/Object", "java/io/Serializable");
+        final ExtensionClassScanner scanner = new ExtensionClassScanner(null, classFiles);
+        Assertions.assertEquals(Boolean.TRUE, scanner.isAssignable("test.Extension", Runnable.class));
+        Assertions.assertEquals(Boolean.TRUE, scanner.isAssignable("test.Extension", Serializable.class));
+        Assertions.assertEquals(Boolean.FALSE, scanner.isAssignable("test.Extension", AutoCloseable.class));
+    }
+
+    @Test
+    public void missingClassFile() throws Exception {
+        final ExtensionClassScanner scanner = new ExtensionClassScanner(null, new ClassFiles());
+        Assertions.assertNull(scanner.isAssignable("test.Missing", Runnable.class));
+    }
+
+    @Test
+    public void invalidClassFile() {
+        final ClassFiles classFiles = new ClassFiles();
+        classFiles.classFiles.put("test/Invalid.class", new byte[] { 0, 1, 2, 3 });
+        final ExtensionClassScanner scanner = new ExtensionClassScanner(null, classFiles);
+        Assertions.assertThrows(IOException.class, () -> scanner.isAssignable("test.Invalid", Runnable.class));
+    }
+
+    @Test
+    public void superTypesNotShared() throws Exception {
+        final ExtensionClassScanner first = new ExtensionClassScanner(null, new ClassFiles()
+                .add("test/Extension", "java/lang/Object", "java/lang/Runnable"));
+        final ExtensionClassScanner second = new ExtensionClassScanner(null, new ClassFiles()
+                .add("test/Extension", "java/lang/Object"));
+        Assertions.assertEquals(Boolean.TRUE, first.isAssignable("test.Extension", Runnable.class));
+        Assertions.assertEquals(Boolean.FALSE, second.isAssignable("test.Extension", Runnable.class));
+    }
+
+    /**
+     * Serves class files whose constant pool contains an entry of each tag. The two slot entries and the entries of
+     * other sizes are placed before the entries of the class names, so reading the wrong size for any of them yields
+     * the wrong super types.
+     */
+    private static class ClassFiles extends ClassLoader {
+        private final Map<String, byte[]> classFiles = new HashMap<>();
+
+        ClassFiles() {
+            super(null);
+        }
+
+        ClassFiles add(final String name, final String superName, final String... interfaces) {
+            try {
+                classFiles.put(name + ".class", createClassFile(name, superName, interfaces));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return this;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(final String name) {
+            final byte[] classFile = classFiles.get(name);
+            return classFile == null ? null : new ByteArrayInputStream(classFile);
+        }
+
+        private static byte[] createClassFile(final String name, final String superName, final String... interfaces)
+                throws IOException {
+            final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+            final DataOutputStream pool = new DataOutputStream(poolBytes);
+            // The references of the entries are not validated by the scanner
+            int count = 1;
+            pool.writeByte(5); // Long
+            pool.writeLong(Long.MAX_VALUE);
+            count += 2;
+            pool.writeByte(1); // Utf8
+            pool.writeUTF("\u00e9\u4e2d\0");
+            count++;
+            pool.writeByte(6); // Double
+            pool.writeDouble(Math.PI);
+            count += 2;
+            pool.writeByte(3); // Integer
+            pool.writeInt(42);
+            pool.writeByte(4); // Float
+            pool.writeFloat(1.5F);
+            pool.writeByte(8); // String
+            pool.writeShort(3);
+            count += 3;
+            for (int tag : new int[] { 9, 10, 11, 12, 17, 18 }) {
+                // Fieldref, Methodref, InterfaceMethodref, NameAndType, Dynamic and InvokeDynamic
+                pool.writeByte(tag);
+                pool.writeShort(1);
+                pool.writeShort(3);
+                count++;
+            }
+            pool.writeByte(15); // MethodHandle
+            pool.writeByte(6);
+            pool.writeShort(1);
+            count++;
+            for (int tag : new int[] { 16, 19, 20 }) {
+                // MethodType, Module and Package
+                pool.writeByte(tag);
+                pool.writeShort(3);
+                count++;
+            }
+            final int[] classes = new int[2 + interfaces.length];
+            final String[] names = new String[classes.length];
+            names[0] = name;
+            names[1] = superName;
+            System.arraycopy(interfaces, 0, names, 2, interfaces.length);
+            for (int i = 0; i < names.length; i++) {
+                pool.writeByte(1); // Utf8
+                pool.writeUTF(names[i]);
+                pool.writeByte(7); // Class
+                pool.writeShort(count);
+                classes[i] = count + 1;
+                count += 2;
+            }
+            pool.flush();
+
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(61);
+            out.writeShort(count);
+            poolBytes.writeTo(out);
+            // access flags, this class and super class
+            out.writeShort(0x0001);
+            out.writeShort(classes[0]);
+            out.writeShort(classes[1]);
+            out.writeShort(interfaces.length);
+            for (int i = 2; i < classes.length; i++) {
+                out.writeShort(classes[i]);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        }
+    }
+}
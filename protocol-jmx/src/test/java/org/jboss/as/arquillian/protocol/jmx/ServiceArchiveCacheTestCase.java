@@ -0,0 +1,89 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.jboss.arquillian.container.spi.client.deployment.DeploymentDescription;
+import org.jboss.arquillian.container.test.spi.TestDeployment;
+import org.jboss.arquillian.container.test.spi.client.deployment.ProtocolArchiveProcessor;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the keys of the {@link ServiceArchiveCache}.
+ */
+public class ServiceArchiveCacheTestCase {
+
+    private static final List<ProtocolArchiveProcessor> PROCESSORS = List
+            .of((testDeployment, protocolArchive) -> protocolArchive.add(new StringAsset(testDeployment.getDeploymentName()),
+                    "deployment.txt"));
+
+    @TempDir
+    private Path cacheDir;
+    private ServiceArchiveCache cache;
+
+    @BeforeEach
+    public void createCache() {
+        cache = new ServiceArchiveCache(cacheDir);
+    }
+
+    @Test
+    public void sameAuxiliaryContent() throws Exception {
+        final JavaArchive first = ShrinkWrap.create(JavaArchive.class, "aux.jar")
+                .add(new StringAsset("a"), "a.txt")
+                .add(new StringAsset("b"), "b.txt");
+        final JavaArchive second = ShrinkWrap.create(JavaArchive.class, "aux.jar")
+                .add(new StringAsset("b"), "b.txt")
+                .add(new StringAsset("a"), "a.txt");
+        Assertions.assertEquals(key(createDeployment("test", "app", first), List.of()),
+                key(createDeployment("test", "app", second), List.of()));
+    }
+
+    @Test
+    public void changedAuxiliaryContent() throws Exception {
+        final JavaArchive first = ShrinkWrap.create(JavaArchive.class, "aux.jar")
+                .add(new StringAsset("a"), "a.txt");
+        final JavaArchive second = ShrinkWrap.create(JavaArchive.class, "aux.jar")
+                .add(new StringAsset("changed"), "a.txt");
+        Assertions.assertNotEquals(key(createDeployment("test", "app", first), List.of()),
+                key(createDeployment("test", "app", second), List.of()));
+    }
+
+    @Test
+    public void deploymentIgnoredWithoutProcessors() throws Exception {
+        Assertions.assertEquals(key(createDeployment("first", "app"), List.of()),
+                key(createDeployment("second", "changed"), List.of()));
+    }
+
+    @Test
+    public void deploymentIncludedWithProcessors() throws Exception {
+        final String key = key(createDeployment("test", "app"), PROCESSORS);
+        Assertions.assertEquals(key, key(createDeployment("test", "app"), PROCESSORS));
+        Assertions.assertNotEquals(key, key(createDeployment("other", "app"), PROCESSORS));
+        Assertions.assertNotEquals(key, key(createDeployment("test", "changed"), PROCESSORS));
+        Assertions.assertNotEquals(key, key(createDeployment("test", "app"), List.of()));
+    }
+
+    private String key(final TestDeployment testDeployment, final List<ProtocolArchiveProcessor> processors)
+            throws Exception {
+        return cache.key(testDeployment, processors, ServiceArchiveCache.class);
+    }
+
+    private static TestDeployment createDeployment(final String name, final String content,
+            final Archive<?>... auxArchives) {
+        final WebArchive archive = ShrinkWrap.create(WebArchive.class, "test.war")
+                .add(new StringAsset(content), "content.txt");
+        return new TestDeployment(new DeploymentDescription(name, archive), archive, List.of(auxArchives));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.protocol.jmx;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.NotificationBroadcasterSupport;
+import javax.management.NotificationFilter;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
+import javax.management.StandardEmitterMBean;
+
+import org.jboss.as.arquillian.service.TestOutputMBean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests adding and removing the listeners of the {@link TestOutputListeners}.
+ */
+public class TestOutputListenersTestCase {
+
+    private MBeanServer server;
+    private TestOutput output;
+
+    @BeforeEach
+    public void registerOutput() throws Exception {
+        server = MBeanServerFactory.newMBeanServer();
+        output = new TestOutput();
+        server.registerMBean(new StandardEmitterMBean(output, TestOutputMBean.class, output),
+                new ObjectName(TestOutputMBean.OBJECT_NAME));
+    }
+
+    @Test
+    public void addOnce() {
+        final TestOutputListeners listeners = new TestOutputListeners();
+        listeners.add("container", server);
+        listeners.add("container", server);
+        Assertions.assertEquals(1, output.listeners.size());
+        listeners.remove("container");
+        Assertions.assertEquals(List.of(), output.listeners);
+    }
+
+    @Test
+    public void removeOnlyContainer() throws Exception {
+        final MBeanServer other = MBeanServerFactory.newMBeanServer();
+        final TestOutput otherOutput = new TestOutput();
+        other.registerMBean(new StandardEmitterMBean(otherOutput, TestOutputMBean.class, otherOutput),
+                new ObjectName(TestOutputMBean.OBJECT_NAME));
+        final TestOutputListeners listeners = new TestOutputListeners();
+        listeners.add("container", server);
+        listeners.add("other", other);
+        listeners.remove("container");
+        Assertions.assertEquals(List.of(), output.listeners);
+        Assertions.assertEquals(1, otherOutput.listeners.size());
+    }
+
+    @Test
+    public void reconnected() throws Exception {
+        final MBeanServer reconnected = MBeanServerFactory.newMBeanServer();
+        final TestOutput reconnectedOutput = new TestOutput();
+        reconnected.registerMBean(new StandardEmitterMBean(reconnectedOutput, TestOutputMBean.class, reconnectedOutput),
+                new ObjectName(TestOutputMBean.OBJECT_NAME));
+        final TestOutputListeners listeners = new TestOutputListeners();
+        listeners.add("container", server);
+        listeners.add("container", reconnected);
+        Assertions.assertEquals(List.of(), output.listeners);
+        Assertions.assertEquals(1, reconnectedOutput.listeners.size());
+    }
+
+    @Test
+    public void unregisteredOutput() throws Exception {
+        server.unregisterMBean(new ObjectName(TestOutputMBean.OBJECT_NAME));
+        final TestOutputListeners listeners = new TestOutputListeners();
+        listeners.add("container", server);
+        listeners.remove("container");
+        Assertions.assertEquals(List.of(), output.listeners);
+    }
+
+    private static class TestOutput extends NotificationBroadcasterSupport implements TestOutputMBean {
+        private final List<NotificationListener> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public long getDroppedLines() {
+            return 0L;
+        }
+
+        @Override
+        public void addNotificationListener(final NotificationListener listener, final NotificationFilter filter,
+                final Object handback) {
+            super.addNotificationListener(listener, filter, handback);
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removeNotificationListener(final NotificationListener listener) throws ListenerNotFoundException {
+            super.removeNotificationListener(listener);
+            listeners.remove(listener);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.service;
+
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.arquillian.container.test.api.OperateOnDeployment;
+import org.jboss.as.server.deployment.annotation.CompositeIndex;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the methods resolved by the {@link ArquillianConfigBuilder.MethodResolver}.
+ */
+public class ArquillianConfigBuilderTestCase {
+
+    private CompositeIndex index;
+
+    @BeforeEach
+    public void createIndex() throws Exception {
+        index = new CompositeIndex(List.of(Index.of(DefaultMethods.class, Base.class, First.class, Second.class)));
+    }
+
+    @Test
+    public void resolveInheritedMethods() {
+        final Set<String> methods = new ArquillianConfigBuilder.MethodResolver(index, "dep").resolve(classInfo(First.class));
+        assertContains(methods, "first", "onDeployment", "base", "baseOnDeployment", "defaultMethod");
+        assertNotContains(methods, "onOther", "baseOnOther");
+    }
+
+    @Test
+    public void resolveWithoutDeploymentName() {
+        final Set<String> methods = new ArquillianConfigBuilder.MethodResolver(index, null).resolve(classInfo(First.class));
+        assertContains(methods, "first", "base", "defaultMethod");
+        assertNotContains(methods, "onDeployment", "onOther", "baseOnDeployment", "baseOnOther");
+    }
+
+    @Test
+    public void sharedClassResolvedOnce() {
+        final ArquillianConfigBuilder.MethodResolver resolver = new ArquillianConfigBuilder.MethodResolver(index, "dep");
+        final Set<String> first = resolver.resolve(classInfo(First.class));
+        final Set<String> second = resolver.resolve(classInfo(Second.class));
+        assertContains(second, "second", "base", "baseOnDeployment");
+        assertNotContains(second, "first", "defaultMethod");
+        // The resolved methods are cached and immutable, so the config of a test class does not copy them
+        Assertions.assertSame(first, resolver.resolve(classInfo(First.class)));
+        Assertions.assertSame(resolver.resolve(classInfo(Base.class)), resolver.resolve(classInfo(Base.class)));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> first.add("other"));
+    }
+
+    @Test
+    public void resolveMissingClass() {
+        Assertions.assertEquals(Set.of(), new ArquillianConfigBuilder.MethodResolver(index, "dep").resolve(null));
+    }
+
+    private ClassInfo classInfo(final Class<?> type) {
+        final ClassInfo classInfo = index.getClassByName(DotName.createSimple(type.getName()));
+        Assertions.assertNotNull(classInfo, () -> String.format("%s has not been indexed", type.getName()));
+        return classInfo;
+    }
+
+    private static void assertContains(final Set<String> methods, final String... expected) {
+        for (String methodName : expected) {
+            Assertions.assertTrue(methods.contains(methodName),
+                    () -> String.format("Expected %s in %s", methodName, methods));
+        }
+    }
+
+    private static void assertNotContains(final Set<String> methods, final String... unexpected) {
+        for (String methodName : unexpected) {
+            Assertions.assertFalse(methods.contains(methodName),
+                    () -> String.format("Did not expect %s in %s", methodName, methods));
+        }
+    }
+
+    public interface DefaultMethods {
+        default void defaultMethod() {
+        }
+    }
+
+    public static class Base {
+        public void base() {
+        }
+
+        @OperateOnDeployment("dep")
+        public void baseOnDeployment() {
+        }
+
+        @OperateOnDeployment("other")
+        public void baseOnOther() {
+        }
+    }
+
+    public static class First extends Base implements DefaultMethods {
+        public void first() {
+        }
+
+        @OperateOnDeployment("dep")
+        public void onDeployment() {
+        }
+
+        @OperateOnDeployment("other")
+        public void onOther() {
+        }
+    }
+
+    public static class Second extends Base {
+        public void second() {
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.service;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.server.deployment.SetupAction;
+import org.jboss.msc.service.ServiceName;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ContextManager} used by test methods which are run concurrently.
+ */
+public class ContextManagerTestCase {
+
+    private static final Map<String, Object> PROPERTIES = Map.of(ArquillianService.TEST_CLASS_PROPERTY, "Test");
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void concurrentInvocations() throws Exception {
+        final int threads = 8;
+        final ClassLoader classLoader = new URLClassLoader(new URL[0], null);
+        final RecordingAction action = new RecordingAction("action", 0, classLoader);
+        final ContextManager contextManager = new ContextManager(classLoader, List.of(action));
+        // All test methods are within their contexts at the same time, only the setup and teardown are serialized
+        final CyclicBarrier running = new CyclicBarrier(threads);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 50; j++) {
+                        contextManager.setup(PROPERTIES);
+                        try {
+                            Assertions.assertTrue(action.active.get(), "The context is not active on this thread");
+                            if (j == 0) {
+                                running.await(10, TimeUnit.SECONDS);
+                            }
+                        } finally {
+                            contextManager.teardown(PROPERTIES);
+                        }
+                        Assertions.assertFalse(action.active.get(), "The context is still active on this thread");
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(0, action.overlapping, "The setup action was invoked concurrently");
+        Assertions.assertEquals(threads * 50, action.setups);
+        Assertions.assertEquals(threads * 50, action.teardowns);
+    }
+
+    @Test
+    public void actionsOrderedByPriority() {
+        final ClassLoader classLoader = new URLClassLoader(new URL[0], null);
+        final ContextManager contextManager = new ContextManager(classLoader,
+                List.of(new RecordingAction("low", 0, classLoader), new RecordingAction("high", 10, classLoader),
+                        new RecordingAction("other-low", 0, classLoader)));
+        contextManager.setup(PROPERTIES);
+        contextManager.teardown(PROPERTIES);
+        Assertions.assertEquals(List.of("setup high", "setup low", "setup other-low", "teardown other-low",
+                "teardown low", "teardown high"), events);
+    }
+
+    @Test
+    public void failedSetupTearsDownPreviousActions() throws Exception {
+        final ClassLoader classLoader = new URLClassLoader(new URL[0], null);
+        final RecordingAction failing = new RecordingAction("failing", 0, classLoader) {
+            @Override
+            public void setup(final Map<String, Object> properties) {
+                throw new IllegalStateException("Failed to set up the context");
+            }
+        };
+        final ContextManager contextManager = new ContextManager(classLoader,
+                List.of(new RecordingAction("first", 10, classLoader), failing));
+        final RuntimeException e = Assertions.assertThrows(RuntimeException.class,
+                () -> contextManager.setup(PROPERTIES));
+        Assertions.assertInstanceOf(IllegalStateException.class, e.getCause());
+        Assertions.assertEquals(List.of("setup first", "teardown first"), events);
+        // The failure does not leave the actions locked for other threads
+        final Thread other = new Thread(() -> contextManager.teardown(Map.of()));
+        other.start();
+        other.join(TimeUnit.SECONDS.toMillis(10));
+        Assertions.assertFalse(other.isAlive(), "The teardown of another thread is blocked");
+    }
+
+    private class RecordingAction implements SetupAction {
+        private final String name;
+        private final int priority;
+        private final ClassLoader classLoader;
+        private final ThreadLocal<Boolean> active = ThreadLocal.withInitial(() -> false);
+        // Not thread-safe on purpose, the context manager serializes the calls
+        private int inProgress;
+        private int overlapping;
+        private int setups;
+        private int teardowns;
+
+        private RecordingAction(final String name, final int priority, final ClassLoader classLoader) {
+            this.name = name;
+            this.priority = priority;
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public void setup(final Map<String, Object> properties) {
+            enter();
+            try {
+                Assertions.assertSame(classLoader, Thread.currentThread().getContextClassLoader());
+                active.set(true);
+                setups++;
+                events.add("setup " + name);
+            } finally {
+                inProgress--;
+            }
+        }
+
+        @Override
+        public void teardown(final Map<String, Object> properties) {
+            enter();
+            try {
+                active.set(false);
+                teardowns++;
+                events.add("teardown " + name);
+            } finally {
+                inProgress--;
+            }
+        }
+
+        private void enter() {
+            if (inProgress++ != 0) {
+                overlapping++;
+            }
+            // Give other threads the chance to enter at the same time
+            Thread.yield();
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+
+        @Override
+        public Set<ServiceName> dependencies() {
+            return Set.of();
+        }
+    }
+}
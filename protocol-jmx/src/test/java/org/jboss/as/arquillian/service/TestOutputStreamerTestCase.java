@@ -0,0 +1,112 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.service;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the output captured by the {@link TestOutputStreamer}.
+ */
+public class TestOutputStreamerTestCase {
+
+    private static final Logger STDOUT = Logger.getLogger("stdout");
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private TestOutputStreamer streamer;
+
+    @BeforeEach
+    public void startStreamer() throws Exception {
+        // Only the handler of the streamer, not the console handler, accepts fine records
+        STDOUT.setLevel(Level.ALL);
+        streamer = new TestOutputStreamer(new ObjectName(TestOutputMBean.OBJECT_NAME));
+        streamer.addNotificationListener((notification, handback) -> {
+            for (String line : (String[]) notification.getUserData()) {
+                received.add(notification.getMessage() + ": " + line);
+            }
+        }, null, null);
+        streamer.start();
+    }
+
+    @AfterEach
+    public void stopStreamer() {
+        streamer.stop();
+    }
+
+    @Test
+    public void closeSendsLines() {
+        try (TestOutputStreamer.Capture ignored = streamer.capture("Test.first", null)) {
+            STDOUT.fine("first line");
+            STDOUT.fine("second line");
+        }
+        // Sent by the closing thread, not the periodic flush
+        Assertions.assertEquals(List.of("Test.first: first line", "Test.first: second line"), received);
+    }
+
+    @Test
+    public void otherThreadsNotCaptured() throws Exception {
+        try (TestOutputStreamer.Capture ignored = streamer.capture("Test.first", null)) {
+            runOnOtherThread(null, () -> STDOUT.fine("other thread"));
+            STDOUT.fine("test thread");
+        }
+        Assertions.assertEquals(List.of("Test.first: test thread"), received);
+    }
+
+    @Test
+    public void singleCaptureOfClassLoader() throws Exception {
+        final ClassLoader deploymentClassLoader = new URLClassLoader(new URL[0]);
+        try (TestOutputStreamer.Capture ignored = streamer.capture("Test.first", deploymentClassLoader)) {
+            runOnOtherThread(deploymentClassLoader, () -> STDOUT.fine("deployment thread"));
+        }
+        Assertions.assertEquals(List.of("Test.first: deployment thread"), received);
+    }
+
+    @Test
+    public void concurrentCapturesOfClassLoader() throws Exception {
+        final ClassLoader deploymentClassLoader = new URLClassLoader(new URL[0]);
+        final TestOutputStreamer.Capture first = streamer.capture("Test.first", deploymentClassLoader);
+        final TestOutputStreamer.Capture[] second = new TestOutputStreamer.Capture[1];
+        runOnOtherThread(null, () -> second[0] = streamer.capture("Test.second", deploymentClassLoader));
+        // Which of the test methods published the record is not known
+        runOnOtherThread(deploymentClassLoader, () -> STDOUT.fine("ambiguous"));
+        second[0].close();
+        runOnOtherThread(deploymentClassLoader, () -> STDOUT.fine("first only"));
+        first.close();
+        Assertions.assertEquals(List.of("Test.first: first only"), received);
+    }
+
+    @Test
+    public void droppedLinesReported() {
+        final String line = "x".repeat(8192);
+        try (TestOutputStreamer.Capture ignored = streamer.capture("Test.first", null)) {
+            for (int i = 0; i < 1000; i++) {
+                STDOUT.fine(line);
+            }
+        }
+        final long dropped = streamer.getDroppedLines();
+        Assertions.assertTrue(dropped > 0L);
+        Assertions.assertEquals(1000L - dropped + 1L, received.size());
+        Assertions.assertEquals(String.format("Test.first: [%d lines of output were dropped]", dropped),
+                received.get(received.size() - 1));
+    }
+
+    private static void runOnOtherThread(final ClassLoader tccl, final Runnable task) throws InterruptedException {
+        final Thread thread = new Thread(task);
+        thread.setContextClassLoader(tccl);
+        thread.start();
+        thread.join();
+    }
+}
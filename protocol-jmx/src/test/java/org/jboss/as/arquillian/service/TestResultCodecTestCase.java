@@ -0,0 +1,164 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.arquillian.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+import org.jboss.arquillian.test.spi.TestResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests encoding and decoding test results with the {@link TestResultCodec}.
+ */
+public class TestResultCodecTestCase {
+
+    @Test
+    public void passed() throws Exception {
+        final TestResult result = TestResult.passed();
+        result.setStart(10L);
+        result.setEnd(20L);
+        final TestResult decoded = roundTrip(new TestResultCodec(), result);
+        Assertions.assertEquals(TestResult.Status.PASSED, decoded.getStatus());
+        Assertions.assertEquals(10L, decoded.getStart());
+        Assertions.assertEquals(20L, decoded.getEnd());
+        Assertions.assertNull(decoded.getThrowable());
+    }
+
+    @Test
+    public void nestedCauses() throws Exception {
+        final Throwable throwable = new AssertionError("expected",
+                new IllegalStateException("state", new IOException("io")));
+        final TestResult decoded = roundTrip(new TestResultCodec(), TestResult.failed(throwable));
+        Assertions.assertEquals(TestResult.Status.FAILED, decoded.getStatus());
+        assertThrowableEquals(throwable, decoded.getThrowable());
+    }
+
+    @Test
+    public void suppressed() throws Exception {
+        final Exception throwable = new Exception("primary");
+        throwable.addSuppressed(new IllegalArgumentException("first"));
+        throwable.addSuppressed(new RuntimeException("second", new IOException("cause of second")));
+        final TestResult decoded = roundTrip(new TestResultCodec(), TestResult.failed(throwable));
+        assertThrowableEquals(throwable, decoded.getThrowable());
+    }
+
+    @Test
+    public void largePayload() throws Exception {
+        final Throwable throwable = new AssertionError("x".repeat(20_000), new RuntimeException("cause"));
+        final TestResultCodec codec = new TestResultCodec();
+        final byte[] encoded = codec.encode(TestResult.failed(throwable));
+        Assertions.assertTrue(TestResultCodec.isCompact(encoded));
+        // The message alone exceeds the compression threshold
+        Assertions.assertTrue(encoded.length < 20_000, () -> "Expected the payload to be compressed: " + encoded.length);
+        assertThrowableEquals(throwable, codec.decode(encoded).getThrowable());
+    }
+
+    @Test
+    public void javaSerialization() throws Exception {
+        final Throwable throwable = new IllegalStateException("serialized", new IOException("cause"));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+            objectOut.writeObject(TestResult.failed(throwable));
+        }
+        final byte[] serialized = out.toByteArray();
+        Assertions.assertFalse(TestResultCodec.isCompact(serialized));
+        Assertions.assertEquals(-1, TestResultCodec.getSequence(serialized));
+        final TestResult decoded = new TestResultCodec().decode(serialized);
+        Assertions.assertEquals(TestResult.Status.FAILED, decoded.getStatus());
+        assertThrowableEquals(throwable, decoded.getThrowable());
+    }
+
+    @Test
+    public void batchSharesTables() throws Exception {
+        final TestResultCodec encoder = TestResultCodec.forBatch();
+        final Throwable first = createFailure("first");
+        final Throwable second = createFailure("second");
+        final byte[] firstEncoded = encoder.encode(TestResult.failed(first));
+        final byte[] secondEncoded = encoder.encode(TestResult.failed(second));
+        final byte[] selfContained = new TestResultCodec().encode(TestResult.failed(second));
+        Assertions.assertEquals(0, TestResultCodec.getSequence(firstEncoded));
+        Assertions.assertEquals(1, TestResultCodec.getSequence(secondEncoded));
+        Assertions.assertEquals(-1, TestResultCodec.getSequence(selfContained));
+        // The frames of the second failure have already been written with the first one
+        Assertions.assertTrue(secondEncoded.length < selfContained.length,
+                () -> String.format("Expected %d to be less than %d", secondEncoded.length, selfContained.length));
+
+        final TestResultCodec decoder = TestResultCodec.forBatch();
+        assertThrowableEquals(first, decoder.decode(firstEncoded).getThrowable());
+        assertThrowableEquals(second, decoder.decode(secondEncoded).getThrowable());
+        // Self-contained results can be decoded in between
+        assertThrowableEquals(second, decoder.decode(selfContained).getThrowable());
+    }
+
+    @Test
+    public void batchOutOfSequence() throws Exception {
+        final TestResultCodec encoder = TestResultCodec.forBatch();
+        encoder.encode(TestResult.failed(createFailure("first")));
+        final byte[] second = encoder.encode(TestResult.failed(createFailure("second")));
+        Assertions.assertThrows(IOException.class, () -> TestResultCodec.forBatch().decode(second));
+        Assertions.assertThrows(IOException.class, () -> new TestResultCodec().decode(second));
+    }
+
+    @Test
+    public void batchFailedEncoding() throws Exception {
+        final TestResultCodec encoder = TestResultCodec.forBatch();
+        final TestResultCodec decoder = TestResultCodec.forBatch();
+        assertThrowableEquals(createFailure("first"), decoder.decode(encoder.encode(TestResult.failed(createFailure("first"))))
+                .getThrowable());
+        // The entries added for a result which could not be encoded must not be referenced by the next result
+        Assertions.assertThrows(NotSerializableException.class,
+                () -> encoder.encode(TestResult.failed(new NotSerializableFailure())));
+        final Throwable next = new IllegalStateException("next", createFailure("cause"));
+        final byte[] encoded = encoder.encode(TestResult.failed(next));
+        Assertions.assertEquals(1, TestResultCodec.getSequence(encoded));
+        assertThrowableEquals(next, decoder.decode(encoded).getThrowable());
+    }
+
+    private static TestResult roundTrip(final TestResultCodec codec, final TestResult result) throws Exception {
+        final byte[] encoded = codec.encode(result);
+        Assertions.assertTrue(TestResultCodec.isCompact(encoded));
+        return codec.decode(encoded);
+    }
+
+    private static Throwable createFailure(final String message) {
+        try {
+            throw new AssertionError(message);
+        } catch (AssertionError e) {
+            return e;
+        }
+    }
+
+    private static void assertThrowableEquals(final Throwable expected, final Throwable actual) {
+        Assertions.assertNotNull(actual);
+        Assertions.assertEquals(expected.getClass(), actual.getClass());
+        Assertions.assertEquals(expected.getMessage(), actual.getMessage());
+        // The decoded frames look the same, but may not keep the class loader name or module version internally
+        Assertions.assertEquals(Arrays.toString(expected.getStackTrace()), Arrays.toString(actual.getStackTrace()));
+        Assertions.assertEquals(expected.getSuppressed().length, actual.getSuppressed().length);
+        for (int i = 0; i < expected.getSuppressed().length; i++) {
+            assertThrowableEquals(expected.getSuppressed()[i], actual.getSuppressed()[i]);
+        }
+        if (expected.getCause() == null) {
+            Assertions.assertNull(actual.getCause());
+        } else {
+            assertThrowableEquals(expected.getCause(), actual.getCause());
+        }
+    }
+
+    private static class NotSerializableFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        @SuppressWarnings("unused")
+        private final Object state = new Object();
+
+        NotSerializableFailure() {
+            super("not serializable", new IOException("cause"));
+        }
+    }
+}